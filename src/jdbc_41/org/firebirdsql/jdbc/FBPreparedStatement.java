@@ -21,6 +21,7 @@
 package org.firebirdsql.jdbc;
 
 import org.firebirdsql.gds.impl.GDSHelper;
+import org.firebirdsql.gds.ng.FbStatement;
 
 import java.sql.SQLException;
 
@@ -48,4 +49,12 @@ public class FBPreparedStatement extends AbstractPreparedStatement {
             boolean metaDataQuery, boolean standaloneStatement, boolean generatedKeys) throws SQLException {
         super(c, sql, rsType, rsConcurrency, rsHoldability, statementListener, blobListener, metaDataQuery, standaloneStatement, generatedKeys);
     }
+
+    protected FBPreparedStatement(GDSHelper c, String sql, FbStatement statementHandle, int rsType,
+            int rsConcurrency, int rsHoldability, FBObjectListener.StatementListener statementListener,
+            FBObjectListener.BlobListener blobListener, boolean metaDataQuery, boolean standaloneStatement,
+            boolean generatedKeys) throws SQLException {
+        super(c, sql, statementHandle, rsType, rsConcurrency, rsHoldability, statementListener, blobListener,
+                metaDataQuery, standaloneStatement, generatedKeys);
+    }
 }
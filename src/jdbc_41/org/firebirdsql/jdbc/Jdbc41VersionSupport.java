@@ -18,7 +18,10 @@
  */
 package org.firebirdsql.jdbc;
 
+import org.firebirdsql.gds.impl.GDSHelper;
+
 import java.sql.BatchUpdateException;
+import java.sql.SQLException;
 
 /**
  * JDBC 4.1 version support.
@@ -41,4 +44,10 @@ public final class Jdbc41VersionSupport implements JdbcVersionSupport {
         }
         return copy;
     }
+
+    @Override
+    public FBStatement createStatement(GDSHelper gdsHelper, int rsType, int rsConcurrency, int rsHoldability,
+            FBObjectListener.StatementListener statementListener) throws SQLException {
+        return new FBStatement(gdsHelper, rsType, rsConcurrency, rsHoldability, statementListener);
+    }
 }
@@ -0,0 +1,117 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.jdbc;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Runs blocking statement operations for {@link FirebirdAsyncStatement}.
+ *
+ * @since 4.0
+ */
+final class AsyncStatementSupport {
+
+    private AsyncStatementSupport() {
+        // no instances
+    }
+
+    static CompletionStage<Boolean> executeAsync(final Statement statement, final String sql,
+            Executor executor) {
+        return callAsync(new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws SQLException {
+                return statement.execute(sql);
+            }
+        }, executor);
+    }
+
+    static CompletionStage<ResultSet> executeQueryAsync(final Statement statement, final String sql,
+            Executor executor) {
+        return callAsync(new Callable<ResultSet>() {
+            @Override
+            public ResultSet call() throws SQLException {
+                return statement.executeQuery(sql);
+            }
+        }, executor);
+    }
+
+    static CompletionStage<Integer> executeUpdateAsync(final Statement statement, final String sql,
+            Executor executor) {
+        return callAsync(new Callable<Integer>() {
+            @Override
+            public Integer call() throws SQLException {
+                return statement.executeUpdate(sql);
+            }
+        }, executor);
+    }
+
+    static CompletionStage<int[]> executeBatchAsync(final Statement statement, Executor executor) {
+        return callAsync(new Callable<int[]>() {
+            @Override
+            public int[] call() throws SQLException {
+                return statement.executeBatch();
+            }
+        }, executor);
+    }
+
+    /**
+     * Runs a blocking operation on an executor.
+     * <p>
+     * The operation blocks its thread while waiting for the server, so the executor should not be a pool that is
+     * shared with CPU-bound tasks (like {@link java.util.concurrent.ForkJoinPool#commonPool()}).
+     * </p>
+     *
+     * @param operation
+     *         Blocking operation
+     * @param executor
+     *         Executor to run the operation on
+     * @return Stage completed with the result of the operation
+     * @throws NullPointerException
+     *         If {@code executor} is {@code null}
+     */
+    static <T> CompletionStage<T> callAsync(final Callable<T> operation, final Executor executor) {
+        if (executor == null) {
+            throw new NullPointerException("executor");
+        }
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    if (future.isDone()) return;
+                    try {
+                        future.complete(operation.call());
+                    } catch (Throwable t) {
+                        future.completeExceptionally(t);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+}
@@ -21,9 +21,14 @@
 package org.firebirdsql.jdbc;
 
 import org.firebirdsql.gds.impl.GDSHelper;
+import org.firebirdsql.gds.ng.FbStatement;
 
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.SQLType;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 
 /**
  * JDBC 4.2 implementation of {@link java.sql.PreparedStatement} interface.
@@ -36,7 +41,7 @@ import java.sql.SQLType;
  * @author <a href="mailto:rrokytskyy@users.sourceforge.net">Roman Rokytskyy</a>
  * @author <a href="mailto:mrotteveel@users.sourceforge.net">Mark Rotteveel</a>
  */
-public class FBPreparedStatement extends AbstractPreparedStatement {
+public class FBPreparedStatement extends AbstractPreparedStatement implements FirebirdAsyncPreparedStatement {
 
     protected FBPreparedStatement(GDSHelper c, int rsType, int rsConcurrency, int rsHoldability,
             FBObjectListener.StatementListener statementListener, FBObjectListener.BlobListener blobListener)
@@ -50,6 +55,14 @@ public class FBPreparedStatement extends AbstractPreparedStatement {
         super(c, sql, rsType, rsConcurrency, rsHoldability, statementListener, blobListener, metaDataQuery, standaloneStatement, generatedKeys);
     }
 
+    protected FBPreparedStatement(GDSHelper c, String sql, FbStatement statementHandle, int rsType,
+            int rsConcurrency, int rsHoldability, FBObjectListener.StatementListener statementListener,
+            FBObjectListener.BlobListener blobListener, boolean metaDataQuery, boolean standaloneStatement,
+            boolean generatedKeys) throws SQLException {
+        super(c, sql, statementHandle, rsType, rsConcurrency, rsHoldability, statementListener, blobListener,
+                metaDataQuery, standaloneStatement, generatedKeys);
+    }
+
     @Override
     public void setObject(int parameterIndex, Object x, SQLType targetSqlType, int scaleOrLength) throws SQLException {
         setObject(parameterIndex, x, targetSqlType.getVendorTypeNumber(), scaleOrLength);
@@ -59,4 +72,54 @@ public class FBPreparedStatement extends AbstractPreparedStatement {
     public void setObject(int parameterIndex, Object x, SQLType targetSqlType) throws SQLException {
         setObject(parameterIndex, x, targetSqlType.getVendorTypeNumber());
     }
+
+    @Override
+    public CompletionStage<Boolean> executeAsync(Executor executor) {
+        return AsyncStatementSupport.callAsync(new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws SQLException {
+                return execute();
+            }
+        }, executor);
+    }
+
+    @Override
+    public CompletionStage<ResultSet> executeQueryAsync(Executor executor) {
+        return AsyncStatementSupport.callAsync(new Callable<ResultSet>() {
+            @Override
+            public ResultSet call() throws SQLException {
+                return executeQuery();
+            }
+        }, executor);
+    }
+
+    @Override
+    public CompletionStage<Integer> executeUpdateAsync(Executor executor) {
+        return AsyncStatementSupport.callAsync(new Callable<Integer>() {
+            @Override
+            public Integer call() throws SQLException {
+                return executeUpdate();
+            }
+        }, executor);
+    }
+
+    @Override
+    public CompletionStage<Boolean> executeAsync(String sql, Executor executor) {
+        return AsyncStatementSupport.executeAsync(this, sql, executor);
+    }
+
+    @Override
+    public CompletionStage<ResultSet> executeQueryAsync(String sql, Executor executor) {
+        return AsyncStatementSupport.executeQueryAsync(this, sql, executor);
+    }
+
+    @Override
+    public CompletionStage<Integer> executeUpdateAsync(String sql, Executor executor) {
+        return AsyncStatementSupport.executeUpdateAsync(this, sql, executor);
+    }
+
+    @Override
+    public CompletionStage<int[]> executeBatchAsync(Executor executor) {
+        return AsyncStatementSupport.executeBatchAsync(this, executor);
+    }
 }
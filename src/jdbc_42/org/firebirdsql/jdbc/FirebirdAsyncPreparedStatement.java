@@ -0,0 +1,78 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.jdbc;
+
+import java.sql.ResultSet;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
+/**
+ * Asynchronous execution of a {@link FirebirdPreparedStatement}.
+ * <p>
+ * <b>This is not non-blocking I/O.</b> Every call occupies a thread of the specified executor for the whole round trip
+ * to the server. See {@link FirebirdAsyncStatement} for the threading and error handling of asynchronous execution.
+ * </p>
+ * <p>
+ * <b>Experimental:</b> this interface may change or be removed in a future version of Jaybird.
+ * </p>
+ * <p>
+ * The methods of {@link FirebirdAsyncStatement} that take an SQL string complete exceptionally, like their blocking
+ * counterparts on a prepared statement.
+ * </p>
+ * <p>
+ * This interface is only available in the JDBC 4.2 (Java 8) version of Jaybird.
+ * </p>
+ *
+ * @since 4.0
+ */
+public interface FirebirdAsyncPreparedStatement extends FirebirdPreparedStatement, FirebirdAsyncStatement {
+
+    /**
+     * Asynchronous version of {@link #execute()}.
+     *
+     * @param executor
+     *         Executor to run the execute on
+     * @return Stage completed with the result of {@link #execute()}
+     * @throws NullPointerException
+     *         If {@code executor} is {@code null}
+     */
+    CompletionStage<Boolean> executeAsync(Executor executor);
+
+    /**
+     * Asynchronous version of {@link #executeQuery()}.
+     *
+     * @param executor
+     *         Executor to run the query on
+     * @return Stage completed with the result set of {@link #executeQuery()}
+     * @throws NullPointerException
+     *         If {@code executor} is {@code null}
+     */
+    CompletionStage<ResultSet> executeQueryAsync(Executor executor);
+
+    /**
+     * Asynchronous version of {@link #executeUpdate()}.
+     *
+     * @param executor
+     *         Executor to run the update on
+     * @return Stage completed with the update count of {@link #executeUpdate()}
+     * @throws NullPointerException
+     *         If {@code executor} is {@code null}
+     */
+    CompletionStage<Integer> executeUpdateAsync(Executor executor);
+}
@@ -0,0 +1,98 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.jdbc;
+
+import java.sql.ResultSet;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
+/**
+ * Asynchronous execution of a {@link FirebirdStatement}.
+ * <p>
+ * <b>This is not non-blocking I/O.</b> Every call occupies a thread of the specified executor for the whole round trip
+ * to the server: the statement is executed with the normal blocking implementation on that thread. Only the calling
+ * thread does not wait for the server. Use an executor sized for the number of concurrent statements, not a pool
+ * shared with CPU-bound tasks (like {@link java.util.concurrent.ForkJoinPool#commonPool()}).
+ * </p>
+ * <p>
+ * <b>Experimental:</b> this interface may change or be removed in a future version of Jaybird.
+ * </p>
+ * <p>
+ * The statement must not be used until the returned stage has completed. Cancelling the stage does not cancel the
+ * statement, use {@link #cancel()} instead. Exceptions are reported by completing the stage exceptionally with the
+ * {@link java.sql.SQLException} thrown by the blocking method.
+ * </p>
+ * <p>
+ * This interface is only available in the JDBC 4.2 (Java 8) version of Jaybird.
+ * </p>
+ *
+ * @since 4.0
+ */
+public interface FirebirdAsyncStatement extends FirebirdStatement {
+
+    /**
+     * Asynchronous version of {@link #execute(String)}.
+     *
+     * @param sql
+     *         SQL statement
+     * @param executor
+     *         Executor to run the execute on
+     * @return Stage completed with the result of {@link #execute(String)}
+     * @throws NullPointerException
+     *         If {@code executor} is {@code null}
+     */
+    CompletionStage<Boolean> executeAsync(String sql, Executor executor);
+
+    /**
+     * Asynchronous version of {@link #executeQuery(String)}.
+     *
+     * @param sql
+     *         SQL statement
+     * @param executor
+     *         Executor to run the query on
+     * @return Stage completed with the result set of {@link #executeQuery(String)}
+     * @throws NullPointerException
+     *         If {@code executor} is {@code null}
+     */
+    CompletionStage<ResultSet> executeQueryAsync(String sql, Executor executor);
+
+    /**
+     * Asynchronous version of {@link #executeUpdate(String)}.
+     *
+     * @param sql
+     *         SQL statement
+     * @param executor
+     *         Executor to run the update on
+     * @return Stage completed with the update count of {@link #executeUpdate(String)}
+     * @throws NullPointerException
+     *         If {@code executor} is {@code null}
+     */
+    CompletionStage<Integer> executeUpdateAsync(String sql, Executor executor);
+
+    /**
+     * Asynchronous version of {@link #executeBatch()}.
+     *
+     * @param executor
+     *         Executor to run the batch on
+     * @return Stage completed with the update counts of {@link #executeBatch()}
+     * @throws NullPointerException
+     *         If {@code executor} is {@code null}
+     */
+    CompletionStage<int[]> executeBatchAsync(Executor executor);
+}
@@ -0,0 +1,62 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.jdbc;
+
+import org.firebirdsql.gds.impl.GDSHelper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
+/**
+ * JDBC 4.2 implementation of {@link java.sql.Statement} interface.
+ * <p>
+ * Contains methods specific to the JDBC 4.2 implementation.
+ * </p>
+ *
+ * @since 4.0
+ */
+public class Jdbc42Statement extends FBStatement implements FirebirdAsyncStatement {
+
+    protected Jdbc42Statement(GDSHelper c, int rsType, int rsConcurrency, int rsHoldability,
+            FBObjectListener.StatementListener statementListener) throws SQLException {
+        super(c, rsType, rsConcurrency, rsHoldability, statementListener);
+    }
+
+    @Override
+    public CompletionStage<Boolean> executeAsync(String sql, Executor executor) {
+        return AsyncStatementSupport.executeAsync(this, sql, executor);
+    }
+
+    @Override
+    public CompletionStage<ResultSet> executeQueryAsync(String sql, Executor executor) {
+        return AsyncStatementSupport.executeQueryAsync(this, sql, executor);
+    }
+
+    @Override
+    public CompletionStage<Integer> executeUpdateAsync(String sql, Executor executor) {
+        return AsyncStatementSupport.executeUpdateAsync(this, sql, executor);
+    }
+
+    @Override
+    public CompletionStage<int[]> executeBatchAsync(Executor executor) {
+        return AsyncStatementSupport.executeBatchAsync(this, executor);
+    }
+}
@@ -18,7 +18,10 @@
  */
 package org.firebirdsql.jdbc;
 
+import org.firebirdsql.gds.impl.GDSHelper;
+
 import java.sql.BatchUpdateException;
+import java.sql.SQLException;
 
 /**
  * JDBC 4.2 version support.
@@ -34,4 +37,10 @@ public final class Jdbc42VersionSupport implements JdbcVersionSupport {
             long[] updateCounts, Throwable cause) {
         return new BatchUpdateException(reason, SQLState, vendorCode, updateCounts, cause);
     }
+
+    @Override
+    public FBStatement createStatement(GDSHelper gdsHelper, int rsType, int rsConcurrency, int rsHoldability,
+            FBObjectListener.StatementListener statementListener) throws SQLException {
+        return new Jdbc42Statement(gdsHelper, rsType, rsConcurrency, rsHoldability, statementListener);
+    }
 }
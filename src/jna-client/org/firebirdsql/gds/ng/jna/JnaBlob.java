@@ -26,6 +26,7 @@ import org.firebirdsql.gds.ISCConstants;
 import org.firebirdsql.gds.ng.AbstractFbBlob;
 import org.firebirdsql.gds.ng.FbBlob;
 import org.firebirdsql.gds.ng.FbExceptionBuilder;
+import org.firebirdsql.gds.ng.LockCloseable;
 import org.firebirdsql.gds.ng.listeners.DatabaseListener;
 import org.firebirdsql.jna.fbclient.FbClientLibrary;
 import org.firebirdsql.jna.fbclient.ISC_STATUS;
@@ -43,6 +44,7 @@ import static org.firebirdsql.gds.JaybirdErrorCodes.jb_blobPutSegmentTooLong;
  * @author <a href="mailto:mrotteveel@users.sourceforge.net">Mark Rotteveel</a>
  * @since 3.0
  */
+@SuppressWarnings("try")
 public class JnaBlob extends AbstractFbBlob implements FbBlob, DatabaseListener {
 
     private final LongByReference blobId;
@@ -102,7 +104,7 @@ public class JnaBlob extends AbstractFbBlob implements FbBlob, DatabaseListener
             } else {
                 bpb = new byte[0];
             }
-            synchronized (getSynchronizationObject()) {
+            try (LockCloseable ignored = withLock()) {
                 checkDatabaseAttached();
                 checkTransactionActive();
                 checkBlobClosed();
@@ -138,54 +140,105 @@ public class JnaBlob extends AbstractFbBlob implements FbBlob, DatabaseListener
                         .messageParameter(sizeRequested)
                         .toSQLException();
             }
-            // TODO Honour request for larger sizes by looping?
-            sizeRequested = Math.min(sizeRequested, getMaximumSegmentSize());
-            final ByteBuffer responseBuffer;
-            final ShortByReference actualLength = new ShortByReference();
-            synchronized (getSynchronizationObject()) {
-                checkDatabaseAttached();
-                checkTransactionActive();
-                checkBlobOpen();
-                responseBuffer = getByteBuffer(sizeRequested);
+            try (LockCloseable ignored = withLock()) {
+                final ByteBuffer responseBuffer = getSegmentToBuffer(sizeRequested);
+                final byte[] segment = new byte[responseBuffer.remaining()];
+                responseBuffer.get(segment);
+                return segment;
+            }
+        } catch (SQLException e) {
+            exceptionListenerDispatcher.errorOccurred(e);
+            throw e;
+        }
+    }
 
-                clientLibrary.isc_get_segment(statusVector, getJnaHandle(), actualLength, (short) sizeRequested,
-                        responseBuffer);
-                final int status = statusVector[1].intValue();
-                // status 0 means: more to come, isc_segment means: buffer was too small, rest will be returned on next call
-                if (!(status == 0 || status == ISCConstants.isc_segment)) {
-                    if (status == ISCConstants.isc_segstr_eof) {
-                        setEof();
-                    } else {
-                        processStatusVector();
-                    }
-                }
+    @Override
+    public int getSegment(byte[] dest, int off, int len) throws SQLException {
+        try {
+            checkBufferSection(dest, off, len);
+            if (len <= 0) {
+                throw new FbExceptionBuilder().exception(jb_blobGetSegmentNegative)
+                        .messageParameter(len)
+                        .toSQLException();
+            }
+            try (LockCloseable ignored = withLock()) {
+                final ByteBuffer responseBuffer = getSegmentToBuffer(len);
+                final int actualLength = responseBuffer.remaining();
+                responseBuffer.get(dest, off, actualLength);
+                return actualLength;
             }
-            final int actualLengthInt = ((int) actualLength.getValue()) & 0xFFFF;
-            final byte[] segment = new byte[actualLengthInt];
-            responseBuffer.get(segment);
-            return segment;
         } catch (SQLException e) {
             exceptionListenerDispatcher.errorOccurred(e);
             throw e;
         }
     }
 
+    /**
+     * Retrieves a segment into the (reused) native byte buffer of this blob.
+     * <p>
+     * Callers must hold the lock of {@link #withLock()}.
+     * </p>
+     *
+     * @param sizeRequested
+     *         Requested segment size (&gt; 0)
+     * @return Byte buffer with its limit set to the length of the retrieved segment
+     * @throws SQLException
+     *         If the blob is closed, the transaction is not active, or a database connection error occurred.
+     */
+    private ByteBuffer getSegmentToBuffer(int sizeRequested) throws SQLException {
+        // TODO Honour request for larger sizes by looping?
+        sizeRequested = Math.min(sizeRequested, getMaximumSegmentSize());
+        checkDatabaseAttached();
+        checkTransactionActive();
+        checkBlobOpen();
+        final ByteBuffer responseBuffer = getByteBuffer(sizeRequested);
+        final ShortByReference actualLength = new ShortByReference();
+
+        clientLibrary.isc_get_segment(statusVector, getJnaHandle(), actualLength, (short) sizeRequested,
+                responseBuffer);
+        final int status = statusVector[1].intValue();
+        // status 0 means: more to come, isc_segment means: buffer was too small, rest will be returned on next call
+        if (!(status == 0 || status == ISCConstants.isc_segment)) {
+            if (status == ISCConstants.isc_segstr_eof) {
+                setEof();
+            } else {
+                processStatusVector();
+            }
+        }
+        responseBuffer.limit(((int) actualLength.getValue()) & 0xFFFF);
+        return responseBuffer;
+    }
+
     @Override
     public void putSegment(byte[] segment) throws SQLException {
+        putSegment(segment, 0, segment.length);
+    }
+
+    @Override
+    public void putSegment(byte[] segment, int off, int len) throws SQLException {
         try {
-            if (segment.length == 0) {
+            checkBufferSection(segment, off, len);
+            if (len == 0) {
                 throw new FbExceptionBuilder().exception(jb_blobPutSegmentEmpty).toSQLException();
             }
             // TODO Handle by performing multiple puts? (Wrap in byte buffer, use position to move pointer?)
-            if (segment.length > getMaximumSegmentSize()) {
+            if (len > getMaximumSegmentSize()) {
                 throw new FbExceptionBuilder().exception(jb_blobPutSegmentTooLong).toSQLException();
             }
-            synchronized (getSynchronizationObject()) {
+            try (LockCloseable ignored = withLock()) {
                 checkDatabaseAttached();
                 checkTransactionActive();
                 checkBlobOpen();
 
-                clientLibrary.isc_put_segment(statusVector, getJnaHandle(), (short) segment.length, segment);
+                if (off == 0 && len == segment.length) {
+                    clientLibrary.isc_put_segment(statusVector, getJnaHandle(), (short) len, segment);
+                } else {
+                    // Write the section through the reused native buffer instead of copying to a new array
+                    final ByteBuffer segmentBuffer = getByteBuffer(len);
+                    segmentBuffer.put(segment, off, len);
+                    segmentBuffer.flip();
+                    clientLibrary.isc_put_segment(statusVector, getJnaHandle(), (short) len, segmentBuffer);
+                }
                 processStatusVector();
             }
         } catch (SQLException e) {
@@ -197,7 +250,7 @@ public class JnaBlob extends AbstractFbBlob implements FbBlob, DatabaseListener
     @Override
     public void seek(int offset, SeekMode seekMode) throws SQLException {
         try {
-            synchronized (getSynchronizationObject()) {
+            try (LockCloseable ignored = withLock()) {
                 checkDatabaseAttached();
                 checkTransactionActive();
 
@@ -218,7 +271,7 @@ public class JnaBlob extends AbstractFbBlob implements FbBlob, DatabaseListener
     public byte[] getBlobInfo(byte[] requestItems, int bufferLength) throws SQLException {
         try {
             final ByteBuffer responseBuffer;
-            synchronized (getSynchronizationObject()) {
+            try (LockCloseable ignored = withLock()) {
                 responseBuffer = getByteBuffer(bufferLength);
                 checkDatabaseAttached();
                 clientLibrary.isc_blob_info(statusVector, getJnaHandle(),
@@ -238,7 +291,7 @@ public class JnaBlob extends AbstractFbBlob implements FbBlob, DatabaseListener
 
     @Override
     protected void closeImpl() throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             try {
                 clientLibrary.isc_close_blob(statusVector, getJnaHandle());
                 processStatusVector();
@@ -250,7 +303,7 @@ public class JnaBlob extends AbstractFbBlob implements FbBlob, DatabaseListener
 
     @Override
     protected void cancelImpl() throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             try {
                 clientLibrary.isc_cancel_blob(statusVector, getJnaHandle());
                 processStatusVector();
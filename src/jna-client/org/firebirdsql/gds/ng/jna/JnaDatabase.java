@@ -18,6 +18,7 @@
  */
 package org.firebirdsql.gds.ng.jna;
 
+import com.sun.jna.Memory;
 import com.sun.jna.Platform;
 import com.sun.jna.ptr.IntByReference;
 import org.firebirdsql.encodings.EncodingDefinition;
@@ -35,6 +36,7 @@ import java.nio.ByteBuffer;
 import java.sql.SQLException;
 import java.sql.SQLNonTransientException;
 import java.sql.SQLTransientException;
+import java.util.List;
 
 import static org.firebirdsql.gds.ISCConstants.fb_cancel_abort;
 import static org.firebirdsql.gds.ng.TransactionHelper.checkTransactionActive;
@@ -45,6 +47,7 @@ import static org.firebirdsql.gds.ng.TransactionHelper.checkTransactionActive;
  * @author <a href="mailto:mrotteveel@users.sourceforge.net">Mark Rotteveel</a>
  * @since 3.0
  */
+@SuppressWarnings("try")
 public class JnaDatabase extends AbstractFbDatabase<JnaDatabaseConnection>
         implements JnaAttachment, TransactionListener {
 
@@ -80,7 +83,7 @@ public class JnaDatabase extends AbstractFbDatabase<JnaDatabaseConnection>
 
     @Override
     protected void internalDetach() throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             try {
                 clientLibrary.isc_detach_database(statusVector, handle);
                 processStatusVector();
@@ -119,7 +122,7 @@ public class JnaDatabase extends AbstractFbDatabase<JnaDatabaseConnection>
         final byte[] dbName = getEncoding().encodeToCharset(connection.getAttachUrl());
         final byte[] dpbArray = dpb.toBytesWithType();
 
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             try {
                 if (create) {
                     clientLibrary.isc_create_database(statusVector, (short) dbName.length, dbName, handle,
@@ -177,7 +180,7 @@ public class JnaDatabase extends AbstractFbDatabase<JnaDatabaseConnection>
     public void dropDatabase() throws SQLException {
         try {
             checkConnected();
-            synchronized (getSynchronizationObject()) {
+            try (LockCloseable ignored = withLock()) {
                 try {
                     clientLibrary.isc_drop_database(statusVector, handle);
                     processStatusVector();
@@ -216,7 +219,7 @@ public class JnaDatabase extends AbstractFbDatabase<JnaDatabaseConnection>
             checkConnected();
             final IntByReference transactionHandle = new IntByReference(0);
             final byte[] tpbArray = tpb.toBytesWithType();
-            synchronized (getSynchronizationObject()) {
+            try (LockCloseable ignored = withLock()) {
                 clientLibrary.isc_start_transaction(statusVector, transactionHandle, (short) 1, handle,
                         (short) tpbArray.length, tpbArray);
                 processStatusVector();
@@ -238,7 +241,7 @@ public class JnaDatabase extends AbstractFbDatabase<JnaDatabaseConnection>
             final byte[] transactionIdBuffer = getTransactionIdBuffer(transactionId);
 
             final IntByReference transactionHandle = new IntByReference(0);
-            synchronized (getSynchronizationObject()) {
+            try (LockCloseable ignored = withLock()) {
                 clientLibrary.isc_reconnect_transaction(statusVector, handle, transactionHandle,
                         (short) transactionIdBuffer.length, transactionIdBuffer);
                 processStatusVector();
@@ -308,7 +311,7 @@ public class JnaDatabase extends AbstractFbDatabase<JnaDatabaseConnection>
     public byte[] getDatabaseInfo(final byte[] requestItems, final int maxBufferLength) throws SQLException {
         try {
             final ByteBuffer responseBuffer = ByteBuffer.allocateDirect(maxBufferLength);
-            synchronized (getSynchronizationObject()) {
+            try (LockCloseable ignored = withLock()) {
                 clientLibrary.isc_database_info(statusVector, handle, (short) requestItems.length, requestItems,
                         (short) maxBufferLength, responseBuffer);
                 processStatusVector();
@@ -345,7 +348,7 @@ public class JnaDatabase extends AbstractFbDatabase<JnaDatabaseConnection>
             }
 
             final byte[] statementArray = getEncoding().encodeToCharset(statementText);
-            synchronized (getSynchronizationObject()) {
+            try (LockCloseable ignored = withLock()) {
                 clientLibrary.isc_dsql_execute_immediate(statusVector, handle,
                         transaction != null ? ((JnaTransaction) transaction).getJnaHandle() : new IntByReference(),
                         (short) statementArray.length, statementArray, getConnectionDialect(), null);
@@ -391,12 +394,21 @@ public class JnaDatabase extends AbstractFbDatabase<JnaDatabaseConnection>
 
     @Override
     public JnaEventHandle createEventHandle(String eventName, EventHandler eventHandler) throws SQLException {
+        return initEventHandle(new JnaEventHandle(eventName, eventHandler, getEncoding()));
+    }
+
+    @Override
+    public JnaEventHandle createEventHandle(List<String> eventNames, EventHandler eventHandler) throws SQLException {
+        return initEventHandle(new JnaEventHandle(eventNames, eventHandler, getEncoding()));
+    }
+
+    private JnaEventHandle initEventHandle(JnaEventHandle eventHandle) {
         // TODO Any JNA errors we need to track and convert to SQLException here?
-        final JnaEventHandle eventHandle = new JnaEventHandle(eventName, eventHandler, getEncoding());
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             synchronized (eventHandle) {
+                Memory[] eventNameMemories = eventHandle.getEventNameMemories();
                 int size = clientLibrary.isc_event_block(eventHandle.getEventBuffer(), eventHandle.getResultBuffer(),
-                        (short) 1, eventHandle.getEventNameMemory());
+                        (short) eventNameMemories.length, (Object[]) eventNameMemories);
                 eventHandle.setSize(size);
             }
         }
@@ -408,13 +420,17 @@ public class JnaDatabase extends AbstractFbDatabase<JnaDatabaseConnection>
         try {
             final JnaEventHandle jnaEventHandle = validateEventHandle(eventHandle);
 
-            synchronized (getSynchronizationObject()) {
+            final int[] eventCounts = new int[jnaEventHandle.getEventNames().size()];
+            try (LockCloseable ignored = withLock()) {
                 synchronized (jnaEventHandle) {
                     clientLibrary.isc_event_counts(statusVector, (short) jnaEventHandle.getSize(),
                             jnaEventHandle.getEventBuffer().getValue(), jnaEventHandle.getResultBuffer().getValue());
                 }
+                for (int idx = 0; idx < eventCounts.length; idx++) {
+                    eventCounts[idx] = statusVector[idx].intValue();
+                }
             }
-            jnaEventHandle.setEventCount(statusVector[0].intValue());
+            jnaEventHandle.setEventCounts(eventCounts);
         } catch (SQLException e) {
             exceptionListenerDispatcher.errorOccurred(e);
             throw e;
@@ -427,7 +443,7 @@ public class JnaDatabase extends AbstractFbDatabase<JnaDatabaseConnection>
             checkConnected();
             final JnaEventHandle jnaEventHandle = validateEventHandle(eventHandle);
 
-            synchronized (getSynchronizationObject()) {
+            try (LockCloseable ignored = withLock()) {
                 synchronized (jnaEventHandle) {
                     if (Platform.isWindows()) {
                         ((WinFbClientLibrary) clientLibrary).isc_que_events(statusVector, getJnaHandle(),
@@ -455,7 +471,7 @@ public class JnaDatabase extends AbstractFbDatabase<JnaDatabaseConnection>
             checkConnected();
             final JnaEventHandle jnaEventHandle = validateEventHandle(eventHandle);
 
-            synchronized (getSynchronizationObject()) {
+            try (LockCloseable ignored = withLock()) {
                 synchronized (jnaEventHandle) {
                     try {
                         clientLibrary.isc_cancel_events(statusVector, getJnaHandle(), jnaEventHandle.getJnaEventId());
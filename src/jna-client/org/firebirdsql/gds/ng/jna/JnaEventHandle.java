@@ -31,6 +31,9 @@ import org.firebirdsql.jna.fbclient.WinFbClientLibrary;
 import org.firebirdsql.logging.Logger;
 import org.firebirdsql.logging.LoggerFactory;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Event handle for the JNA protocol.
  *
@@ -41,7 +44,7 @@ public final class JnaEventHandle extends AbstractEventHandle {
 
     private static final Logger LOG = LoggerFactory.getLogger(JnaEventHandle.class);
 
-    private final Memory eventNameMemory;
+    private final Memory[] eventNameMemories;
     private final IntByReference eventId = new IntByReference(0);
     private int size = -1;
     private final PointerByReference eventBuffer = new PointerByReference();
@@ -49,19 +52,27 @@ public final class JnaEventHandle extends AbstractEventHandle {
     private final JnaEventHandle.JnaEventCallback callback = createEventCallback();
 
     JnaEventHandle(String eventName, EventHandler eventHandler, Encoding encoding) {
-        super(eventName, eventHandler);
-        // Requires null-termination
-        final byte[] eventNameBytes = encoding.encodeToCharset(eventName + '\0');
-        if (eventNameBytes.length > 256) {
-            throw new IllegalArgumentException("Event name as bytes too long");
+        this(Collections.singletonList(eventName), eventHandler, encoding);
+    }
+
+    JnaEventHandle(List<String> eventNames, EventHandler eventHandler, Encoding encoding) {
+        super(eventNames, eventHandler);
+        eventNameMemories = new Memory[eventNames.size()];
+        for (int idx = 0; idx < eventNameMemories.length; idx++) {
+            // Requires null-termination
+            final byte[] eventNameBytes = encoding.encodeToCharset(eventNames.get(idx) + '\0');
+            if (eventNameBytes.length > 256) {
+                throw new IllegalArgumentException("Event name as bytes too long");
+            }
+            Memory eventNameMemory = new Memory(eventNameBytes.length);
+            eventNameMemory.write(0, eventNameBytes, 0, eventNameBytes.length);
+            eventNameMemories[idx] = eventNameMemory;
         }
-        eventNameMemory = new Memory(eventNameBytes.length);
-        eventNameMemory.write(0, eventNameBytes, 0, eventNameBytes.length);
     }
 
     @Override
-    protected void setEventCount(int eventCount) {
-        super.setEventCount(eventCount);
+    protected void setEventCounts(int[] eventCounts) {
+        super.setEventCounts(eventCounts);
     }
 
     @Override
@@ -76,8 +87,11 @@ public final class JnaEventHandle extends AbstractEventHandle {
         return eventId;
     }
 
-    Memory getEventNameMemory() {
-        return eventNameMemory;
+    /**
+     * @return Null-terminated event names, in the order of {@link #getEventNames()}
+     */
+    Memory[] getEventNameMemories() {
+        return eventNameMemories;
     }
 
     /**
@@ -124,9 +138,9 @@ public final class JnaEventHandle extends AbstractEventHandle {
             LOG.debug("Event handle not allocated");
         }
         synchronized (JnaEventHandle.class) {
-            String sb = "Event Buffer " + getEventName() + ':' +
+            String sb = "Event Buffer " + getEventNames() + ':' +
                     getEventBuffer().getValue().dump(0, size) +
-                    "Result Buffer " + getEventName() + ':' +
+                    "Result Buffer " + getEventNames() + ':' +
                     getResultBuffer().getValue().dump(0, size);
             LOG.debug(sb);
         }
@@ -170,7 +184,7 @@ public final class JnaEventHandle extends AbstractEventHandle {
 
     @Override
     public String toString() {
-        return "JnaEventHandle:{ name:" + getEventName() + ", eventId:" + getEventId() + " }";
+        return "JnaEventHandle:{ names:" + getEventNames() + ", eventId:" + getEventId() + " }";
     }
 
     private class JnaEventCallback implements FbClientLibrary.IscEventCallback {
@@ -27,6 +27,7 @@ import org.firebirdsql.gds.impl.ServiceParameterBufferImp;
 import org.firebirdsql.gds.impl.ServiceRequestBufferImp;
 import org.firebirdsql.gds.ng.AbstractFbService;
 import org.firebirdsql.gds.ng.FbExceptionBuilder;
+import org.firebirdsql.gds.ng.LockCloseable;
 import org.firebirdsql.gds.ng.ParameterConverter;
 import org.firebirdsql.gds.ng.WarningMessageCallback;
 import org.firebirdsql.jna.fbclient.FbClientLibrary;
@@ -41,6 +42,7 @@ import java.sql.SQLException;
  * @author <a href="mailto:mrotteveel@users.sourceforge.net">Mark Rotteveel</a>
  * @since 3.0
  */
+@SuppressWarnings("try")
 public final class JnaService extends AbstractFbService<JnaServiceConnection> implements JnaAttachment {
 
     // TODO Find out if there are any exception from JNA that we need to be prepared to handle.
@@ -86,7 +88,7 @@ public final class JnaService extends AbstractFbService<JnaServiceConnection> im
             final byte[] serviceRequestBufferBytes =
                     serviceRequestBuffer == null ? null : serviceRequestBuffer.toBytes();
             final ByteBuffer responseBuffer = ByteBuffer.allocateDirect(maxBufferLength);
-            synchronized (getSynchronizationObject()) {
+            try (LockCloseable ignored = withLock()) {
                 clientLibrary.isc_service_query(statusVector, handle, new IntByReference(0),
                         (short) (serviceParameterBufferBytes != null ? serviceParameterBufferBytes.length
                                 : 0), serviceParameterBufferBytes,
@@ -110,7 +112,7 @@ public final class JnaService extends AbstractFbService<JnaServiceConnection> im
             final byte[] serviceRequestBufferBytes = serviceRequestBuffer == null
                     ? null
                     : serviceRequestBuffer.toBytes();
-            synchronized (getSynchronizationObject()) {
+            try (LockCloseable ignored = withLock()) {
                 clientLibrary.isc_service_start(statusVector, handle, new IntByReference(0),
                         (short) (serviceRequestBufferBytes != null ? serviceRequestBufferBytes.length : 0),
                         serviceRequestBufferBytes);
@@ -132,7 +134,7 @@ public final class JnaService extends AbstractFbService<JnaServiceConnection> im
             final byte[] serviceName = getEncoding().encodeToCharset(connection.getAttachUrl());
             final byte[] spbArray = spb.toBytesWithType();
 
-            synchronized (getSynchronizationObject()) {
+            try (LockCloseable ignored = withLock()) {
                 try {
                     clientLibrary.isc_service_attach(statusVector, (short) serviceName.length, serviceName, handle,
                             (short) spbArray.length, spbArray);
@@ -173,7 +175,7 @@ public final class JnaService extends AbstractFbService<JnaServiceConnection> im
 
     @Override
     protected void internalDetach() throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             try {
                 clientLibrary.isc_service_detach(statusVector, handle);
                 processStatusVector();
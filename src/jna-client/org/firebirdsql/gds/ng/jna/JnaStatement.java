@@ -44,6 +44,7 @@ import static org.firebirdsql.gds.ng.TransactionHelper.checkTransactionActive;
  * @author <a href="mailto:mrotteveel@users.sourceforge.net">Mark Rotteveel</a>
  * @since 3.0
  */
+@SuppressWarnings("try")
 public class JnaStatement extends AbstractFbStatement {
 
     private static final Logger log = LoggerFactory.getLogger(JnaStatement.class);
@@ -64,7 +65,7 @@ public class JnaStatement extends AbstractFbStatement {
     @Override
     protected void setParameterDescriptor(RowDescriptor parameterDescriptor) {
         final XSQLDA xsqlda = allocateXSqlDa(parameterDescriptor);
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             inXSqlDa = xsqlda;
             super.setParameterDescriptor(parameterDescriptor);
         }
@@ -73,7 +74,7 @@ public class JnaStatement extends AbstractFbStatement {
     @Override
     protected void setFieldDescriptor(RowDescriptor fieldDescriptor) {
         final XSQLDA xsqlda = allocateXSqlDa(fieldDescriptor);
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             outXSqlDa = xsqlda;
             super.setFieldDescriptor(fieldDescriptor);
         }
@@ -81,7 +82,7 @@ public class JnaStatement extends AbstractFbStatement {
 
     @Override
     protected void free(int option) throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             clientLibrary.isc_dsql_free_statement(statusVector, handle, (short) option);
             processStatusVector();
             // Reset statement information
@@ -119,7 +120,7 @@ public class JnaStatement extends AbstractFbStatement {
                         .messageParameter(statementArray.length)
                         .toFlatSQLException();
             }
-            synchronized (getSynchronizationObject()) {
+            try (LockCloseable ignored = withLock()) {
                 checkTransactionActive(getTransaction());
                 final StatementState currentState = getState();
                 if (!isPrepareAllowed(currentState)) {
@@ -161,7 +162,7 @@ public class JnaStatement extends AbstractFbStatement {
     public void execute(RowValue parameters) throws SQLException {
         final StatementState initialState = getState();
         try {
-            synchronized (getSynchronizationObject()) {
+            try (LockCloseable ignored = withLock()) {
                 checkStatementValid();
                 checkTransactionActive(getTransaction());
                 validateParameters(parameters);
@@ -346,7 +347,7 @@ public class JnaStatement extends AbstractFbStatement {
     @Override
     public void fetchRows(int fetchSize) throws SQLException {
         try {
-            synchronized (getSynchronizationObject()) {
+            try (LockCloseable ignored = withLock()) {
                 checkStatementValid();
                 if (!getState().isCursorOpen()) {
                     throw new FbExceptionBuilder().exception(ISCConstants.isc_cursor_not_open).toSQLException();
@@ -380,7 +381,7 @@ public class JnaStatement extends AbstractFbStatement {
         try {
             final ByteBuffer responseBuffer = ByteBuffer.allocateDirect(bufferLength);
 
-            synchronized (getSynchronizationObject()) {
+            try (LockCloseable ignored = withLock()) {
                 checkStatementValid();
                 clientLibrary.isc_dsql_sql_info(statusVector, handle,
                         (short) requestItems.length, requestItems,
@@ -412,7 +413,7 @@ public class JnaStatement extends AbstractFbStatement {
     @Override
     public void setCursorName(String cursorName) throws SQLException {
         try {
-            synchronized (getSynchronizationObject()) {
+            try (LockCloseable ignored = withLock()) {
                 checkStatementValid();
                 final JnaDatabase db = getDatabase();
                 clientLibrary.isc_dsql_set_cursor_name(statusVector, handle,
@@ -20,6 +20,7 @@ package org.firebirdsql.gds.ng.jna;
 
 import com.sun.jna.ptr.IntByReference;
 import org.firebirdsql.gds.ng.AbstractFbTransaction;
+import org.firebirdsql.gds.ng.LockCloseable;
 import org.firebirdsql.gds.ng.TransactionState;
 import org.firebirdsql.jna.fbclient.FbClientLibrary;
 import org.firebirdsql.jna.fbclient.ISC_STATUS;
@@ -35,6 +36,7 @@ import java.sql.SQLException;
  * @author <a href="mailto:mrotteveel@users.sourceforge.net">Mark Rotteveel</a>
  * @since 3.0
  */
+@SuppressWarnings("try")
 public class JnaTransaction extends AbstractFbTransaction {
 
     private static final Logger log = LoggerFactory.getLogger(JnaTransaction.class);
@@ -77,7 +79,7 @@ public class JnaTransaction extends AbstractFbTransaction {
     @Override
     public void commit() throws SQLException {
         try {
-            synchronized (getSynchronizationObject()) {
+            try (LockCloseable ignored = withLock()) {
                 final JnaDatabase db = getDatabase();
                 db.checkConnected();
                 switchState(TransactionState.COMMITTING);
@@ -100,7 +102,7 @@ public class JnaTransaction extends AbstractFbTransaction {
     @Override
     public void rollback() throws SQLException {
         try {
-            synchronized (getSynchronizationObject()) {
+            try (LockCloseable ignored = withLock()) {
                 final JnaDatabase db = getDatabase();
                 db.checkConnected();
                 switchState(TransactionState.ROLLING_BACK);
@@ -124,7 +126,7 @@ public class JnaTransaction extends AbstractFbTransaction {
     public void prepare(byte[] recoveryInformation) throws SQLException {
         boolean noRecoveryInfo = recoveryInformation == null || recoveryInformation.length == 0;
         try {
-            synchronized (getSynchronizationObject()) {
+            try (LockCloseable ignored = withLock()) {
                 final JnaDatabase db = getDatabase();
                 db.checkConnected();
                 switchState(TransactionState.PREPARING);
@@ -151,7 +153,7 @@ public class JnaTransaction extends AbstractFbTransaction {
     public byte[] getTransactionInfo(byte[] requestItems, int maxBufferLength) throws SQLException {
         try {
             final ByteBuffer responseBuffer = ByteBuffer.allocateDirect(maxBufferLength);
-            synchronized (getSynchronizationObject()) {
+            try (LockCloseable ignored = withLock()) {
                 final JnaDatabase db = getDatabase();
                 db.checkConnected();
                 clientLibrary.isc_transaction_info(statusVector, handle, (short) requestItems.length, requestItems,
@@ -406,6 +406,12 @@ public interface FbClientLibrary extends com.sun.jna.Library {
 	 */
 	ISC_STATUS isc_put_segment(ISC_STATUS[] statusVector, IntByReference blobHandle, short segBufferLength,
             byte[] segBuffer);
+	/**
+	 * Original signature : <code>ISC_STATUS isc_put_segment(ISC_STATUS*, isc_blob_handle*, unsigned short, const ISC_SCHAR*)</code><br>
+	 * <i>native declaration : C:\Program Files\Firebird\Firebird_2_5\include\ibase.h:731</i>
+	 */
+	ISC_STATUS isc_put_segment(ISC_STATUS[] statusVector, IntByReference blobHandle, short segBufferLength,
+            ByteBuffer segBuffer);
 	/**
 	 * Original signature : <code>ISC_STATUS isc_put_slice(ISC_STATUS*, isc_db_handle*, isc_tr_handle*, ISC_QUAD*, short, const ISC_SCHAR*, short, const ISC_LONG*, ISC_LONG, void*)</code><br>
 	 * <i>native declaration : C:\Program Files\Firebird\Firebird_2_5\include\ibase.h:736</i>
@@ -185,7 +185,7 @@ public class TestJnaEvents extends FBJUnit4TestBase {
 
         final JnaEventHandle eventHandle = new JnaEventHandle("TEST_EVENT_A", eventHandler, db.getEncoding());
         int size = lib.isc_event_block(eventHandle.getEventBuffer(), eventHandle.getResultBuffer(), (short) 1,
-                eventHandle.getEventNameMemory());
+                (Object[]) eventHandle.getEventNameMemories());
         eventHandle.setSize(size);
 
         // Queue event
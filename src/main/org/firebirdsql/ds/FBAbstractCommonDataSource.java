@@ -504,6 +504,66 @@ public abstract class FBAbstractCommonDataSource extends RootCommonDataSource im
         }
     }
 
+    @Override
+    public boolean isDeferTransactionStart() {
+        synchronized (lock) {
+            return connectionProperties.isDeferTransactionStart();
+        }
+    }
+
+    @Override
+    public void setDeferTransactionStart(boolean deferTransactionStart) {
+        synchronized (lock) {
+            checkNotStarted();
+            connectionProperties.setDeferTransactionStart(deferTransactionStart);
+        }
+    }
+
+    @Override
+    public boolean isUseSharedReadOnlyTransaction() {
+        synchronized (lock) {
+            return connectionProperties.isUseSharedReadOnlyTransaction();
+        }
+    }
+
+    @Override
+    public void setUseSharedReadOnlyTransaction(boolean useSharedReadOnlyTransaction) {
+        synchronized (lock) {
+            checkNotStarted();
+            connectionProperties.setUseSharedReadOnlyTransaction(useSharedReadOnlyTransaction);
+        }
+    }
+
+    @Override
+    public boolean isFetchAhead() {
+        synchronized (lock) {
+            return connectionProperties.isFetchAhead();
+        }
+    }
+
+    @Override
+    public void setFetchAhead(boolean fetchAhead) {
+        synchronized (lock) {
+            checkNotStarted();
+            connectionProperties.setFetchAhead(fetchAhead);
+        }
+    }
+
+    @Override
+    public int getMetaDataCacheTtl() {
+        synchronized (lock) {
+            return connectionProperties.getMetaDataCacheTtl();
+        }
+    }
+
+    @Override
+    public void setMetaDataCacheTtl(int metaDataCacheTtl) {
+        synchronized (lock) {
+            checkNotStarted();
+            connectionProperties.setMetaDataCacheTtl(metaDataCacheTtl);
+        }
+    }
+
     @Override
     public String getWireCrypt() {
         synchronized (lock) {
@@ -383,6 +383,46 @@ public class FBSimpleDataSource extends RootCommonDataSource implements DataSour
         mcf.setUseFirebirdAutocommit(useFirebirdAutocommit);
     }
 
+    @Override
+    public boolean isDeferTransactionStart() {
+        return mcf.isDeferTransactionStart();
+    }
+
+    @Override
+    public void setDeferTransactionStart(boolean deferTransactionStart) {
+        mcf.setDeferTransactionStart(deferTransactionStart);
+    }
+
+    @Override
+    public boolean isUseSharedReadOnlyTransaction() {
+        return mcf.isUseSharedReadOnlyTransaction();
+    }
+
+    @Override
+    public void setUseSharedReadOnlyTransaction(boolean useSharedReadOnlyTransaction) {
+        mcf.setUseSharedReadOnlyTransaction(useSharedReadOnlyTransaction);
+    }
+
+    @Override
+    public boolean isFetchAhead() {
+        return mcf.isFetchAhead();
+    }
+
+    @Override
+    public void setFetchAhead(boolean fetchAhead) {
+        mcf.setFetchAhead(fetchAhead);
+    }
+
+    @Override
+    public int getMetaDataCacheTtl() {
+        return mcf.getMetaDataCacheTtl();
+    }
+
+    @Override
+    public void setMetaDataCacheTtl(int metaDataCacheTtl) {
+        mcf.setMetaDataCacheTtl(metaDataCacheTtl);
+    }
+
     @Override
     public String getWireCrypt() {
         return mcf.getWireCrypt();
@@ -58,6 +58,10 @@ import java.util.concurrent.TimeUnit;
 
 /**
  * An {@link org.firebirdsql.event.EventManager} implementation to listen for database events.
+ * <p>
+ * Event names are grouped in blocks of at most {@link EventHandle#MAX_EVENT_NAMES} names, each block is queued with
+ * a single event handle.
+ * </p>
  *
  * @author <a href="mailto:gab_reid@users.sourceforge.net">Gabriel Reid</a>
  */
@@ -108,9 +112,9 @@ public class FBEventManager implements EventManager {
         SQLExceptionChainBuilder<SQLException> chain = new SQLExceptionChainBuilder<>();
         try {
             try {
-                for (String eventName : new HashSet<>(handlerMap.keySet())) {
+                for (GdsEventHandler handler : new HashSet<>(handlerMap.values())) {
                     try {
-                        unregisterListener(eventName);
+                        handler.unregister();
                     } catch (SQLException e) {
                         chain.append(e);
                     } catch (Exception e) {
@@ -268,29 +272,104 @@ public class FBEventManager implements EventManager {
         return listener.getEventCount();
     }
 
+    /**
+     * Registers the event name by adding it to a block with room for another name, or by starting a new block.
+     * <p>
+     * An existing block is replaced by a new handler for the extended block; the replaced handler remains queued
+     * until the new handler has received its initial notification.
+     * </p>
+     */
     private void registerListener(String eventName) throws SQLException {
-        GdsEventHandler handler = new GdsEventHandler(eventName);
-        handlerMap.put(eventName, handler);
-        handler.register();
+        synchronized (handlerMap) {
+            GdsEventHandler currentHandler = findHandlerWithCapacity();
+            List<String> eventNames = new ArrayList<>(EventHandle.MAX_EVENT_NAMES);
+            if (currentHandler != null) {
+                eventNames.addAll(currentHandler.getEventNames());
+            }
+            eventNames.add(eventName);
+            try {
+                registerHandler(eventNames, currentHandler);
+            } catch (SQLException | RuntimeException e) {
+                handlerMap.remove(eventName);
+                throw e;
+            }
+        }
     }
 
+    /**
+     * Unregisters the event name by cancelling its block, or by replacing the block with one for the remaining names.
+     */
     private void unregisterListener(String eventName) throws SQLException {
-        GdsEventHandler handler = handlerMap.get(eventName);
+        synchronized (handlerMap) {
+            GdsEventHandler handler = handlerMap.remove(eventName);
+            if (handler == null) return;
+            List<String> remainingEventNames = new ArrayList<>(handler.getEventNames());
+            remainingEventNames.remove(eventName);
+            if (remainingEventNames.isEmpty()) {
+                handler.unregister();
+            } else {
+                registerHandler(remainingEventNames, handler);
+            }
+        }
+    }
+
+    private GdsEventHandler findHandlerWithCapacity() {
+        for (GdsEventHandler handler : handlerMap.values()) {
+            if (handler.getEventNames().size() < EventHandle.MAX_EVENT_NAMES) {
+                return handler;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Creates and queues the handler for a block of event names; on failure, the names of the replaced handler are
+     * mapped to that handler again.
+     */
+    private void registerHandler(List<String> eventNames, GdsEventHandler replacedHandler) throws SQLException {
+        GdsEventHandler handler = null;
         try {
-            handler.unregister();
-        } finally {
-            handlerMap.remove(eventName);
+            handler = new GdsEventHandler(eventNames, replacedHandler);
+            for (String eventName : eventNames) {
+                handlerMap.put(eventName, handler);
+            }
+            handler.register();
+        } catch (SQLException | RuntimeException e) {
+            if (handler != null) {
+                handler.discard();
+            }
+            if (replacedHandler != null) {
+                for (String eventName : replacedHandler.getEventNames()) {
+                    if (handlerMap.get(eventName) == handler) {
+                        handlerMap.put(eventName, replacedHandler);
+                    }
+                }
+            }
+            throw e;
         }
     }
 
     class GdsEventHandler implements org.firebirdsql.gds.EventHandler {
 
         private final EventHandle eventHandle;
+        private GdsEventHandler replacedHandler;
         private boolean initialized = false;
         private volatile boolean cancelled = false;
 
-        public GdsEventHandler(String eventName) throws SQLException {
-            eventHandle = fbDatabase.createEventHandle(eventName, this);
+        /**
+         * @param eventNames
+         *         Names of the events of this block
+         * @param replacedHandler
+         *         Handler replaced by this handler (or {@code null}), it is cancelled once this handler has been
+         *         initialized
+         */
+        GdsEventHandler(List<String> eventNames, GdsEventHandler replacedHandler) throws SQLException {
+            eventHandle = fbDatabase.createEventHandle(eventNames, this);
+            this.replacedHandler = replacedHandler;
+        }
+
+        List<String> getEventNames() {
+            return eventHandle.getEventNames();
         }
 
         public synchronized void register() throws SQLException {
@@ -302,10 +381,19 @@ public class FBEventManager implements EventManager {
 
         public synchronized void unregister() throws SQLException {
             if (cancelled) return;
+            cancelReplacedHandler();
             fbDatabase.cancelEvent(eventHandle);
             cancelled = true;
         }
 
+        /**
+         * Marks a handler that failed to register as cancelled, without cancelling its event handle.
+         */
+        synchronized void discard() {
+            replacedHandler = null;
+            cancelled = true;
+        }
+
         public synchronized void eventOccurred(EventHandle eventHandle) {
             if (!cancelled) {
                 try {
@@ -315,9 +403,17 @@ public class FBEventManager implements EventManager {
                 }
 
                 if (initialized && !cancelled) {
-                    eventQueue.add(new DatabaseEventImpl(eventHandle.getEventName(), eventHandle.getEventCount()));
+                    List<String> eventNames = eventHandle.getEventNames();
+                    for (int idx = 0; idx < eventNames.size(); idx++) {
+                        int eventCount = eventHandle.getEventCount(idx);
+                        if (eventCount > 0) {
+                            eventQueue.add(new DatabaseEventImpl(eventNames.get(idx), eventCount));
+                        }
+                    }
                 } else {
                     initialized = true;
+                    // Events are now reported by this handler
+                    cancelReplacedHandler();
                 }
 
                 try {
@@ -327,6 +423,17 @@ public class FBEventManager implements EventManager {
                 }
             }
         }
+
+        private void cancelReplacedHandler() {
+            GdsEventHandler handler = replacedHandler;
+            replacedHandler = null;
+            if (handler == null) return;
+            try {
+                handler.unregister();
+            } catch (SQLException e) {
+                log.warn("Exception cancelling replaced event handler", e);
+            }
+        }
     }
 
     class EventDispatcher implements Runnable {
@@ -24,26 +24,63 @@
  */
 package org.firebirdsql.gds;
 
+import java.util.List;
+
 /**
  * Handle to internal event-handling structures.
+ * <p>
+ * A handle listens for one or more events (at most {@link #MAX_EVENT_NAMES}), which are queued and notified
+ * together.
+ * </p>
  */
 public interface EventHandle {
-   
+
+    /**
+     * Maximum number of event names in a single event handle (event parameter buffer).
+     *
+     * @since 4.0
+     */
+    int MAX_EVENT_NAMES = 15;
+
     /**
-     * Get the name of the event for which this handle is set to listen for
+     * Get the name of the event for which this handle is set to listen for.
+     * <p>
+     * For a handle with multiple events, this is the name of the first event.
+     * </p>
      *
      * @return The name of the event
      */
     String getEventName();
 
+    /**
+     * Get the names of the events for which this handle is set to listen for.
+     *
+     * @return The names of the events (unmodifiable), in the order of the event parameter buffer
+     * @since 4.0
+     */
+    List<String> getEventNames();
+
     /**
      * Get the count of event occurrences for the most recent occurrence(s)
      * of the event for which this handle is registered.
+     * <p>
+     * For a handle with multiple events, this is the count of the first event.
+     * </p>
      *
      * @return The event count
      */
     int getEventCount();
 
+    /**
+     * Get the count of event occurrences for the most recent occurrence(s) of the event at the specified index.
+     *
+     * @param index
+     *         Index of the event in {@link #getEventNames()}
+     * @return The event count
+     * @since 4.0
+     */
+    int getEventCount(int index);
+
     /**
      * Get the internal event id number for this handle
      *
@@ -187,6 +187,10 @@ public interface ISCConstants {
     int isc_dpb_column_label_for_name   = 142;
     int isc_dpb_use_firebird_autocommit = 143;
     int isc_dpb_wire_crypt_level        = 144;
+    int isc_dpb_defer_transaction_start = 145;
+    int isc_dpb_shared_read_only_transaction = 146;
+    int isc_dpb_fetch_ahead             = 147;
+    int isc_dpb_metadata_cache_ttl      = 148;
 
     /*************************************/
     /* Transaction parameter block stuff */
@@ -42,6 +42,8 @@ public final class JaybirdSystemProperties {
     public static final String DEFAULT_CONNECTION_ENCODING_PROPERTY = JDBC_PREFIX + "defaultConnectionEncoding";
     public static final String REQUIRE_CONNECTION_ENCODING_PROPERTY = JDBC_PREFIX + "requireConnectionEncoding";
     public static final String DATATYPE_CODER_CACHE_SIZE = COMMON_PREFIX + "datatypeCoderCacheSize";
+    public static final String STATEMENT_PARSER_PROP = JDBC_PREFIX + "statementParser";
+    public static final String STATEMENT_DESCRIBE_CACHE_SIZE = COMMON_PREFIX + "statementDescribeCacheSize";
 
     private JaybirdSystemProperties() {
         // no instances
@@ -84,6 +86,15 @@ public final class JaybirdSystemProperties {
         return value != null ? value : defaultValue;
     }
 
+    public static String getStatementParser() {
+        return getSystemPropertyPrivileged(STATEMENT_PARSER_PROP);
+    }
+
+    public static int getStatementDescribeCacheSize(int defaultValue) {
+        Integer value = getIntegerSystemPropertyPrivileged(STATEMENT_DESCRIBE_CACHE_SIZE);
+        return value != null ? value : defaultValue;
+    }
+
     private static String getSystemPropertyPrivileged(final String propertyName) {
         return AccessController.doPrivileged(new PrivilegedAction<String>() {
             public String run() {
@@ -62,6 +62,10 @@ public interface DatabaseParameterBufferExtension extends DatabaseParameterBuffe
     int COLUMN_LABEL_FOR_NAME           = ISCConstants.isc_dpb_column_label_for_name;
     int USE_FIREBIRD_AUTOCOMMIT         = ISCConstants.isc_dpb_use_firebird_autocommit;
     int WIRE_CRYPT_LEVEL                = ISCConstants.isc_dpb_wire_crypt_level;
+    int DEFER_TRANSACTION_START         = ISCConstants.isc_dpb_defer_transaction_start;
+    int SHARED_READ_ONLY_TRANSACTION    = ISCConstants.isc_dpb_shared_read_only_transaction;
+    int FETCH_AHEAD                     = ISCConstants.isc_dpb_fetch_ahead;
+    int METADATA_CACHE_TTL              = ISCConstants.isc_dpb_metadata_cache_ttl;
     
     /**
      * List of the DPB extensions. This array is used to filter the parameters
@@ -85,7 +89,11 @@ public interface DatabaseParameterBufferExtension extends DatabaseParameterBuffe
         SO_TIMEOUT,
         COLUMN_LABEL_FOR_NAME,
         USE_FIREBIRD_AUTOCOMMIT,
-        WIRE_CRYPT_LEVEL
+        WIRE_CRYPT_LEVEL,
+        DEFER_TRANSACTION_START,
+        SHARED_READ_ONLY_TRANSACTION,
+        FETCH_AHEAD,
+        METADATA_CACHE_TTL
     };
 
     /**
@@ -29,10 +29,12 @@ import org.firebirdsql.gds.ng.*;
 import org.firebirdsql.jdbc.Synchronizable;
 
 import java.sql.SQLException;
+import java.util.Collection;
 
 /**
  * Helper class for all GDS-related operations.
  */
+@SuppressWarnings("try")
 public final class GDSHelper implements Synchronizable {
 
     public static final int DEFAULT_BLOB_BUFFER_SIZE = 16 * 1024;
@@ -50,13 +52,13 @@ public final class GDSHelper implements Synchronizable {
     }
 
     public FbTransaction getCurrentTransaction() {
-        synchronized (database.getSynchronizationObject()) {
+        try (LockCloseable ignored = database.withLock()) {
             return transaction;
         }
     }
 
     public void setCurrentTransaction(FbTransaction transaction) {
-        synchronized (database.getSynchronizationObject()) {
+        try (LockCloseable ignored = database.withLock()) {
             this.transaction = transaction;
         }
     }
@@ -99,7 +101,7 @@ public final class GDSHelper implements Synchronizable {
      * transaction, <code>false</code> otherwise.
      */
     public boolean inTransaction() {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             return transaction != null && transaction.getState() == TransactionState.ACTIVE;
         }
     }
@@ -141,6 +143,46 @@ public final class GDSHelper implements Synchronizable {
         return blob;
     }
 
+    /**
+     * Reads the content of multiple blobs within the current transaction.
+     *
+     * @param blobIds
+     *         Ids of the blobs to read
+     * @param callback
+     *         Callback receiving the content (or read failure) of each blob
+     * @throws SQLException
+     *         if a Firebird-specific database error occurs
+     * @see FbDatabase#readBlobs(FbTransaction, BlobParameterBuffer, java.util.Collection, BlobReadCallback)
+     */
+    public void readBlobs(Collection<Long> blobIds, BlobReadCallback callback) throws SQLException {
+        BlobParameterBuffer blobParameterBuffer = database.createBlobParameterBuffer();
+        blobParameterBuffer.addArgument(BlobParameterBuffer.TYPE, BlobParameterBuffer.TYPE_SEGMENTED);
+
+        database.readBlobs(getCurrentTransaction(), blobParameterBuffer, blobIds, callback);
+    }
+
+    /**
+     * Creates and writes multiple new blobs within the current transaction.
+     *
+     * @param segmented
+     *         If <code>true</code> the blobs will be segmented, otherwise they will be streamed
+     * @param blobCount
+     *         Number of blobs to write
+     * @param callback
+     *         Callback providing the content of each blob, and receiving the blob id (or write failure) of each blob
+     * @throws SQLException
+     *         if a Firebird-specific database error occurs
+     * @see FbDatabase#writeBlobs(FbTransaction, BlobParameterBuffer, int, BlobWriteCallback)
+     */
+    public void writeBlobs(boolean segmented, int blobCount, BlobWriteCallback callback) throws SQLException {
+        BlobParameterBuffer blobParameterBuffer = database.createBlobParameterBuffer();
+        blobParameterBuffer.addArgument(BlobParameterBuffer.TYPE,
+                segmented ? BlobParameterBuffer.TYPE_SEGMENTED
+                        : BlobParameterBuffer.TYPE_STREAM);
+
+        database.writeBlobs(getCurrentTransaction(), blobParameterBuffer, blobCount, callback);
+    }
+
     /**
      * Create a new blob within the current transaction.
      *
@@ -282,4 +324,9 @@ public final class GDSHelper implements Synchronizable {
     public Object getSynchronizationObject() {
         return syncObject;
     }
+
+    @Override
+    public LockCloseable withLock() {
+        return database.withLock();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,199 @@
+/*
+ * $Id$
+ *
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.gds.impl;
+
+import org.firebirdsql.encodings.Encoding;
+import org.firebirdsql.gds.Parameter;
+import org.firebirdsql.gds.TransactionParameterBuffer;
+import org.firebirdsql.gds.impl.wire.XdrInputStream;
+import org.firebirdsql.gds.impl.wire.XdrOutputStream;
+import org.firebirdsql.gds.impl.wire.Xdrable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * Immutable, pre-serialized {@link TransactionParameterBuffer}.
+ * <p>
+ * The serialized form of the arguments is computed once on construction, and written as a single block when the
+ * buffer is sent to the server. All methods that modify the buffer throw {@link UnsupportedOperationException}, use
+ * {@link #deepCopy()} to obtain a modifiable copy.
+ * </p>
+ *
+ * @since 4.0
+ */
+public final class ImmutableTransactionParameterBuffer implements TransactionParameterBuffer, Serializable {
+
+    private final TransactionParameterBuffer source;
+    private final byte[] serializedArguments;
+
+    /**
+     * Creates an immutable copy of a transaction parameter buffer.
+     *
+     * @param transactionParameterBuffer
+     *         Transaction parameter buffer to copy
+     */
+    public ImmutableTransactionParameterBuffer(TransactionParameterBuffer transactionParameterBuffer) {
+        source = transactionParameterBuffer.deepCopy();
+        serializedArguments = source.toBytes();
+    }
+
+    /**
+     * Checks if this buffer is an (unmodified) copy of the specified transaction parameter buffer.
+     *
+     * @param transactionParameterBuffer
+     *         Transaction parameter buffer
+     * @return {@code true} if this buffer has the same arguments as {@code transactionParameterBuffer}
+     */
+    public boolean isCopyOf(TransactionParameterBuffer transactionParameterBuffer) {
+        return transactionParameterBuffer == this || source.equals(transactionParameterBuffer);
+    }
+
+    @Override
+    public TransactionParameterBuffer deepCopy() {
+        return source.deepCopy();
+    }
+
+    @Override
+    public int getType() {
+        return source.getType();
+    }
+
+    @Override
+    public void addArgument(int argumentType, String value) {
+        throw new UnsupportedOperationException("ImmutableTransactionParameterBuffer cannot be modified");
+    }
+
+    @Override
+    public void addArgument(int argumentType, String value, Encoding encoding) {
+        throw new UnsupportedOperationException("ImmutableTransactionParameterBuffer cannot be modified");
+    }
+
+    @Override
+    public void addArgument(int argumentType, int value) {
+        throw new UnsupportedOperationException("ImmutableTransactionParameterBuffer cannot be modified");
+    }
+
+    @Override
+    public void addArgument(int argumentType, long value) {
+        throw new UnsupportedOperationException("ImmutableTransactionParameterBuffer cannot be modified");
+    }
+
+    @Override
+    public void addArgument(int argumentType) {
+        throw new UnsupportedOperationException("ImmutableTransactionParameterBuffer cannot be modified");
+    }
+
+    @Override
+    public void addArgument(int argumentType, byte[] content) {
+        throw new UnsupportedOperationException("ImmutableTransactionParameterBuffer cannot be modified");
+    }
+
+    @Override
+    public void removeArgument(int argumentType) {
+        throw new UnsupportedOperationException("ImmutableTransactionParameterBuffer cannot be modified");
+    }
+
+    @Override
+    public String getArgumentAsString(int argumentType) {
+        return source.getArgumentAsString(argumentType);
+    }
+
+    @Override
+    public int getArgumentAsInt(int argumentType) {
+        return source.getArgumentAsInt(argumentType);
+    }
+
+    @Override
+    public boolean hasArgument(int argumentType) {
+        return source.hasArgument(argumentType);
+    }
+
+    @Override
+    public Iterator<Parameter> iterator() {
+        // ParameterBufferBase returns an iterator over a copy of its arguments
+        return source.iterator();
+    }
+
+    @Override
+    public void writeArgumentsTo(OutputStream outputStream) throws IOException {
+        outputStream.write(serializedArguments);
+    }
+
+    @Override
+    public Xdrable toXdrable() {
+        return new SerializedXdrable();
+    }
+
+    @Override
+    public byte[] toBytes() {
+        return serializedArguments.clone();
+    }
+
+    @Override
+    public byte[] toBytesWithType() {
+        final byte[] bytesWithType = new byte[serializedArguments.length + 1];
+        bytesWithType[0] = (byte) getType();
+        System.arraycopy(serializedArguments, 0, bytesWithType, 1, serializedArguments.length);
+        return bytesWithType;
+    }
+
+    @Override
+    public int size() {
+        return source.size();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (other == this) return true;
+        if (!(other instanceof ImmutableTransactionParameterBuffer)) return false;
+
+        return Arrays.equals(serializedArguments, ((ImmutableTransactionParameterBuffer) other).serializedArguments);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(serializedArguments);
+    }
+
+    /**
+     * Xdrable writing the pre-serialized arguments with a single write.
+     */
+    private class SerializedXdrable implements Xdrable {
+        @Override
+        public int getLength() {
+            return serializedArguments.length;
+        }
+
+        @Override
+        public void read(XdrInputStream inputStream, int length) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void write(XdrOutputStream outputStream) throws IOException {
+            outputStream.write(serializedArguments, 0, serializedArguments.length);
+        }
+    }
+}
@@ -192,6 +192,21 @@ public final class XdrOutputStream extends OutputStream {
         }
     }
 
+    /**
+     * Write a section of a <code>byte</code> buffer to the underlying output stream in
+     * XDR format.
+     *
+     * @param buffer The <code>byte</code> buffer containing the section to be written
+     * @param offset The start offset in the buffer
+     * @param len The number of bytes to write
+     * @throws IOException if an error occurs while writing to the
+     *         underlying output stream
+     */
+    public void writeBuffer(byte[] buffer, int offset, int len) throws IOException {
+        writeInt(len);
+        write(buffer, offset, len, (4 - len) & 3);
+    }
+
     /**
      * Write content of the specified string using the specified encoding.
      */
@@ -21,6 +21,10 @@ package org.firebirdsql.gds.ng;
 import org.firebirdsql.gds.EventHandle;
 import org.firebirdsql.gds.EventHandler;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Abstract implementation for event handle.
  *
@@ -29,32 +33,67 @@ import org.firebirdsql.gds.EventHandler;
  */
 public abstract class AbstractEventHandle implements EventHandle {
 
-    private final String eventName;
+    private final List<String> eventNames;
     private final EventHandler eventHandler;
-    private volatile int eventCount;
+    private volatile int[] eventCounts;
 
     protected AbstractEventHandle(String eventName, EventHandler eventHandler) {
-        this.eventName = eventName;
+        this(Collections.singletonList(eventName), eventHandler);
+    }
+
+    /**
+     * Creates an event handle for one or more events.
+     *
+     * @param eventNames
+     *         Names of the events (at least 1, at most {@link #MAX_EVENT_NAMES})
+     * @param eventHandler
+     *         The event handler to call when one of the events occurred
+     * @since 4.0
+     */
+    protected AbstractEventHandle(List<String> eventNames, EventHandler eventHandler) {
+        if (eventNames.isEmpty() || eventNames.size() > MAX_EVENT_NAMES) {
+            throw new IllegalArgumentException(String.format(
+                    "Number of event names should be between 1 and %d, was %d", MAX_EVENT_NAMES, eventNames.size()));
+        }
+        this.eventNames = Collections.unmodifiableList(new ArrayList<>(eventNames));
         this.eventHandler = eventHandler;
+        eventCounts = new int[eventNames.size()];
     }
 
     @Override
     public final String getEventName() {
-        return eventName;
+        return eventNames.get(0);
+    }
+
+    @Override
+    public final List<String> getEventNames() {
+        return eventNames;
     }
 
     /**
-     * Sets the current known event count for this handle.
+     * Sets the current known event counts for this handle.
      *
-     * @param eventCount The event count
+     * @param eventCounts
+     *         The event counts, in the order of {@link #getEventNames()} (array is not copied, and should not be
+     *         modified after calling this method)
+     * @since 4.0
      */
-    protected void setEventCount(int eventCount) {
-        this.eventCount = eventCount;
+    protected void setEventCounts(int[] eventCounts) {
+        if (eventCounts.length != eventNames.size()) {
+            throw new IllegalArgumentException(String.format("Expected %d event counts, received %d",
+                    eventNames.size(), eventCounts.length));
+        }
+        this.eventCounts = eventCounts;
     }
 
     @Override
     public final int getEventCount() {
-        return eventCount;
+        return getEventCount(0);
+    }
+
+    @Override
+    public final int getEventCount(int index) {
+        return eventCounts[index];
     }
 
     protected final void onEventOccurred() {
@@ -44,7 +44,7 @@ public abstract class AbstractFbAttachment<T extends AbstractConnection<? extend
     private static final Logger log = LoggerFactory.getLogger(AbstractFbAttachment.class);
 
     private final AtomicBoolean attached = new AtomicBoolean();
-    private final Object syncObject = new SyncObject();
+    private final SyncObject syncObject = new SyncObject();
     protected final ExceptionListenerDispatcher exceptionListenerDispatcher = new ExceptionListenerDispatcher(this);
     protected final T connection;
     private final DatatypeCoder datatypeCoder;
@@ -112,10 +112,15 @@ public abstract class AbstractFbAttachment<T extends AbstractConnection<? extend
     }
 
     @Override
-    public final Object getSynchronizationObject() {
+    public final SyncObject getSynchronizationObject() {
         return syncObject;
     }
 
+    @Override
+    public final LockCloseable withLock() {
+        return syncObject.withLock();
+    }
+
     @Override
     public final IEncodingFactory getEncodingFactory() {
         return connection.getEncodingFactory();
@@ -36,6 +36,7 @@ import java.sql.SQLWarning;
  * @author <a href="mailto:mrotteveel@users.sourceforge.net">Mark Rotteveel</a>
  * @since 3.0
  */
+@SuppressWarnings("try")
 public abstract class AbstractFbBlob implements FbBlob, TransactionListener, DatabaseListener {
 
     private static final Logger log = LoggerFactory.getLogger(AbstractFbBlob.class);
@@ -45,12 +46,15 @@ public abstract class AbstractFbBlob implements FbBlob, TransactionListener, Dat
     private final BlobParameterBuffer blobParameterBuffer;
     private FbTransaction transaction;
     private FbDatabase database;
+    // database is cleared when the database detaches, the lock must remain available
+    private final FbDatabase lockDatabase;
     private boolean open;
     private boolean eof;
 
     protected AbstractFbBlob(FbDatabase database, FbTransaction transaction, BlobParameterBuffer blobParameterBuffer) {
         this.syncObject = database.getSynchronizationObject();
         this.database = database;
+        this.lockDatabase = database;
         this.transaction = transaction;
         this.blobParameterBuffer = blobParameterBuffer;
         transaction.addWeakTransactionListener(this);
@@ -58,14 +62,14 @@ public abstract class AbstractFbBlob implements FbBlob, TransactionListener, Dat
 
     @Override
     public final boolean isOpen() {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             return open;
         }
     }
 
     @Override
     public final boolean isEof() {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             return eof || !isOpen();
         }
     }
@@ -78,7 +82,7 @@ public abstract class AbstractFbBlob implements FbBlob, TransactionListener, Dat
      */
     protected final void setEof() {
         if (isOutput()) return;
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             // TODO Can stream blobs be 'reopened' using seek?
             eof = true;
         }
@@ -91,7 +95,7 @@ public abstract class AbstractFbBlob implements FbBlob, TransactionListener, Dat
      * </p>
      */
     protected final void resetEof() {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             eof = false;
         }
     }
@@ -105,7 +109,7 @@ public abstract class AbstractFbBlob implements FbBlob, TransactionListener, Dat
      * @param open New value of open.
      */
     protected final void setOpen(boolean open) {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             final FbDatabase database = this.database;
             if (open) {
                 database.addWeakDatabaseListener(this);
@@ -123,7 +127,7 @@ public abstract class AbstractFbBlob implements FbBlob, TransactionListener, Dat
     @Override
     public final void close() throws SQLException {
         try {
-            synchronized (getSynchronizationObject()) {
+            try (LockCloseable ignored = withLock()) {
                 if (!isOpen()) return;
                 checkDatabaseAttached();
                 checkTransactionActive();
@@ -150,7 +154,7 @@ public abstract class AbstractFbBlob implements FbBlob, TransactionListener, Dat
     @Override
     public final void cancel() throws SQLException {
         try {
-            synchronized (getSynchronizationObject()) {
+            try (LockCloseable ignored = withLock()) {
                 checkDatabaseAttached();
                 checkTransactionActive();
                 try {
@@ -176,6 +180,16 @@ public abstract class AbstractFbBlob implements FbBlob, TransactionListener, Dat
         return syncObject;
     }
 
+    /**
+     * Acquires the lock of the database of this blob.
+     *
+     * @return Closeable that releases the lock
+     * @since 4.0
+     */
+    protected final LockCloseable withLock() {
+        return lockDatabase.withLock();
+    }
+
     @Override
     public void transactionStateChanged(FbTransaction transaction, TransactionState newState,
             TransactionState previousState) {
@@ -186,7 +200,7 @@ public abstract class AbstractFbBlob implements FbBlob, TransactionListener, Dat
         switch (newState) {
         case COMMITTED:
         case ROLLED_BACK:
-            synchronized (getSynchronizationObject()) {
+            try (LockCloseable ignored = withLock()) {
                 clearTransaction();
                 setOpen(false);
             }
@@ -204,7 +218,7 @@ public abstract class AbstractFbBlob implements FbBlob, TransactionListener, Dat
             database.removeDatabaseListener(this);
             return;
         }
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             if (isOpen()) {
                 log.debug(String.format("blob with blobId %d still open on database detach", getBlobId()));
                 try {
@@ -218,7 +232,7 @@ public abstract class AbstractFbBlob implements FbBlob, TransactionListener, Dat
 
     @Override
     public void detached(FbDatabase database) {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             if (this.database == database) {
                 open = false;
                 clearDatabase();
@@ -246,7 +260,7 @@ public abstract class AbstractFbBlob implements FbBlob, TransactionListener, Dat
      *         When no database is set, or the database is not attached
      */
     protected void checkDatabaseAttached() throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             if (database == null || !database.isAttached()) {
                 throw new FbExceptionBuilder().nonTransientException(ISCConstants.isc_segstr_wrong_db).toSQLException();
             }
@@ -274,15 +288,34 @@ public abstract class AbstractFbBlob implements FbBlob, TransactionListener, Dat
         }
     }
 
+    /**
+     * Checks if {@code off} and {@code len} describe a valid section of {@code buffer}.
+     *
+     * @param buffer
+     *         Buffer
+     * @param off
+     *         Offset in buffer
+     * @param len
+     *         Length of the section
+     * @throws IndexOutOfBoundsException
+     *         If {@code off} or {@code len} are negative, or {@code off + len} is larger than the buffer length
+     */
+    protected static void checkBufferSection(byte[] buffer, int off, int len) {
+        if (off < 0 || len < 0 || len > buffer.length - off) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Invalid offset %d or length %d for buffer of length %d", off, len, buffer.length));
+        }
+    }
+
     protected FbTransaction getTransaction() {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             return transaction;
         }
     }
 
     protected final void clearTransaction() {
         final FbTransaction transaction;
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             transaction = this.transaction;
             this.transaction = null;
         }
@@ -293,7 +326,7 @@ public abstract class AbstractFbBlob implements FbBlob, TransactionListener, Dat
 
     @Override
     public FbDatabase getDatabase() {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             return database;
         }
     }
@@ -313,7 +346,7 @@ public abstract class AbstractFbBlob implements FbBlob, TransactionListener, Dat
     @Override
     public long length() throws SQLException {
         try {
-            synchronized (getSynchronizationObject()) {
+            try (LockCloseable ignored = withLock()) {
                 checkDatabaseAttached();
                 if (getBlobId() == FbBlob.NO_BLOB_ID) {
                     throw new FbExceptionBuilder().exception(ISCConstants.isc_bad_segstr_id).toSQLException();
@@ -339,7 +372,7 @@ public abstract class AbstractFbBlob implements FbBlob, TransactionListener, Dat
 
     protected final void clearDatabase() {
         final FbDatabase database;
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             database = this.database;
             this.database = null;
         }
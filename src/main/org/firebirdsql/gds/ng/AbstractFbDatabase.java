@@ -29,8 +29,12 @@ import org.firebirdsql.gds.ng.listeners.TransactionListener;
 import org.firebirdsql.logging.Logger;
 import org.firebirdsql.logging.LoggerFactory;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.sql.SQLException;
 import java.sql.SQLWarning;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
@@ -46,6 +50,7 @@ import static org.firebirdsql.gds.VaxEncoding.iscVaxInteger2;
  * @author <a href="mailto:mrotteveel@users.sourceforge.net">Mark Rotteveel</a>
  * @since 3.0
  */
+@SuppressWarnings("try")
 public abstract class AbstractFbDatabase<T extends AbstractConnection<IConnectionProperties, ? extends FbDatabase>>
         extends AbstractFbAttachment<T> implements FbDatabase, TransactionListener {
 
@@ -66,6 +71,12 @@ public abstract class AbstractFbDatabase<T extends AbstractConnection<IConnectio
             isc_info_end };
     // @formatter:on
 
+    /**
+     * Minimal info-request block used by the default implementation of {@link #ping(int)}.
+     */
+    protected static final byte[] PING_INFO_REQUEST = new byte[] { isc_info_ods_version, isc_info_end };
+    protected static final int PING_INFO_BUFFER_LENGTH = 10;
+
     private final DatabaseListenerDispatcher databaseListenerDispatcher = new DatabaseListenerDispatcher();
     private final Set<FbTransaction> activeTransactions = Collections.synchronizedSet(new HashSet<FbTransaction>());
     private final WarningMessageCallback warningCallback = new WarningMessageCallback() {
@@ -174,7 +185,7 @@ public abstract class AbstractFbDatabase<T extends AbstractConnection<IConnectio
     public final void close() throws SQLException {
         try {
             checkConnected();
-            synchronized (getSynchronizationObject()) {
+            try (LockCloseable ignored = withLock()) {
                 if (getActiveTransactionCount() > 0) {
                     // Throw open transactions as exception, fbclient doesn't disconnect with outstanding (unprepared)
                     // transactions
@@ -307,6 +318,122 @@ public abstract class AbstractFbDatabase<T extends AbstractConnection<IConnectio
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Implementation note: reads the blobs one after the other using blobs created with
+     * {@link #createBlobForInput(FbTransaction, BlobParameterBuffer, long)}. Implementations that can interleave
+     * operations on multiple blobs should override this method.
+     * </p>
+     */
+    @Override
+    public void readBlobs(FbTransaction transaction, BlobParameterBuffer blobParameterBuffer,
+            Collection<Long> blobIds, BlobReadCallback callback) throws SQLException {
+        try (LockCloseable ignored = withLock()) {
+            for (Long blobId : blobIds) {
+                final FbBlob blob = createBlobForInput(transaction, blobParameterBuffer, blobId);
+                final byte[] content;
+                try {
+                    blob.open();
+                    final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+                    while (!blob.isEof()) {
+                        final byte[] segment = blob.getSegment(blob.getMaximumSegmentSize());
+                        bos.write(segment, 0, segment.length);
+                    }
+                    blob.close();
+                    content = bos.toByteArray();
+                } catch (SQLException e) {
+                    if (!isAttached()) {
+                        throw e;
+                    }
+                    closeBlobAfterFailure(blob);
+                    callback.blobReadFailed(blobId, e);
+                    continue;
+                }
+                callback.blobRead(blobId, content);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This implementation writes the blobs sequentially.
+     * </p>
+     */
+    @Override
+    public void writeBlobs(FbTransaction transaction, BlobParameterBuffer blobParameterBuffer, int blobCount,
+            BlobWriteCallback callback) throws SQLException {
+        try (LockCloseable ignored = withLock()) {
+            for (int index = 0; index < blobCount; index++) {
+                final FbBlob blob = createBlobForOutput(transaction, blobParameterBuffer);
+                try {
+                    blob.open();
+                    writeBlobContent(blob, index, callback);
+                    blob.close();
+                } catch (SQLException e) {
+                    if (!isAttached()) {
+                        throw e;
+                    }
+                    cancelBlobAfterFailure(blob);
+                    callback.blobWriteFailed(index, e);
+                    continue;
+                }
+                callback.blobWritten(index, blob.getBlobId());
+            }
+        }
+    }
+
+    private static void writeBlobContent(final FbBlob blob, int index, BlobWriteCallback callback)
+            throws SQLException {
+        try (OutputStream out = new AbstractSegmentOutputStream(blob.getMaximumSegmentSize()) {
+            @Override
+            protected void writeSegment(byte[] segment, int off, int len) throws IOException {
+                try {
+                    blob.putSegment(segment, off, len);
+                } catch (SQLException e) {
+                    throw new IOException(e);
+                }
+            }
+        }) {
+            callback.writeContent(index, out);
+        } catch (IOException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException) e.getCause();
+            }
+            throw new SQLException(e);
+        }
+    }
+
+    private static void cancelBlobAfterFailure(FbBlob blob) {
+        if (!blob.isOpen()) return;
+        try {
+            blob.cancel();
+        } catch (SQLException e) {
+            log.debug("Ignored exception cancelling blob after write failure", e);
+        }
+    }
+
+    private static void closeBlobAfterFailure(FbBlob blob) {
+        if (!blob.isOpen()) return;
+        try {
+            blob.close();
+        } catch (SQLException e) {
+            log.debug("Ignored exception closing blob after read failure", e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This implementation performs a minimal database info request, and ignores {@code timeout}.
+     * </p>
+     */
+    @Override
+    public void ping(int timeout) throws SQLException {
+        getDatabaseInfo(PING_INFO_REQUEST, PING_INFO_BUFFER_LENGTH);
+    }
+
     @Override
     public BlobParameterBuffer createBlobParameterBuffer() {
         return new BlobParameterBufferImp();
@@ -37,6 +37,7 @@ import static org.firebirdsql.gds.VaxEncoding.iscVaxInteger2;
  * @author <a href="mailto:mrotteveel@users.sourceforge.net">Mark Rotteveel</a>
  * @since 3.0
  */
+@SuppressWarnings("try")
 public abstract class AbstractFbService<T extends AbstractConnection<IServiceProperties, ? extends FbService>>
         extends AbstractFbAttachment<T> implements FbService {
 
@@ -98,7 +99,7 @@ public abstract class AbstractFbService<T extends AbstractConnection<IServicePro
     public final void close() throws SQLException {
         try {
             checkConnected();
-            synchronized (getSynchronizationObject()) {
+            try (LockCloseable ignored = withLock()) {
                 serviceListenerDispatcher.detaching(this);
                 try {
                     internalDetach();
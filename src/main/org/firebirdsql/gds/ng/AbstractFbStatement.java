@@ -39,6 +39,7 @@ import java.util.Set;
  * @author <a href="mailto:mrotteveel@users.sourceforge.net">Mark Rotteveel</a>
  * @since 3.0
  */
+@SuppressWarnings("try")
 public abstract class AbstractFbStatement implements FbStatement {
 
     /**
@@ -58,6 +59,7 @@ public abstract class AbstractFbStatement implements FbStatement {
     protected final StatementListenerDispatcher statementListenerDispatcher = new StatementListenerDispatcher();
     protected final ExceptionListenerDispatcher exceptionListenerDispatcher = new ExceptionListenerDispatcher(this);
     private volatile boolean allRowsFetched = false;
+    private volatile int maxRows;
     private volatile StatementState state = StatementState.NEW;
     private volatile StatementType type = StatementType.NONE;
     private volatile RowDescriptor parameterDescriptor;
@@ -75,7 +77,7 @@ public abstract class AbstractFbStatement implements FbStatement {
             switch (newState) {
             case COMMITTED:
             case ROLLED_BACK:
-                synchronized (getSynchronizationObject()) {
+                try (LockCloseable ignored = withLock()) {
                     try {
                         if (RESET_TO_PREPARED.contains(getState())) {
                             // Cursor has been closed due to commit, rollback, etc, back to prepared state
@@ -130,11 +132,21 @@ public abstract class AbstractFbStatement implements FbStatement {
         return syncObject;
     }
 
+    /**
+     * Acquires the lock of the database of this statement.
+     *
+     * @return Closeable that releases the lock
+     * @since 4.0
+     */
+    protected final LockCloseable withLock() {
+        return getDatabase().withLock();
+    }
+
     @Override
     public void close() throws SQLException {
         if (getState() == StatementState.CLOSED) return;
         try {
-            synchronized (getSynchronizationObject()) {
+            try (LockCloseable ignored = withLock()) {
                 // TODO do additional checks (see also old implementation and .NET)
                 try {
                     final StatementState currentState = getState();
@@ -165,7 +177,7 @@ public abstract class AbstractFbStatement implements FbStatement {
     @Override
     public final void closeCursor(boolean transactionEnd) throws SQLException {
         try {
-            synchronized (getSynchronizationObject()) {
+            try (LockCloseable ignored = withLock()) {
                 if (!getState().isCursorOpen()) return;
                 try {
                     if (!transactionEnd && getType().isTypeWithCursor()) {
@@ -192,6 +204,11 @@ public abstract class AbstractFbStatement implements FbStatement {
 
     /**
      * Sets the StatementState.
+     * <p>
+     * The state is changed and listeners are notified while holding the lock of {@link #withLock()}, so listeners
+     * receive state changes in the order they were made. Reading the state with {@link #getState()} does not require
+     * the lock.
+     * </p>
      *
      * @param newState
      *         New state
@@ -199,7 +216,7 @@ public abstract class AbstractFbStatement implements FbStatement {
      *         When the state is changed to an illegal next state
      */
     protected final void switchState(final StatementState newState) throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             final StatementState currentState = state;
             if (currentState == newState || currentState == StatementState.CLOSED) return;
             if (currentState.isValidTransition(newState)) {
@@ -222,7 +239,7 @@ public abstract class AbstractFbStatement implements FbStatement {
      * @see #switchState(StatementState)
      */
     private void forceState(final StatementState newState) {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             final StatementState currentState = state;
             if (currentState == newState || currentState == StatementState.CLOSED) return;
             if (log.isDebugEnabled() && !currentState.isValidTransition(newState)) {
@@ -282,6 +299,19 @@ public abstract class AbstractFbStatement implements FbStatement {
         return allRowsFetched;
     }
 
+    @Override
+    public final void setMaxRows(int maxRows) {
+        this.maxRows = maxRows;
+    }
+
+    /**
+     * @return Maximum number of rows that will be requested from the cursor, or <code>0</code> for no limit
+     * @see #setMaxRows(int)
+     */
+    protected final int getMaxRows() {
+        return maxRows;
+    }
+
     /**
      * Reset statement state, equivalent to calling {@link #reset(boolean)} with <code>false</code>
      */
@@ -297,14 +327,14 @@ public abstract class AbstractFbStatement implements FbStatement {
     }
 
     /**
-     * Resets the statement for next execution. Implementation in derived class must synchronize on {@link #getSynchronizationObject()} and
+     * Resets the statement for next execution. Implementation in derived class must hold the lock of {@link #withLock()} and
      * call <code>super.reset(resetAll)</code>
      *
      * @param resetAll
      *         Also reset field and parameter info
      */
     protected void reset(boolean resetAll) {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             setAllRowsFetched(false);
 
             if (resetAll) {
@@ -563,7 +593,7 @@ public abstract class AbstractFbStatement implements FbStatement {
             if (newTransaction == null || isValidTransactionClass(newTransaction.getClass())) {
                 // TODO Is there a statement or transaction state where we should not be switching transactions?
                 // Probably an error to switch when newTransaction is not null and current state is ERROR, CURSOR_OPEN, EXECUTING, CLOSING or CLOSED
-                synchronized (getSynchronizationObject()) {
+                try (LockCloseable ignored = withLock()) {
                     if (newTransaction == transaction) return;
                     if (transaction != null) {
                         transaction.removeTransactionListener(getTransactionListener());
@@ -586,17 +616,33 @@ public abstract class AbstractFbStatement implements FbStatement {
     /**
      * Parse the statement info response in <code>statementInfoResponse</code>. If the response is truncated, a new
      * request is done using {@link #getStatementInfoRequestItems()}
+     * <p>
+     * If an identical response was parsed before, the descriptors of that response are reused (see
+     * {@link StatementDescribeCache}).
+     * </p>
      *
      * @param statementInfoResponse
      *         Statement info response
      */
     protected void parseStatementInfo(final byte[] statementInfoResponse) throws SQLException {
-        final StatementInfoProcessor infoProcessor = new StatementInfoProcessor(this, this.getDatabase());
-        InfoProcessor.StatementInfo statementInfo = infoProcessor.process(statementInfoResponse);
+        final FbDatabase database = getDatabase();
+        final StatementDescribeCache describeCache = StatementDescribeCache.getInstance();
+        final StatementDescribeCache.Key key = describeCache.createKey(
+                database.getDatatypeCoder(), database.getEncoding(), statementInfoResponse);
+        StatementDescribeCache.Describe describe = key != null ? describeCache.get(key) : null;
+        if (describe == null) {
+            final StatementInfoProcessor infoProcessor = new StatementInfoProcessor(this, database);
+            InfoProcessor.StatementInfo statementInfo = infoProcessor.process(statementInfoResponse);
+            describe = new StatementDescribeCache.Describe(statementInfo.getStatementType(),
+                    statementInfo.getFields(), statementInfo.getParameters());
+            if (key != null) {
+                describeCache.put(key, describe);
+            }
+        }
 
-        setType(statementInfo.getStatementType());
-        setFieldDescriptor(statementInfo.getFields());
-        setParameterDescriptor(statementInfo.getParameters());
+        setType(describe.getStatementType());
+        setFieldDescriptor(describe.getFields());
+        setParameterDescriptor(describe.getParameters());
     }
 
     /**
@@ -38,6 +38,7 @@ import static org.firebirdsql.gds.VaxEncoding.iscVaxLong;
  * @author <a href="mailto:mrotteveel@users.sourceforge.net">Mark Rotteveel</a>
  * @since 3.0
  */
+@SuppressWarnings("try")
 public abstract class AbstractFbTransaction implements FbTransaction {
 
     private static final Set<TransactionState> ALLOWED_INITIAL_STATES = Collections.unmodifiableSet(
@@ -81,7 +82,7 @@ public abstract class AbstractFbTransaction implements FbTransaction {
      *         current state is also changed in a concurrent thread.
      */
     protected final void switchState(final TransactionState newState) throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             final TransactionState currentState = state;
             if (currentState == newState) return;
             if (currentState.isValidTransition(newState)) {
@@ -157,6 +158,16 @@ public abstract class AbstractFbTransaction implements FbTransaction {
         return syncObject;
     }
 
+    /**
+     * Acquires the lock of the database of this transaction.
+     *
+     * @return Closeable that releases the lock
+     * @since 4.0
+     */
+    protected final LockCloseable withLock() {
+        return database.withLock();
+    }
+
     @Override
     protected void finalize() throws Throwable {
         try {
@@ -0,0 +1,118 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.gds.ng;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Output stream that splits the written data into blob segments of at most a maximum segment size.
+ * <p>
+ * Small writes are buffered; writes of at least the maximum segment size are passed to {@link #writeSegment(byte[],
+ * int, int)} directly from the array of the caller. Closing the stream writes the remaining buffered data, but does
+ * not close the blob.
+ * </p>
+ *
+ * @since 4.0
+ */
+public abstract class AbstractSegmentOutputStream extends OutputStream {
+
+    private final byte[] buffer;
+    private int count;
+
+    /**
+     * @param maximumSegmentSize
+     *         Maximum size of a segment
+     */
+    protected AbstractSegmentOutputStream(int maximumSegmentSize) {
+        buffer = new byte[maximumSegmentSize];
+    }
+
+    @Override
+    public final void write(int b) throws IOException {
+        buffer[count++] = (byte) b;
+        if (count == buffer.length) {
+            flushBuffer();
+        }
+    }
+
+    @Override
+    public final void write(byte[] b, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (count > 0) {
+            final int chunk = Math.min(len, buffer.length - count);
+            System.arraycopy(b, off, buffer, count, chunk);
+            count += chunk;
+            off += chunk;
+            len -= chunk;
+            if (count < buffer.length) return;
+            flushBuffer();
+        }
+        while (len >= buffer.length) {
+            writeSegment(b, off, buffer.length);
+            off += buffer.length;
+            len -= buffer.length;
+        }
+        if (len > 0) {
+            System.arraycopy(b, off, buffer, 0, len);
+            count = len;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Does nothing, buffered data is only written when the buffer is full or on {@link #close()}, to avoid writing
+     * short segments.
+     * </p>
+     */
+    @Override
+    public final void flush() throws IOException {
+        // Intentionally empty
+    }
+
+    @Override
+    public final void close() throws IOException {
+        flushBuffer();
+    }
+
+    private void flushBuffer() throws IOException {
+        if (count > 0) {
+            final int length = count;
+            count = 0;
+            writeSegment(buffer, 0, length);
+        }
+    }
+
+    /**
+     * Writes a segment to the blob.
+     *
+     * @param segment
+     *         Array containing the segment
+     * @param off
+     *         Offset of the segment in {@code segment}
+     * @param len
+     *         Length of the segment (between {@code 1} and the maximum segment size)
+     * @throws IOException
+     *         For errors writing the segment
+     */
+    protected abstract void writeSegment(byte[] segment, int off, int len) throws IOException;
+}
@@ -0,0 +1,66 @@
+/*
+ * Public Firebird Java API.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *    1. Redistributions of source code must retain the above copyright notice,
+ *       this list of conditions and the following disclaimer.
+ *    2. Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *    3. The name of the author may not be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO
+ * EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+ * OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.firebirdsql.gds.ng;
+
+import java.sql.SQLException;
+
+/**
+ * Callback interface for receiving the content of blobs read by
+ * {@link FbDatabase#readBlobs(FbTransaction, org.firebirdsql.gds.BlobParameterBuffer, java.util.Collection, BlobReadCallback)}.
+ * <p>
+ * Each blob id passed to {@code readBlobs} is reported exactly once, either through {@link #blobRead(long, byte[])}
+ * or through {@link #blobReadFailed(long, SQLException)}. The order in which blobs are reported is not necessarily
+ * the order in which the ids were passed. Callbacks are invoked on the thread calling {@code readBlobs} while it holds
+ * the connection lock; implementations should not perform operations on the same connection.
+ * </p>
+ * <p>
+ * If a callback method throws an exception, {@code readBlobs} closes the blobs it still has open and propagates the
+ * exception; the remaining blobs are not reported.
+ * </p>
+ *
+ * @since 4.0
+ */
+public interface BlobReadCallback {
+
+    /**
+     * Signals that a blob has been read completely.
+     *
+     * @param blobId
+     *         Id of the blob
+     * @param content
+     *         Content of the blob
+     */
+    void blobRead(long blobId, byte[] content);
+
+    /**
+     * Signals that a blob could not be read.
+     *
+     * @param blobId
+     *         Id of the blob
+     * @param exception
+     *         Exception for the failure to open or read the blob
+     */
+    void blobReadFailed(long blobId, SQLException exception);
+}
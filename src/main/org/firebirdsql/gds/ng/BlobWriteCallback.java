@@ -0,0 +1,80 @@
+/*
+ * Public Firebird Java API.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *    1. Redistributions of source code must retain the above copyright notice,
+ *       this list of conditions and the following disclaimer.
+ *    2. Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *    3. The name of the author may not be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR IMPLIED
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO
+ * EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR
+ * OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.firebirdsql.gds.ng;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.SQLException;
+
+/**
+ * Callback interface for providing the content of blobs written by
+ * {@link FbDatabase#writeBlobs(FbTransaction, org.firebirdsql.gds.BlobParameterBuffer, int, BlobWriteCallback)}.
+ * <p>
+ * Blobs are identified by their index ({@code 0} up to, but not including, the blob count passed to
+ * {@code writeBlobs}). Each index is reported exactly once, either through {@link #blobWritten(int, long)} or
+ * through {@link #blobWriteFailed(int, SQLException)}. Callbacks are invoked on the thread calling
+ * {@code writeBlobs} while it holds the connection lock; implementations should not perform operations on the same
+ * connection.
+ * </p>
+ *
+ * @since 4.0
+ */
+public interface BlobWriteCallback {
+
+    /**
+     * Writes the content of a blob.
+     * <p>
+     * Implementations may close {@code out}, but should not retain it after returning.
+     * </p>
+     *
+     * @param index
+     *         Index of the blob
+     * @param out
+     *         Output stream to write the content of the blob to
+     * @throws IOException
+     *         For errors obtaining or writing the content; the blob will be reported as failed
+     */
+    void writeContent(int index, OutputStream out) throws IOException;
+
+    /**
+     * Signals that a blob has been written and closed.
+     *
+     * @param index
+     *         Index of the blob
+     * @param blobId
+     *         Id of the created blob
+     */
+    void blobWritten(int index, long blobId);
+
+    /**
+     * Signals that a blob could not be written.
+     *
+     * @param index
+     *         Index of the blob
+     * @param exception
+     *         Exception for the failure to create or write the blob
+     */
+    void blobWriteFailed(int index, SQLException exception);
+}
@@ -80,11 +80,25 @@ public interface FbAttachment extends AutoCloseable, ExceptionListenable {
 
     /**
      * Get synchronization object.
+     * <p>
+     * Synchronizing on this object does not exclude other operations on this attachment, use {@link #withLock()}.
+     * </p>
      *
      * @return object, cannot be <code>null</code>.
      */
     Object getSynchronizationObject();
 
+    /**
+     * Acquires the lock of this attachment.
+     * <p>
+     * Use in a try-with-resources block, so the lock is released when the block is exited.
+     * </p>
+     *
+     * @return Closeable that releases the lock
+     * @since 4.0
+     */
+    LockCloseable withLock();
+
     /**
      * @return The {@link IEncodingFactory} for this connection
      */
@@ -115,8 +115,6 @@ public interface FbBlob extends ExceptionListenable, AutoCloseable {
      */
     Object getSynchronizationObject();
 
-    // TODO Consider different blob api, eg more like InputStream / OutputStream methods taking a buffer with offset and length?
-
     /**
      * Gets a segment of blob data.
      * <p>
@@ -134,6 +132,34 @@ public interface FbBlob extends ExceptionListenable, AutoCloseable {
      */
     byte[] getSegment(int sizeRequested) throws SQLException;
 
+    /**
+     * Gets a segment of blob data into the specified buffer.
+     * <p>
+     * Contrary to {@link #getSegment(int)} the caller provides the destination buffer, which allows callers to reuse a
+     * buffer while reading a blob. The native implementation reads the segment through a reused buffer without
+     * allocating per segment; the wire protocol implementation still receives the response data in a new array and
+     * copies the segment into {@code dest}. When {@code len} exceeds {@link #getMaximumSegmentSize()} it is silently
+     * reduced to the maximum segment size.
+     * </p>
+     *
+     * @param dest
+     *         Destination buffer
+     * @param off
+     *         Offset in {@code dest} to start writing
+     * @param len
+     *         Requested segment size (&gt; 0)
+     * @return Number of bytes written to {@code dest} (may be less than requested), {@code 0} if no more data is
+     * available
+     * @throws SQLException
+     *         If this is an output blob, the blob is closed, the transaction is not active, or a database connection
+     *         error occurred.
+     * @throws IndexOutOfBoundsException
+     *         If {@code off} or {@code len} are negative, or {@code off + len} is larger than the length of
+     *         {@code dest}
+     * @since 4.0
+     */
+    int getSegment(byte[] dest, int off, int len) throws SQLException;
+
     /**
      * Writes a segment of blob data.
      * <p>
@@ -151,6 +177,29 @@ public interface FbBlob extends ExceptionListenable, AutoCloseable {
      */
     void putSegment(byte[] segment) throws SQLException;
 
+    /**
+     * Writes a segment of blob data from a section of the specified buffer.
+     * <p>
+     * Contrary to {@link #putSegment(byte[])}, this allows callers to write from a reused buffer without copying
+     * the section to a new array.
+     * </p>
+     *
+     * @param segment
+     *         Buffer containing the segment to write
+     * @param off
+     *         Offset in {@code segment}
+     * @param len
+     *         Length of the segment (&gt; 0, not longer than {@link #getMaximumSegmentSize()})
+     * @throws SQLException
+     *         If this is an input blob, the blob is closed, the transaction is not active, the segment is length 0 or
+     *         longer than the maximum segment size, or a database connection error occurred.
+     * @throws IndexOutOfBoundsException
+     *         If {@code off} or {@code len} are negative, or {@code off + len} is larger than the length of
+     *         {@code segment}
+     * @since 4.0
+     */
+    void putSegment(byte[] segment, int off, int len) throws SQLException;
+
     /**
      * Performs a seek on a blob with the specified <code>seekMode</code> and <code>offset</code>.
      * <p>
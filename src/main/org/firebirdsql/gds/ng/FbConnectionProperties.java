@@ -47,6 +47,8 @@ public final class FbConnectionProperties extends AbstractAttachProperties<IConn
     private int pageCacheSize;
     private boolean resultSetDefaultHoldable;
     private boolean columnLabelForName;
+    private boolean deferTransactionStart;
+    private boolean fetchAhead;
     private final DatabaseParameterBuffer extraDatabaseParameters = new DatabaseParameterBufferImp(
             DatabaseParameterBufferImp.DpbMetaData.DPB_VERSION_1,
             EncodingFactory.getPlatformEncoding());
@@ -71,6 +73,8 @@ public final class FbConnectionProperties extends AbstractAttachProperties<IConn
             pageCacheSize = src.getPageCacheSize();
             resultSetDefaultHoldable = src.isResultSetDefaultHoldable();
             columnLabelForName = src.isColumnLabelForName();
+            deferTransactionStart = src.isDeferTransactionStart();
+            fetchAhead = src.isFetchAhead();
             for (Parameter parameter : src.getExtraDatabaseParameters()) {
                 parameter.copyTo(extraDatabaseParameters, null);
             }
@@ -143,6 +147,28 @@ public final class FbConnectionProperties extends AbstractAttachProperties<IConn
         return columnLabelForName;
     }
 
+    @Override
+    public void setDeferTransactionStart(final boolean deferTransactionStart) {
+        this.deferTransactionStart = deferTransactionStart;
+        dirtied();
+    }
+
+    @Override
+    public boolean isDeferTransactionStart() {
+        return deferTransactionStart;
+    }
+
+    @Override
+    public void setFetchAhead(final boolean fetchAhead) {
+        this.fetchAhead = fetchAhead;
+        dirtied();
+    }
+
+    @Override
+    public boolean isFetchAhead() {
+        return fetchAhead;
+    }
+
     @Override
     public DatabaseParameterBuffer getExtraDatabaseParameters() {
         return extraDatabaseParameters;
@@ -211,6 +237,12 @@ public final class FbConnectionProperties extends AbstractAttachProperties<IConn
             case isc_dpb_column_label_for_name:
                 setColumnLabelForName(true);
                 break;
+            case isc_dpb_defer_transaction_start:
+                setDeferTransactionStart(true);
+                break;
+            case isc_dpb_fetch_ahead:
+                setFetchAhead(true);
+                break;
             case isc_dpb_wire_crypt_level:
                 String propertyValue = parameter.getValueAsString();
                 try {
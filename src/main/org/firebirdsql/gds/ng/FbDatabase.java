@@ -33,6 +33,8 @@ import org.firebirdsql.gds.ng.listeners.DatabaseListener;
 import org.firebirdsql.gds.ng.listeners.ExceptionListenable;
 
 import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * Connection handle to a database.
@@ -154,6 +156,55 @@ public interface FbDatabase extends FbAttachment {
      */
     FbBlob createBlobForInput(FbTransaction transaction, BlobParameterBuffer blobParameterBuffer, long blobId);
 
+    /**
+     * Reads the complete content of multiple existing blobs.
+     * <p>
+     * Implementations may read the blobs concurrently by interleaving the operations of multiple open blobs on the
+     * connection. Errors opening or reading an individual blob are reported to {@code callback} and do not stop
+     * reading the other blobs.
+     * </p>
+     *
+     * @param transaction
+     *         Transaction associated with the blobs.
+     * @param blobParameterBuffer
+     *         Blob Parameter Buffer (can be {@code null})
+     * @param blobIds
+     *         Ids of the blobs to read
+     * @param callback
+     *         Callback receiving the content of each blob
+     * @throws SQLException
+     *         If the database is not attached, the transaction is not active, or a database connection error
+     *         occurred
+     * @since 4.0
+     */
+    void readBlobs(FbTransaction transaction, BlobParameterBuffer blobParameterBuffer, Collection<Long> blobIds,
+            BlobReadCallback callback) throws SQLException;
+
+    /**
+     * Creates and writes multiple new blobs.
+     * <p>
+     * The content of each blob is obtained from {@link BlobWriteCallback#writeContent(int, java.io.OutputStream)}.
+     * Implementations may write the blobs ahead of reading the responses of the server (write-behind), reducing the
+     * number of round trips. Errors creating or writing an individual blob are reported to {@code callback} and do not
+     * stop writing the other blobs.
+     * </p>
+     *
+     * @param transaction
+     *         Transaction associated with the blobs.
+     * @param blobParameterBuffer
+     *         Blob Parameter Buffer (can be {@code null})
+     * @param blobCount
+     *         Number of blobs to write
+     * @param callback
+     *         Callback providing the content of each blob, and receiving the id of each written blob
+     * @throws SQLException
+     *         If the database is not attached, the transaction is not active, or a database connection error
+     *         occurred
+     * @since 4.0
+     */
+    void writeBlobs(FbTransaction transaction, BlobParameterBuffer blobParameterBuffer, int blobCount,
+            BlobWriteCallback callback) throws SQLException;
+
     /**
      * Creates a blob parameter buffer that is usable with {@link #createBlobForInput(FbTransaction,
      * org.firebirdsql.gds.BlobParameterBuffer, long)}
@@ -163,6 +214,25 @@ public interface FbDatabase extends FbAttachment {
      */
     BlobParameterBuffer createBlobParameterBuffer();
 
+    /**
+     * Checks if the connection to the database is still usable, by performing a lightweight round trip to the
+     * server.
+     * <p>
+     * If the implementation supports timeouts and {@code timeout} is not {@code 0}, the ping fails with a
+     * {@link java.sql.SQLTimeoutException} if no response is received within {@code timeout} milliseconds. As the
+     * connection is in an undefined state after such a timeout, the connection is closed. Implementations that do not
+     * support timeouts ignore {@code timeout}.
+     * </p>
+     *
+     * @param timeout
+     *         Timeout in milliseconds, {@code 0} for no timeout (other than the configured socket timeout, if any)
+     * @throws SQLException
+     *         If the database is not attached, the connection is broken, or no response was received within the
+     *         timeout
+     * @since 4.0
+     */
+    void ping(int timeout) throws SQLException;
+
     /**
      * Creates a transaction parameter buffer that is usable with {@link #startTransaction(org.firebirdsql.gds.TransactionParameterBuffer)}.
      *
@@ -286,6 +356,24 @@ public interface FbDatabase extends FbAttachment {
      */
     EventHandle createEventHandle(String eventName, EventHandler eventHandler) throws SQLException;
 
+    /**
+     * Creates an event handle for multiple events for this database type.
+     * <p>
+     * The events share a single event parameter buffer, so they are queued (and notified) together. The returned
+     * event handle can be used with {@link #queueEvent(org.firebirdsql.gds.EventHandle)}.
+     * </p>
+     *
+     * @param eventNames
+     *         Names of the events (at least 1, at most {@link EventHandle#MAX_EVENT_NAMES})
+     * @param eventHandler
+     *         The event handler to call when one of the events occurred
+     * @return A suitable event handle instance
+     * @throws java.sql.SQLException
+     *         For errors creating the event handle
+     * @since 4.0
+     */
+    EventHandle createEventHandle(List<String> eventNames, EventHandler eventHandler) throws SQLException;
+
     /**
      * Counts the events occurred.
      *
@@ -35,6 +35,8 @@ public final class FbImmutableConnectionProperties extends AbstractImmutableAtta
     private final int pageCacheSize;
     private final boolean resultSetDefaultHoldable;
     private final boolean columnLabelForName;
+    private final boolean deferTransactionStart;
+    private final boolean fetchAhead;
     private final DatabaseParameterBuffer extraDatabaseParameters;
 
     /**
@@ -54,6 +56,8 @@ public final class FbImmutableConnectionProperties extends AbstractImmutableAtta
         pageCacheSize = src.getPageCacheSize();
         resultSetDefaultHoldable = src.isResultSetDefaultHoldable();
         columnLabelForName = src.isColumnLabelForName();
+        deferTransactionStart = src.isDeferTransactionStart();
+        fetchAhead = src.isFetchAhead();
         extraDatabaseParameters = src.getExtraDatabaseParameters().deepCopy();
     }
 
@@ -112,6 +116,26 @@ public final class FbImmutableConnectionProperties extends AbstractImmutableAtta
         return columnLabelForName;
     }
 
+    @Override
+    public void setDeferTransactionStart(final boolean deferTransactionStart) {
+        immutable();
+    }
+
+    @Override
+    public boolean isDeferTransactionStart() {
+        return deferTransactionStart;
+    }
+
+    @Override
+    public void setFetchAhead(final boolean fetchAhead) {
+        immutable();
+    }
+
+    @Override
+    public boolean isFetchAhead() {
+        return fetchAhead;
+    }
+
     @Override
     public DatabaseParameterBuffer getExtraDatabaseParameters() {
         return extraDatabaseParameters.deepCopy();
@@ -155,6 +155,20 @@ public interface FbStatement extends ExceptionListenable {
      */
     void fetchRows(int fetchSize) throws SQLException;
 
+    /**
+     * Sets the maximum number of rows that will be requested from the cursor of this statement.
+     * <p>
+     * Implementations that fetch rows ahead of a call to {@link #fetchRows(int)} do not fetch rows beyond this
+     * limit. Rows requested by {@link #fetchRows(int)} itself are not limited. The limit applies to the rows
+     * fetched since the last execute, and remains in effect until it is changed.
+     * </p>
+     *
+     * @param maxRows
+     *         Maximum number of rows, or <code>0</code> for no limit
+     * @since 4.0
+     */
+    void setMaxRows(int maxRows);
+
     /**
      * Registers a {@link org.firebirdsql.gds.ng.listeners.StatementListener}.
      *
@@ -157,6 +157,56 @@ public interface IConnectionProperties extends IAttachProperties<IConnectionProp
      */
     boolean isColumnLabelForName();
 
+    /**
+     * Set if the start of a transaction should be deferred until the first operation in that transaction.
+     * <p>
+     * When enabled, implementations that support deferred operations (protocol version 11 and higher for the pure
+     * Java implementation) send the transaction start together with the first operation that uses the transaction,
+     * instead of waiting for the transaction start in a separate round trip. Errors starting the transaction are
+     * reported on the first operation, commit or rollback of the transaction.
+     * </p>
+     *
+     * @param deferTransactionStart
+     *         <code>true</code> defer transaction start, <code>false</code> (default) start transaction immediately
+     * @since 4.0
+     */
+    void setDeferTransactionStart(boolean deferTransactionStart);
+
+    /**
+     * Gets the current setting of <code>deferTransactionStart</code>
+     *
+     * @return <code>true</code> transaction start is deferred, <code>false</code> (default) transaction is started
+     *         immediately
+     * @see #setDeferTransactionStart(boolean)
+     * @since 4.0
+     */
+    boolean isDeferTransactionStart();
+
+    /**
+     * Set if the next batch of rows of a cursor should be requested before the current batch is consumed.
+     * <p>
+     * When enabled, implementations that support deferred operations (protocol version 11 and higher for the pure
+     * Java implementation) send the fetch for the next batch directly after a batch of rows has been received. The
+     * response is read by the next fetch of the statement, or by the next operation of another statement on the same
+     * connection, so the server produces the next batch while the application processes the current one.
+     * </p>
+     *
+     * @param fetchAhead
+     *         <code>true</code> request the next batch ahead, <code>false</code> (default) request rows when needed
+     * @since 4.0
+     */
+    void setFetchAhead(boolean fetchAhead);
+
+    /**
+     * Gets the current setting of <code>fetchAhead</code>
+     *
+     * @return <code>true</code> the next batch of rows is requested ahead, <code>false</code> (default) rows are
+     *         requested when needed
+     * @see #setFetchAhead(boolean)
+     * @since 4.0
+     */
+    boolean isFetchAhead();
+
     /**
      * Gets the extra database parameters. This can be used to pass extra database parameters that are not directly
      * supported.
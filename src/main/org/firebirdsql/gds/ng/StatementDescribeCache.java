@@ -0,0 +1,229 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.gds.ng;
+
+import org.firebirdsql.encodings.Encoding;
+import org.firebirdsql.gds.ISCConstants;
+import org.firebirdsql.gds.JaybirdSystemProperties;
+import org.firebirdsql.gds.ng.fields.RowDescriptor;
+import org.firebirdsql.util.LruCache;
+
+import java.util.Arrays;
+
+import static org.firebirdsql.gds.VaxEncoding.iscVaxInteger2;
+
+/**
+ * Cache of parsed statement descriptions, shared by all statements.
+ * <p>
+ * Entries are keyed on the statement info response of the prepare (see
+ * {@link AbstractFbStatement#getStatementInfoRequestItems()}), and the datatype coder and encoding used to interpret it.
+ * Statements that are prepared repeatedly (on the same or other connections) receive the same response, and reuse
+ * the same {@link RowDescriptor} instances instead of parsing the response again. As the key is the response itself,
+ * a change of the described columns or parameters results in a different key, and will not use a stale entry.
+ * </p>
+ * <p>
+ * Truncated responses are not cached. The number of cached descriptions is bounded (system property
+ * {@code org.firebirdsql.statementDescribeCacheSize}, {@code 0} disables the cache), the least recently used entries
+ * are evicted first.
+ * </p>
+ *
+ * @since 4.0
+ */
+final class StatementDescribeCache {
+
+    private static final int DEFAULT_MAX_SIZE = 512;
+    // Cache is shared by all connections, segmented to reduce lock contention
+    private static final int CONCURRENCY_LEVEL = 16;
+    private static final StatementDescribeCache INSTANCE = new StatementDescribeCache(
+            JaybirdSystemProperties.getStatementDescribeCacheSize(DEFAULT_MAX_SIZE));
+
+    private final int maxSize;
+    private final LruCache<Key, Describe> describes;
+
+    StatementDescribeCache(int maxSize) {
+        this.maxSize = Math.max(0, maxSize);
+        describes = new LruCache<>(this.maxSize, CONCURRENCY_LEVEL);
+    }
+
+    /**
+     * @return Shared instance
+     */
+    static StatementDescribeCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Creates the key for a statement info response.
+     *
+     * @param datatypeCoder
+     *         Datatype coder of the database
+     * @param encoding
+     *         Encoding used to decode names in the response
+     * @param statementInfoResponse
+     *         Statement info response; can be larger than the actual response (which ends with {@code isc_info_end})
+     * @return Key, or {@code null} if the response cannot be cached (cache disabled, truncated or unexpected content)
+     */
+    Key createKey(DatatypeCoder datatypeCoder, Encoding encoding, byte[] statementInfoResponse) {
+        if (maxSize == 0) {
+            return null;
+        }
+        final int length = responseLength(statementInfoResponse);
+        return length != -1 ? new Key(datatypeCoder, encoding, statementInfoResponse, length) : null;
+    }
+
+    /**
+     * Gets a cached description.
+     *
+     * @param key
+     *         Key
+     * @return Cached description, or {@code null} if not cached
+     */
+    Describe get(Key key) {
+        return describes.get(key);
+    }
+
+    /**
+     * Adds a description.
+     *
+     * @param key
+     *         Key obtained with {@link #createKey(DatatypeCoder, Encoding, byte[])}
+     * @param describe
+     *         Parsed description
+     */
+    void put(Key key, Describe describe) {
+        describes.put(key.detach(), describe);
+    }
+
+    int size() {
+        return describes.size();
+    }
+
+    /**
+     * Determines the length of the statement info response, without parsing the items.
+     *
+     * @param buffer
+     *         Statement info response
+     * @return Length up to and including {@code isc_info_end}, or {@code -1} for truncated or unexpected content
+     */
+    static int responseLength(byte[] buffer) {
+        int index = 0;
+        while (index < buffer.length) {
+            switch (buffer[index++]) {
+            case ISCConstants.isc_info_end:
+                return index;
+            case ISCConstants.isc_info_sql_select:
+            case ISCConstants.isc_info_sql_bind:
+            case ISCConstants.isc_info_sql_describe_end:
+                // items without value
+                break;
+            case ISCConstants.isc_info_truncated:
+                return -1;
+            default:
+                if (index + 2 > buffer.length) {
+                    return -1;
+                }
+                index += 2 + iscVaxInteger2(buffer, index);
+                break;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Key of a cached description.
+     */
+    static final class Key {
+        private final DatatypeCoder datatypeCoder;
+        private final Encoding encoding;
+        private final byte[] response;
+        private final int length;
+        private final int hashCode;
+
+        private Key(DatatypeCoder datatypeCoder, Encoding encoding, byte[] response, int length) {
+            this.datatypeCoder = datatypeCoder;
+            this.encoding = encoding;
+            this.response = response;
+            this.length = length;
+            int hash = 31 * datatypeCoder.hashCode() + encoding.hashCode();
+            for (int idx = 0; idx < length; idx++) {
+                hash = 31 * hash + response[idx];
+            }
+            hashCode = hash;
+        }
+
+        /**
+         * @return Key with its own copy of the response, so it does not retain the (possibly larger) response buffer
+         */
+        private Key detach() {
+            return response.length == length
+                    ? this
+                    : new Key(datatypeCoder, encoding, Arrays.copyOf(response, length), length);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            // Datatype coders of different connections with the same connection character set are equal
+            if (hashCode != other.hashCode || length != other.length || !datatypeCoder.equals(other.datatypeCoder)
+                    || !encoding.equals(other.encoding)) {
+                return false;
+            }
+            for (int idx = 0; idx < length; idx++) {
+                if (response[idx] != other.response[idx]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    /**
+     * Parsed statement description.
+     */
+    static final class Describe {
+        private final StatementType statementType;
+        private final RowDescriptor fields;
+        private final RowDescriptor parameters;
+
+        Describe(StatementType statementType, RowDescriptor fields, RowDescriptor parameters) {
+            this.statementType = statementType;
+            this.fields = fields;
+            this.parameters = parameters;
+        }
+
+        StatementType getStatementType() {
+            return statementType;
+        }
+
+        RowDescriptor getFields() {
+            return fields;
+        }
+
+        RowDescriptor getParameters() {
+            return parameters;
+        }
+    }
+}
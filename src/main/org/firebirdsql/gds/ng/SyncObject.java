@@ -19,9 +19,15 @@
 package org.firebirdsql.gds.ng;
 
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Object for synchronization that has an id that might be helpful during debugging.
+ * <p>
+ * Since Jaybird 4, the lock is acquired with {@link #withLock()} instead of a <code>synchronized</code> block on this
+ * object. A thread waiting for, or holding a {@link ReentrantLock} during blocking I/O does not pin a virtual thread
+ * to its carrier thread.
+ * </p>
  *
  * @author <a href="mailto:mrotteveel@users.sourceforge.net">Mark Rotteveel</a>
  * @since 3.0
@@ -31,11 +37,37 @@ public final class SyncObject {
     private static final AtomicInteger counter = new AtomicInteger();
 
     private final int id;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LockCloseable unlock = new LockCloseable() {
+        @Override
+        public void close() {
+            lock.unlock();
+        }
+    };
 
     public SyncObject() {
         id = counter.getAndIncrement();
     }
 
+    /**
+     * Acquires the lock of this object.
+     *
+     * @return Closeable that releases the lock
+     * @since 4.0
+     */
+    public LockCloseable withLock() {
+        lock.lock();
+        return unlock;
+    }
+
+    /**
+     * @return <code>true</code> if the current thread holds the lock of this object
+     * @since 4.0
+     */
+    public boolean isLockedByCurrentThread() {
+        return lock.isHeldByCurrentThread();
+    }
+
     @Override
     public int hashCode() {
         return id;
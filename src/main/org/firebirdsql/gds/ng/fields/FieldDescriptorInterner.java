@@ -0,0 +1,133 @@
+/*
+ * Public Firebird Java API.
+ *
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ *    1. Redistributions of source code must retain the above copyright notice, 
+ *       this list of conditions and the following disclaimer.
+ *    2. Redistributions in binary form must reproduce the above copyright 
+ *       notice, this list of conditions and the following disclaimer in the 
+ *       documentation and/or other materials provided with the distribution. 
+ *    3. The name of the author may not be used to endorse or promote products 
+ *       derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR IMPLIED 
+ * WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF 
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO 
+ * EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, 
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, 
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; 
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, 
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR 
+ * OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF 
+ * ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.firebirdsql.gds.ng.fields;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Interns {@link FieldDescriptor} instances and their names, so that equal descriptors created by different prepares
+ * (of the same or different connections) share a single immutable instance.
+ * <p>
+ * Names are only interned when a descriptor is interned for the first time, so finding an existing descriptor takes a
+ * single lookup. The interned instances are kept in segments with their own lock, to avoid contention between
+ * connections preparing statements concurrently. Entries are only weakly referenced: an interned instance is dropped
+ * once no statement or result set uses it anymore.
+ * </p>
+ *
+ * @since 4.0
+ */
+final class FieldDescriptorInterner {
+
+    private static final int SEGMENT_COUNT = 16;
+
+    private static final Interner<String> NAMES = new Interner<>();
+    private static final Interner<FieldDescriptor> DESCRIPTORS = new Interner<>();
+
+    private FieldDescriptorInterner() {
+        // no instances
+    }
+
+    /**
+     * Returns the canonical instance of a field descriptor.
+     * <p>
+     * If there is no canonical instance yet, an instance with canonical names is created and registered.
+     * </p>
+     *
+     * @param fieldDescriptor
+     *         Field descriptor
+     * @return Canonical instance equal to {@code fieldDescriptor}
+     */
+    static FieldDescriptor intern(FieldDescriptor fieldDescriptor) {
+        FieldDescriptor canonical = DESCRIPTORS.get(fieldDescriptor);
+        if (canonical != null) {
+            return canonical;
+        }
+        return DESCRIPTORS.intern(new FieldDescriptor(fieldDescriptor.getPosition(),
+                fieldDescriptor.getDatatypeCoder(), fieldDescriptor.getType(), fieldDescriptor.getSubType(),
+                fieldDescriptor.getScale(), fieldDescriptor.getLength(), intern(fieldDescriptor.getFieldName()),
+                intern(fieldDescriptor.getTableAlias()), intern(fieldDescriptor.getOriginalName()),
+                intern(fieldDescriptor.getOriginalTableName()), intern(fieldDescriptor.getOwnerName())));
+    }
+
+    /**
+     * Returns the canonical instance of a field, table or owner name.
+     *
+     * @param name
+     *         Name (can be {@code null})
+     * @return Canonical instance equal to {@code name}, or {@code null} if {@code name} is {@code null}
+     */
+    private static String intern(String name) {
+        return name != null ? NAMES.intern(name) : null;
+    }
+
+    private static final class Interner<T> {
+
+        private final Segment<T>[] segments;
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private Interner() {
+            segments = new Segment[SEGMENT_COUNT];
+            for (int idx = 0; idx < SEGMENT_COUNT; idx++) {
+                segments[idx] = new Segment<>();
+            }
+        }
+
+        T get(T value) {
+            return segmentFor(value).get(value);
+        }
+
+        T intern(T value) {
+            return segmentFor(value).intern(value);
+        }
+
+        private Segment<T> segmentFor(T value) {
+            int hash = value.hashCode();
+            hash ^= hash >>> 16;
+            return segments[(hash & Integer.MAX_VALUE) % SEGMENT_COUNT];
+        }
+    }
+
+    private static final class Segment<T> {
+
+        private final Map<T, WeakReference<T>> instances = new WeakHashMap<>();
+
+        synchronized T get(T value) {
+            WeakReference<T> reference = instances.get(value);
+            return reference != null ? reference.get() : null;
+        }
+
+        synchronized T intern(T value) {
+            WeakReference<T> reference = instances.get(value);
+            T canonical = reference != null ? reference.get() : null;
+            if (canonical == null) {
+                instances.put(value, new WeakReference<>(value));
+                canonical = value;
+            }
+            return canonical;
+        }
+    }
+}
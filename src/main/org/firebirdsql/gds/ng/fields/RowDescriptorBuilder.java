@@ -258,12 +258,16 @@ public final class RowDescriptorBuilder {
 
     /**
      * Creates a {@link FieldDescriptor} based on the current field data of this RowDescriptorBuilder.
+     * <p>
+     * The returned descriptor (and its names) is interned, so equal descriptors built by different statements share
+     * the same instance.
+     * </p>
      *
      * @return FieldDescriptor
      */
     public FieldDescriptor toFieldDescriptor() {
-        return new FieldDescriptor(currentFieldIndex, datatypeCoder, type, subType, scale, length, fieldName,
-                tableAlias, originalName, originalTableName, ownerName);
+        return FieldDescriptorInterner.intern(new FieldDescriptor(currentFieldIndex, datatypeCoder, type, subType,
+                scale, length, fieldName, tableAlias, originalName, originalTableName, ownerName));
     }
 
     /**
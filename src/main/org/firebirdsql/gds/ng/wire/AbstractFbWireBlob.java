@@ -24,6 +24,7 @@ import org.firebirdsql.gds.impl.wire.WireProtocolConstants;
 import org.firebirdsql.gds.impl.wire.XdrOutputStream;
 import org.firebirdsql.gds.ng.AbstractFbBlob;
 import org.firebirdsql.gds.ng.FbExceptionBuilder;
+import org.firebirdsql.gds.ng.LockCloseable;
 
 import java.io.IOException;
 import java.sql.SQLException;
@@ -32,6 +33,7 @@ import java.sql.SQLException;
  * @author <a href="mailto:mrotteveel@users.sourceforge.net">Mark Rotteveel</a>
  * @since 3.0
  */
+@SuppressWarnings("try")
 public abstract class AbstractFbWireBlob extends AbstractFbBlob implements FbWireBlob {
 
     private int blobHandle;
@@ -48,7 +50,7 @@ public abstract class AbstractFbWireBlob extends AbstractFbBlob implements FbWir
 
     @Override
     public final int getHandle() {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             return blobHandle;
         }
     }
@@ -58,7 +60,7 @@ public abstract class AbstractFbWireBlob extends AbstractFbBlob implements FbWir
      *         The Firebird blob handle identifier
      */
     protected final void setHandle(int blobHandle) {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             this.blobHandle = blobHandle;
         }
     }
@@ -76,7 +78,7 @@ public abstract class AbstractFbWireBlob extends AbstractFbBlob implements FbWir
      *         For database communication errors.
      */
     protected void releaseBlob(int releaseOperation) throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             getDatabase().releaseObject(releaseOperation, getHandle());
         }
     }
@@ -97,7 +99,7 @@ public abstract class AbstractFbWireBlob extends AbstractFbBlob implements FbWir
     @Override
     public byte[] getBlobInfo(final byte[] requestItems, final int bufferLength) throws SQLException {
         try {
-            synchronized (getSynchronizationObject()) {
+            try (LockCloseable ignored = withLock()) {
                 try {
                     final XdrOutputStream xdrOut = getDatabase().getXdrStreamAccess().getXdrOut();
                     xdrOut.writeInt(WireProtocolConstants.op_info_blob);
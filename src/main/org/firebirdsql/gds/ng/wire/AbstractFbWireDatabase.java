@@ -25,9 +25,12 @@ import org.firebirdsql.gds.JaybirdErrorCodes;
 import org.firebirdsql.gds.impl.wire.XdrInputStream;
 import org.firebirdsql.gds.impl.wire.XdrOutputStream;
 import org.firebirdsql.gds.ng.*;
+import org.firebirdsql.logging.Logger;
+import org.firebirdsql.logging.LoggerFactory;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.util.List;
 
 import static java.util.Objects.requireNonNull;
 
@@ -37,9 +40,12 @@ import static java.util.Objects.requireNonNull;
  * @author <a href="mailto:mrotteveel@users.sourceforge.net">Mark Rotteveel</a>
  * @since 3.0
  */
+@SuppressWarnings("try")
 public abstract class AbstractFbWireDatabase extends AbstractFbDatabase<WireDatabaseConnection>
         implements FbWireDatabase {
 
+    private static final Logger log = LoggerFactory.getLogger(AbstractFbWireDatabase.class);
+
     protected final ProtocolDescriptor protocolDescriptor;
     protected final FbWireOperations wireOperations;
     private FbWireAsynchronousChannel asynchronousChannel;
@@ -135,7 +141,7 @@ public abstract class AbstractFbWireDatabase extends AbstractFbDatabase<WireData
      */
     protected final void closeConnection() throws IOException {
         if (!connection.isConnected()) return;
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             try {
                 connection.close();
             } finally {
@@ -144,6 +150,34 @@ public abstract class AbstractFbWireDatabase extends AbstractFbDatabase<WireData
         }
     }
 
+    /**
+     * Aborts the WireConnection associated with this connection.
+     * <p>
+     * Contrary to {@link #closeConnection()}, the socket is closed without waiting for the lock of the attachment, so
+     * an operation blocked on socket I/O in another thread fails instead of delaying the abort.
+     * </p>
+     *
+     * @throws IOException
+     *         For errors closing the connection.
+     */
+    protected final void abortConnection() throws IOException {
+        if (!connection.isConnected()) return;
+        try {
+            connection.abort();
+        } finally {
+            try (LockCloseable ignored = withLock()) {
+                try {
+                    connection.close();
+                } catch (IOException e) {
+                    // Socket already closed, failure to flush or close the streams is expected
+                    log.debug("Ignored exception closing aborted connection", e);
+                } finally {
+                    setDetached();
+                }
+            }
+        }
+    }
+
     @Override
     public final FbBlob createBlobForOutput(FbTransaction transaction, BlobParameterBuffer blobParameterBuffer) {
         final FbWireBlob outputBlob =
@@ -188,11 +222,16 @@ public abstract class AbstractFbWireDatabase extends AbstractFbDatabase<WireData
         return new WireEventHandle(eventName, eventHandler, getEncoding());
     }
 
+    @Override
+    public final EventHandle createEventHandle(List<String> eventNames, EventHandler eventHandler) {
+        return new WireEventHandle(eventNames, eventHandler, getEncoding());
+    }
+
     @Override
     public final void queueEvent(EventHandle eventHandle) throws SQLException {
         try {
             checkAttached();
-            synchronized (getSynchronizationObject()) {
+            try (LockCloseable ignored = withLock()) {
                 if (asynchronousChannel == null || !asynchronousChannel.isConnected()) {
                     asynchronousChannel = initAsynchronousChannel();
                     AsynchronousProcessor.getInstance().registerAsynchronousChannel(asynchronousChannel);
@@ -209,7 +248,7 @@ public abstract class AbstractFbWireDatabase extends AbstractFbDatabase<WireData
     public final void cancelEvent(EventHandle eventHandle) throws SQLException {
         try {
             checkAttached();
-            synchronized (getSynchronizationObject()) {
+            try (LockCloseable ignored = withLock()) {
                 if (asynchronousChannel == null || !asynchronousChannel.isConnected()) {
                     throw new FbExceptionBuilder()
                             .nonTransientException(JaybirdErrorCodes.jb_unableToCancelEventReasonNotConnected)
@@ -52,6 +52,11 @@ public abstract class AbstractFbWireInputBlob extends AbstractFbWireBlob {
 
     @Override
     public final void putSegment(byte[] segment) throws SQLException {
+        putSegment(segment, 0, segment.length);
+    }
+
+    @Override
+    public final void putSegment(byte[] segment, int off, int len) throws SQLException {
         try {
             throw new FbExceptionBuilder().nonTransientException(ISCConstants.isc_segstr_no_write).toSQLException();
         } catch (SQLException e) {
@@ -23,6 +23,7 @@ import org.firebirdsql.gds.ISCConstants;
 import org.firebirdsql.gds.JaybirdErrorCodes;
 import org.firebirdsql.gds.ng.FbBlob;
 import org.firebirdsql.gds.ng.FbExceptionBuilder;
+import org.firebirdsql.gds.ng.LockCloseable;
 
 import java.sql.SQLException;
 
@@ -30,6 +31,7 @@ import java.sql.SQLException;
  * @author <a href="mailto:mrotteveel@users.sourceforge.net">Mark Rotteveel</a>
  * @since 3.0
  */
+@SuppressWarnings("try")
 public abstract class AbstractFbWireOutputBlob extends AbstractFbWireBlob {
 
     private long blobId;
@@ -53,7 +55,7 @@ public abstract class AbstractFbWireOutputBlob extends AbstractFbWireBlob {
      *         If this is an input blob, or if this is an output blob whose blobId was already set.
      */
     protected final void setBlobId(long blobId) throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             if (getBlobId() != FbBlob.NO_BLOB_ID) {
                 throw new FbExceptionBuilder().nonTransientException(JaybirdErrorCodes.jb_blobIdAlreadySet).toSQLException();
             }
@@ -76,6 +78,16 @@ public abstract class AbstractFbWireOutputBlob extends AbstractFbWireBlob {
         }
     }
 
+    @Override
+    public final int getSegment(byte[] dest, int off, int len) throws SQLException {
+        try {
+            throw new FbExceptionBuilder().nonTransientException(ISCConstants.isc_segstr_no_read).toSQLException();
+        } catch (SQLException e) {
+            exceptionListenerDispatcher.errorOccurred(e);
+            throw e;
+        }
+    }
+
     @Override
     public final void seek(int offset, SeekMode seekMode) throws SQLException {
         try {
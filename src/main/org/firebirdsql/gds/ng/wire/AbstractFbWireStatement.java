@@ -23,6 +23,7 @@ import org.firebirdsql.gds.impl.wire.XdrInputStream;
 import org.firebirdsql.gds.impl.wire.XdrOutputStream;
 import org.firebirdsql.gds.ng.AbstractFbStatement;
 import org.firebirdsql.gds.ng.FbTransaction;
+import org.firebirdsql.gds.ng.LockCloseable;
 import org.firebirdsql.gds.ng.fields.RowDescriptor;
 import org.firebirdsql.gds.ng.fields.RowValue;
 
@@ -35,6 +36,7 @@ import java.util.WeakHashMap;
  * @author <a href="mailto:mrotteveel@users.sourceforge.net">Mark Rotteveel</a>
  * @since 3.0
  */
+@SuppressWarnings("try")
 public abstract class AbstractFbWireStatement extends AbstractFbStatement implements FbWireStatement {
 
     private final Map<RowDescriptor, byte[]> blrCache = Collections.synchronizedMap(new WeakHashMap<RowDescriptor, byte[]>());
@@ -135,7 +137,7 @@ public abstract class AbstractFbWireStatement extends AbstractFbStatement implem
             super.close();
         } finally {
             // TODO Preferably this should be done elsewhere and AbstractFbStatement.close() should be final
-            synchronized (getSynchronizationObject()) {
+            try (LockCloseable ignored = withLock()) {
                 database = null;
                 blrCache.clear();
             }
@@ -25,6 +25,8 @@ import org.firebirdsql.gds.impl.wire.XdrInputStream;
 import org.firebirdsql.gds.impl.wire.XdrOutputStream;
 import org.firebirdsql.gds.ng.FbExceptionBuilder;
 import org.firebirdsql.gds.ng.IAttachProperties;
+import org.firebirdsql.gds.ng.LockCloseable;
+import org.firebirdsql.gds.ng.SyncObject;
 import org.firebirdsql.gds.ng.WarningMessageCallback;
 import org.firebirdsql.gds.ng.wire.auth.ClientAuthBlock;
 import org.firebirdsql.gds.ng.wire.crypt.EncryptionIdentifier;
@@ -43,16 +45,17 @@ import static org.firebirdsql.gds.impl.wire.WireProtocolConstants.*;
  * @author <a href="mailto:mrotteveel@users.sourceforge.net">Mark Rotteveel</a>
  * @since 3.0
  */
+@SuppressWarnings("try")
 public abstract class AbstractWireOperations implements FbWireOperations {
 
     private static final Logger log = LoggerFactory.getLogger(AbstractWireOperations.class);
 
     private final WireConnection<?, ?> connection;
     private final WarningMessageCallback defaultWarningMessageCallback;
-    private final Object syncObject;
+    private final SyncObject syncObject;
 
     protected AbstractWireOperations(WireConnection<?, ?> connection,
-            WarningMessageCallback defaultWarningMessageCallback, Object syncObject) {
+            WarningMessageCallback defaultWarningMessageCallback, SyncObject syncObject) {
         this.connection = connection;
         this.defaultWarningMessageCallback = defaultWarningMessageCallback;
         this.syncObject = syncObject;
@@ -178,7 +181,7 @@ public abstract class AbstractWireOperations implements FbWireOperations {
      * @throws java.io.IOException For errors reading the operation from the connection
      */
     public final int readNextOperation() throws IOException {
-        synchronized (syncObject) {
+        try (LockCloseable ignored = withLock()) {
             processDeferredActions();
             return connection.readNextOperation();
         }
@@ -283,6 +286,15 @@ public abstract class AbstractWireOperations implements FbWireOperations {
         return syncObject;
     }
 
+    /**
+     * Acquires the lock of the attachment of these operations.
+     *
+     * @return Closeable that releases the lock
+     */
+    protected final LockCloseable withLock() {
+        return syncObject.withLock();
+    }
+
     protected final void addServerKeys(byte[] serverKeys) throws SQLException {
         connection.addServerKeys(serverKeys);
     }
@@ -55,19 +55,41 @@ public interface AsynchronousChannelListener {
      */
     class Event {
         private final int eventId;
-        private final int eventCount;
+        private final int[] eventCounts;
 
         public Event(int eventId, int eventCount) {
+            this(eventId, new int[] { eventCount });
+        }
+
+        /**
+         * @param eventId
+         *         Local id of the event
+         * @param eventCounts
+         *         Counts of the events, in the order of the event parameter buffer
+         * @since 4.0
+         */
+        public Event(int eventId, int[] eventCounts) {
             this.eventId = eventId;
-            this.eventCount = eventCount;
+            this.eventCounts = eventCounts.clone();
         }
 
         public int getEventId() {
             return eventId;
         }
 
+        /**
+         * @return Count of the first event, or {@code 0} if the notification contained no events
+         */
         public int getEventCount() {
-            return eventCount;
+            return eventCounts.length > 0 ? eventCounts[0] : 0;
+        }
+
+        /**
+         * @return Counts of the events, in the order of the event parameter buffer
+         * @since 4.0
+         */
+        public int[] getEventCounts() {
+            return eventCounts.clone();
         }
     }
 }
@@ -29,6 +29,7 @@ import org.firebirdsql.gds.DatabaseParameterBuffer;
 import org.firebirdsql.gds.ServiceParameterBuffer;
 import org.firebirdsql.gds.ServiceRequestBuffer;
 import org.firebirdsql.gds.ng.FbTransaction;
+import org.firebirdsql.gds.ng.SyncObject;
 import org.firebirdsql.gds.ng.TransactionState;
 import org.firebirdsql.gds.ng.WarningMessageCallback;
 import org.firebirdsql.gds.ng.fields.BlrCalculator;
@@ -213,9 +214,9 @@ public interface ProtocolDescriptor {
      * @param defaultWarningMessageCallback
      *         Default warning message callback
      * @param syncObject
-     *         Object to use for synchronization
+     *         Object providing the lock of the attachment
      * @return Wire operations implementation
      */
     FbWireOperations createWireOperations(WireConnection<?, ?> connection,
-            WarningMessageCallback defaultWarningMessageCallback, Object syncObject);
+            WarningMessageCallback defaultWarningMessageCallback, SyncObject syncObject);
 }
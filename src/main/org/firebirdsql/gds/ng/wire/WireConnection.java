@@ -30,6 +30,7 @@ import org.firebirdsql.gds.ng.AbstractConnection;
 import org.firebirdsql.gds.ng.FbExceptionBuilder;
 import org.firebirdsql.gds.ng.IAttachProperties;
 import org.firebirdsql.gds.ng.IConnectionProperties;
+import org.firebirdsql.gds.ng.SyncObject;
 import org.firebirdsql.gds.ng.wire.auth.ClientAuthBlock;
 import org.firebirdsql.gds.ng.wire.crypt.EncryptionIdentifier;
 import org.firebirdsql.gds.ng.wire.crypt.KnownServerKey;
@@ -72,7 +73,7 @@ public abstract class WireConnection<T extends IAttachProperties<T>, C extends F
     private final ClientAuthBlock clientAuthBlock;
     // Micro-optimization: we usually expect at most 1 (Firebird 3), and usually 0 (Firebird 2.5 and earlier)
     private final List<KnownServerKey> knownServerKeys = new ArrayList<>(1);
-    private Socket socket;
+    private volatile Socket socket;
     private ProtocolCollection protocols;
     private int protocolVersion;
     private int protocolArchitecture;
@@ -397,7 +398,7 @@ public abstract class WireConnection<T extends IAttachProperties<T>, C extends F
         ProtocolDescriptor protocolDescriptor = protocols
                 .getProtocolDescriptor(WireProtocolConstants.PROTOCOL_VERSION10);
         return (AbstractWireOperations) protocolDescriptor
-                .createWireOperations(this, null, this);
+                .createWireOperations(this, null, new SyncObject());
     }
 
     /**
@@ -424,6 +425,23 @@ public abstract class WireConnection<T extends IAttachProperties<T>, C extends F
         return op;
     }
 
+    /**
+     * Closes the socket of the TCP/IP connection, without closing the streams.
+     * <p>
+     * This can be called without holding the lock of the attachment, and causes operations blocked on socket I/O in
+     * other threads to fail. The connection should be closed with {@link #close()} afterwards.
+     * </p>
+     *
+     * @throws IOException
+     *         if closing the socket fails
+     */
+    public final void abort() throws IOException {
+        final Socket currentSocket = socket;
+        if (currentSocket != null) {
+            currentSocket.close();
+        }
+    }
+
     /**
      * Closes the TCP/IP connection. This is not a normal detach operation.
      *
@@ -25,6 +25,9 @@ import org.firebirdsql.gds.ng.AbstractEventHandle;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -37,24 +40,47 @@ public final class WireEventHandle extends AbstractEventHandle implements Asynch
 
     private static final AtomicInteger localEventId = new AtomicInteger();
 
-    private final byte[] eventNameBytes;
-    private int internalCount;
-    private int previousInternalCount;
+    private final byte[][] eventNameBytes;
+    private final int[] internalCounts;
+    private final int[] previousInternalCounts;
     private int localId;
     private int eventId;
 
     public WireEventHandle(String eventName, EventHandler eventHandler, Encoding encoding) {
-        super(eventName, eventHandler);
-        eventNameBytes = encoding.encodeToCharset(eventName);
-        if (eventNameBytes.length > 256) {
-            throw new IllegalArgumentException("Event name as bytes too long");
+        this(Collections.singletonList(eventName), eventHandler, encoding);
+    }
+
+    /**
+     * Creates an event handle for one or more events.
+     *
+     * @param eventNames
+     *         Names of the events (at least 1, at most {@link #MAX_EVENT_NAMES})
+     * @param eventHandler
+     *         The event handler to call when one of the events occurred
+     * @param encoding
+     *         Encoding of the connection
+     * @since 4.0
+     */
+    public WireEventHandle(List<String> eventNames, EventHandler eventHandler, Encoding encoding) {
+        super(eventNames, eventHandler);
+        eventNameBytes = new byte[eventNames.size()][];
+        for (int idx = 0; idx < eventNameBytes.length; idx++) {
+            eventNameBytes[idx] = encoding.encodeToCharset(eventNames.get(idx));
+            if (eventNameBytes[idx].length > 256) {
+                throw new IllegalArgumentException("Event name as bytes too long");
+            }
         }
+        internalCounts = new int[eventNameBytes.length];
+        previousInternalCounts = new int[eventNameBytes.length];
     }
 
     public synchronized void calculateCount() {
-        // TODO Can't we just set the count directly?
-        setEventCount(internalCount - previousInternalCount);
-        previousInternalCount = internalCount;
+        final int[] eventCounts = new int[internalCounts.length];
+        for (int idx = 0; idx < internalCounts.length; idx++) {
+            eventCounts[idx] = internalCounts[idx] - previousInternalCounts[idx];
+            previousInternalCounts[idx] = internalCounts[idx];
+        }
+        setEventCounts(eventCounts);
     }
 
     /**
@@ -88,16 +114,18 @@ public final class WireEventHandle extends AbstractEventHandle implements Asynch
     }
 
     public byte[] toByteArray() throws IOException {
-        ByteArrayOutputStream byteOut = new ByteArrayOutputStream(2 + eventNameBytes.length + 4);
+        ByteArrayOutputStream byteOut = new ByteArrayOutputStream(1 + eventNameBytes.length * (1 + 256 + 4));
 
         byteOut.write(1); // Event version
-        byteOut.write(eventNameBytes.length);
-        byteOut.write(eventNameBytes);
-        final int currentInternalCount;
+        final int[] currentInternalCounts;
         synchronized (this) {
-            currentInternalCount = internalCount;
+            currentInternalCounts = internalCounts.clone();
+        }
+        for (int idx = 0; idx < eventNameBytes.length; idx++) {
+            byteOut.write(eventNameBytes[idx].length);
+            byteOut.write(eventNameBytes[idx]);
+            VaxEncoding.encodeVaxIntegerWithoutLength(byteOut, currentInternalCounts[idx]);
         }
-        VaxEncoding.encodeVaxIntegerWithoutLength(byteOut, currentInternalCount);
 
         return byteOut.toByteArray();
     }
@@ -112,16 +140,17 @@ public final class WireEventHandle extends AbstractEventHandle implements Asynch
         if (event.getEventId() != getLocalId()) return;
 
         channel.removeChannelListener(this);
-        final int newCount = event.getEventCount();
+        final int[] newCounts = event.getEventCounts();
         synchronized (this) {
-            internalCount = newCount;
+            System.arraycopy(newCounts, 0, internalCounts, 0, Math.min(newCounts.length, internalCounts.length));
         }
         onEventOccurred();
     }
 
     @Override
     public String toString() {
-        return "WireEventHandle:{ name:" + getEventName() + ", localId:" + localId +
-                ", internalCount:" + internalCount + ", previousInternalCount:" + previousInternalCount + " }";
+        return "WireEventHandle:{ names:" + getEventNames() + ", localId:" + localId +
+                ", internalCounts:" + Arrays.toString(internalCounts) +
+                ", previousInternalCounts:" + Arrays.toString(previousInternalCounts) + " }";
     }
 }
@@ -24,6 +24,7 @@ import org.firebirdsql.gds.JaybirdErrorCodes;
 import org.firebirdsql.gds.impl.wire.XdrOutputStream;
 import org.firebirdsql.gds.ng.FbDatabase;
 import org.firebirdsql.gds.ng.FbExceptionBuilder;
+import org.firebirdsql.gds.ng.LockCloseable;
 import org.firebirdsql.gds.ng.listeners.DefaultDatabaseListener;
 import org.firebirdsql.gds.ng.wire.*;
 import org.firebirdsql.logging.Logger;
@@ -38,6 +39,7 @@ import java.nio.ByteBuffer;
 import java.nio.channels.SocketChannel;
 import java.sql.SQLException;
 import java.sql.SQLNonTransientException;
+import java.util.Arrays;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -50,6 +52,7 @@ import static org.firebirdsql.gds.impl.wire.WireProtocolConstants.*;
  * @author <a href="mailto:mrotteveel@users.sourceforge.net">Mark Rotteveel</a>
  * @since 3.0
  */
+@SuppressWarnings("try")
 public class V10AsynchronousChannel implements FbWireAsynchronousChannel {
 
     private static Logger log = LoggerFactory.getLogger(V10AsynchronousChannel.class);
@@ -67,15 +70,16 @@ public class V10AsynchronousChannel implements FbWireAsynchronousChannel {
      * - 4 bytes event buffer length
      * - buffer consisting of
      * -- 1 byte event buffer version (1)
-     * -- 1 byte event name length
-     * -- max 256 bytes event name
-     * -- 4 bytes event count (vax integer)
+     * -- for each event name (max 15):
+     * --- 1 byte event name length
+     * --- max 256 bytes event name
+     * --- 4 bytes event count (vax integer)
      * - 8 bytes AST info
      * - 4 bytes event id
      *
-     * Total: 282 per event; allocating 2048 to have sufficient space
+     * Total: max 3916 per event notification; allocating 8192 to have sufficient space
      */
-    private static final int EVENT_BUFFER_SIZE = 2048;
+    private static final int EVENT_BUFFER_SIZE = 8192;
 
     private final AsynchronousChannelListenerDispatcher channelListenerDispatcher = new AsynchronousChannelListenerDispatcher();
     private final FbWireDatabase database;
@@ -204,7 +208,7 @@ public class V10AsynchronousChannel implements FbWireAsynchronousChannel {
         wireEventHandle.assignNewLocalId();
         addChannelListener(wireEventHandle);
 
-        synchronized (database.getSynchronizationObject()) {
+        try (LockCloseable ignored = database.withLock()) {
             try {
                 if (log.isDebugEnabled()) {
                     log.debug("Queue event: " + wireEventHandle);
@@ -235,7 +239,7 @@ public class V10AsynchronousChannel implements FbWireAsynchronousChannel {
         final WireEventHandle wireEventHandle = (WireEventHandle) eventHandle;
         removeChannelListener(wireEventHandle);
 
-        synchronized (database.getSynchronizationObject()) {
+        try (LockCloseable ignored = database.withLock()) {
             try {
                 final XdrOutputStream dbXdrOut = database.getXdrStreamAccess().getXdrOut();
                 dbXdrOut.writeInt(op_cancel_events);
@@ -277,21 +281,17 @@ public class V10AsynchronousChannel implements FbWireAsynchronousChannel {
             // Skip padding
             eventBuffer.position(eventBuffer.position() + padding);
 
-            // We are only interested in the event count (last 4 bytes of the buffer)
-            int eventCount = 0;
-            if (bufferLength > 4) {
-                // TODO Isn't this always the case? (old implementation also made this check)
-                eventCount = iscVaxInteger(buffer, bufferLength - 4, 4);
-            }
+            final int[] eventCounts = parseEventCounts(buffer);
 
             eventBuffer.getLong(); // AST info (ignore)
             int eventId = eventBuffer.getInt();
 
             if (log.isDebugEnabled()) {
-                log.debug(String.format("Received event id %d, eventCount %d", eventId, eventCount));
+                log.debug(String.format("Received event id %d, eventCounts %s", eventId,
+                        Arrays.toString(eventCounts)));
             }
 
-            channelListenerDispatcher.eventReceived(this, new AsynchronousChannelListener.Event(eventId, eventCount));
+            channelListenerDispatcher.eventReceived(this, new AsynchronousChannelListener.Event(eventId, eventCounts));
 
             return true;
         } catch (BufferUnderflowException ex) {
@@ -300,6 +300,26 @@ public class V10AsynchronousChannel implements FbWireAsynchronousChannel {
         }
     }
 
+    /**
+     * Parses the event counts from an event parameter buffer.
+     *
+     * @param buffer
+     *         Event parameter buffer (version byte, followed by name length, name and count for each event)
+     * @return Event counts in the order of the buffer; an incomplete trailing entry is ignored
+     */
+    static int[] parseEventCounts(byte[] buffer) {
+        int[] eventCounts = new int[EventHandle.MAX_EVENT_NAMES];
+        int count = 0;
+        int position = 1; // Skip event buffer version
+        while (position < buffer.length && count < eventCounts.length) {
+            position += 1 + (buffer[position] & 0xFF);
+            if (position + 4 > buffer.length) break;
+            eventCounts[count++] = iscVaxInteger(buffer, position, 4);
+            position += 4;
+        }
+        return Arrays.copyOf(eventCounts, count);
+    }
+
     @Override
     protected void finalize() throws Throwable {
         try {
@@ -22,9 +22,12 @@ import org.firebirdsql.encodings.Encoding;
 import org.firebirdsql.gds.*;
 import org.firebirdsql.gds.impl.DatabaseParameterBufferExtension;
 import org.firebirdsql.gds.impl.wire.XdrOutputStream;
+import org.firebirdsql.gds.ng.BlobReadCallback;
+import org.firebirdsql.gds.ng.BlobWriteCallback;
 import org.firebirdsql.gds.ng.FbExceptionBuilder;
 import org.firebirdsql.gds.ng.FbStatement;
 import org.firebirdsql.gds.ng.FbTransaction;
+import org.firebirdsql.gds.ng.LockCloseable;
 import org.firebirdsql.gds.ng.TransactionState;
 import org.firebirdsql.gds.ng.fields.BlrCalculator;
 import org.firebirdsql.gds.ng.wire.*;
@@ -34,10 +37,12 @@ import org.firebirdsql.logging.LoggerFactory;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.net.SocketTimeoutException;
 import java.nio.charset.Charset;
 import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
 import java.sql.SQLNonTransientConnectionException;
+import java.util.Collection;
 
 import static org.firebirdsql.gds.impl.wire.WireProtocolConstants.*;
 import static org.firebirdsql.gds.ng.TransactionHelper.checkTransactionActive;
@@ -48,6 +53,7 @@ import static org.firebirdsql.gds.ng.TransactionHelper.checkTransactionActive;
  * @author <a href="mailto:mrotteveel@users.sourceforge.net">Mark Rotteveel</a>
  * @since 3.0
  */
+@SuppressWarnings("try")
 public class V10Database extends AbstractFbWireDatabase implements FbWireDatabase {
 
     private static final Logger log = LoggerFactory.getLogger(V10Database.class);
@@ -98,7 +104,7 @@ public class V10Database extends AbstractFbWireDatabase implements FbWireDatabas
         if (isAttached()) {
             throw new SQLException("Already attached to a database");
         }
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             try {
                 try {
                     sendAttachOrCreateToBuffer(dpb, create);
@@ -192,7 +198,7 @@ public class V10Database extends AbstractFbWireDatabase implements FbWireDatabas
     @Override
     protected final void internalDetach() throws SQLException {
         // TODO Move to wire operations as it is almost identical to service detach?
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             try {
                 try {
                     final XdrOutputStream xdrOut = getXdrOut();
@@ -246,7 +252,7 @@ public class V10Database extends AbstractFbWireDatabase implements FbWireDatabas
     public final void dropDatabase() throws SQLException {
         try {
             checkAttached();
-            synchronized (getSynchronizationObject()) {
+            try (LockCloseable ignored = withLock()) {
                 try {
                     try {
                         final XdrOutputStream xdrOut = getXdrOut();
@@ -278,10 +284,10 @@ public class V10Database extends AbstractFbWireDatabase implements FbWireDatabas
     }
 
     @Override
-    public final FbWireTransaction startTransaction(TransactionParameterBuffer tpb) throws SQLException {
+    public FbWireTransaction startTransaction(TransactionParameterBuffer tpb) throws SQLException {
         try {
             checkAttached();
-            synchronized (getSynchronizationObject()) {
+            try (LockCloseable ignored = withLock()) {
                 try {
                     final XdrOutputStream xdrOut = getXdrOut();
                     xdrOut.writeInt(op_transaction);
@@ -313,7 +319,7 @@ public class V10Database extends AbstractFbWireDatabase implements FbWireDatabas
     public final FbTransaction reconnectTransaction(long transactionId) throws SQLException {
         try {
             checkAttached();
-            synchronized (getSynchronizationObject()) {
+            try (LockCloseable ignored = withLock()) {
                 try {
                     final XdrOutputStream xdrOut = getXdrOut();
                     xdrOut.writeInt(op_reconnect);
@@ -367,6 +373,43 @@ public class V10Database extends AbstractFbWireDatabase implements FbWireDatabas
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Implementation note: the blobs are read by interleaving the open and get segment operations of multiple open
+     * blobs, so that a single round trip retrieves a segment for each open blob.
+     * </p>
+     */
+    @Override
+    public void readBlobs(FbTransaction transaction, BlobParameterBuffer blobParameterBuffer,
+            Collection<Long> blobIds, BlobReadCallback callback) throws SQLException {
+        try {
+            checkAttached();
+            checkTransactionActive(transaction);
+            try (LockCloseable ignored = withLock()) {
+                new V10PipelinedBlobReader(this, transaction, blobParameterBuffer, blobIds, callback).readBlobs();
+            }
+        } catch (SQLException ex) {
+            exceptionListenerDispatcher.errorOccurred(ex);
+            throw ex;
+        }
+    }
+
+    @Override
+    public void writeBlobs(FbTransaction transaction, BlobParameterBuffer blobParameterBuffer, int blobCount,
+            BlobWriteCallback callback) throws SQLException {
+        try {
+            checkAttached();
+            checkTransactionActive(transaction);
+            try (LockCloseable ignored = withLock()) {
+                new V10PipelinedBlobWriter(this, transaction, blobParameterBuffer, blobCount, callback).writeBlobs();
+            }
+        } catch (SQLException ex) {
+            exceptionListenerDispatcher.errorOccurred(ex);
+            throw ex;
+        }
+    }
+
     @Override
     public void cancelOperation(int kind) throws SQLException {
         try {
@@ -374,7 +417,7 @@ public class V10Database extends AbstractFbWireDatabase implements FbWireDatabas
                 try {
                     // In case of abort we forcibly close the connection
                     // TODO We may need to do additional cleanup (eg notify statements so they can close etc)
-                    closeConnection();
+                    abortConnection();
                 } catch (IOException ioe) {
                     throw new SQLNonTransientConnectionException("Connection abort failed", ioe);
                 }
@@ -390,12 +433,96 @@ public class V10Database extends AbstractFbWireDatabase implements FbWireDatabas
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * A non-zero {@code timeout} is applied by temporarily changing the socket timeout of the connection.
+     * </p>
+     */
+    @Override
+    public final void ping(int timeout) throws SQLException {
+        if (timeout < 0) {
+            throw new IllegalArgumentException("timeout should be >= 0, was " + timeout);
+        }
+        try {
+            checkAttached();
+            try (LockCloseable ignored = withLock()) {
+                final int originalSoTimeout = connection.getAttachProperties().getSoTimeout();
+                if (timeout != 0) {
+                    connection.setSoTimeout(timeout);
+                }
+                try {
+                    try {
+                        sendPing();
+                        getXdrOut().flush();
+                    } catch (IOException ex) {
+                        throw new FbExceptionBuilder().exception(ISCConstants.isc_net_write_err).cause(ex)
+                                .toSQLException();
+                    }
+                    try {
+                        processPingResponse(readResponse(null));
+                    } catch (SocketTimeoutException ex) {
+                        // The response may still arrive later, so the connection can no longer be used
+                        try {
+                            closeConnection();
+                        } catch (IOException ex2) {
+                            log.debug("Exception closing connection after ping timeout", ex2);
+                        }
+                        throw new FbExceptionBuilder().timeoutException(ISCConstants.isc_net_read_err).cause(ex)
+                                .toSQLException();
+                    } catch (IOException ex) {
+                        throw new FbExceptionBuilder().exception(ISCConstants.isc_net_read_err).cause(ex)
+                                .toSQLException();
+                    }
+                } finally {
+                    if (timeout != 0 && connection.isConnected()) {
+                        connection.setSoTimeout(originalSoTimeout);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            exceptionListenerDispatcher.errorOccurred(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Sends - without flushing - the ping request.
+     * <p>
+     * Protocol versions before 13 do not support {@code op_ping}; this implementation sends a minimal database info
+     * request instead.
+     * </p>
+     *
+     * @throws SQLException
+     *         If the database connection is not available
+     * @throws IOException
+     *         For errors writing to the connection
+     */
+    protected void sendPing() throws SQLException, IOException {
+        final XdrOutputStream xdrOut = getXdrOut();
+        xdrOut.writeInt(op_info_database);
+        xdrOut.writeInt(getHandle());
+        xdrOut.writeInt(0); // incarnation
+        xdrOut.writeBuffer(PING_INFO_REQUEST);
+        xdrOut.writeInt(PING_INFO_BUFFER_LENGTH);
+    }
+
+    /**
+     * Processes the response to the ping request.
+     *
+     * @param response
+     *         Response to the ping request
+     */
+    protected void processPingResponse(@SuppressWarnings("UnusedParameters") Response response) {
+        // Do nothing
+    }
+
     @Override
     public final byte[] getDatabaseInfo(byte[] requestItems, int maxBufferLength) throws SQLException {
         // TODO Write common info request implementation shared for db, sql, transaction and blob?
         try {
             checkAttached();
-            synchronized (getSynchronizationObject()) {
+            try (LockCloseable ignored = withLock()) {
                 try {
                     final XdrOutputStream xdrOut = getXdrOut();
                     xdrOut.writeInt(op_info_database);
@@ -437,7 +564,7 @@ public class V10Database extends AbstractFbWireDatabase implements FbWireDatabas
                         .forException(JaybirdErrorCodes.jb_executeImmediateRequiresNoTransactionDetached)
                         .toFlatSQLException();
             }
-            synchronized (getSynchronizationObject()) {
+            try (LockCloseable ignored = withLock()) {
                 try {
                     final XdrOutputStream xdrOut = getXdrOut();
                     xdrOut.writeInt(op_exec_immediate);
@@ -472,7 +599,7 @@ public class V10Database extends AbstractFbWireDatabase implements FbWireDatabas
     @Override
     public void releaseObject(int operation, int objectId) throws SQLException {
         checkAttached();
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             try {
                 doReleaseObjectPacket(operation, objectId);
                 getXdrOut().flush();
@@ -492,7 +619,7 @@ public class V10Database extends AbstractFbWireDatabase implements FbWireDatabas
         checkAttached();
         final int auxHandle;
         final int port;
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             try {
                 final XdrOutputStream xdrOut = getXdrOut();
                 xdrOut.writeInt(op_connect_request);
@@ -22,10 +22,10 @@ import org.firebirdsql.gds.BlobParameterBuffer;
 import org.firebirdsql.gds.ISCConstants;
 import org.firebirdsql.gds.impl.wire.XdrOutputStream;
 import org.firebirdsql.gds.ng.FbExceptionBuilder;
+import org.firebirdsql.gds.ng.LockCloseable;
 import org.firebirdsql.gds.ng.listeners.DatabaseListener;
 import org.firebirdsql.gds.ng.wire.*;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.sql.SQLException;
 
@@ -37,6 +37,7 @@ import static org.firebirdsql.gds.impl.wire.WireProtocolConstants.*;
  * @author <a href="mailto:mrotteveel@users.sourceforge.net">Mark Rotteveel</a>
  * @since 3.0
  */
+@SuppressWarnings("try")
 public class V10InputBlob extends AbstractFbWireInputBlob implements FbWireBlob, DatabaseListener {
 
     // TODO V10OutputBlob and V10InputBlob share some common behavior and information (eg in open() and getMaximumSegmentSize()), find a way to unify this
@@ -51,32 +52,20 @@ public class V10InputBlob extends AbstractFbWireInputBlob implements FbWireBlob,
     @Override
     public void open() throws SQLException {
         try {
-            synchronized (getSynchronizationObject()) {
+            try (LockCloseable ignored = withLock()) {
                 checkDatabaseAttached();
                 checkTransactionActive();
                 checkBlobClosed();
 
                 final FbWireDatabase database = getDatabase();
                 try {
-                    final XdrOutputStream xdrOut = database.getXdrStreamAccess().getXdrOut();
-                    final BlobParameterBuffer blobParameterBuffer = getBlobParameterBuffer();
-                    if (blobParameterBuffer == null) {
-                        xdrOut.writeInt(op_open_blob);
-                    } else {
-                        xdrOut.writeInt(op_open_blob2);
-                        xdrOut.writeTyped(blobParameterBuffer);
-                    }
-                    xdrOut.writeInt(getTransaction().getHandle());
-                    xdrOut.writeLong(getBlobId());
-                    xdrOut.flush();
+                    sendOpen();
+                    database.getXdrStreamAccess().getXdrOut().flush();
                 } catch (IOException e) {
                     throw new FbExceptionBuilder().exception(ISCConstants.isc_net_write_err).cause(e).toSQLException();
                 }
                 try {
-                    final GenericResponse genericResponse = database.readGenericResponse(null);
-                    setHandle(genericResponse.getObjectHandle());
-                    setOpen(true);
-                    resetEof();
+                    processOpenResponse(database.readGenericResponse(null));
                 } catch (IOException e) {
                     throw new FbExceptionBuilder().exception(ISCConstants.isc_net_read_err).cause(e).toSQLException();
                 }
@@ -96,50 +85,27 @@ public class V10InputBlob extends AbstractFbWireInputBlob implements FbWireBlob,
                         .messageParameter(sizeRequested)
                         .toSQLException();
             }
-            // TODO Is this actually a real limitation, or are larger sizes possible?
-            int actualSize = 2 + Math.min(sizeRequested, getMaximumSegmentSize());
-            synchronized (getSynchronizationObject()) {
-                checkDatabaseAttached();
-                checkTransactionActive();
-                checkBlobOpen();
-
-                final GenericResponse response;
-                final FbWireDatabase database = getDatabase();
-                try {
-                    final XdrOutputStream xdrOut = database.getXdrStreamAccess().getXdrOut();
-                    xdrOut.writeInt(op_get_segment);
-                    xdrOut.writeInt(getHandle());
-                    xdrOut.writeInt(actualSize);
-                    xdrOut.writeInt(0); // length of segment send buffer (always 0 in get)
-                    xdrOut.flush();
-                } catch (IOException e) {
-                    throw new FbExceptionBuilder().exception(ISCConstants.isc_net_write_err).cause(e).toSQLException();
-                }
-                try {
-                    response = database.readGenericResponse(null);
-                    // TODO Meaning of 2
-                    if (response.getObjectHandle() == 2) {
-                        // TODO what if I seek on a stream blob?
-                        setEof();
-                    }
-                } catch (IOException e) {
-                    throw new FbExceptionBuilder().exception(ISCConstants.isc_net_read_err).cause(e).toSQLException();
-                }
-
-                final byte[] responseBuffer = response.getData();
-                if (responseBuffer.length == 0) {
-                    return responseBuffer;
-                }
+            try (LockCloseable ignored = withLock()) {
+                return processGetSegmentResponse(getSegmentResponse(sizeRequested));
+            }
+        } catch (SQLException e) {
+            exceptionListenerDispatcher.errorOccurred(e);
+            throw e;
+        }
+    }
 
-                final ByteArrayOutputStream bos = new ByteArrayOutputStream(actualSize);
-                int position = 0;
-                while (position < responseBuffer.length) {
-                    final int segmentLength = iscVaxInteger2(responseBuffer, position);
-                    position += 2;
-                    bos.write(responseBuffer, position, segmentLength);
-                    position += segmentLength;
-                }
-                return bos.toByteArray();
+    @Override
+    public int getSegment(final byte[] dest, final int off, final int len) throws SQLException {
+        try {
+            checkBufferSection(dest, off, len);
+            if (len <= 0) {
+                throw new FbExceptionBuilder().exception(jb_blobGetSegmentNegative)
+                        .messageParameter(len)
+                        .toSQLException();
+            }
+            try (LockCloseable ignored = withLock()) {
+                // The response data is read into a new array by readGenericResponse, only the copy is avoided
+                return processGetSegmentResponse(getSegmentResponse(len), dest, off);
             }
         } catch (SQLException e) {
             exceptionListenerDispatcher.errorOccurred(e);
@@ -147,10 +113,151 @@ public class V10InputBlob extends AbstractFbWireInputBlob implements FbWireBlob,
         }
     }
 
+    /**
+     * Performs the get segment operation and returns its response.
+     * <p>
+     * Callers must hold the lock of {@link #withLock()}.
+     * </p>
+     *
+     * @param sizeRequested
+     *         Requested segment size (&gt; 0)
+     * @return Response to the get segment operation
+     * @throws SQLException
+     *         If the blob is closed, the transaction is not active, or a database connection error occurred.
+     */
+    private GenericResponse getSegmentResponse(final int sizeRequested) throws SQLException {
+        checkDatabaseAttached();
+        checkTransactionActive();
+        checkBlobOpen();
+
+        final FbWireDatabase database = getDatabase();
+        try {
+            sendGetSegment(sizeRequested);
+            database.getXdrStreamAccess().getXdrOut().flush();
+        } catch (IOException e) {
+            throw new FbExceptionBuilder().exception(ISCConstants.isc_net_write_err).cause(e).toSQLException();
+        }
+        try {
+            return database.readGenericResponse(null);
+        } catch (IOException e) {
+            throw new FbExceptionBuilder().exception(ISCConstants.isc_net_read_err).cause(e).toSQLException();
+        }
+    }
+
+    /**
+     * Sends - without flushing - the open (op_open_blob or op_open_blob2) operation for this blob.
+     *
+     * @throws SQLException
+     *         If the database connection is not available
+     * @throws IOException
+     *         For errors writing to the connection
+     */
+    protected void sendOpen() throws SQLException, IOException {
+        final XdrOutputStream xdrOut = getDatabase().getXdrStreamAccess().getXdrOut();
+        final BlobParameterBuffer blobParameterBuffer = getBlobParameterBuffer();
+        if (blobParameterBuffer == null) {
+            xdrOut.writeInt(op_open_blob);
+        } else {
+            xdrOut.writeInt(op_open_blob2);
+            xdrOut.writeTyped(blobParameterBuffer);
+        }
+        xdrOut.writeInt(getTransaction().getHandle());
+        xdrOut.writeLong(getBlobId());
+    }
+
+    /**
+     * Processes the response to the open operation.
+     *
+     * @param genericResponse
+     *         Generic response containing the blob handle
+     */
+    protected void processOpenResponse(GenericResponse genericResponse) {
+        setHandle(genericResponse.getObjectHandle());
+        setOpen(true);
+        resetEof();
+    }
+
+    /**
+     * Sends - without flushing - the get segment operation for this blob.
+     *
+     * @param sizeRequested
+     *         Requested segment size (&gt; 0), silently reduced to {@link #getMaximumSegmentSize()}
+     * @throws SQLException
+     *         If the database connection is not available
+     * @throws IOException
+     *         For errors writing to the connection
+     */
+    protected void sendGetSegment(int sizeRequested) throws SQLException, IOException {
+        // TODO Is this actually a real limitation, or are larger sizes possible?
+        final int actualSize = 2 + Math.min(sizeRequested, getMaximumSegmentSize());
+        final XdrOutputStream xdrOut = getDatabase().getXdrStreamAccess().getXdrOut();
+        xdrOut.writeInt(op_get_segment);
+        xdrOut.writeInt(getHandle());
+        xdrOut.writeInt(actualSize);
+        xdrOut.writeInt(0); // length of segment send buffer (always 0 in get)
+    }
+
+    /**
+     * Processes the response to the get segment operation.
+     *
+     * @param response
+     *         Generic response containing the segment data
+     * @return Retrieved segment (size may be less than requested)
+     */
+    protected byte[] processGetSegmentResponse(GenericResponse response) {
+        final byte[] responseBuffer = response.getData();
+        final byte[] segment = new byte[getSegmentDataLength(responseBuffer)];
+        processGetSegmentResponse(response, segment, 0);
+        return segment;
+    }
+
+    /**
+     * Processes the response to the get segment operation, copying the segment data into {@code dest}.
+     *
+     * @param response
+     *         Generic response containing the segment data
+     * @param dest
+     *         Destination buffer, must have sufficient space for the segment data of the response
+     * @param off
+     *         Offset in {@code dest} to start writing
+     * @return Number of bytes written to {@code dest}
+     */
+    protected int processGetSegmentResponse(GenericResponse response, byte[] dest, int off) {
+        // TODO Meaning of 2
+        if (response.getObjectHandle() == 2) {
+            // TODO what if I seek on a stream blob?
+            setEof();
+        }
+
+        // The response buffer consists of one or more segments, each prefixed with its 2-byte length
+        final byte[] responseBuffer = response.getData();
+        int position = 0;
+        int destPosition = off;
+        while (position < responseBuffer.length) {
+            final int segmentLength = iscVaxInteger2(responseBuffer, position);
+            position += 2;
+            System.arraycopy(responseBuffer, position, dest, destPosition, segmentLength);
+            position += segmentLength;
+            destPosition += segmentLength;
+        }
+        return destPosition - off;
+    }
+
+    private static int getSegmentDataLength(byte[] responseBuffer) {
+        int dataLength = 0;
+        int position = 0;
+        while (position < responseBuffer.length) {
+            final int segmentLength = iscVaxInteger2(responseBuffer, position);
+            position += 2 + segmentLength;
+            dataLength += segmentLength;
+        }
+        return dataLength;
+    }
+
     @Override
     public void seek(int offset, SeekMode seekMode) throws SQLException {
         try {
-            synchronized (getSynchronizationObject()) {
+            try (LockCloseable ignored = withLock()) {
                 checkDatabaseAttached();
                 checkTransactionActive();
 
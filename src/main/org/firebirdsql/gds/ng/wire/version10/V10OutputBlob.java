@@ -23,6 +23,7 @@ import org.firebirdsql.gds.ISCConstants;
 import org.firebirdsql.gds.impl.wire.XdrOutputStream;
 import org.firebirdsql.gds.ng.FbBlob;
 import org.firebirdsql.gds.ng.FbExceptionBuilder;
+import org.firebirdsql.gds.ng.LockCloseable;
 import org.firebirdsql.gds.ng.listeners.DatabaseListener;
 import org.firebirdsql.gds.ng.wire.*;
 
@@ -37,6 +38,7 @@ import static org.firebirdsql.gds.impl.wire.WireProtocolConstants.*;
  * @author <a href="mailto:mrotteveel@users.sourceforge.net">Mark Rotteveel</a>
  * @since 3.0
  */
+@SuppressWarnings("try")
 public class V10OutputBlob extends AbstractFbWireOutputBlob implements FbWireBlob, DatabaseListener {
 
     // TODO V10OutputBlob and V10InputBlob share some common behavior and information (eg in open() and getMaximumSegmentSize()), find a way to unify this
@@ -51,7 +53,7 @@ public class V10OutputBlob extends AbstractFbWireOutputBlob implements FbWireBlo
     @Override
     public void open() throws SQLException {
         try {
-            synchronized (getSynchronizationObject()) {
+            try (LockCloseable ignored = withLock()) {
                 checkDatabaseAttached();
                 checkTransactionActive();
                 checkBlobClosed();
@@ -60,27 +62,14 @@ public class V10OutputBlob extends AbstractFbWireOutputBlob implements FbWireBlo
                     throw new FbExceptionBuilder().nonTransientException(ISCConstants.isc_segstr_no_op).toSQLException();
                 }
 
-                final FbWireDatabase database = getDatabase();
                 try {
-                    final XdrOutputStream xdrOut = database.getXdrStreamAccess().getXdrOut();
-                    final BlobParameterBuffer blobParameterBuffer = getBlobParameterBuffer();
-                    if (blobParameterBuffer == null) {
-                        xdrOut.writeInt(op_create_blob);
-                    } else {
-                        xdrOut.writeInt(op_create_blob2);
-                        xdrOut.writeTyped(blobParameterBuffer);
-                    }
-                    xdrOut.writeInt(getTransaction().getHandle());
-                    xdrOut.writeLong(FbBlob.NO_BLOB_ID);
-                    xdrOut.flush();
+                    sendOpen();
+                    getDatabase().getXdrStreamAccess().getXdrOut().flush();
                 } catch (IOException e) {
                     throw new FbExceptionBuilder().exception(ISCConstants.isc_net_write_err).cause(e).toSQLException();
                 }
                 try {
-                    final GenericResponse genericResponse = database.readGenericResponse(null);
-                    setHandle(genericResponse.getObjectHandle());
-                    setBlobId(genericResponse.getBlobId());
-                    setOpen(true);
+                    processOpenResponse(getDatabase().readGenericResponse(null));
                 } catch (IOException e) {
                     throw new FbExceptionBuilder().exception(ISCConstants.isc_net_read_err).cause(e).toSQLException();
                 }
@@ -94,27 +83,29 @@ public class V10OutputBlob extends AbstractFbWireOutputBlob implements FbWireBlo
 
     @Override
     public void putSegment(byte[] segment) throws SQLException {
+        putSegment(segment, 0, segment.length);
+    }
+
+    @Override
+    public void putSegment(byte[] segment, int off, int len) throws SQLException {
         try {
-            if (segment.length == 0) {
+            checkBufferSection(segment, off, len);
+            if (len == 0) {
                 throw new FbExceptionBuilder().exception(jb_blobPutSegmentEmpty).toSQLException();
             }
             // TODO Handle by performing multiple puts?
-            if (segment.length > getMaximumSegmentSize()) {
+            if (len > getMaximumSegmentSize()) {
                 throw new FbExceptionBuilder().exception(jb_blobPutSegmentTooLong).toSQLException();
             }
-            synchronized (getSynchronizationObject()) {
+            try (LockCloseable ignored = withLock()) {
                 checkDatabaseAttached();
                 checkTransactionActive();
                 checkBlobOpen();
 
                 final FbWireDatabase database = getDatabase();
                 try {
-                    final XdrOutputStream xdrOut = database.getXdrStreamAccess().getXdrOut();
-                    xdrOut.writeInt(op_put_segment);
-                    xdrOut.writeInt(getHandle());
-                    xdrOut.writeInt(segment.length);
-                    xdrOut.writeBuffer(segment);
-                    xdrOut.flush();
+                    sendPutSegment(segment, off, len);
+                    database.getXdrStreamAccess().getXdrOut().flush();
                 } catch (IOException e) {
                     throw new FbExceptionBuilder().exception(ISCConstants.isc_net_write_err).cause(e).toSQLException();
                 }
@@ -129,4 +120,90 @@ public class V10OutputBlob extends AbstractFbWireOutputBlob implements FbWireBlo
             throw e;
         }
     }
+
+    /**
+     * Sends - without flushing - the create (op_create_blob or op_create_blob2) operation for this blob.
+     *
+     * @throws SQLException
+     *         If the database connection is not available
+     * @throws IOException
+     *         For errors writing to the connection
+     */
+    protected void sendOpen() throws SQLException, IOException {
+        final XdrOutputStream xdrOut = getDatabase().getXdrStreamAccess().getXdrOut();
+        final BlobParameterBuffer blobParameterBuffer = getBlobParameterBuffer();
+        if (blobParameterBuffer == null) {
+            xdrOut.writeInt(op_create_blob);
+        } else {
+            xdrOut.writeInt(op_create_blob2);
+            xdrOut.writeTyped(blobParameterBuffer);
+        }
+        xdrOut.writeInt(getTransaction().getHandle());
+        xdrOut.writeLong(FbBlob.NO_BLOB_ID);
+    }
+
+    /**
+     * Processes the response to the create operation.
+     *
+     * @param genericResponse
+     *         Generic response containing the blob handle and blob id
+     * @throws SQLException
+     *         If the blob id has already been set
+     */
+    protected void processOpenResponse(GenericResponse genericResponse) throws SQLException {
+        setHandle(genericResponse.getObjectHandle());
+        setBlobId(genericResponse.getBlobId());
+        setOpen(true);
+    }
+
+    /**
+     * Sends - without flushing - the put segment operation for this blob.
+     * <p>
+     * The caller is responsible for checking the segment length.
+     * </p>
+     *
+     * @param segment
+     *         Array containing the segment
+     * @param off
+     *         Offset of the segment
+     * @param len
+     *         Length of the segment
+     * @throws SQLException
+     *         If the database connection is not available
+     * @throws IOException
+     *         For errors writing to the connection
+     */
+    protected void sendPutSegment(byte[] segment, int off, int len) throws SQLException, IOException {
+        final XdrOutputStream xdrOut = getDatabase().getXdrStreamAccess().getXdrOut();
+        xdrOut.writeInt(op_put_segment);
+        xdrOut.writeInt(getHandle());
+        xdrOut.writeInt(len);
+        xdrOut.writeBuffer(segment, off, len);
+    }
+
+    /**
+     * Sends - without flushing - the close or cancel operation for this blob.
+     *
+     * @param releaseOperation
+     *         Either {@link WireProtocolConstants#op_close_blob} or {@link WireProtocolConstants#op_cancel_blob}
+     * @throws SQLException
+     *         If the database connection is not available
+     * @throws IOException
+     *         For errors writing to the connection
+     */
+    protected void sendRelease(int releaseOperation) throws SQLException, IOException {
+        final XdrOutputStream xdrOut = getDatabase().getXdrStreamAccess().getXdrOut();
+        xdrOut.writeInt(releaseOperation);
+        xdrOut.writeInt(getHandle());
+    }
+
+    /**
+     * Processes the response to the close or cancel operation, marking this blob as closed.
+     *
+     * @param response
+     *         Response to the close or cancel operation
+     */
+    protected void processReleaseResponse(@SuppressWarnings("UnusedParameters") Response response) {
+        setOpen(false);
+    }
 }
@@ -0,0 +1,201 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.gds.ng.wire.version10;
+
+import org.firebirdsql.gds.BlobParameterBuffer;
+import org.firebirdsql.gds.ISCConstants;
+import org.firebirdsql.gds.ng.BlobReadCallback;
+import org.firebirdsql.gds.ng.FbExceptionBuilder;
+import org.firebirdsql.gds.ng.FbTransaction;
+import org.firebirdsql.gds.ng.wire.FbWireDatabase;
+import org.firebirdsql.logging.Logger;
+import org.firebirdsql.logging.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Reads multiple blobs by interleaving the operations of several open {@link V10InputBlob} instances.
+ * <p>
+ * Each round sends the open operations for newly admitted blobs and a get segment operation for each open blob in a
+ * single flush, and then reads the responses in the same order. This reduces the number of round trips from one per
+ * segment to one per round. The number of simultaneously open blobs is limited to {@link #MAX_OPEN_BLOBS} to bound
+ * the amount of response data in flight.
+ * </p>
+ * <p>
+ * Callers must hold the lock of the database ({@link FbWireDatabase#withLock()}) for the duration of
+ * {@link #readBlobs()}.
+ * </p>
+ *
+ * @since 4.0
+ */
+final class V10PipelinedBlobReader {
+
+    private static final Logger log = LoggerFactory.getLogger(V10PipelinedBlobReader.class);
+
+    static final int MAX_OPEN_BLOBS = 8;
+
+    private final FbWireDatabase database;
+    private final FbTransaction transaction;
+    private final BlobParameterBuffer blobParameterBuffer;
+    private final BlobReadCallback callback;
+    private final Deque<Long> pendingBlobIds;
+    private final List<BlobReadState> openBlobs = new ArrayList<>(MAX_OPEN_BLOBS);
+
+    V10PipelinedBlobReader(FbWireDatabase database, FbTransaction transaction,
+            BlobParameterBuffer blobParameterBuffer, Collection<Long> blobIds, BlobReadCallback callback) {
+        this.database = database;
+        this.transaction = transaction;
+        this.blobParameterBuffer = blobParameterBuffer;
+        this.callback = callback;
+        pendingBlobIds = new ArrayDeque<>(blobIds);
+    }
+
+    /**
+     * Reads all blobs, reporting the result of each blob to the callback.
+     *
+     * @throws SQLException
+     *         For database connection errors
+     */
+    void readBlobs() throws SQLException {
+        boolean completed = false;
+        try {
+            while (!(pendingBlobIds.isEmpty() && openBlobs.isEmpty())) {
+                readRound();
+            }
+            completed = true;
+        } finally {
+            if (!completed) {
+                // Exception from the connection or the callback: don't leave blobs open on the server
+                closeOpenBlobs();
+            }
+        }
+    }
+
+    private void readRound() throws SQLException {
+        final List<BlobReadState> openingBlobs = new ArrayList<>(MAX_OPEN_BLOBS);
+        while (openBlobs.size() + openingBlobs.size() < MAX_OPEN_BLOBS && !pendingBlobIds.isEmpty()) {
+            final long blobId = pendingBlobIds.poll();
+            openingBlobs.add(new BlobReadState(
+                    (V10InputBlob) database.createBlobForInput(transaction, blobParameterBuffer, blobId)));
+        }
+
+        try {
+            for (BlobReadState state : openingBlobs) {
+                state.blob.sendOpen();
+            }
+            for (BlobReadState state : openBlobs) {
+                state.blob.sendGetSegment(state.blob.getMaximumSegmentSize());
+            }
+            database.getXdrStreamAccess().getXdrOut().flush();
+        } catch (IOException e) {
+            throw new FbExceptionBuilder().exception(ISCConstants.isc_net_write_err).cause(e).toSQLException();
+        }
+
+        final List<BlobReadState> completedBlobs = new ArrayList<>();
+        try {
+            for (BlobReadState state : openingBlobs) {
+                try {
+                    state.blob.processOpenResponse(database.readGenericResponse(null));
+                } catch (SQLException e) {
+                    state.failure = e;
+                    completedBlobs.add(state);
+                }
+            }
+            for (BlobReadState state : openBlobs) {
+                try {
+                    state.append(state.blob.processGetSegmentResponse(database.readGenericResponse(null)));
+                } catch (SQLException e) {
+                    state.failure = e;
+                }
+                if (state.failure != null || state.blob.isEof()) {
+                    completedBlobs.add(state);
+                }
+            }
+        } catch (IOException e) {
+            throw new FbExceptionBuilder().exception(ISCConstants.isc_net_read_err).cause(e).toSQLException();
+        }
+
+        for (BlobReadState state : openingBlobs) {
+            if (state.failure == null) {
+                openBlobs.add(state);
+            }
+        }
+        for (Iterator<BlobReadState> iterator = openBlobs.iterator(); iterator.hasNext(); ) {
+            final BlobReadState state = iterator.next();
+            if (completedBlobs.contains(state)) {
+                iterator.remove();
+                closeBlob(state);
+            }
+        }
+        for (BlobReadState state : completedBlobs) {
+            if (state.failure != null) {
+                callback.blobReadFailed(state.blob.getBlobId(), state.failure);
+            } else {
+                callback.blobRead(state.blob.getBlobId(), state.content.toByteArray());
+            }
+        }
+    }
+
+    private void closeBlob(BlobReadState state) throws SQLException {
+        try {
+            state.blob.close();
+        } catch (SQLException e) {
+            if (!database.isAttached()) {
+                throw e;
+            }
+            // Content has been read completely (or the read already failed), so a failure to close is not reported
+            log.debug("Ignored exception closing blob in pipelined read", e);
+        }
+    }
+
+    private void closeOpenBlobs() {
+        for (BlobReadState state : openBlobs) {
+            try {
+                state.blob.close();
+            } catch (SQLException e) {
+                // Don't hide the exception that caused the abnormal exit
+                log.debug("Ignored exception closing blob after failed pipelined read", e);
+            }
+        }
+        openBlobs.clear();
+    }
+
+    private static final class BlobReadState {
+
+        private final V10InputBlob blob;
+        private final ByteArrayOutputStream content = new ByteArrayOutputStream();
+        private SQLException failure;
+
+        private BlobReadState(V10InputBlob blob) {
+            this.blob = blob;
+        }
+
+        private void append(byte[] segment) {
+            content.write(segment, 0, segment.length);
+        }
+    }
+}
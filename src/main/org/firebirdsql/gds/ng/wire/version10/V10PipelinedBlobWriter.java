@@ -0,0 +1,250 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.gds.ng.wire.version10;
+
+import org.firebirdsql.gds.BlobParameterBuffer;
+import org.firebirdsql.gds.ISCConstants;
+import org.firebirdsql.gds.ng.AbstractSegmentOutputStream;
+import org.firebirdsql.gds.ng.BlobWriteCallback;
+import org.firebirdsql.gds.ng.FbExceptionBuilder;
+import org.firebirdsql.gds.ng.FbTransaction;
+import org.firebirdsql.gds.ng.wire.FbWireDatabase;
+import org.firebirdsql.gds.ng.wire.Response;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.firebirdsql.gds.impl.wire.WireProtocolConstants.op_cancel_blob;
+import static org.firebirdsql.gds.impl.wire.WireProtocolConstants.op_close_blob;
+
+/**
+ * Writes multiple blobs by sending the operations of several {@link V10OutputBlob} instances without waiting for the
+ * response of each operation (write-behind).
+ * <p>
+ * Blobs are written in groups of at most {@link #MAX_PENDING_RESPONSES} blobs: the create operations of a group are
+ * sent in a single flush, after which the put segment and close operations of the blobs in the group are sent. The
+ * responses to these operations are read each time {@link #MAX_PENDING_RESPONSES} operations are pending, and at the
+ * end of the group. This reduces the number of round trips from one per operation to roughly one per
+ * {@link #MAX_PENDING_RESPONSES} operations, while bounding the amount of response data in flight.
+ * </p>
+ * <p>
+ * Callers must hold the lock of the database ({@link FbWireDatabase#withLock()}) for the duration of
+ * {@link #writeBlobs()}.
+ * </p>
+ *
+ * @since 4.0
+ */
+final class V10PipelinedBlobWriter {
+
+    static final int MAX_PENDING_RESPONSES = 32;
+
+    private final FbWireDatabase database;
+    private final FbTransaction transaction;
+    private final BlobParameterBuffer blobParameterBuffer;
+    private final int blobCount;
+    private final BlobWriteCallback callback;
+    private final List<PendingOperation> pendingOperations = new ArrayList<>(MAX_PENDING_RESPONSES);
+
+    V10PipelinedBlobWriter(FbWireDatabase database, FbTransaction transaction,
+            BlobParameterBuffer blobParameterBuffer, int blobCount, BlobWriteCallback callback) {
+        this.database = database;
+        this.transaction = transaction;
+        this.blobParameterBuffer = blobParameterBuffer;
+        this.blobCount = blobCount;
+        this.callback = callback;
+    }
+
+    /**
+     * Writes all blobs, reporting the result of each blob to the callback.
+     *
+     * @throws SQLException
+     *         For database connection errors
+     */
+    void writeBlobs() throws SQLException {
+        for (int groupStart = 0; groupStart < blobCount; groupStart += MAX_PENDING_RESPONSES) {
+            writeGroup(groupStart, Math.min(blobCount, groupStart + MAX_PENDING_RESPONSES));
+        }
+    }
+
+    private void writeGroup(int groupStart, int groupEnd) throws SQLException {
+        final List<BlobWriteState> group = new ArrayList<>(groupEnd - groupStart);
+        for (int index = groupStart; index < groupEnd; index++) {
+            final BlobWriteState state = new BlobWriteState(index,
+                    (V10OutputBlob) database.createBlobForOutput(transaction, blobParameterBuffer));
+            group.add(state);
+            try {
+                state.blob.sendOpen();
+            } catch (IOException e) {
+                throw new FbExceptionBuilder().exception(ISCConstants.isc_net_write_err).cause(e).toSQLException();
+            }
+            pendingOperations.add(new PendingOperation(state, PendingOperation.OPEN));
+        }
+        processPendingOperations();
+
+        for (BlobWriteState state : group) {
+            if (state.failure == null) {
+                writeContent(state);
+            }
+        }
+        processPendingOperations();
+
+        for (BlobWriteState state : group) {
+            if (state.failure != null) {
+                callback.blobWriteFailed(state.index, state.failure);
+            } else {
+                callback.blobWritten(state.index, state.blob.getBlobId());
+            }
+        }
+    }
+
+    private void writeContent(BlobWriteState state) throws SQLException {
+        final PipelinedSegmentOutputStream out = new PipelinedSegmentOutputStream(state);
+        try {
+            try {
+                callback.writeContent(state.index, out);
+                out.close();
+            } catch (IOException e) {
+                if (out.connectionFailure != null) {
+                    throw out.connectionFailure;
+                }
+                state.fail(new SQLException(e));
+            }
+            state.blob.sendRelease(state.failure == null ? op_close_blob : op_cancel_blob);
+        } catch (IOException e) {
+            throw new FbExceptionBuilder().exception(ISCConstants.isc_net_write_err).cause(e).toSQLException();
+        }
+        addPendingOperation(new PendingOperation(state, PendingOperation.RELEASE));
+    }
+
+    private void addPendingOperation(PendingOperation operation) throws SQLException {
+        pendingOperations.add(operation);
+        if (pendingOperations.size() >= MAX_PENDING_RESPONSES) {
+            processPendingOperations();
+        }
+    }
+
+    /**
+     * Flushes the sent operations and processes their responses in order.
+     */
+    private void processPendingOperations() throws SQLException {
+        if (pendingOperations.isEmpty()) return;
+        try {
+            database.getXdrStreamAccess().getXdrOut().flush();
+        } catch (IOException e) {
+            throw new FbExceptionBuilder().exception(ISCConstants.isc_net_write_err).cause(e).toSQLException();
+        }
+        final PendingOperation[] operations = pendingOperations.toArray(new PendingOperation[0]);
+        pendingOperations.clear();
+        try {
+            for (PendingOperation operation : operations) {
+                final BlobWriteState state = operation.state;
+                try {
+                    switch (operation.type) {
+                    case PendingOperation.OPEN:
+                        state.blob.processOpenResponse(database.readGenericResponse(null));
+                        break;
+                    case PendingOperation.PUT_SEGMENT:
+                        database.readResponse(null);
+                        break;
+                    case PendingOperation.RELEASE:
+                        final Response response = database.readResponse(null);
+                        state.blob.processReleaseResponse(response);
+                        break;
+                    }
+                } catch (SQLException e) {
+                    if (!database.isAttached()) {
+                        throw e;
+                    }
+                    state.fail(e);
+                }
+            }
+        } catch (IOException e) {
+            throw new FbExceptionBuilder().exception(ISCConstants.isc_net_read_err).cause(e).toSQLException();
+        }
+    }
+
+    /**
+     * Output stream sending put segment operations for a blob without waiting for the response.
+     */
+    private final class PipelinedSegmentOutputStream extends AbstractSegmentOutputStream {
+
+        private final BlobWriteState state;
+        private SQLException connectionFailure;
+
+        private PipelinedSegmentOutputStream(BlobWriteState state) {
+            super(state.blob.getMaximumSegmentSize());
+            this.state = state;
+        }
+
+        @Override
+        protected void writeSegment(byte[] segment, int off, int len) throws IOException {
+            if (connectionFailure != null) {
+                throw new IOException(connectionFailure);
+            }
+            try {
+                state.blob.sendPutSegment(segment, off, len);
+                addPendingOperation(new PendingOperation(state, PendingOperation.PUT_SEGMENT));
+            } catch (IOException e) {
+                connectionFailure =
+                        new FbExceptionBuilder().exception(ISCConstants.isc_net_write_err).cause(e).toSQLException();
+                throw new IOException(connectionFailure);
+            } catch (SQLException e) {
+                // Only connection errors are thrown from processing pending operations
+                connectionFailure = e;
+                throw new IOException(e);
+            }
+        }
+    }
+
+    private static final class BlobWriteState {
+
+        private final int index;
+        private final V10OutputBlob blob;
+        private SQLException failure;
+
+        private BlobWriteState(int index, V10OutputBlob blob) {
+            this.index = index;
+            this.blob = blob;
+        }
+
+        private void fail(SQLException exception) {
+            // Subsequent operations of a failed blob usually fail as well, only the first failure is reported
+            if (failure == null) {
+                failure = exception;
+            }
+        }
+    }
+
+    private static final class PendingOperation {
+
+        private static final int OPEN = 1;
+        private static final int PUT_SEGMENT = 2;
+        private static final int RELEASE = 3;
+
+        private final BlobWriteState state;
+        private final int type;
+
+        private PendingOperation(BlobWriteState state, int type) {
+            this.state = state;
+            this.type = type;
+        }
+    }
+}
@@ -23,6 +23,7 @@ import org.firebirdsql.gds.impl.wire.WireProtocolConstants;
 import org.firebirdsql.gds.impl.wire.XdrInputStream;
 import org.firebirdsql.gds.impl.wire.XdrOutputStream;
 import org.firebirdsql.gds.ng.FbExceptionBuilder;
+import org.firebirdsql.gds.ng.LockCloseable;
 import org.firebirdsql.gds.ng.StatementState;
 import org.firebirdsql.gds.ng.StatementType;
 import org.firebirdsql.gds.ng.WarningMessageCallback;
@@ -42,6 +43,7 @@ import static org.firebirdsql.gds.ng.TransactionHelper.checkTransactionActive;
  * @author <a href="mailto:mrotteveel@users.sourceforge.net">Mark Rotteveel</a>
  * @since 3.0
  */
+@SuppressWarnings("try")
 public class V10Statement extends AbstractFbWireStatement implements FbWireStatement {
 
     // TODO Handle error state in a consistent way (eg when does an exception lead to the error state, or when is it 'just' valid feedback)
@@ -65,7 +67,7 @@ public class V10Statement extends AbstractFbWireStatement implements FbWireState
     @Override
     public byte[] getSqlInfo(final byte[] requestItems, final int bufferLength) throws SQLException {
         try {
-            synchronized (getSynchronizationObject()) {
+            try (LockCloseable ignored = withLock()) {
                 checkStatementValid();
                 try {
                     sendInfoSql(requestItems, bufferLength);
@@ -119,7 +121,7 @@ public class V10Statement extends AbstractFbWireStatement implements FbWireState
 
     @Override
     protected void free(final int option) throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             try {
                 doFreePacket(option);
                 getXdrOut().flush();
@@ -178,7 +180,7 @@ public class V10Statement extends AbstractFbWireStatement implements FbWireState
     @Override
     public void prepare(final String statementText) throws SQLException {
         try {
-            synchronized (getSynchronizationObject()) {
+            try (LockCloseable ignored = withLock()) {
                 checkTransactionActive(getTransaction());
                 final StatementState currentState = getState();
                 if (!isPrepareAllowed(currentState)) {
@@ -258,7 +260,7 @@ public class V10Statement extends AbstractFbWireStatement implements FbWireState
 
     public void setCursorName(String cursorName) throws SQLException {
         try {
-            synchronized (getSynchronizationObject()) {
+            try (LockCloseable ignored = withLock()) {
                 checkStatementValid();
                 // TODO Check other statement states?
 
@@ -292,7 +294,7 @@ public class V10Statement extends AbstractFbWireStatement implements FbWireState
     public void execute(final RowValue parameters) throws SQLException {
         final StatementState initialState = getState();
         try {
-            synchronized (getSynchronizationObject()) {
+            try (LockCloseable ignored = withLock()) {
                 checkStatementValid();
                 checkTransactionActive(getTransaction());
                 validateParameters(parameters);
@@ -433,7 +435,7 @@ public class V10Statement extends AbstractFbWireStatement implements FbWireState
     @Override
     public void fetchRows(int fetchSize) throws SQLException {
         try {
-            synchronized (getSynchronizationObject()) {
+            try (LockCloseable ignored = withLock()) {
                 checkStatementValid();
                 if (!getState().isCursorOpen()) {
                     throw new FbExceptionBuilder().exception(ISCConstants.isc_cursor_not_open).toSQLException();
@@ -629,7 +631,7 @@ public class V10Statement extends AbstractFbWireStatement implements FbWireState
      *         GenericResponse
      */
     protected void processAllocateResponse(GenericResponse response) throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             setHandle(response.getObjectHandle());
             setAllRowsFetched(false);
             switchState(StatementState.ALLOCATED);
@@ -38,6 +38,7 @@ import static org.firebirdsql.gds.impl.wire.WireProtocolConstants.*;
  * @author <a href="mailto:mrotteveel@users.sourceforge.net">Mark Rotteveel</a>
  * @since 3.0
  */
+@SuppressWarnings("try")
 public class V10Transaction extends AbstractFbTransaction implements FbWireTransaction {
 
     private static final Logger log = LoggerFactory.getLogger(V10Transaction.class);
@@ -80,7 +81,7 @@ public class V10Transaction extends AbstractFbTransaction implements FbWireTrans
     @Override
     public void commit() throws SQLException {
         try {
-            synchronized (getSynchronizationObject()) {
+            try (LockCloseable ignored = withLock()) {
                 switchState(TransactionState.COMMITTING);
                 finishTransaction(op_commit);
                 switchState(TransactionState.COMMITTED);
@@ -100,7 +101,7 @@ public class V10Transaction extends AbstractFbTransaction implements FbWireTrans
     @Override
     public void rollback() throws SQLException {
         try {
-            synchronized (getSynchronizationObject()) {
+            try (LockCloseable ignored = withLock()) {
                 switchState(TransactionState.ROLLING_BACK);
                 finishTransaction(op_rollback);
                 switchState(TransactionState.ROLLED_BACK);
@@ -123,7 +124,7 @@ public class V10Transaction extends AbstractFbTransaction implements FbWireTrans
         try {
             final XdrOutputStream xdrOut = getXdrOut();
             xdrOut.writeInt(commitOrRollback);
-            xdrOut.writeInt(handle);
+            xdrOut.writeInt(getHandle());
             xdrOut.flush();
         } catch (IOException ioex) {
             throw new FbExceptionBuilder().exception(ISCConstants.isc_net_write_err).cause(ioex).toSQLException();
@@ -138,17 +139,17 @@ public class V10Transaction extends AbstractFbTransaction implements FbWireTrans
     @Override
     public void prepare(byte[] recoveryInformation) throws SQLException {
         try {
-            synchronized (getSynchronizationObject()) {
+            try (LockCloseable ignored = withLock()) {
                 switchState(TransactionState.PREPARING);
                 try {
                     final XdrOutputStream xdrOut = getXdrOut();
                     if (recoveryInformation != null) {
                         xdrOut.writeInt(op_prepare2);
-                        xdrOut.writeInt(handle);
+                        xdrOut.writeInt(getHandle());
                         xdrOut.writeBuffer(recoveryInformation);
                     } else {
                         xdrOut.writeInt(op_prepare);
-                        xdrOut.writeInt(handle);
+                        xdrOut.writeInt(getHandle());
                     }
                     xdrOut.flush();
                 } catch (IOException ioex) {
@@ -174,7 +175,7 @@ public class V10Transaction extends AbstractFbTransaction implements FbWireTrans
     @Override
     public byte[] getTransactionInfo(byte[] requestItems, int maxBufferLength) throws SQLException {
         try {
-            synchronized (getSynchronizationObject()) {
+            try (LockCloseable ignored = withLock()) {
                 try {
                     final XdrOutputStream xdrOut = getXdrOut();
                     xdrOut.writeInt(op_info_transaction);
@@ -18,6 +18,7 @@
  */
 package org.firebirdsql.gds.ng.wire.version10;
 
+import org.firebirdsql.gds.ng.SyncObject;
 import org.firebirdsql.gds.ng.WireCrypt;
 import org.firebirdsql.gds.ng.WarningMessageCallback;
 import org.firebirdsql.gds.ng.wire.*;
@@ -37,7 +38,7 @@ public class V10WireOperations extends AbstractWireOperations {
     private static final Logger log = LoggerFactory.getLogger(V10WireOperations.class);
 
     public V10WireOperations(WireConnection<?, ?> connection,
-            WarningMessageCallback defaultWarningMessageCallback, Object syncObject) {
+            WarningMessageCallback defaultWarningMessageCallback, SyncObject syncObject) {
         super(connection, defaultWarningMessageCallback, syncObject);
     }
 
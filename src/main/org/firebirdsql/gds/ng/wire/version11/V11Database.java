@@ -18,10 +18,18 @@
  */
 package org.firebirdsql.gds.ng.wire.version11;
 
+import org.firebirdsql.gds.BlobParameterBuffer;
 import org.firebirdsql.gds.ISCConstants;
+import org.firebirdsql.gds.TransactionParameterBuffer;
+import org.firebirdsql.gds.impl.wire.XdrOutputStream;
+import org.firebirdsql.gds.ng.BlobReadCallback;
+import org.firebirdsql.gds.ng.BlobWriteCallback;
 import org.firebirdsql.gds.ng.FbExceptionBuilder;
+import org.firebirdsql.gds.ng.FbTransaction;
+import org.firebirdsql.gds.ng.LockCloseable;
 import org.firebirdsql.gds.ng.WarningMessageCallback;
 import org.firebirdsql.gds.ng.wire.DeferredAction;
+import org.firebirdsql.gds.ng.wire.FbWireTransaction;
 import org.firebirdsql.gds.ng.wire.ProtocolDescriptor;
 import org.firebirdsql.gds.ng.wire.Response;
 import org.firebirdsql.gds.ng.wire.WireDatabaseConnection;
@@ -29,6 +37,7 @@ import org.firebirdsql.gds.ng.wire.version10.V10Database;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.util.Collection;
 
 import static org.firebirdsql.gds.impl.wire.WireProtocolConstants.*;
 
@@ -38,8 +47,12 @@ import static org.firebirdsql.gds.impl.wire.WireProtocolConstants.*;
  * @author <a href="mailto:mrotteveel@users.sourceforge.net">Mark Rotteveel</a>
  * @since 3.0
  */
+@SuppressWarnings("try")
 public class V11Database extends V10Database {
 
+    private final boolean deferTransactionStart;
+    private final boolean fetchAhead;
+
     /**
      * Creates a V11Database instance.
      *
@@ -51,16 +64,121 @@ public class V11Database extends V10Database {
      */
     protected V11Database(WireDatabaseConnection connection, ProtocolDescriptor descriptor) {
         super(connection, descriptor);
+        deferTransactionStart = connection.getAttachProperties().isDeferTransactionStart();
+        fetchAhead = connection.getAttachProperties().isFetchAhead();
     }
 
     public final void enqueueDeferredAction(DeferredAction deferredAction) {
         wireOperations.enqueueDeferredAction(deferredAction);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If the connection property <code>deferTransactionStart</code> is enabled and no other transaction is active, the
+     * <code>op_transaction</code> is not flushed and its response is processed as a deferred action. The transaction
+     * start is then sent together with the first operation that uses the transaction.
+     * </p>
+     */
+    @Override
+    public FbWireTransaction startTransaction(TransactionParameterBuffer tpb) throws SQLException {
+        if (!deferTransactionStart) {
+            return super.startTransaction(tpb);
+        }
+        try {
+            checkAttached();
+            try (LockCloseable ignored = withLock()) {
+                if (getActiveTransactionCount() > 0) {
+                    // The handle of a deferred transaction could resolve to another active transaction if its start fails
+                    return super.startTransaction(tpb);
+                }
+                final V11Transaction transaction = new V11Transaction(this);
+                try {
+                    final XdrOutputStream xdrOut = getXdrOut();
+                    xdrOut.writeInt(op_transaction);
+                    xdrOut.writeInt(getHandle());
+                    xdrOut.writeTyped(tpb);
+                    // NOTE: Intentionally no flush!
+                    enqueueDeferredAction(new DeferredAction() {
+                        @Override
+                        public void processResponse(Response response) {
+                            transaction.processStartResponse(response);
+                        }
+
+                        @Override
+                        public WarningMessageCallback getWarningMessageCallback() {
+                            return null;
+                        }
+                    });
+                } catch (IOException ioex) {
+                    throw new FbExceptionBuilder().exception(ISCConstants.isc_net_write_err).cause(ioex)
+                            .toSQLException();
+                }
+                transactionAdded(transaction);
+                return transaction;
+            }
+        } catch (SQLException ex) {
+            exceptionListenerDispatcher.errorOccurred(ex);
+            throw ex;
+        }
+    }
+
+    @Override
+    public void readBlobs(FbTransaction transaction, BlobParameterBuffer blobParameterBuffer,
+            Collection<Long> blobIds, BlobReadCallback callback) throws SQLException {
+        // Multiple blobs are opened before a response is read, so the transaction handle must be known
+        completeDeferredStart(transaction);
+        super.readBlobs(transaction, blobParameterBuffer, blobIds, callback);
+    }
+
+    @Override
+    public void writeBlobs(FbTransaction transaction, BlobParameterBuffer blobParameterBuffer, int blobCount,
+            BlobWriteCallback callback) throws SQLException {
+        // Multiple blobs are created before a response is read, so the transaction handle must be known
+        completeDeferredStart(transaction);
+        super.writeBlobs(transaction, blobParameterBuffer, blobCount, callback);
+    }
+
+    private void completeDeferredStart(FbTransaction transaction) throws SQLException {
+        if (transaction instanceof V11Transaction) {
+            try {
+                ((V11Transaction) transaction).completeDeferredStart();
+            } catch (SQLException ex) {
+                exceptionListenerDispatcher.errorOccurred(ex);
+                throw ex;
+            }
+        }
+    }
+
+    /**
+     * @return <code>true</code> if statements of this database should request the next batch of rows ahead
+     * @see org.firebirdsql.gds.ng.IConnectionProperties#isFetchAhead()
+     */
+    final boolean isFetchAhead() {
+        return fetchAhead;
+    }
+
+    /**
+     * Flushes any unsent operations and processes the responses of all deferred actions.
+     *
+     * @throws SQLException
+     *         For errors flushing the operations to the server
+     */
+    final void completeDeferredActions() throws SQLException {
+        try (LockCloseable ignored = withLock()) {
+            try {
+                getXdrOut().flush();
+            } catch (IOException ex) {
+                throw new FbExceptionBuilder().exception(ISCConstants.isc_net_write_err).cause(ex).toSQLException();
+            }
+            wireOperations.processDeferredActions();
+        }
+    }
+
     @Override
     public void releaseObject(int operation, int objectId) throws SQLException {
         checkAttached();
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             try {
                 doReleaseObjectPacket(operation, objectId);
                 // NOTE: Intentionally no flush!
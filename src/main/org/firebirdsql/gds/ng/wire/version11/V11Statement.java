@@ -20,16 +20,24 @@ package org.firebirdsql.gds.ng.wire.version11;
 
 import org.firebirdsql.gds.ISCConstants;
 import org.firebirdsql.gds.ng.FbExceptionBuilder;
+import org.firebirdsql.gds.ng.FbTransaction;
+import org.firebirdsql.gds.ng.LockCloseable;
 import org.firebirdsql.gds.ng.StatementState;
 import org.firebirdsql.gds.ng.WarningMessageCallback;
+import org.firebirdsql.gds.ng.fields.RowValue;
 import org.firebirdsql.gds.ng.wire.DeferredAction;
 import org.firebirdsql.gds.ng.wire.FbWireDatabase;
+import org.firebirdsql.gds.ng.wire.FetchResponse;
+import org.firebirdsql.gds.ng.wire.GenericResponse;
 import org.firebirdsql.gds.ng.wire.Response;
 import org.firebirdsql.gds.ng.wire.version10.V10Statement;
 
 import java.io.IOException;
 import java.sql.SQLException;
 import java.sql.SQLNonTransientException;
+import java.sql.SQLWarning;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.firebirdsql.gds.ng.TransactionHelper.checkTransactionActive;
 
@@ -39,7 +47,13 @@ import static org.firebirdsql.gds.ng.TransactionHelper.checkTransactionActive;
  * @author <a href="mailto:mrotteveel@users.sourceforge.net">Mark Rotteveel</a>
  * @since 3.0
  */
+@SuppressWarnings("try")
 public class V11Statement extends V10Statement {
+
+    private final boolean fetchAhead;
+    private PendingFetch pendingFetch;
+    private int cursorRowCount;
+
     /**
      * Creates a new instance of V11Statement for the specified database.
      *
@@ -48,19 +62,27 @@ public class V11Statement extends V10Statement {
      */
     public V11Statement(FbWireDatabase database) {
         super(database);
+        fetchAhead = database instanceof V11Database && ((V11Database) database).isFetchAhead();
     }
 
     @Override
     public void prepare(final String statementText) throws SQLException {
         try {
-            synchronized (getSynchronizationObject()) {
+            try (LockCloseable ignored = withLock()) {
                 checkTransactionActive(getTransaction());
                 final StatementState currentState = getState();
                 if (!isPrepareAllowed(currentState)) {
                     throw new SQLNonTransientException(String.format("Current statement state (%s) does not allow call to prepare", currentState));
                 }
+                discardPendingFetch();
                 resetAll();
 
+                final FbTransaction transaction = getTransaction();
+                if (currentState == StatementState.NEW && transaction instanceof V11Transaction) {
+                    // The allocated statement would otherwise be used as the handle of a transaction with pending start
+                    ((V11Transaction) transaction).completeDeferredStart();
+                }
+
                 int expectedResponseCount = 0;
                 try {
                     if (currentState == StatementState.NEW) {
@@ -101,9 +123,145 @@ public class V11Statement extends V10Statement {
         }
     }
 
+    @Override
+    public void execute(final RowValue parameters) throws SQLException {
+        try {
+            try (LockCloseable ignored = withLock()) {
+                discardPendingFetch();
+                cursorRowCount = 0;
+            }
+        } catch (SQLException e) {
+            exceptionListenerDispatcher.errorOccurred(e);
+            throw e;
+        }
+        super.execute(parameters);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If the connection property <code>fetchAhead</code> is enabled, the fetch for the next batch of rows is sent
+     * directly after this batch has been received, and its response is processed as a deferred action. A subsequent
+     * call to this method delivers the rows of that fetch, reading its response first if no other operation on the
+     * connection has done so already. No fetch is sent ahead if this batch had fewer rows than requested, and the
+     * fetch ahead does not request rows beyond the limit of {@link #setMaxRows(int)}.
+     * </p>
+     */
+    @Override
+    public void fetchRows(int fetchSize) throws SQLException {
+        if (!fetchAhead) {
+            super.fetchRows(fetchSize);
+            return;
+        }
+        try {
+            try (LockCloseable ignored = withLock()) {
+                checkStatementValid();
+                if (!getState().isCursorOpen()) {
+                    throw new FbExceptionBuilder().exception(ISCConstants.isc_cursor_not_open).toSQLException();
+                }
+                if (pendingFetch == null) {
+                    if (isAllRowsFetched()) return;
+                    sendPendingFetch(fetchSize);
+                }
+                final PendingFetch fetch = completePendingFetch();
+                final int rowCount = fetch.deliverRows();
+                cursorRowCount += rowCount;
+                if (rowCount >= fetch.fetchSize) {
+                    sendFetchAhead(fetchSize);
+                }
+            }
+        } catch (SQLException e) {
+            exceptionListenerDispatcher.errorOccurred(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Sends the fetch for the next batch of rows without waiting for its response, if the cursor has more rows and
+     * the limit of {@link #setMaxRows(int)} has not been reached.
+     *
+     * @param fetchSize
+     *         Number of rows to fetch
+     * @throws SQLException
+     *         For errors sending the fetch to the server
+     */
+    private void sendFetchAhead(int fetchSize) throws SQLException {
+        if (!getState().isCursorOpen() || isAllRowsFetched()) return;
+        final int maxRows = getMaxRows();
+        if (maxRows > 0) {
+            final int remainingRows = maxRows - cursorRowCount;
+            if (remainingRows <= 0) return;
+            fetchSize = Math.min(fetchSize, remainingRows);
+        }
+        sendPendingFetch(fetchSize);
+    }
+
+    /**
+     * Sends a fetch and registers its response to be processed as a deferred action.
+     *
+     * @param fetchSize
+     *         Number of rows to fetch
+     * @throws SQLException
+     *         For errors sending the fetch to the server
+     */
+    private void sendPendingFetch(int fetchSize) throws SQLException {
+        try {
+            sendFetch(fetchSize);
+            // Flush, so the server produces the next batch while the current batch is consumed
+            getXdrOut().flush();
+        } catch (IOException ex) {
+            switchState(StatementState.ERROR);
+            throw new FbExceptionBuilder().exception(ISCConstants.isc_net_write_err).cause(ex).toSQLException();
+        }
+        final PendingFetch fetch = new PendingFetch(fetchSize);
+        getDatabase().enqueueDeferredAction(fetch);
+        pendingFetch = fetch;
+    }
+
+    /**
+     * @return <code>true</code> if a fetch ahead has been sent and its rows have not been delivered yet
+     */
+    boolean hasPendingFetch() {
+        return pendingFetch != null;
+    }
+
+    /**
+     * Reads the response of the pending fetch if no other operation has done so already.
+     *
+     * @return The completed pending fetch
+     * @throws SQLException
+     *         If the response could not be read
+     */
+    private PendingFetch completePendingFetch() throws SQLException {
+        final PendingFetch fetch = pendingFetch;
+        pendingFetch = null;
+        if (!fetch.isCompleted()) {
+            ((V11Database) getDatabase()).completeDeferredActions();
+            if (!fetch.isCompleted()) {
+                switchState(StatementState.ERROR);
+                throw new FbExceptionBuilder().exception(ISCConstants.isc_net_read_err).toSQLException();
+            }
+        }
+        return fetch;
+    }
+
+    /**
+     * Completes a pending fetch and discards its rows, so the next operation of this statement is not affected by
+     * the fetch ahead.
+     *
+     * @throws SQLException
+     *         If the response of the pending fetch could not be read
+     */
+    private void discardPendingFetch() throws SQLException {
+        if (pendingFetch == null) return;
+        pendingFetch.discardRows();
+        completePendingFetch();
+    }
+
     @Override
     protected void free(final int option) throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
+            discardPendingFetch();
             try {
                 doFreePacket(option);
                 // intentionally no flush
@@ -123,4 +281,93 @@ public class V11Statement extends V10Statement {
             }
         }
     }
+
+    /**
+     * Deferred action that reads the response of a fetch ahead, and holds the rows until the statement asks for them.
+     * <p>
+     * The response can be read by an operation of another statement, so the rows are not queued to the statement
+     * listeners until the next fetch of this statement.
+     * </p>
+     */
+    private final class PendingFetch implements DeferredAction {
+
+        private final int fetchSize;
+        private final List<RowValue> rows = new ArrayList<>();
+        private boolean discardRows;
+        private boolean allRowsFetched;
+        private boolean completed;
+        private SQLException exception;
+
+        PendingFetch(int fetchSize) {
+            this.fetchSize = fetchSize;
+        }
+
+        @Override
+        public void processResponse(Response response) {
+            try {
+                while (response instanceof FetchResponse) {
+                    final FetchResponse fetchResponse = (FetchResponse) response;
+                    if (fetchResponse.getCount() > 0 && fetchResponse.getStatus() == ISCConstants.FETCH_OK) {
+                        final RowValue row = readSqlData();
+                        if (!discardRows) {
+                            rows.add(row);
+                        }
+                    } else if (fetchResponse.getStatus() == ISCConstants.FETCH_NO_MORE_ROWS) {
+                        allRowsFetched = true;
+                        break;
+                    } else {
+                        break;
+                    }
+                    response = getDatabase().readResponse(getStatementWarningCallback());
+                }
+                if (response instanceof GenericResponse) {
+                    final SQLException responseException = ((GenericResponse) response).getException();
+                    if (responseException != null && !(responseException instanceof SQLWarning)) {
+                        exception = responseException;
+                    }
+                }
+            } catch (SQLException ex) {
+                exception = ex;
+            } catch (IOException ex) {
+                exception = new FbExceptionBuilder().exception(ISCConstants.isc_net_read_err).cause(ex)
+                        .toSQLException();
+            } finally {
+                completed = true;
+            }
+        }
+
+        @Override
+        public WarningMessageCallback getWarningMessageCallback() {
+            return getStatementWarningCallback();
+        }
+
+        boolean isCompleted() {
+            return completed;
+        }
+
+        void discardRows() {
+            discardRows = true;
+            rows.clear();
+        }
+
+        /**
+         * Queues the rows of this fetch to the statement, or throws the exception reported for this fetch.
+         *
+         * @return Number of rows delivered
+         */
+        int deliverRows() throws SQLException {
+            if (exception != null) {
+                throw exception;
+            }
+            final int rowCount = rows.size();
+            for (RowValue row : rows) {
+                queueRowData(row);
+            }
+            rows.clear();
+            if (allRowsFetched) {
+                setAllRowsFetched(true);
+            }
+            return rowCount;
+        }
+    }
 }
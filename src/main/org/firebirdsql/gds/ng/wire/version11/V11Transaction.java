@@ -0,0 +1,176 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.gds.ng.wire.version11;
+
+import org.firebirdsql.gds.ng.LockCloseable;
+import org.firebirdsql.gds.ng.TransactionState;
+import org.firebirdsql.gds.ng.wire.GenericResponse;
+import org.firebirdsql.gds.ng.wire.Response;
+import org.firebirdsql.gds.ng.wire.version10.V10Transaction;
+import org.firebirdsql.logging.Logger;
+import org.firebirdsql.logging.LoggerFactory;
+
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+
+import static org.firebirdsql.gds.impl.wire.WireProtocolConstants.INVALID_OBJECT;
+
+/**
+ * {@link org.firebirdsql.gds.ng.FbTransaction} implementation for the version 11 wire protocol with a deferred start.
+ * <p>
+ * The <code>op_transaction</code> of this transaction is sent without waiting for its response. Until the response has
+ * been processed, the handle of this transaction is {@link org.firebirdsql.gds.impl.wire.WireProtocolConstants#INVALID_OBJECT},
+ * which the server resolves to the last object it created. This is only correct for the first operation that uses
+ * this transaction, and only if no other object has been created on the server in between. Operations that create
+ * other objects before using this transaction must call {@link #completeDeferredStart()} first.
+ * </p>
+ * <p>
+ * If the start of the transaction failed, the first operation using the transaction fails, {@link #commit()} throws
+ * the original exception and {@link #rollback()} only marks the transaction as rolled back. A commit or rollback that
+ * is the first operation of the transaction completes the start separately.
+ * </p>
+ *
+ * @since 4.0
+ */
+@SuppressWarnings("try")
+public class V11Transaction extends V10Transaction {
+
+    private static final Logger log = LoggerFactory.getLogger(V11Transaction.class);
+
+    private volatile int handle = INVALID_OBJECT;
+    private volatile boolean startPending = true;
+    private volatile SQLException startException;
+
+    /**
+     * Creates a new instance of V11Transaction for a transaction start that is deferred.
+     *
+     * @param database
+     *         V11Database implementation
+     */
+    V11Transaction(V11Database database) {
+        super(database, INVALID_OBJECT, TransactionState.ACTIVE);
+    }
+
+    @Override
+    protected V11Database getDatabase() {
+        return (V11Database) super.getDatabase();
+    }
+
+    @Override
+    public int getHandle() {
+        return handle;
+    }
+
+    /**
+     * @return <code>true</code> if the response to the start of this transaction has not yet been processed
+     */
+    public final boolean isStartPending() {
+        return startPending;
+    }
+
+    /**
+     * Completes the deferred start of this transaction by flushing and processing the pending deferred responses.
+     *
+     * @throws SQLException
+     *         For errors communicating with the server, or if the transaction could not be started
+     */
+    public final void completeDeferredStart() throws SQLException {
+        try (LockCloseable ignored = withLock()) {
+            if (startPending) {
+                getDatabase().completeDeferredActions();
+            }
+            final SQLException exception = startException;
+            if (exception != null) {
+                throw exception;
+            }
+        }
+    }
+
+    /**
+     * Processes the deferred response to the <code>op_transaction</code> of this transaction.
+     *
+     * @param response
+     *         Response to the start of this transaction
+     */
+    final void processStartResponse(Response response) {
+        try (LockCloseable ignored = withLock()) {
+            final GenericResponse genericResponse = (GenericResponse) response;
+            final SQLException exception = genericResponse.getException();
+            if (exception != null && !(exception instanceof SQLWarning)) {
+                log.debug("Deferred start of transaction failed", exception);
+                startException = exception;
+                // handle 0 is never a valid transaction, it prevents the server from resolving to another object
+                handle = 0;
+            } else {
+                handle = genericResponse.getObjectHandle();
+            }
+            startPending = false;
+        }
+    }
+
+    @Override
+    public void commit() throws SQLException {
+        final SQLException exception = completeStartBeforeEnd();
+        if (exception == null) {
+            super.commit();
+            return;
+        }
+        try {
+            markStartFailedRolledBack();
+        } finally {
+            exceptionListenerDispatcher.errorOccurred(exception);
+        }
+        throw exception;
+    }
+
+    @Override
+    public void rollback() throws SQLException {
+        if (completeStartBeforeEnd() == null) {
+            super.rollback();
+            return;
+        }
+        markStartFailedRolledBack();
+    }
+
+    /**
+     * Completes a pending start of this transaction before it is committed or rolled back.
+     *
+     * @return Exception of a failed start, or <code>null</code> if the transaction was started successfully
+     */
+    private SQLException completeStartBeforeEnd() throws SQLException {
+        try {
+            try (LockCloseable ignored = withLock()) {
+                if (startPending) {
+                    getDatabase().completeDeferredActions();
+                }
+                return startException;
+            }
+        } catch (SQLException e) {
+            exceptionListenerDispatcher.errorOccurred(e);
+            throw e;
+        }
+    }
+
+    private void markStartFailedRolledBack() throws SQLException {
+        try (LockCloseable ignored = withLock()) {
+            switchState(TransactionState.ROLLING_BACK);
+            switchState(TransactionState.ROLLED_BACK);
+        }
+    }
+}
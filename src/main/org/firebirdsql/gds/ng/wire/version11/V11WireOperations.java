@@ -18,6 +18,8 @@
  */
 package org.firebirdsql.gds.ng.wire.version11;
 
+import org.firebirdsql.gds.ng.LockCloseable;
+import org.firebirdsql.gds.ng.SyncObject;
 import org.firebirdsql.gds.ng.WarningMessageCallback;
 import org.firebirdsql.gds.ng.wire.DeferredAction;
 import org.firebirdsql.gds.ng.wire.WireConnection;
@@ -32,30 +34,31 @@ import java.util.List;
  * @author <a href="mailto:mrotteveel@users.sourceforge.net">Mark Rotteveel</a>
  * @since 3.0
  */
+@SuppressWarnings("try")
 public class V11WireOperations extends V10WireOperations {
 
     private static final Logger log = LoggerFactory.getLogger(V11WireOperations.class);
 
     /**
-     * Actions on this object need to be synchronized on {@link #getSynchronizationObject()}.
+     * Actions on this object need to hold the lock of {@link #withLock()}.
      */
     private final List<DeferredAction> deferredActions = new ArrayList<>();
 
     public V11WireOperations(WireConnection<?, ?> connection,
-            WarningMessageCallback defaultWarningMessageCallback, Object syncObject) {
+            WarningMessageCallback defaultWarningMessageCallback, SyncObject syncObject) {
         super(connection, defaultWarningMessageCallback, syncObject);
     }
 
     @Override
     public final void enqueueDeferredAction(DeferredAction deferredAction) {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             deferredActions.add(deferredAction);
         }
     }
 
     @Override
     public final void processDeferredActions() {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             if (deferredActions.size() == 0) return;
 
             final DeferredAction[] actions = deferredActions.toArray(new DeferredAction[0]);
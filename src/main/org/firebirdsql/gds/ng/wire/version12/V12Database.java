@@ -61,7 +61,7 @@ public class V12Database extends V11Database {
             if (kind == ISCConstants.fb_cancel_abort) {
                 try {
                     // In case of abort we forcibly close the connection
-                    closeConnection();
+                    abortConnection();
                 } catch (IOException ioe) {
                     throw new SQLNonTransientConnectionException("Connection abort failed", ioe);
                 }
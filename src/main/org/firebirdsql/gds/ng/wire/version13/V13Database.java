@@ -25,6 +25,9 @@ import org.firebirdsql.gds.ng.wire.version12.V12Database;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.sql.SQLException;
+
+import static org.firebirdsql.gds.impl.wire.WireProtocolConstants.op_ping;
 
 /**
  * {@link org.firebirdsql.gds.ng.wire.FbWireDatabase} implementation for the version 13 wire protocol.
@@ -47,6 +50,11 @@ public class V13Database extends V12Database {
         super(connection, descriptor);
     }
 
+    @Override
+    protected void sendPing() throws SQLException, IOException {
+        getXdrOut().writeInt(op_ping);
+    }
+
     @Override
     protected byte[] getTransactionIdBuffer(long transactionId) {
         ByteArrayOutputStream bos = new ByteArrayOutputStream(8);
@@ -23,6 +23,7 @@ import org.firebirdsql.gds.ISCConstants;
 import org.firebirdsql.gds.JaybirdErrorCodes;
 import org.firebirdsql.gds.impl.wire.XdrInputStream;
 import org.firebirdsql.gds.impl.wire.XdrOutputStream;
+import org.firebirdsql.gds.ng.SyncObject;
 import org.firebirdsql.gds.ng.WireCrypt;
 import org.firebirdsql.gds.ng.FbExceptionBuilder;
 import org.firebirdsql.gds.ng.WarningMessageCallback;
@@ -58,7 +59,7 @@ public class V13WireOperations extends V11WireOperations {
     private static final Logger log = LoggerFactory.getLogger(V13WireOperations.class);
 
     public V13WireOperations(WireConnection<?, ?> connection,
-            WarningMessageCallback defaultWarningMessageCallback, Object syncObject) {
+            WarningMessageCallback defaultWarningMessageCallback, SyncObject syncObject) {
         super(connection, defaultWarningMessageCallback, syncObject);
     }
 
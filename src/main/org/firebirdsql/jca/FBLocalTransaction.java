@@ -18,6 +18,7 @@
  */
 package org.firebirdsql.jca;
 
+import org.firebirdsql.gds.ng.LockCloseable;
 import org.firebirdsql.jdbc.FBConnection;
 import org.firebirdsql.jdbc.SQLStateConstants;
 
@@ -40,6 +41,7 @@ import java.sql.SQLException;
  * @author <a href="mailto:d_jencks@users.sourceforge.net">David Jencks</a>
  * @version 1.0
  */
+@SuppressWarnings("try")
 public class FBLocalTransaction implements FirebirdLocalTransaction,
         javax.resource.cci.LocalTransaction {
 
@@ -187,7 +189,7 @@ public class FBLocalTransaction implements FirebirdLocalTransaction,
         // transaction
         if (xid == null) return;
 
-        synchronized (mc.getSynchronizationObject()) {
+        try (LockCloseable ignored = mc.withLock()) {
             try {
                 mc.internalEnd(xid, XAResource.TMSUCCESS);
                 mc.internalCommit(xid, true);
@@ -240,7 +242,7 @@ public class FBLocalTransaction implements FirebirdLocalTransaction,
         // transaction
         if (xid == null) return;
 
-        synchronized (mc.getSynchronizationObject()) {
+        try (LockCloseable ignored = mc.withLock()) {
             try {
                 mc.internalEnd(xid, XAResource.TMSUCCESS); // ??? on flags
                                                            // --FBManagedConnection is its own XAResource
@@ -22,6 +22,7 @@ import org.firebirdsql.gds.*;
 import org.firebirdsql.gds.impl.DatabaseParameterBufferExtension;
 import org.firebirdsql.gds.impl.DbAttachInfo;
 import org.firebirdsql.gds.impl.GDSHelper;
+import org.firebirdsql.gds.impl.ImmutableTransactionParameterBuffer;
 import org.firebirdsql.gds.impl.jni.EmbeddedGDSFactoryPlugin;
 import org.firebirdsql.gds.impl.jni.LocalGDSFactoryPlugin;
 import org.firebirdsql.gds.ng.*;
@@ -30,12 +31,14 @@ import org.firebirdsql.gds.ng.listeners.DefaultDatabaseListener;
 import org.firebirdsql.gds.ng.listeners.DefaultStatementListener;
 import org.firebirdsql.gds.ng.listeners.ExceptionListener;
 import org.firebirdsql.jdbc.FBConnection;
+import org.firebirdsql.jdbc.FBSQLException;
 import org.firebirdsql.jdbc.SQLStateConstants;
 import org.firebirdsql.jdbc.Synchronizable;
 import org.firebirdsql.jdbc.field.FBField;
 import org.firebirdsql.jdbc.field.FieldDataProvider;
 import org.firebirdsql.logging.Logger;
 import org.firebirdsql.logging.LoggerFactory;
+import org.firebirdsql.util.LruCache;
 import org.firebirdsql.util.SQLExceptionChainBuilder;
 
 import javax.resource.ResourceException;
@@ -45,7 +48,6 @@ import javax.security.auth.Subject;
 import javax.transaction.xa.XAException;
 import javax.transaction.xa.XAResource;
 import javax.transaction.xa.Xid;
-import java.io.ByteArrayInputStream;
 import java.io.PrintWriter;
 import java.sql.DriverManager;
 import java.sql.SQLException;
@@ -63,6 +65,7 @@ import java.util.concurrent.CopyOnWriteArrayList;
  * @author <a href="mailto:mrotteveel@users.sourceforge.net">Mark Rotteveel</a>
  * @version 1.0
  */
+@SuppressWarnings("try")
 public class FBManagedConnection implements ManagedConnection, XAResource, ExceptionListener, Synchronizable {
 
     public static final String WARNING_NO_CHARSET = "WARNING: No connection character set specified (property lc_ctype, encoding, charSet or localEncoding), defaulting to character set ";
@@ -81,6 +84,7 @@ public class FBManagedConnection implements ManagedConnection, XAResource, Excep
 
     private int timeout = 0;
 
+    // Keys are FBXid (see toXidKey), as other Xid implementations might not implement equals and hashCode
     private final Map<Xid, FbTransaction> xidMap = new ConcurrentHashMap<>();
     
     private GDSHelper gdsHelper;
@@ -89,12 +93,24 @@ public class FBManagedConnection implements ManagedConnection, XAResource, Excep
 
     private final FBConnectionRequestInfo cri;
     private FBTpb tpb;
+    private FbTransaction sharedReadOnlyTransaction;
+    private TransactionParameterBuffer sharedReadOnlyTpb;
     private int transactionIsolation;
 
     private volatile boolean managedEnvironment = true;
     private volatile boolean connectionSharing = true;
     private final Set<Xid> preparedXid = Collections.synchronizedSet(new HashSet<Xid>());
     private volatile boolean inDistributedTransaction = false;
+    static final int MAX_METADATA_STATEMENTS = 64;
+
+    // Prepared metadata statement handles, kept across connection handles
+    private final LruCache<String, FbStatement> metaDataStatements =
+            new LruCache<String, FbStatement>(MAX_METADATA_STATEMENTS) {
+                @Override
+                protected void entryEvicted(String sql, FbStatement statementHandle) {
+                    closeMetaDataStatement(statementHandle);
+                }
+            };
 
     FBManagedConnection(Subject subject, ConnectionRequestInfo cri, FBManagedConnectionFactory mcf)
             throws ResourceException {
@@ -209,6 +225,13 @@ public class FBManagedConnection implements ManagedConnection, XAResource, Excep
         return gdsHelper;
     }
     
+    /**
+     * @return <code>true</code> if this managed connection is attached to the database
+     */
+    boolean isAttached() {
+        return gdsHelper != null && database.isAttached();
+    }
+
     public String getDatabase() {
         return mcf.getDatabase();
     }
@@ -246,8 +269,8 @@ public class FBManagedConnection implements ManagedConnection, XAResource, Excep
     /**
      * Check if connection sharing is enabled. When connection sharing is 
      * enabled, multiple connection handles ({@link FBConnection} instances)
-     * can access this managed connection in thread-safe manner (they synchronize
-     * on this instance). This feature can be enabled only in JCA environment,
+     * can access this managed connection in thread-safe manner (they acquire
+     * the lock of this instance). This feature can be enabled only in JCA environment,
      * any other environment must not use connection sharing.
      * 
      * @return <code>true</code> if connection sharing is enabled.
@@ -557,6 +580,14 @@ public class FBManagedConnection implements ManagedConnection, XAResource, Excep
             throw new javax.resource.spi.IllegalStateException(
                 "Can't destroy managed connection  with active transaction");
         
+        try {
+            endSharedReadOnlyTransaction();
+        } catch (SQLException e) {
+            log.debug("Exception ending shared read-only transaction", e);
+        }
+
+        closeMetaDataStatements();
+
         try {
             gdsHelper.detachDatabase();
         } catch (SQLException ge) {
@@ -566,6 +597,67 @@ public class FBManagedConnection implements ManagedConnection, XAResource, Excep
         }
     }
 
+    /**
+     * Takes a prepared statement handle for a metadata query from the statements kept by this managed connection.
+     * <p>
+     * The handle is removed from this managed connection, and should be returned with
+     * {@link #releaseMetaDataStatement(String, FbStatement)} when it is no longer used.
+     * </p>
+     *
+     * @param sql
+     *         SQL of the metadata query
+     * @return Statement handle prepared with {@code sql}, or {@code null} if none is available
+     */
+    public FbStatement takeMetaDataStatement(String sql) {
+        return metaDataStatements.remove(sql);
+    }
+
+    /**
+     * Keeps a prepared statement handle for a metadata query, so it can be reused by other connection handles of this
+     * managed connection.
+     * <p>
+     * Handles that are not in the prepared state are closed. When the maximum number of statements is exceeded, the
+     * least recently used statement is closed.
+     * </p>
+     *
+     * @param sql
+     *         SQL of the metadata query
+     * @param statementHandle
+     *         Statement handle prepared with {@code sql}, created on the database of this managed connection
+     */
+    public void releaseMetaDataStatement(String sql, FbStatement statementHandle) {
+        if (gdsHelper == null || statementHandle.getState() != StatementState.PREPARED) {
+            closeMetaDataStatement(statementHandle);
+            return;
+        }
+        // The least recently used statement is closed by entryEvicted
+        FbStatement previous = metaDataStatements.put(sql, statementHandle);
+        if (previous != null && previous != statementHandle) {
+            closeMetaDataStatement(previous);
+        }
+    }
+
+    /**
+     * @return Number of prepared metadata statements kept by this managed connection
+     */
+    int getMetaDataStatementCount() {
+        return metaDataStatements.size();
+    }
+
+    private void closeMetaDataStatements() {
+        for (FbStatement statement : metaDataStatements.removeAll()) {
+            closeMetaDataStatement(statement);
+        }
+    }
+
+    private static void closeMetaDataStatement(FbStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            log.debug("Exception closing metadata statement", e);
+        }
+    }
+
     /**
      * Return an XA resource to the caller.
      * <P>
@@ -587,7 +679,7 @@ public class FBManagedConnection implements ManagedConnection, XAResource, Excep
     private static final Set<TransactionState> XID_ACTIVE_STATE = Collections.unmodifiableSet(EnumSet.of(TransactionState.ACTIVE, TransactionState.PREPARED, TransactionState.PREPARING));
 
     boolean isXidActive(Xid xid) {
-        FbTransaction transaction = xidMap.get(xid);
+        FbTransaction transaction = xidMap.get(toXidKey(xid));
         return transaction != null && XID_ACTIVE_STATE.contains(transaction.getState());
     }
 
@@ -612,6 +704,10 @@ public class FBManagedConnection implements ManagedConnection, XAResource, Excep
     /**
      * The <code>internalCommit</code> method performs the requested commit
      * and may throw a GDSException to be interpreted by the caller.
+     * <p>
+     * A one-phase commit commits the transaction directly, without preparing
+     * it first, so no recovery information is written to the database.
+     * </p>
      * 
      * @param xid
      *            a <code>Xid</code> value
@@ -622,14 +718,16 @@ public class FBManagedConnection implements ManagedConnection, XAResource, Excep
      */
     void internalCommit(Xid xid, boolean onePhase) throws XAException {
         if (log.isTraceEnabled()) log.trace("Commit called: " + xid);
-        FbTransaction committingTr = xidMap.get(xid);
+        final Xid xidKey = toXidKey(xid);
+        FbTransaction committingTr = xidMap.get(xidKey);
+        final boolean prepared = preparedXid.contains(xidKey);
         
         // check that prepare has NOT been called when onePhase = true
-        if (onePhase && isPrepared(xid))
+        if (onePhase && prepared)
             throw new FBXAException("Cannot commit one-phase when transaction has been prepared", XAException.XAER_PROTO);
             
         // check that prepare has been called when onePhase = false
-        if (!onePhase && !isPrepared(xid))
+        if (!onePhase && !prepared)
             throw new FBXAException("Cannot commit two-phase when transaction has not been prepared", XAException.XAER_PROTO);
         
         if (committingTr == null)
@@ -652,15 +750,13 @@ public class FBManagedConnection implements ManagedConnection, XAResource, Excep
             }
             throw new FBXAException(ge.getMessage(), XAException.XAER_RMERR, ge);
         } finally {
-            xidMap.remove(xid);
-            preparedXid.remove(xid);
+            xidMap.remove(xidKey);
+            if (prepared) {
+                preparedXid.remove(xidKey);
+            }
         }
     }
 
-    private boolean isPrepared(Xid xid) {
-        return preparedXid.contains(xid);
-    }
-
     /**
      * Dissociates a resource from a global transaction.
      * 
@@ -703,7 +799,7 @@ public class FBManagedConnection implements ManagedConnection, XAResource, Excep
      */
     void internalEnd(Xid xid, int flags) throws XAException, SQLException {
         if (log.isDebugEnabled()) log.debug("End called: " + xid);
-        FbTransaction endingTr = xidMap.get(xid);
+        FbTransaction endingTr = xidMap.get(toXidKey(xid));
         
         if (endingTr == null)
             throw new FBXAException("Unrecognized transaction", XAException.XAER_NOTA);
@@ -746,62 +842,29 @@ public class FBManagedConnection implements ManagedConnection, XAResource, Excep
      *             Occurs when the state was not correct (end never called), or
      *             the transaction ID is wrong.
      */
-    public void forget(Xid id) throws XAException {
-        long inLimboId = -1;
+    public void forget(final Xid id) throws XAException {
+        final long[] inLimboIdHolder = { -1 };
 
         try {
             // find XID
-            // TODO: Is there a reason why this piece of code can't use the JDBC Statement class?
-            FbTransaction trHandle2 = database.startTransaction(tpb.getTransactionParameterBuffer());
-            FbStatement stmtHandle2 = database.createStatement(trHandle2);
-
-            GDSHelper gdsHelper2 = new GDSHelper(database);
-            gdsHelper2.setCurrentTransaction(trHandle2);
-
-            stmtHandle2.prepare(FORGET_FIND_QUERY);
-
-            DataProvider dataProvider0 = new DataProvider(0);
-            stmtHandle2.addStatementListener(dataProvider0);
-            DataProvider dataProvider1 = new DataProvider(1);
-            stmtHandle2.addStatementListener(dataProvider1);
-
-            stmtHandle2.execute(RowValue.EMPTY_ROW_VALUE);
-            stmtHandle2.fetchRows(10);
-
-            FBField field0 = FBField.createField(stmtHandle2.getFieldDescriptor().getFieldDescriptor(0), dataProvider0, gdsHelper2, false);
-            FBField field1 = FBField.createField(stmtHandle2.getFieldDescriptor().getFieldDescriptor(1), dataProvider1, gdsHelper2, false);
-
-            int row = 0;
-            while(row < dataProvider0.getRowCount()) {
-                dataProvider0.setRow(row);
-                dataProvider1.setRow(row);
-                
-                long inLimboTxId = field0.getLong();
-                byte[] inLimboMessage = field1.getBytes();
-            
-                try {
-                    FBXid xid = new FBXid(new ByteArrayInputStream(inLimboMessage), inLimboTxId);
-                    
+            scanInLimboXids(FORGET_FIND_QUERY, null, new InLimboXidProcessor() {
+                @Override
+                public boolean process(FBXid xid) {
                     boolean gtridEquals = Arrays.equals(xid.getGlobalTransactionId(), id.getGlobalTransactionId());
                     boolean bqualEquals = Arrays.equals(xid.getBranchQualifier(), id.getBranchQualifier());
-                    
+
                     if (gtridEquals && bqualEquals) {
-                        inLimboId = inLimboTxId;
-                        break;
+                        inLimboIdHolder[0] = xid.getFirebirdTransactionId();
+                        return false;
                     }
-                } catch(FBIncorrectXidException ex) {
-                    log.warn("incorrect XID format in RDB$TRANSACTIONS where RDB$TRANSACTION_ID=" + inLimboTxId, ex);
+                    return true;
                 }
-
-                row++;
-            }
-
-            stmtHandle2.close();
-            trHandle2.commit();
-        } catch (SQLException | ResourceException ex) {
+            });
+        } catch (SQLException ex) {
             log.debug("can't perform query to fetch xids", ex);
             throw new FBXAException(XAException.XAER_RMFAIL, ex);
         }
+        final long inLimboId = inLimboIdHolder[0];
 
         if (inLimboId == -1)
             throw new FBXAException("XID not found", XAException.XAER_NOTA); // TODO: is XAER_NOTA the proper error code ?
@@ -809,7 +872,7 @@ public class FBManagedConnection implements ManagedConnection, XAResource, Excep
         try {    
             // delete XID
 
-            FbTransaction trHandle2 = database.startTransaction(tpb.getTransactionParameterBuffer());
+            FbTransaction trHandle2 = database.startTransaction(tpb.getImmutableTransactionParameterBuffer());
 
             FbStatement stmtHandle2 = database.createStatement(trHandle2);
 
@@ -824,6 +887,7 @@ public class FBManagedConnection implements ManagedConnection, XAResource, Excep
         } catch (SQLException ex) {
             throw new FBXAException("can't perform query to fetch xids", XAException.XAER_RMFAIL, ex);
         }
+        mcf.getXidCache().remove(id);
     }
 
     /**
@@ -867,7 +931,7 @@ public class FBManagedConnection implements ManagedConnection, XAResource, Excep
 
     int internalPrepare(Xid xid) throws FBXAException {
         if (log.isTraceEnabled()) log.trace("prepare called: " + xid);
-        FbTransaction committingTr = xidMap.get(xid);
+        FbTransaction committingTr = xidMap.get(toXidKey(xid));
         if (committingTr == null)
             throw new FBXAException("Prepare called with unknown transaction", XAException.XAER_NOTA);
         try {
@@ -893,14 +957,14 @@ public class FBManagedConnection implements ManagedConnection, XAResource, Excep
             } catch (SQLException ge2) {
                 log.debug("Exception rolling back failed tx: ", ge2);
             } finally {
-                xidMap.remove(xid);
+                xidMap.remove(toXidKey(xid));
             }
 
             log.warn("error in prepare", ge);
             throw new FBXAException(XAException.XAER_RMERR, ge);
         }
 
-        preparedXid.add(xid);
+        preparedXid.add(toXidKey(xid));
         return XA_OK;
     }
 
@@ -935,51 +999,18 @@ public class FBManagedConnection implements ManagedConnection, XAResource, Excep
 //            if ((flags & XAResource.TMENDRSCAN) == 0 && (flags & XAResource.TMNOFLAGS) == 0)
 //                return new Xid[0];
 
-            List<FBXid> xids = new ArrayList<>();
+            final List<FBXid> xids = new ArrayList<>();
 
-            FbTransaction trHandle2 = database.startTransaction(tpb.getTransactionParameterBuffer());
-
-            FbStatement stmtHandle2 = database.createStatement(trHandle2);
-
-            GDSHelper gdsHelper2 = new GDSHelper(database);
-            gdsHelper2.setCurrentTransaction(trHandle2);
-
-            stmtHandle2.prepare(RECOVERY_QUERY);
-
-            DataProvider dataProvider0 = new DataProvider(0);
-            stmtHandle2.addStatementListener(dataProvider0);
-            DataProvider dataProvider1 = new DataProvider(1);
-            stmtHandle2.addStatementListener(dataProvider1);
-
-            stmtHandle2.execute(RowValue.EMPTY_ROW_VALUE);
-            stmtHandle2.fetchRows(10);
-
-            FBField field0 = FBField.createField(stmtHandle2.getFieldDescriptor().getFieldDescriptor(0), dataProvider0, gdsHelper2, false);
-            FBField field1 = FBField.createField(stmtHandle2.getFieldDescriptor().getFieldDescriptor(1), dataProvider1, gdsHelper2, false);
-
-            int row = 0;
-            while(row < dataProvider0.getRowCount()) {
-                dataProvider0.setRow(row);
-                dataProvider1.setRow(row);
-
-                long inLimboTxId = field0.getLong();
-                byte[] inLimboMessage = field1.getBytes();
-
-                try {
-                    FBXid xid = new FBXid(new ByteArrayInputStream(inLimboMessage), inLimboTxId);
+            scanInLimboXids(RECOVERY_QUERY, null, new InLimboXidProcessor() {
+                @Override
+                public boolean process(FBXid xid) {
                     xids.add(xid);
-                } catch(FBIncorrectXidException ex) {
-                    log.warn("ignoring XID stored with invalid format in RDB$TRANSACTIONS for RDB$TRANSACTION_ID=" + inLimboTxId);
+                    return true;
                 }
-
-                row++;
-            }
-
-            stmtHandle2.close();
-            trHandle2.commit();
+            });
 
             return xids.toArray(new FBXid[0]);
-        } catch (SQLException | ResourceException e) {
+        } catch (SQLException e) {
             throw new FBXAException("can't perform query to fetch xids", XAException.XAER_RMFAIL, e);
         }
     }
@@ -1001,51 +1032,106 @@ public class FBManagedConnection implements ManagedConnection, XAResource, Excep
      */
     protected Xid findSingleXid(Xid externalXid) throws javax.transaction.xa.XAException {
         try {
-            FbTransaction trHandle2 = database.startTransaction(tpb.getTransactionParameterBuffer());
+            final FBXid[] xidHolder = { null };
+            FBXid tempXid = new FBXid(externalXid);
 
-            FbStatement stmtHandle2 = database.createStatement(trHandle2);
+            scanInLimboXids(RECOVERY_QUERY_PARAMETRIZED, tempXid.toBytes(), new InLimboXidProcessor() {
+                @Override
+                public boolean process(FBXid xid) {
+                    xidHolder[0] = xid;
+                    return false;
+                }
+            });
 
-            GDSHelper gdsHelper2 = new GDSHelper(database);
-            gdsHelper2.setCurrentTransaction(trHandle2);
+            return xidHolder[0];
+        } catch (SQLException e) {
+            throw new FBXAException("can't perform query to fetch xids", XAException.XAER_RMFAIL, e);
+        }
+    }
 
-            stmtHandle2.prepare(RECOVERY_QUERY_PARAMETRIZED);
+    private static final int RECOVERY_FETCH_SIZE = 200;
 
-            DataProvider dataProvider0 = new DataProvider(0);
-            stmtHandle2.addStatementListener(dataProvider0);
-            DataProvider dataProvider1 = new DataProvider(1);
-            stmtHandle2.addStatementListener(dataProvider1);
+    /**
+     * Executes a query on {@code RDB$TRANSACTIONS} and passes the Xid of each in-limbo transaction to the processor.
+     * <p>
+     * The rows are fetched and processed in batches of {@link #RECOVERY_FETCH_SIZE}, so large numbers of in-limbo
+     * transactions are not held in memory as rows. Descriptions that were parsed before are obtained from the
+     * {@link FBXidCache} of the managed connection factory. Descriptions with an invalid format are logged and
+     * skipped.
+     * </p>
+     *
+     * @param query
+     *         Query selecting {@code RDB$TRANSACTION_ID} and {@code RDB$TRANSACTION_DESCRIPTION} (in that order)
+     * @param xidParameter
+     *         Value of the single parameter of the query, or {@code null} if the query has no parameters
+     * @param processor
+     *         Processor for the Xids
+     * @throws SQLException
+     *         For errors executing the query
+     */
+    private void scanInLimboXids(String query, byte[] xidParameter, InLimboXidProcessor processor)
+            throws SQLException {
+        // TODO: Is there a reason why this piece of code can't use the JDBC Statement class?
+        FbTransaction trHandle2 = database.startTransaction(tpb.getImmutableTransactionParameterBuffer());
+        FbStatement stmtHandle2 = database.createStatement(trHandle2);
+
+        GDSHelper gdsHelper2 = new GDSHelper(database);
+        gdsHelper2.setCurrentTransaction(trHandle2);
+
+        stmtHandle2.prepare(query);
+
+        DataProvider dataProvider0 = new DataProvider(0);
+        stmtHandle2.addStatementListener(dataProvider0);
+        DataProvider dataProvider1 = new DataProvider(1);
+        stmtHandle2.addStatementListener(dataProvider1);
+
+        RowValue parameters = RowValue.EMPTY_ROW_VALUE;
+        if (xidParameter != null) {
+            parameters = stmtHandle2.getParameterDescriptor().createDefaultFieldValues();
+            parameters.getFieldValue(0).setFieldData(xidParameter);
+        }
+        stmtHandle2.execute(parameters);
 
-            final RowValue parameters = stmtHandle2.getParameterDescriptor().createDefaultFieldValues();
-            FBXid tempXid = new FBXid(externalXid);
-            parameters.getFieldValue(0).setFieldData(tempXid.toBytes());
-            stmtHandle2.execute(parameters);
-            stmtHandle2.fetchRows(1);
+        FBField field0 = FBField.createField(stmtHandle2.getFieldDescriptor().getFieldDescriptor(0), dataProvider0, gdsHelper2, false);
+        FBField field1 = FBField.createField(stmtHandle2.getFieldDescriptor().getFieldDescriptor(1), dataProvider1, gdsHelper2, false);
 
-            FBField field0 = FBField.createField(stmtHandle2.getFieldDescriptor().getFieldDescriptor(0), dataProvider0, gdsHelper2, false);
-            FBField field1 = FBField.createField(stmtHandle2.getFieldDescriptor().getFieldDescriptor(1), dataProvider1, gdsHelper2, false);
+        final FBXidCache xidCache = mcf.getXidCache();
+        boolean continueScan = true;
+        while (continueScan && !dataProvider0.isAllRowsFetched()) {
+            stmtHandle2.fetchRows(RECOVERY_FETCH_SIZE);
 
-            FBXid xid = null;
-            if (dataProvider0.getRowCount() > 0) {
-                dataProvider0.setRow(0);
-                dataProvider1.setRow(0);
+            for (int row = 0; continueScan && row < dataProvider0.getRowCount(); row++) {
+                dataProvider0.setRow(row);
+                dataProvider1.setRow(row);
 
                 long inLimboTxId = field0.getLong();
                 byte[] inLimboMessage = field1.getBytes();
 
                 try {
-                    xid = new FBXid(new ByteArrayInputStream(inLimboMessage), inLimboTxId);
-                } catch(FBIncorrectXidException ex) {
+                    continueScan = processor.process(xidCache.getXid(inLimboTxId, inLimboMessage));
+                } catch (ResourceException ex) {
                     log.warn("ignoring XID stored with invalid format in RDB$TRANSACTIONS for RDB$TRANSACTION_ID=" + inLimboTxId);
                 }
             }
 
-            stmtHandle2.close();
-            trHandle2.commit();
-
-            return xid;
-        } catch (SQLException | ResourceException e) {
-            throw new FBXAException("can't perform query to fetch xids", XAException.XAER_RMFAIL, e);
+            dataProvider0.clearRows();
+            dataProvider1.clearRows();
         }
+
+        stmtHandle2.close();
+        trHandle2.commit();
+    }
+
+    private interface InLimboXidProcessor {
+
+        /**
+         * Processes an Xid of an in-limbo transaction.
+         *
+         * @param xid
+         *         Xid with the Firebird transaction id of the in-limbo transaction
+         * @return {@code true} to continue the scan, {@code false} to stop
+         */
+        boolean process(FBXid xid);
     }
 
     @Override
@@ -1053,10 +1139,16 @@ public class FBManagedConnection implements ManagedConnection, XAResource, Excep
         return syncObject;
     }
 
+    @Override
+    public final LockCloseable withLock() {
+        return database.withLock();
+    }
+
     private static class DataProvider extends DefaultStatementListener implements FieldDataProvider {
         private final List<RowValue> rows = new ArrayList<>();
         private final int fieldPos;
         private int row;
+        private boolean allRowsFetched;
         
         private DataProvider(int fieldPos) {
             this.fieldPos = fieldPos;
@@ -1078,10 +1170,24 @@ public class FBManagedConnection implements ManagedConnection, XAResource, Excep
             return rows.size();
         }
 
+        public void clearRows() {
+            rows.clear();
+            row = 0;
+        }
+
+        public boolean isAllRowsFetched() {
+            return allRowsFetched;
+        }
+
         @Override
         public void receivedRow(FbStatement sender, RowValue rowValue) {
             rows.add(rowValue);
         }
+
+        @Override
+        public void allRowsFetched(FbStatement sender) {
+            allRowsFetched = true;
+        }
     }
     
     /**
@@ -1105,7 +1211,7 @@ public class FBManagedConnection implements ManagedConnection, XAResource, Excep
 
     void internalRollback(Xid xid) throws XAException {
         if (log.isTraceEnabled()) log.trace("rollback called: " + xid);
-        FbTransaction committingTr = xidMap.get(xid);
+        FbTransaction committingTr = xidMap.get(toXidKey(xid));
         if (committingTr == null) {
             throw new FBXAException ("Rollback called with unknown transaction: " + xid);
         }
@@ -1117,8 +1223,8 @@ public class FBManagedConnection implements ManagedConnection, XAResource, Excep
             try {
                 committingTr.rollback();
             } finally {
-                xidMap.remove(xid);
-                preparedXid.remove(xid);
+                xidMap.remove(toXidKey(xid));
+                preparedXid.remove(toXidKey(xid));
             }
         } catch (SQLException ge) {
             log.debug("Exception in rollback", ge);
@@ -1166,12 +1272,12 @@ public class FBManagedConnection implements ManagedConnection, XAResource, Excep
     public void start(Xid id, int flags) throws XAException {
         if (flags != XAResource.TMNOFLAGS && flags != XAResource.TMJOIN && flags != XAResource.TMRESUME)
             throw new FBXAException("flag not allowed in this context: " + flags + ", valid flags are TMNOFLAGS, TMJOIN, TMRESUME", XAException.XAER_PROTO);
-        if (flags == XAResource.TMJOIN)
-            throw new FBXAException("Joining two transactions is not supported", XAException.XAER_RMFAIL);
         
         try {
-            // reset the transaction parameters for the managed scenario 
-            setTransactionIsolation(mcf.getDefaultTransactionIsolation());
+            if (flags == XAResource.TMNOFLAGS) {
+                // reset the transaction parameters for the managed scenario
+                setTransactionIsolation(mcf.getDefaultTransactionIsolation());
+            }
             
             internalStart(id, flags);
             
@@ -1260,39 +1366,64 @@ public class FBManagedConnection implements ManagedConnection, XAResource, Excep
     // --------------------------------------------------------------------
 
     private void findIscTrHandle(Xid xid, int flags) throws SQLException, XAException {
-        // FIXME return old tr handle if it is still valid before proceeding
         getGDSHelper().setCurrentTransaction(null);
+
+        final Xid xidKey = toXidKey(xid);
+        final FbTransaction knownTransaction = xidMap.get(xidKey);
         
         if (flags == XAResource.TMRESUME) {
-            FbTransaction trHandle = xidMap.get(xid);
-            if (trHandle == null) {
+            if (knownTransaction == null) {
                 throw new FBXAException(
                         "You are trying to resume a transaction that is not attached to this XAResource",
                         XAException.XAER_INVAL);
             }
             
-            getGDSHelper().setCurrentTransaction(trHandle);
+            getGDSHelper().setCurrentTransaction(knownTransaction);
             return;
         }
-        
-        for (Xid knownXid : xidMap.keySet()) {
-            boolean sameFormatId = knownXid.getFormatId() == xid.getFormatId();
-            boolean sameGtrid = Arrays.equals(knownXid.getGlobalTransactionId(), xid.getGlobalTransactionId());
-            boolean sameBqual = Arrays.equals(knownXid.getBranchQualifier(), xid.getBranchQualifier());
-            if (sameFormatId && sameGtrid && sameBqual)
+
+        if (flags == XAResource.TMJOIN) {
+            // Joining is only possible on the same XAResource (see isSameRM), reuse the transaction of the branch
+            if (knownTransaction == null) {
                 throw new FBXAException(
-                        "A transaction with the same XID has already been started",
-                        XAException.XAER_DUPID);
+                        "You are trying to join a transaction that is not attached to this XAResource",
+                        XAException.XAER_NOTA);
+            }
+            if (knownTransaction.getState() != TransactionState.ACTIVE || preparedXid.contains(xidKey)) {
+                throw new FBXAException("You are trying to join a transaction that is not active",
+                        XAException.XAER_PROTO);
+            }
+
+            getGDSHelper().setCurrentTransaction(knownTransaction);
+            return;
+        }
+        
+        if (knownTransaction != null) {
+            throw new FBXAException(
+                    "A transaction with the same XID has already been started",
+                    XAException.XAER_DUPID);
         }
         
         // new xid for us
         try {
-            FbTransaction transaction = getGDSHelper().startTransaction(tpb.getTransactionParameterBuffer());
-            xidMap.put(xid, transaction);
+            FbTransaction transaction = getGDSHelper().startTransaction(tpb.getImmutableTransactionParameterBuffer());
+            xidMap.put(xidKey, transaction);
         } catch (SQLException e) {
             throw new FBXAException(e.getMessage(), XAException.XAER_RMERR, e);
         }
     }
+
+    /**
+     * Converts an Xid to a key for {@link #xidMap}, {@link #preparedXid} and the Xid map of the managed connection
+     * factory.
+     *
+     * @param xid
+     *         Xid
+     * @return Xid with equals and hashCode based on the format id, global transaction id and branch qualifier
+     */
+    static Xid toXidKey(Xid xid) {
+        return xid instanceof FBXid ? xid : new FBXid(xid);
+    }
     
     void notify(CELNotifier notifier, ConnectionEvent ce) {
         for (ConnectionEventListener cel : connectionEventListeners) {
@@ -1427,6 +1558,76 @@ public class FBManagedConnection implements ManagedConnection, XAResource, Excep
         return tpb.isReadOnly();
     }
 
+    /**
+     * Determine whether the shared read-only transaction can be used with the current transaction parameters.
+     * <p>
+     * The shared transaction is only used when the current transaction parameters are read committed, as a
+     * long-lived shared transaction would not give the semantics of a snapshot isolation.
+     * </p>
+     *
+     * @return <code>true</code> if the current transaction parameters are read committed
+     * @see #getSharedReadOnlyTransaction()
+     */
+    public boolean isSharedReadOnlyTransactionAllowed() {
+        return tpb.getTransactionParameterBuffer().hasArgument(TransactionParameterBuffer.READ_COMMITTED);
+    }
+
+    /**
+     * Get the shared read-only transaction of this managed connection.
+     * <p>
+     * This transaction is not the local or distributed transaction of this managed connection, and it is not
+     * committed when a statement completes. It is started on first use with the current transaction parameters of
+     * this managed connection (with <code>isc_tpb_read</code> instead of <code>isc_tpb_write</code>), and remains
+     * active until {@link #endSharedReadOnlyTransaction()} is called, the transaction parameters change, or this
+     * managed connection is destroyed.
+     * </p>
+     *
+     * @return Active read-only transaction
+     * @throws SQLException
+     *         If the transaction could not be started
+     * @see #isSharedReadOnlyTransactionAllowed()
+     */
+    public FbTransaction getSharedReadOnlyTransaction() throws SQLException {
+        try (LockCloseable ignored = withLock()) {
+            final TransactionParameterBuffer readOnlyTpb = tpb.getTransactionParameterBuffer().deepCopy();
+            readOnlyTpb.removeArgument(TransactionParameterBuffer.WRITE);
+            if (!readOnlyTpb.hasArgument(TransactionParameterBuffer.READ)) {
+                readOnlyTpb.addArgument(TransactionParameterBuffer.READ);
+            }
+
+            FbTransaction transaction = sharedReadOnlyTransaction;
+            if (transaction != null && transaction.getState() == TransactionState.ACTIVE
+                    && readOnlyTpb.equals(sharedReadOnlyTpb)) {
+                return transaction;
+            }
+            // Transaction parameters changed (or no active transaction): end the old transaction
+            endSharedReadOnlyTransaction();
+            transaction = getGDSHelper().getCurrentDatabase()
+                    .startTransaction(new ImmutableTransactionParameterBuffer(readOnlyTpb));
+            sharedReadOnlyTransaction = transaction;
+            sharedReadOnlyTpb = readOnlyTpb;
+            return transaction;
+        }
+    }
+
+    /**
+     * Commits the shared read-only transaction if it is active.
+     *
+     * @throws SQLException
+     *         If the transaction could not be committed
+     * @see #getSharedReadOnlyTransaction()
+     */
+    public void endSharedReadOnlyTransaction() throws SQLException {
+        try (LockCloseable ignored = withLock()) {
+            final FbTransaction transaction = sharedReadOnlyTransaction;
+            sharedReadOnlyTransaction = null;
+            sharedReadOnlyTpb = null;
+            if (transaction != null && transaction.getState() == TransactionState.ACTIVE) {
+                transaction.commit();
+            }
+        }
+    }
+
     private void notifyWarning(SQLWarning warning) {
         // Note: minor chance of a race condition here, but we take the chance.
         if (connectionHandles.isEmpty()) {
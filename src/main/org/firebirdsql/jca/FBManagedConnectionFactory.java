@@ -34,6 +34,8 @@ import org.firebirdsql.jdbc.FBConnection;
 import org.firebirdsql.jdbc.FBConnectionProperties;
 import org.firebirdsql.jdbc.FBDataSource;
 import org.firebirdsql.jdbc.FirebirdConnectionProperties;
+import org.firebirdsql.jdbc.MetaDataCache;
+import org.firebirdsql.jdbc.SelectableProcedureCache;
 
 import javax.resource.NotSupportedException;
 import javax.resource.ResourceException;
@@ -91,8 +93,13 @@ public class FBManagedConnectionFactory implements ManagedConnectionFactory, Fir
     private int hashCode;
     private GDSType gdsType;
 
-    // Maps supplied XID to internal transaction handle.
+    // Maps supplied XID to internal transaction handle; keys are FBXid (see FBManagedConnection.toXidKey)
     private transient final Map<Xid, FBManagedConnection> xidMap = new ConcurrentHashMap<>();
+    // Xids parsed from RDB$TRANSACTIONS during recovery
+    private transient final FBXidCache xidCache = new FBXidCache();
+    // Database metadata results shared by the connections of this factory
+    private transient final MetaDataCache metaDataCache = new MetaDataCache();
+    private transient final SelectableProcedureCache selectableProcedureCache = new SelectableProcedureCache();
 
     private transient final Object startLock = new Object();
     private transient boolean started = false;
@@ -407,6 +414,46 @@ public class FBManagedConnectionFactory implements ManagedConnectionFactory, Fir
         connectionProperties.setUseFirebirdAutocommit(useFirebirdAutocommit);
     }
 
+    @Override
+    public boolean isDeferTransactionStart() {
+        return connectionProperties.isDeferTransactionStart();
+    }
+
+    @Override
+    public void setDeferTransactionStart(boolean deferTransactionStart) {
+        connectionProperties.setDeferTransactionStart(deferTransactionStart);
+    }
+
+    @Override
+    public boolean isUseSharedReadOnlyTransaction() {
+        return connectionProperties.isUseSharedReadOnlyTransaction();
+    }
+
+    @Override
+    public void setUseSharedReadOnlyTransaction(boolean useSharedReadOnlyTransaction) {
+        connectionProperties.setUseSharedReadOnlyTransaction(useSharedReadOnlyTransaction);
+    }
+
+    @Override
+    public boolean isFetchAhead() {
+        return connectionProperties.isFetchAhead();
+    }
+
+    @Override
+    public void setFetchAhead(boolean fetchAhead) {
+        connectionProperties.setFetchAhead(fetchAhead);
+    }
+
+    @Override
+    public int getMetaDataCacheTtl() {
+        return connectionProperties.getMetaDataCacheTtl();
+    }
+
+    @Override
+    public void setMetaDataCacheTtl(int metaDataCacheTtl) {
+        connectionProperties.setMetaDataCacheTtl(metaDataCacheTtl);
+    }
+
     @Override
     public String getWireCrypt() {
         return connectionProperties.getWireCrypt();
@@ -458,7 +505,7 @@ public class FBManagedConnectionFactory implements ManagedConnectionFactory, Fir
     }
 
     public FBTpb getTpb(int defaultTransactionIsolation) throws FBResourceException {
-        return new FBTpb(connectionProperties.getMapper().getMapping(
+        return new FBTpb(connectionProperties.getMapper().getImmutableMapping(
                 defaultTransactionIsolation));
     }
 
@@ -668,7 +715,7 @@ public class FBManagedConnectionFactory implements ManagedConnectionFactory, Fir
     }
 
     void notifyStart(FBManagedConnection mc, Xid xid) throws GDSException {
-        xidMap.put(xid, mc);
+        xidMap.put(FBManagedConnection.toXidKey(xid), mc);
     }
 
     void notifyEnd(FBManagedConnection mc, Xid xid) throws XAException {
@@ -676,7 +723,7 @@ public class FBManagedConnectionFactory implements ManagedConnectionFactory, Fir
     }
 
     int notifyPrepare(FBManagedConnection mc, Xid xid) throws GDSException, XAException {
-        FBManagedConnection targetMc = xidMap.get(xid);
+        FBManagedConnection targetMc = xidMap.get(FBManagedConnection.toXidKey(xid));
 
         if (targetMc == null)
             throw new FBXAException("Commit called with unknown transaction", XAException.XAER_NOTA);
@@ -686,41 +733,79 @@ public class FBManagedConnectionFactory implements ManagedConnectionFactory, Fir
 
     void notifyCommit(FBManagedConnection mc, Xid xid, boolean onePhase) throws GDSException, XAException {
 
-        FBManagedConnection targetMc = xidMap.get(xid);
+        FBManagedConnection targetMc = xidMap.get(FBManagedConnection.toXidKey(xid));
 
         if (targetMc == null)
-            tryCompleteInLimboTransaction(xid, true);
+            tryCompleteInLimboTransaction(mc, xid, true);
         else
             targetMc.internalCommit(xid, onePhase);
 
-        xidMap.remove(xid);
+        xidMap.remove(FBManagedConnection.toXidKey(xid));
     }
 
     void notifyRollback(FBManagedConnection mc, Xid xid) throws GDSException, XAException {
-        FBManagedConnection targetMc = xidMap.get(xid);
+        FBManagedConnection targetMc = xidMap.get(FBManagedConnection.toXidKey(xid));
 
         if (targetMc == null)
-            tryCompleteInLimboTransaction(xid, false);
+            tryCompleteInLimboTransaction(mc, xid, false);
         else
             targetMc.internalRollback(xid);
 
-        xidMap.remove(xid);
+        xidMap.remove(FBManagedConnection.toXidKey(xid));
     }
 
     public void forget(FBManagedConnection mc, Xid xid) throws GDSException {
-        xidMap.remove(xid);
+        xidMap.remove(FBManagedConnection.toXidKey(xid));
     }
 
     public void recover(FBManagedConnection mc, Xid xid) throws GDSException {
 
     }
 
+    /**
+     * @return Cache of Xids of in-limbo transactions found during recovery
+     */
+    FBXidCache getXidCache() {
+        return xidCache;
+    }
+
+    /**
+     * Cache of database metadata results shared by the connections created by this factory.
+     * <p>
+     * The cache is only used by connections with property {@code metaDataCacheTtl} set to a value greater than 0.
+     * </p>
+     *
+     * @return Database metadata cache
+     */
+    public MetaDataCache getMetaDataCache() {
+        return metaDataCache;
+    }
+
+    /**
+     * Cache of the selectability of stored procedures shared by the connections created by this factory.
+     *
+     * @return Selectable procedure cache
+     */
+    public SelectableProcedureCache getSelectableProcedureCache() {
+        return selectableProcedureCache;
+    }
+
     /**
      * Try to complete the "in limbo" transaction. This method tries to
      * reconnect an "in limbo" transaction and complete it either by commit or
      * rollback. If no "in limbo" transaction can be found, or error happens
      * during completion, an exception is thrown.
+     * <p>
+     * The transaction is completed using the connection of <code>mc</code> if
+     * it is still attached, so the in-limbo transactions of a recovery are all
+     * completed over the same connection. If the Xid was returned by a recovery
+     * scan, its Firebird transaction id is taken from the {@link FBXidCache}
+     * instead of querying <code>RDB$TRANSACTIONS</code>. If the cached transaction
+     * can no longer be reconnected, the Xid is looked up in the database again.
+     * </p>
      * 
+     * @param mc
+     *            Managed connection on which commit or rollback was called (can be <code>null</code>)
      * @param xid
      *            Xid of the transaction to reconnect.
      * @param commit
@@ -730,58 +815,56 @@ public class FBManagedConnectionFactory implements ManagedConnectionFactory, Fir
      * @throws XAException
      *             if "in limbo" transaction cannot be completed.
      */
-    private void tryCompleteInLimboTransaction(Xid xid, boolean commit) throws XAException {
+    private void tryCompleteInLimboTransaction(FBManagedConnection mc, Xid xid, boolean commit) throws XAException {
         try {
             FBManagedConnection tempMc = null;
-            FirebirdLocalTransaction tempLocalTx = null;
             try {
-                tempMc = new FBManagedConnection(null, null, this);
-                tempLocalTx = (FirebirdLocalTransaction) tempMc.getLocalTransaction();
-                tempLocalTx.begin();
+                final FBManagedConnection recoveryMc;
+                if (mc != null && mc.isAttached()) {
+                    recoveryMc = mc;
+                } else {
+                    tempMc = new FBManagedConnection(null, null, this);
+                    recoveryMc = tempMc;
+                }
 
+                FbDatabase dbHandle = recoveryMc.getGDSHelper().getCurrentDatabase();
                 long fbTransactionId = 0;
-                boolean found = false;
-
-                if (tempMc.getGDSHelper().compareToVersion(2, 0) < 0) {
-                    // Find Xid by scanning
-                    FBXid[] inLimboIds = (FBXid[]) tempMc.recover(XAResource.TMSTARTRSCAN);
-                    for (FBXid inLimboId : inLimboIds) {
-                        if (inLimboId.equals(xid)) {
-                            found = true;
-                            fbTransactionId = inLimboId.getFirebirdTransactionId();
+                FbTransaction trHandle = null;
+
+                FBXid cachedXid = xidCache.findXid(xid);
+                if (cachedXid != null) {
+                    // Xid returned by an earlier recovery scan
+                    fbTransactionId = cachedXid.getFirebirdTransactionId();
+                    try {
+                        trHandle = dbHandle.reconnectTransaction(fbTransactionId);
+                    } catch (SQLException ex) {
+                        if (ex.getErrorCode() != ISCConstants.isc_no_recon) {
+                            throw ex;
                         }
-                    }
-                } else {
-                    // Find Xid by intelligent scan
-                    FBXid foundXid = (FBXid) tempMc.findSingleXid(xid);
-                    if (foundXid != null && foundXid.equals(xid)) {
-                        found = true;
-                        fbTransactionId = foundXid.getFirebirdTransactionId();
+                        // Cached Xid may be stale (eg completed by another connection), look it up again
+                        xidCache.remove(xid);
                     }
                 }
-
-                if (!found) {
-                    throw new FBXAException((commit ? "Commit" : "Rollback") + " called with unknown transaction.",
-                            XAException.XAER_NOTA);
+                if (trHandle == null) {
+                    fbTransactionId = findInLimboTransactionId(recoveryMc, xid, commit);
+                    trHandle = dbHandle.reconnectTransaction(fbTransactionId);
                 }
 
-                FbDatabase dbHandle = tempMc.getGDSHelper().getCurrentDatabase();
-                FbTransaction trHandle = dbHandle.reconnectTransaction(fbTransactionId);
-
                 // complete transaction by commit or rollback
                 if (commit) {
                     trHandle.commit();
                 } else {
                     trHandle.rollback();
                 }
+                xidCache.remove(xid);
 
-                if (tempMc.getGDSHelper().compareToVersion(3, 0) < 0) {
+                if (recoveryMc.getGDSHelper().compareToVersion(3, 0) < 0) {
                     // remove heuristic data from rdb$transactions (only possible in versions before Firebird 3)
                     try {
                         String query = "delete from rdb$transactions where rdb$transaction_id = " + fbTransactionId;
                         GDSHelper gdsHelper = new GDSHelper(dbHandle);
 
-                        FbTransaction trHandle2 = dbHandle.startTransaction(getDefaultTpb().getTransactionParameterBuffer());
+                        FbTransaction trHandle2 = dbHandle.startTransaction(getDefaultTpb().getImmutableTransactionParameterBuffer());
                         gdsHelper.setCurrentTransaction(trHandle2);
 
                         FbStatement stmtHandle2 = dbHandle.createStatement(trHandle2);
@@ -796,6 +879,8 @@ public class FBManagedConnectionFactory implements ManagedConnectionFactory, Fir
                     }
                 }
             } catch (SQLException ex) {
+                // Next attempt needs to check RDB$TRANSACTIONS again
+                xidCache.remove(xid);
                 /*
                  * if ex.getIntParam() is 335544353 (transaction is not in limbo) and next ex.getIntParam() is 335544468 (transaction {0} is {1})
                  *  => detected heuristic
@@ -815,18 +900,50 @@ public class FBManagedConnectionFactory implements ManagedConnectionFactory, Fir
 
                 throw new FBXAException("unable to complete in limbo transaction", errorCode, ex);
             } finally {
-                try {
-                    if (tempLocalTx != null && tempLocalTx.inTransaction())
-                        tempLocalTx.commit();
-                } finally {
-                    if (tempMc != null) tempMc.destroy();
-                }
+                if (tempMc != null) tempMc.destroy();
             }
         } catch (ResourceException ex) {
             throw new FBXAException(XAException.XAER_RMERR, ex);
         }
     }
 
+    /**
+     * Finds the Firebird transaction id of an "in limbo" transaction in the database.
+     *
+     * @param recoveryMc
+     *            Managed connection to use for the lookup
+     * @param xid
+     *            Xid of the transaction
+     * @param commit
+     *            <code>true</code> if called for commit, <code>false</code> for rollback (for the error message)
+     * @return Firebird transaction id
+     * @throws XAException
+     *             with <code>XAER_NOTA</code> if the Xid is not found, or for errors querying the database
+     * @throws SQLException
+     *             if the server version cannot be determined
+     */
+    private long findInLimboTransactionId(FBManagedConnection recoveryMc, Xid xid, boolean commit)
+            throws XAException, SQLException {
+        if (recoveryMc.getGDSHelper().compareToVersion(2, 0) < 0) {
+            // Find Xid by scanning
+            FBXid[] inLimboIds = (FBXid[]) recoveryMc.recover(XAResource.TMSTARTRSCAN);
+            for (FBXid inLimboId : inLimboIds) {
+                if (inLimboId.equals(xid)) {
+                    return inLimboId.getFirebirdTransactionId();
+                }
+            }
+        } else {
+            // Find Xid by intelligent scan
+            FBXid foundXid = (FBXid) recoveryMc.findSingleXid(xid);
+            if (foundXid != null && foundXid.equals(xid)) {
+                return foundXid.getFirebirdTransactionId();
+            }
+        }
+
+        throw new FBXAException((commit ? "Commit" : "Rollback") + " called with unknown transaction.",
+                XAException.XAER_NOTA);
+    }
+
     FBConnection newConnection(FBManagedConnection mc)
             throws ResourceException {
         Class<?> connectionClass = GDSFactory.getConnectionClass(getGDSType());
@@ -24,6 +24,7 @@ package org.firebirdsql.jca;
 import java.io.Serializable;
 
 import org.firebirdsql.gds.TransactionParameterBuffer;
+import org.firebirdsql.gds.impl.ImmutableTransactionParameterBuffer;
 
 /**
  * The <code>FBTpb</code> class represents the Firebird Transaction Parameter
@@ -38,16 +39,21 @@ import org.firebirdsql.gds.TransactionParameterBuffer;
 public class FBTpb implements Serializable {
 
     private TransactionParameterBuffer transactionParams;
+    private transient ImmutableTransactionParameterBuffer immutableTransactionParams;
 
     /**
      * Create a new Transaction Parameters Block instance based around a
      * <code>FBTpbMapper</code>.
+     * <p>
+     * If <code>transactionParams</code> is an {@link ImmutableTransactionParameterBuffer}, it is used as the
+     * serialized form of this TPB, and a modifiable copy is used for the transaction parameters.
+     * </p>
      * 
      * @param transactionParams instance of {@link TransactionParameterBuffer}
      * representing transaction parameters.
      */
     public FBTpb(TransactionParameterBuffer transactionParams) {
-        this.transactionParams = transactionParams;
+        setTransactionParameterBuffer(transactionParams);
     }
 
     public boolean equals(Object other) {
@@ -72,7 +78,13 @@ public class FBTpb implements Serializable {
      *            otherwise it will be be read-write
      */
     public void setReadOnly(boolean readOnly) {
-        
+        final int requiredArgument = readOnly ? TransactionParameterBuffer.READ : TransactionParameterBuffer.WRITE;
+        final int otherArgument = readOnly ? TransactionParameterBuffer.WRITE : TransactionParameterBuffer.READ;
+        if (transactionParams.hasArgument(requiredArgument) && !transactionParams.hasArgument(otherArgument)) {
+            // Already in the requested mode, keep the current (serialized) TPB
+            return;
+        }
+
         transactionParams.removeArgument(TransactionParameterBuffer.READ);
         transactionParams.removeArgument(TransactionParameterBuffer.WRITE);
         
@@ -94,6 +106,28 @@ public class FBTpb implements Serializable {
     }
     
     public void setTransactionParameterBuffer(TransactionParameterBuffer tpb) {
-        this.transactionParams = tpb;
+        if (tpb instanceof ImmutableTransactionParameterBuffer) {
+            immutableTransactionParams = (ImmutableTransactionParameterBuffer) tpb;
+            transactionParams = tpb.deepCopy();
+        } else {
+            immutableTransactionParams = null;
+            transactionParams = tpb;
+        }
+    }
+
+    /**
+     * Get an immutable, pre-serialized copy of the transaction parameters for starting a transaction.
+     * <p>
+     * The copy is cached and reused as long as the transaction parameters are not modified.
+     * </p>
+     *
+     * @return Immutable copy of the current transaction parameters
+     */
+    public TransactionParameterBuffer getImmutableTransactionParameterBuffer() {
+        ImmutableTransactionParameterBuffer current = immutableTransactionParams;
+        if (current == null || !current.isCopyOf(transactionParams)) {
+            immutableTransactionParams = current = new ImmutableTransactionParameterBuffer(transactionParams);
+        }
+        return current;
     }
 }
@@ -0,0 +1,142 @@
+/*
+ * $Id$
+ *
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.jca;
+
+import org.firebirdsql.util.LruCache;
+
+import javax.resource.ResourceException;
+import javax.transaction.xa.Xid;
+import java.io.ByteArrayInputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Cache of {@link FBXid} instances parsed from the in-limbo transaction descriptions in {@code RDB$TRANSACTIONS}.
+ * <p>
+ * The cache avoids parsing the same in-limbo transaction description on each recovery scan, and allows the Firebird
+ * transaction id of a recovered Xid to be found without querying {@code RDB$TRANSACTIONS} again when the
+ * transaction manager completes the transaction. The number of cached Xids is bounded, the least recently used
+ * entries are evicted first.
+ * </p>
+ *
+ * @since 4.0
+ */
+final class FBXidCache {
+
+    static final int DEFAULT_MAX_SIZE = 4096;
+
+    private final LruCache<Long, CachedXid> xidsByTransactionId;
+    private final Map<Xid, CachedXid> xidsByXid = new HashMap<>();
+
+    FBXidCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    FBXidCache(int maxSize) {
+        xidsByTransactionId = new LruCache<Long, CachedXid>(maxSize) {
+            @Override
+            protected void entryEvicted(Long firebirdTransactionId, CachedXid cachedXid) {
+                // Called from put, while holding the lock of this FBXidCache
+                removeByXid(cachedXid);
+            }
+        };
+    }
+
+    /**
+     * Gets the Xid for an in-limbo transaction, parsing the transaction description if it is not cached.
+     *
+     * @param firebirdTransactionId
+     *         Firebird transaction id of the in-limbo transaction
+     * @param inLimboMessage
+     *         Transaction description (serialized Xid) of the in-limbo transaction
+     * @return Xid of the in-limbo transaction
+     * @throws ResourceException
+     *         If the transaction description is not a valid serialized Xid
+     */
+    FBXid getXid(long firebirdTransactionId, byte[] inLimboMessage) throws ResourceException {
+        synchronized (this) {
+            CachedXid cachedXid = xidsByTransactionId.get(firebirdTransactionId);
+            if (cachedXid != null && Arrays.equals(cachedXid.inLimboMessage, inLimboMessage)) {
+                return cachedXid.xid;
+            }
+        }
+
+        // Parse outside lock; FBIncorrectXidException is not cached
+        FBXid xid = new FBXid(new ByteArrayInputStream(inLimboMessage), firebirdTransactionId);
+        CachedXid cachedXid = new CachedXid(inLimboMessage, xid);
+        synchronized (this) {
+            CachedXid previous = xidsByTransactionId.put(firebirdTransactionId, cachedXid);
+            if (previous != null) {
+                removeByXid(previous);
+            }
+            xidsByXid.put(xid, cachedXid);
+        }
+        return xid;
+    }
+
+    /**
+     * Finds a previously recovered Xid.
+     *
+     * @param xid
+     *         Xid to find
+     * @return Cached Xid (with its Firebird transaction id), or {@code null} if the Xid is not cached
+     */
+    synchronized FBXid findXid(Xid xid) {
+        // FBXid uses its own hashCode, so other Xid implementations need to be converted for lookup
+        CachedXid cachedXid = xidsByXid.get(xid instanceof FBXid ? xid : new FBXid(xid));
+        return cachedXid != null ? cachedXid.xid : null;
+    }
+
+    /**
+     * Removes an Xid from the cache, for example after the in-limbo transaction has been completed.
+     *
+     * @param xid
+     *         Xid to remove
+     */
+    synchronized void remove(Xid xid) {
+        CachedXid cachedXid = xidsByXid.remove(xid instanceof FBXid ? xid : new FBXid(xid));
+        if (cachedXid != null) {
+            xidsByTransactionId.remove(cachedXid.xid.getFirebirdTransactionId());
+        }
+    }
+
+    private void removeByXid(CachedXid cachedXid) {
+        // Only remove if not replaced by an entry for a different Firebird transaction id
+        if (xidsByXid.get(cachedXid.xid) == cachedXid) {
+            xidsByXid.remove(cachedXid.xid);
+        }
+    }
+
+    synchronized int size() {
+        return xidsByTransactionId.size();
+    }
+
+    private static final class CachedXid {
+        private final byte[] inLimboMessage;
+        private final FBXid xid;
+
+        private CachedXid(byte[] inLimboMessage, FBXid xid) {
+            this.inLimboMessage = inLimboMessage;
+            this.xid = xid;
+        }
+    }
+}
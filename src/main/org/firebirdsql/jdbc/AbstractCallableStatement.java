@@ -29,6 +29,7 @@ import java.util.*;
 import org.firebirdsql.gds.DatabaseParameterBuffer;
 import org.firebirdsql.gds.impl.DatabaseParameterBufferExtension;
 import org.firebirdsql.gds.impl.GDSHelper;
+import org.firebirdsql.gds.ng.LockCloseable;
 import org.firebirdsql.jdbc.escape.FBEscapedCallParser;
 import org.firebirdsql.jdbc.escape.FBEscapedParser.EscapeParserMode;
 import org.firebirdsql.jdbc.field.FBField;
@@ -70,6 +71,7 @@ import org.firebirdsql.jdbc.field.TypeConversionException;
  * @author <a href="mailto:sjardine@users.sourceforge.net">Steven Jardine</a>
  * @author <a href="mailto:mrotteveel@users.sourceforge.net">Mark Rotteveel</a>
  */
+@SuppressWarnings("try")
 public abstract class AbstractCallableStatement extends FBPreparedStatement implements CallableStatement, FirebirdCallableStatement {
 
     static final String SET_BY_STRING_NOT_SUPPORTED = "Setting parameters by name is not supported";
@@ -91,6 +93,24 @@ public abstract class AbstractCallableStatement extends FBPreparedStatement impl
     throws SQLException {
         super(c, rsType, rsConcurrency, rsHoldability, statementListener, blobListener);
 
+        final FBProcedureCallCache procedureCallCache = connection != null
+                ? connection.getProcedureCallCache()
+                : null;
+        procedureCall = procedureCallCache != null ? procedureCallCache.get(sql) : null;
+        if (procedureCall == null) {
+            procedureCall = parseProcedureCall(c, sql);
+            if (procedureCallCache != null) {
+                procedureCallCache.put(sql, procedureCall);
+            }
+        }
+
+        // Not cached with the procedure call, so selectability follows the caching policy of storedProcMetaData
+        if (storedProcMetaData.canGetSelectableInformation()) {
+            setSelectabilityAutomatically(storedProcMetaData);
+        }
+    }
+
+    private FBProcedureCall parseProcedureCall(GDSHelper c, String sql) throws SQLException {
         DatabaseParameterBuffer dpb = c.getDatabaseParameterBuffer();
 
         EscapeParserMode mode = EscapeParserMode.USE_BUILT_IN;
@@ -105,15 +125,11 @@ public abstract class AbstractCallableStatement extends FBPreparedStatement impl
         // in the future should be fixed by calling FBEscapedParser for
         // each parameter in FBEscapedCallParser class
         // TODO Might be unnecessary now FBEscapedParser processes nested escapes
-        procedureCall = parser.parseCall(nativeSQL(sql));
-
-        if (storedProcMetaData.canGetSelectableInformation()) {
-            setSelectabilityAutomatically(storedProcMetaData);
-        }
+        return parser.parseCall(nativeSQL(sql));
     }
 
     public ParameterMetaData getParameterMetaData() throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             // TODO See http://tracker.firebirdsql.org/browse/JDBC-352
             notifyStatementStarted(false);
             prepareFixedStatement(procedureCall.getSQL(isSelectableProcedure()));
@@ -127,10 +143,16 @@ public abstract class AbstractCallableStatement extends FBPreparedStatement impl
         batchList.add(procedureCall.clone());
     }
 
+    @Override
+    boolean isReadOnlyQuery() {
+        // Selectable stored procedures can modify data as well
+        return false;
+    }
+
     @Override
     protected List<Long> executeBatchInternal() throws SQLException {
         checkValidity();
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             boolean success = false;
             try {
                 notifyStatementStarted();
@@ -220,7 +242,7 @@ public abstract class AbstractCallableStatement extends FBPreparedStatement impl
      */
     public ResultSetMetaData getMetaData() throws SQLException {
         checkValidity();
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             // TODO See http://tracker.firebirdsql.org/browse/JDBC-352
             notifyStatementStarted(false);
             prepareFixedStatement(procedureCall.getSQL(isSelectableProcedure()));
@@ -242,7 +264,7 @@ public abstract class AbstractCallableStatement extends FBPreparedStatement impl
     public boolean execute() throws SQLException {
         procedureCall.checkParameters();
         boolean hasResultSet = false;
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             notifyStatementStarted();
 
             try {
@@ -267,7 +289,7 @@ public abstract class AbstractCallableStatement extends FBPreparedStatement impl
      */
     public ResultSet executeQuery() throws SQLException {
         procedureCall.checkParameters();
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             notifyStatementStarted();
             prepareFixedStatement(procedureCall.getSQL(isSelectableProcedure()));
 
@@ -287,7 +309,7 @@ public abstract class AbstractCallableStatement extends FBPreparedStatement impl
      */
     public int executeUpdate() throws SQLException {
         procedureCall.checkParameters();
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             try {
                 notifyStatementStarted();
                 prepareFixedStatement(procedureCall.getSQL(isSelectableProcedure()));
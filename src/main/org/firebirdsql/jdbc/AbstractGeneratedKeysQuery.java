@@ -26,11 +26,14 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
+import org.firebirdsql.gds.JaybirdSystemProperties;
 import org.firebirdsql.jdbc.parser.JaybirdStatementModel;
+import org.firebirdsql.jdbc.parser.SimpleStatementParser;
 import org.firebirdsql.jdbc.parser.StatementParser;
 import org.firebirdsql.jdbc.parser.StatementParser.ParseException;
 import org.firebirdsql.logging.Logger;
 import org.firebirdsql.logging.LoggerFactory;
+import org.firebirdsql.util.LruCache;
 
 /**
  * Class to add the RETURNING clause to queries for returning generated keys.
@@ -40,8 +43,6 @@ import org.firebirdsql.logging.LoggerFactory;
  */
 public abstract class AbstractGeneratedKeysQuery {
 
-    // TODO Add caching for column info
-
     private static final Logger logger = LoggerFactory.getLogger(AbstractGeneratedKeysQuery.class);
     private static final int QUERY_TYPE_KEEP_UNMODIFIED = 1;
     private static final int QUERY_TYPE_ADD_ALL_COLUMNS = 2;
@@ -53,20 +54,34 @@ public abstract class AbstractGeneratedKeysQuery {
 
     private static final String GENERATED_KEYS_FUNCTIONALITY_NOT_AVAILABLE =
             "Generated keys functionality not available, most likely cause: antlr-runtime not available on classpath";
+    private static final String STATEMENT_PARSER_ANTLR = "antlr";
+
+    private static final int PARSED_STATEMENT_CACHE_SIZE = 256;
+    private static final int PARSED_STATEMENT_CACHE_CONCURRENCY = 16;
+    // Marker for statements that could not be parsed
+    private static final JaybirdStatementModel UNPARSEABLE_STATEMENT = new JaybirdStatementModel();
+    // Parse result of a statement only depends on the statement text, so this cache is shared by all connections
+    private static final LruCache<String, JaybirdStatementModel> parsedStatementCache =
+            new LruCache<>(PARSED_STATEMENT_CACHE_SIZE, PARSED_STATEMENT_CACHE_CONCURRENCY);
 
     private static final StatementParser parser;
     static {
-    	// Attempt to load statement parser
-        StatementParser temp = null;
+        // Attempt to load ANTLR statement parser
+        StatementParser antlrParser = null;
         try {
-            temp = (StatementParser)Class.forName("org.firebirdsql.jdbc.parser.StatementParserImpl").newInstance();
+            antlrParser = (StatementParser) Class.forName("org.firebirdsql.jdbc.parser.StatementParserImpl")
+                    .newInstance();
         } catch (Throwable ex) {
             // Unable to load class of parser implementation, antlr4-runtime not in path
             Logger log = LoggerFactory.getLogger(AbstractGeneratedKeysQuery.class);
-            log.error("Unable to load generated key parser. " + GENERATED_KEYS_FUNCTIONALITY_NOT_AVAILABLE , ex);
-        } finally {
-            parser = temp;
+            if (isAntlrParserSelected()) {
+                log.error("Unable to load generated key parser. " + GENERATED_KEYS_FUNCTIONALITY_NOT_AVAILABLE, ex);
+            } else {
+                log.info("Unable to load ANTLR generated key parser, using simple parser without fallback");
+                if (log.isDebugEnabled()) log.debug("Exception loading ANTLR generated key parser", ex);
+            }
         }
+        parser = isAntlrParserSelected() ? antlrParser : new SimpleStatementParser(antlrParser);
     }
 
     private final String originalSQL;
@@ -306,6 +321,16 @@ public abstract class AbstractGeneratedKeysQuery {
      *             For errors accessing the metadata
      */
     private void addAllColumns() throws SQLException {
+        final GeneratedKeysColumnCache columnCache = getColumnCache();
+        if (columnCache != null) {
+            List<String> columns = new ArrayList<>();
+            for (GeneratedKeysColumnCache.TableColumn column : getTableColumns(columnCache)) {
+                columns.add(column.getQuotedName());
+            }
+            columnNames = columns.toArray(new String[0]);
+            addReturningClause();
+            return;
+        }
         DatabaseMetaData metaData = getDatabaseMetaData();
         List<String> columns = new ArrayList<>();
         try (ResultSet rs = metaData.getColumns(null, null, normalizeObjectName(statementModel.getTableName()), null)) {
@@ -326,8 +351,20 @@ public abstract class AbstractGeneratedKeysQuery {
      *             For errors accessing the metadata
      */
     private void addIndexedColumns() throws SQLException {
-        DatabaseMetaData metaData = getDatabaseMetaData();
         Arrays.sort(columnIndexes);
+        final GeneratedKeysColumnCache columnCache = getColumnCache();
+        if (columnCache != null) {
+            List<String> columns = new ArrayList<>();
+            for (GeneratedKeysColumnCache.TableColumn column : getTableColumns(columnCache)) {
+                if (Arrays.binarySearch(columnIndexes, column.getOrdinalPosition()) >= 0) {
+                    columns.add(column.getQuotedName());
+                }
+            }
+            columnNames = columns.toArray(new String[0]);
+            addReturningClause();
+            return;
+        }
+        DatabaseMetaData metaData = getDatabaseMetaData();
         List<String> columns = new ArrayList<>();
         try (ResultSet rs = metaData.getColumns(null, null, normalizeObjectName(statementModel.getTableName()), null)) {
             while (rs.next()) {
@@ -341,6 +378,40 @@ public abstract class AbstractGeneratedKeysQuery {
         addReturningClause();
     }
 
+    /**
+     * Gets the columns of the table of the query from the column cache, retrieving them from the metadata if they
+     * are not cached.
+     *
+     * @param columnCache
+     *         Column cache
+     * @return Columns of the table
+     * @throws SQLException
+     *         For errors accessing the metadata
+     */
+    private List<GeneratedKeysColumnCache.TableColumn> getTableColumns(GeneratedKeysColumnCache columnCache)
+            throws SQLException {
+        final String tableName = normalizeObjectName(statementModel.getTableName());
+        final long generation = columnCache.getGeneration();
+        List<GeneratedKeysColumnCache.TableColumn> tableColumns = columnCache.get(tableName);
+        if (tableColumns != null) {
+            return tableColumns;
+        }
+        DatabaseMetaData metaData = getDatabaseMetaData();
+        tableColumns = new ArrayList<>();
+        try (ResultSet rs = metaData.getColumns(null, null, tableName, null)) {
+            while (rs.next()) {
+                // Need to quote columns for mixed case columns
+                tableColumns.add(new GeneratedKeysColumnCache.TableColumn(
+                        quoteObjectName(rs.getString(IDX_COLUMN_NAME)), rs.getInt(IDX_ORDINAL_POSITION)));
+            }
+        }
+        // Don't cache tables without columns (eg non-existent tables), the statement will fail anyway
+        if (!tableColumns.isEmpty()) {
+            columnCache.put(tableName, tableColumns, generation);
+        }
+        return tableColumns;
+    }
+
     /**
      * Normalizes an object name from the parser.
      * <p>
@@ -405,6 +476,20 @@ public abstract class AbstractGeneratedKeysQuery {
      */
     abstract DatabaseMetaData getDatabaseMetaData() throws SQLException;
 
+    /**
+     * Returns the cache of table columns to be used when processing this query.
+     * <p>
+     * The default implementation returns {@code null}: the columns are retrieved from
+     * {@link #getDatabaseMetaData()} for each query. Implementations should only return a cache if the metadata
+     * cache is enabled for the connection.
+     * </p>
+     *
+     * @return Cache of table columns, or {@code null} if columns should not be cached
+     */
+    GeneratedKeysColumnCache getColumnCache() {
+        return null;
+    }
+
     /**
      * Parse the INSERT statement and extract the corresponding model.
      * 
@@ -415,14 +500,33 @@ public abstract class AbstractGeneratedKeysQuery {
      * @throws ParseException if statement cannot be parsed.
      */
     private JaybirdStatementModel parseInsertStatement(String sql) throws ParseException {
-        return parser.parseInsertStatement(sql);
+        JaybirdStatementModel statementModel = parsedStatementCache.get(sql);
+        if (statementModel == null) {
+            try {
+                statementModel = parser.parseInsertStatement(sql);
+            } catch (ParseException e) {
+                cacheStatementModel(sql, UNPARSEABLE_STATEMENT);
+                throw e;
+            }
+            cacheStatementModel(sql, statementModel);
+        }
+        if (statementModel == UNPARSEABLE_STATEMENT) {
+            throw new ParseException("Statement could not be parsed (cached result)");
+        }
+        // NOTE: Cached instance is shared, it must not be modified
+        return statementModel;
+    }
+
+    private static void cacheStatementModel(String sql, JaybirdStatementModel statementModel) {
+        parsedStatementCache.put(sql, statementModel);
     }
 
     /**
      * Indicates if generated keys support has been loaded and available for use.
      * <p>
-     * This method returns {@code false} when the antlr-runtime is not on the classpath or the {@link StatementParser}
-     * implementation could not be loaded for other reasons.
+     * This method returns {@code false} when only the ANTLR parser is selected (see {@link #isAntlrParserSelected()})
+     * and the antlr-runtime is not on the classpath or the {@link StatementParser} implementation could not be loaded
+     * for other reasons.
      * </p>
      *
      * @return {@code true} if generated keys can be used in the driver (assuming the Firebird version supports it)
@@ -430,4 +534,18 @@ public abstract class AbstractGeneratedKeysQuery {
     public static boolean isGeneratedKeysSupportLoaded() {
         return parser != null;
     }
+
+    /**
+     * Indicates if only the ANTLR statement parser should be used.
+     * <p>
+     * By default the {@link SimpleStatementParser} is used, with the ANTLR parser as fallback for statements it cannot
+     * handle. Setting system property {@code org.firebirdsql.jdbc.statementParser} to {@code antlr} restores the
+     * previous behaviour of only using the ANTLR parser.
+     * </p>
+     *
+     * @return {@code true} if only the ANTLR parser should be used
+     */
+    private static boolean isAntlrParserSelected() {
+        return STATEMENT_PARSER_ANTLR.equalsIgnoreCase(JaybirdSystemProperties.getStatementParser());
+    }
 }
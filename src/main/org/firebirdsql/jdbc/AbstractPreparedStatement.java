@@ -19,7 +19,9 @@
 package org.firebirdsql.jdbc;
 
 import org.firebirdsql.gds.impl.GDSHelper;
+import org.firebirdsql.gds.ng.FbBlob;
 import org.firebirdsql.gds.ng.FbStatement;
+import org.firebirdsql.gds.ng.LockCloseable;
 import org.firebirdsql.gds.ng.StatementType;
 import org.firebirdsql.gds.ng.fields.FieldDescriptor;
 import org.firebirdsql.gds.ng.fields.FieldValue;
@@ -48,6 +50,7 @@ import java.util.*;
  * @author <a href="mailto:rrokytskyy@users.sourceforge.net">Roman Rokytskyy</a>
  * @author <a href="mailto:mrotteveel@users.sourceforge.net">Mark Rotteveel</a>
  */
+@SuppressWarnings("try")
 public abstract class AbstractPreparedStatement extends FBStatement implements FirebirdPreparedStatement {
 
     public static final String METHOD_NOT_SUPPORTED =
@@ -80,6 +83,8 @@ public abstract class AbstractPreparedStatement extends FBStatement implements F
     // we need to handle procedure execution separately,
     // because in this case we must send out_xsqlda to the server.
     private boolean isExecuteProcedureStatement;
+    private boolean isSelectWithoutBlobParameters;
+    private boolean useSharedReadOnlyTransaction;
 
     private final FBObjectListener.BlobListener blobListener;
     private RowValue fieldValues;
@@ -134,6 +139,33 @@ public abstract class AbstractPreparedStatement extends FBStatement implements F
             FBObjectListener.BlobListener blobListener,
             boolean metaDataQuery, boolean standaloneStatement, boolean generatedKeys)
             throws SQLException {
+        this(c, sql, null, rsType, rsConcurrency, rsHoldability, statementListener, blobListener, metaDataQuery,
+                standaloneStatement, generatedKeys);
+    }
+
+    /**
+     * Create instance of this class, reusing a statement handle that is already prepared for the SQL statement.
+     *
+     * @param c
+     *            connection to be used.
+     * @param sql
+     *            SQL statement.
+     * @param statementHandle
+     *            statement handle prepared with {@code sql}, or {@code null} to prepare a new statement handle.
+     * @param rsType
+     *            type of result set to create.
+     * @param rsConcurrency
+     *            result set concurrency.
+     *
+     * @throws SQLException
+     *             if something went wrong.
+     */
+    protected AbstractPreparedStatement(GDSHelper c, String sql, FbStatement statementHandle, int rsType,
+            int rsConcurrency, int rsHoldability,
+            FBObjectListener.StatementListener statementListener,
+            FBObjectListener.BlobListener blobListener,
+            boolean metaDataQuery, boolean standaloneStatement, boolean generatedKeys)
+            throws SQLException {
         super(c, rsType, rsConcurrency, rsHoldability, statementListener);
 
         this.blobListener = blobListener;
@@ -141,11 +173,16 @@ public abstract class AbstractPreparedStatement extends FBStatement implements F
         this.standaloneStatement = standaloneStatement;
         this.generatedKeys = generatedKeys;
 
-        synchronized (c.getSynchronizationObject()) {
+        try (LockCloseable ignored = c.withLock()) {
             try {
                 // TODO See http://tracker.firebirdsql.org/browse/JDBC-352
                 notifyStatementStarted();
-                prepareFixedStatement(sql);
+                if (statementHandle != null) {
+                    attachStatementHandle(statementHandle);
+                    initParameters();
+                } else {
+                    prepareFixedStatement(sql);
+                }
             } catch (SQLException | RuntimeException e) {
                 notifyStatementCompleted(false);
                 throw e;
@@ -183,7 +220,7 @@ public abstract class AbstractPreparedStatement extends FBStatement implements F
      */
     @Override
     public ResultSet executeQuery() throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             checkValidity();
             notifyStatementStarted();
 
@@ -205,7 +242,7 @@ public abstract class AbstractPreparedStatement extends FBStatement implements F
      *                if a database access error occurs
      */
     public int executeUpdate() throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             checkValidity();
             notifyStatementStarted();
             try {
@@ -724,7 +761,7 @@ public abstract class AbstractPreparedStatement extends FBStatement implements F
      * @see Statement#execute
      */
     public boolean execute() throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             checkValidity();
             notifyStatementStarted();
             
@@ -749,7 +786,7 @@ public abstract class AbstractPreparedStatement extends FBStatement implements F
      *             if something went wrong or no result set was available.
      */
     ResultSet executeMetaDataQuery() throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             checkValidity();
             notifyStatementStarted();
 
@@ -782,7 +819,7 @@ public abstract class AbstractPreparedStatement extends FBStatement implements F
         if (!canExecute)
             throw new FBMissingParameterException("Not all parameters were set.", isParamSet);
 
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             flushFields();
 
             try {
@@ -867,7 +904,7 @@ public abstract class AbstractPreparedStatement extends FBStatement implements F
 
     @Override
     protected List<Long> executeBatchInternal() throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             checkValidity();
             final BatchStatementListener batchStatementListener;
             boolean commit = false;
@@ -885,10 +922,12 @@ public abstract class AbstractPreparedStatement extends FBStatement implements F
                 final Iterator<Object> iter = batchList.iterator();
 
                 try {
+                    final BatchBlobWriter batchBlobWriter = writeBatchBlobs();
+                    int row = 0;
                     while (iter.hasNext()) {
                         RowValue data = (RowValue) iter.next();
 
-                        executeSingleForBatch(data, results);
+                        executeSingleForBatch(data, results, batchBlobWriter, row++);
                     }
 
                     commit = true;
@@ -912,7 +951,43 @@ public abstract class AbstractPreparedStatement extends FBStatement implements F
         }
     }
 
-    private void executeSingleForBatch(RowValue data, List<Long> results) throws SQLException {
+    /**
+     * Writes the blobs of all batched rows ahead of executing the rows (write-behind).
+     * <p>
+     * This allows the blob operations of all rows to be pipelined, instead of creating and writing the blobs of
+     * each row synchronously before its execution.
+     * </p>
+     *
+     * @return Batch blob writer with the written blob ids and blob failures per row, or {@code null} if the batch
+     * has no blob data
+     * @throws SQLException
+     *         For database connection errors
+     */
+    private BatchBlobWriter writeBatchBlobs() throws SQLException {
+        final BatchBlobWriter batchBlobWriter = new BatchBlobWriter(batchList.size(), fieldValues.getCount());
+        for (int row = 0; row < batchList.size(); row++) {
+            final RowValue data = (RowValue) batchList.get(row);
+            for (int i = 0; i < fieldValues.getCount(); i++) {
+                final FBField field = getField(i + 1);
+                if (!(field instanceof FBFlushableField)) continue;
+
+                final CachedObject cachedObject = (CachedObject) data.getFieldValue(i).getCachedObject();
+                if (cachedObject != null && cachedObject.hasData()) {
+                    batchBlobWriter.addBlob(row, i, (FBFlushableField) field, cachedObject);
+                }
+            }
+        }
+        if (batchBlobWriter.isEmpty()) return null;
+
+        batchBlobWriter.writeBlobs(gdsHelper);
+        return batchBlobWriter;
+    }
+
+    private void executeSingleForBatch(RowValue data, List<Long> results, BatchBlobWriter batchBlobWriter, int row)
+            throws SQLException {
+        if (batchBlobWriter != null && batchBlobWriter.getFailure(row) != null) {
+            throw batchBlobWriter.getFailure(row);
+        }
         for (int i = 0; i < fieldValues.getCount(); i++) {
             FieldValue fieldValue = fieldValues.getFieldValue(i);
             fieldValue.reset();
@@ -921,7 +996,13 @@ public abstract class AbstractPreparedStatement extends FBStatement implements F
             if (field instanceof FBFlushableField) {
                 // Explicitly set to null to ensure initialized property set to true
                 fieldValue.setFieldData(null);
-                ((FBFlushableField) field).setCachedObject((CachedObject) data.getFieldValue(i).getCachedObject());
+                final long blobId = batchBlobWriter != null ? batchBlobWriter.getBlobId(row, i) : FbBlob.NO_BLOB_ID;
+                if (blobId != FbBlob.NO_BLOB_ID) {
+                    // Blob already written by writeBatchBlobs
+                    field.setBlob(new FBBlob(gdsHelper, blobId));
+                } else {
+                    ((FBFlushableField) field).setCachedObject((CachedObject) data.getFieldValue(i).getCachedObject());
+                }
             } else {
                 fieldValue.setFieldData(data.getFieldValue(i).getFieldData());
             }
@@ -1228,7 +1309,10 @@ public abstract class AbstractPreparedStatement extends FBStatement implements F
      */
     protected void prepareFixedStatement(String sql) throws SQLException {
         super.prepareFixedStatement(sql);
+        initParameters();
+    }
 
+    private void initParameters() throws SQLException {
         RowDescriptor rowDescriptor = fbStatement.getParameterDescriptor();
         assert rowDescriptor != null : "RowDescriptor should not be null after prepare";
 
@@ -1244,6 +1328,35 @@ public abstract class AbstractPreparedStatement extends FBStatement implements F
         }
 
         this.isExecuteProcedureStatement = fbStatement.getType() == StatementType.STORED_PROCEDURE;
+        this.isSelectWithoutBlobParameters = fbStatement.getType() == StatementType.SELECT && !hasFlushableFields();
+    }
+
+    private boolean hasFlushableFields() {
+        for (FBField field : fields) {
+            if (field instanceof FBFlushableField) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    boolean isReadOnlyQuery() throws SQLException {
+        // Blob parameters are created in the current transaction, and cannot be used in another transaction
+        return useSharedReadOnlyTransaction && isSelectWithoutBlobParameters
+                && getResultSetConcurrency() == ResultSet.CONCUR_READ_ONLY;
+    }
+
+    @Override
+    public void setUseSharedReadOnlyTransaction(boolean useSharedReadOnlyTransaction) throws SQLException {
+        checkValidity();
+        this.useSharedReadOnlyTransaction = useSharedReadOnlyTransaction;
+    }
+
+    @Override
+    public boolean isUseSharedReadOnlyTransaction() throws SQLException {
+        checkValidity();
+        return useSharedReadOnlyTransaction;
     }
 
     /**
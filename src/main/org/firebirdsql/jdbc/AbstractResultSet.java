@@ -29,6 +29,7 @@ import org.firebirdsql.gds.JaybirdErrorCodes;
 import org.firebirdsql.gds.impl.GDSHelper;
 import org.firebirdsql.gds.ng.FbExceptionBuilder;
 import org.firebirdsql.gds.ng.FbStatement;
+import org.firebirdsql.gds.ng.LockCloseable;
 import org.firebirdsql.gds.ng.fields.RowDescriptor;
 import org.firebirdsql.gds.ng.fields.RowValue;
 import org.firebirdsql.jdbc.field.*;
@@ -330,6 +331,11 @@ public abstract class AbstractResultSet implements ResultSet, FirebirdResultSet,
         return fbStatement.getSynchronizationObject();
     }
 
+    @Override
+    public final LockCloseable withLock() {
+        return fbStatement.withLock();
+    }
+
     /**
      * Moves the cursor down one row from its current position.
      * A <code>ResultSet</code> cursor is initially positioned
@@ -0,0 +1,153 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.jdbc;
+
+import org.firebirdsql.gds.DatabaseParameterBuffer;
+import org.firebirdsql.gds.impl.DatabaseParameterBufferExtension;
+import org.firebirdsql.gds.impl.GDSHelper;
+import org.firebirdsql.gds.ng.BlobWriteCallback;
+import org.firebirdsql.gds.ng.FbBlob;
+import org.firebirdsql.jdbc.field.FBFlushableField;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes the blobs of the cached objects of all rows of a batch ahead of executing the rows (write-behind).
+ * <p>
+ * The blobs are written with {@link GDSHelper#writeBlobs(boolean, int, BlobWriteCallback)}, which allows the
+ * implementation to pipeline the blob operations of all rows. The resulting blob ids, and the first blob failure of
+ * each row, are recorded by row index, so a failure can be attributed to the row in the batch it belongs to.
+ * </p>
+ *
+ * @since 4.0
+ */
+final class BatchBlobWriter implements BlobWriteCallback {
+
+    private final List<BatchBlob> blobs = new ArrayList<>();
+    private final long[][] blobIds;
+    private final SQLException[] rowFailures;
+
+    /**
+     * @param rowCount
+     *         Number of rows in the batch
+     * @param fieldCount
+     *         Number of fields (parameters) per row
+     */
+    BatchBlobWriter(int rowCount, int fieldCount) {
+        blobIds = new long[rowCount][fieldCount];
+        rowFailures = new SQLException[rowCount];
+    }
+
+    /**
+     * Adds the cached object of a field of a row for writing.
+     *
+     * @param row
+     *         Index of the row in the batch
+     * @param fieldIndex
+     *         Index of the field (0-based)
+     * @param field
+     *         Flushable field (used for writing the cached object)
+     * @param cachedObject
+     *         Cached object with data
+     */
+    void addBlob(int row, int fieldIndex, FBFlushableField field, FBFlushableField.CachedObject cachedObject) {
+        blobs.add(new BatchBlob(row, fieldIndex, field, cachedObject));
+    }
+
+    /**
+     * @return {@code true} if no blobs have been added
+     */
+    boolean isEmpty() {
+        return blobs.isEmpty();
+    }
+
+    /**
+     * Writes all added blobs.
+     *
+     * @param gdsHelper
+     *         GDS helper of the connection
+     * @throws SQLException
+     *         For database connection errors (failures of individual blobs are recorded per row)
+     */
+    void writeBlobs(GDSHelper gdsHelper) throws SQLException {
+        final DatabaseParameterBuffer dpb = gdsHelper.getDatabaseParameterBuffer();
+        final boolean useStreamBlobs = dpb.hasArgument(DatabaseParameterBufferExtension.USE_STREAM_BLOBS);
+        gdsHelper.writeBlobs(!useStreamBlobs, blobs.size(), this);
+    }
+
+    /**
+     * @param row
+     *         Index of the row in the batch
+     * @return First exception writing a blob of the row, or {@code null} if all blobs of the row were written
+     */
+    SQLException getFailure(int row) {
+        return rowFailures[row];
+    }
+
+    /**
+     * @param row
+     *         Index of the row in the batch
+     * @param fieldIndex
+     *         Index of the field (0-based)
+     * @return Id of the blob written for the field, or {@link FbBlob#NO_BLOB_ID} if no blob was written
+     */
+    long getBlobId(int row, int fieldIndex) {
+        return blobIds[row][fieldIndex];
+    }
+
+    @Override
+    public void writeContent(int index, OutputStream out) throws IOException {
+        final BatchBlob blob = blobs.get(index);
+        blob.field.writeCachedObject(blob.cachedObject, out);
+    }
+
+    @Override
+    public void blobWritten(int index, long blobId) {
+        final BatchBlob blob = blobs.get(index);
+        blobIds[blob.row][blob.fieldIndex] = blobId;
+    }
+
+    @Override
+    public void blobWriteFailed(int index, SQLException exception) {
+        final int row = blobs.get(index).row;
+        if (rowFailures[row] == null) {
+            rowFailures[row] = exception;
+        }
+    }
+
+    private static final class BatchBlob {
+
+        private final int row;
+        private final int fieldIndex;
+        private final FBFlushableField field;
+        private final FBFlushableField.CachedObject cachedObject;
+
+        private BatchBlob(int row, int fieldIndex, FBFlushableField field,
+                FBFlushableField.CachedObject cachedObject) {
+            this.row = row;
+            this.fieldIndex = fieldIndex;
+            this.field = field;
+            this.cachedObject = cachedObject;
+        }
+    }
+}
@@ -23,9 +23,11 @@ import org.firebirdsql.gds.ISCConstants;
 import org.firebirdsql.gds.VaxEncoding;
 import org.firebirdsql.gds.impl.GDSHelper;
 import org.firebirdsql.gds.ng.FbBlob;
+import org.firebirdsql.gds.ng.LockCloseable;
 import org.firebirdsql.util.SQLExceptionChainBuilder;
 
 import java.io.*;
+import java.nio.charset.Charset;
 import java.sql.Blob;
 import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
@@ -37,6 +39,7 @@ import java.util.HashSet;
 /**
  * Firebird implementation of {@link java.sql.Blob}.
  */
+@SuppressWarnings("try")
 public class FBBlob implements FirebirdBlob, Synchronizable {
 
     public static final boolean SEGMENTED = true;
@@ -108,6 +111,11 @@ public class FBBlob implements FirebirdBlob, Synchronizable {
         return gdsHelper.getSynchronizationObject();
     }
 
+    @Override
+    public final LockCloseable withLock() {
+        return gdsHelper.withLock();
+    }
+
     /**
      * This method frees the <code>Blob</code> object and releases the resources that
      * it holds. The object is invalid once the <code>free</code>
@@ -126,7 +134,7 @@ public class FBBlob implements FirebirdBlob, Synchronizable {
      * @since 1.6
      */
     public void free() throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             SQLExceptionChainBuilder<SQLException> chain = new SQLExceptionChainBuilder<>();
 
             for (FBBlobInputStream blobIS : new ArrayList<>(inputStreams)) {
@@ -176,7 +184,7 @@ public class FBBlob implements FirebirdBlob, Synchronizable {
      * @throws SQLException if something went wrong.
      */
     public byte[] getInfo(byte[] items, int buffer_length) throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             blobListener.executionStarted(this);
             try {
                 // TODO Does it make sense to close blob here?
@@ -295,7 +303,7 @@ public class FBBlob implements FirebirdBlob, Synchronizable {
                     "due to isc_seek_blob limitations.",
                     SQLStateConstants.SQL_STATE_INVALID_ARG_VALUE);
 
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             blobListener.executionStarted(this);
             try {
                 FirebirdBlob.BlobInputStream in = (FirebirdBlob.BlobInputStream) getBinaryStream();
@@ -318,7 +326,7 @@ public class FBBlob implements FirebirdBlob, Synchronizable {
     }
 
     public InputStream getBinaryStream() throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             FBBlobInputStream blobstream = new FBBlobInputStream(this);
             inputStreams.add(blobstream);
             return blobstream;
@@ -496,20 +504,13 @@ public class FBBlob implements FirebirdBlob, Synchronizable {
             copyCharacterStream(reader, encoding);
             return;
         }
-        try (OutputStream os = setBinaryStream(1);
-             Writer osw = encoding.createWriter(os)) {
-
+        try (Writer writer = setCharacterStream(1, encoding)) {
             final char[] buffer = new char[(int) Math.min(bufferLength, length)];
             int chunk;
             while (length > 0 && (chunk = reader.read(buffer, 0, (int) Math.min(buffer.length, length))) != -1) {
-                osw.write(buffer, 0, chunk);
+                writer.write(buffer, 0, chunk);
                 length -= chunk;
             }
-        } catch (UnsupportedEncodingException ex) {
-            throw new SQLException("Cannot set character stream because " +
-                    "the encoding '" + encoding + "' is unsupported in the JVM. " +
-                    "Please report this to the driver developers."
-            );
         } catch (IOException ioe) {
             throw new SQLException(ioe);
         }
@@ -524,20 +525,93 @@ public class FBBlob implements FirebirdBlob, Synchronizable {
      * @param encoding The encoding used in the character stream
      */
     public void copyCharacterStream(Reader reader, Encoding encoding) throws SQLException {
-        try (OutputStream os = setBinaryStream(1);
-             Writer osw = encoding.createWriter(os)) {
+        try (Writer writer = setCharacterStream(1, encoding)) {
             final char[] buffer = new char[bufferLength];
             int chunk;
             while ((chunk = reader.read(buffer, 0, buffer.length)) != -1) {
-                osw.write(buffer, 0, chunk);
+                writer.write(buffer, 0, chunk);
             }
-        } catch (UnsupportedEncodingException ex) {
-            throw new SQLException("Cannot set character stream because " +
-                    "the encoding '" + encoding + "' is unsupported in the JVM. " +
-                    "Please report this to the driver developers."
-            );
         } catch (IOException ioe) {
             throw new SQLException(ioe);
         }
     }
+
+    /**
+     * Copy a string into this Blob.
+     * <p>
+     * The string is encoded incrementally into blob segments, without creating an encoded copy of the whole string.
+     * </p>
+     *
+     * @param value the string to copy
+     * @param encoding The encoding to use for the string
+     * @throws SQLException if a database access error occurs
+     * @since 4.0
+     */
+    public void copyString(String value, Encoding encoding) throws SQLException {
+        try (Writer writer = setCharacterStream(1, encoding)) {
+            writer.write(value);
+        } catch (IOException ioe) {
+            throw new SQLException(ioe);
+        }
+    }
+
+    /**
+     * Gets the content of this Blob as a string.
+     * <p>
+     * The blob is decoded segment by segment, without creating a copy of the whole encoded content.
+     * </p>
+     *
+     * @param encoding The encoding of the blob content
+     * @return Decoded content of this blob
+     * @throws SQLException if a database access error occurs
+     * @since 4.0
+     */
+    public String getString(Encoding encoding) throws SQLException {
+        try (Reader reader = getCharacterStream(encoding)) {
+            final StringBuilder sb = new StringBuilder();
+            final char[] buffer = new char[bufferLength];
+            int chunk;
+            while ((chunk = reader.read(buffer, 0, buffer.length)) != -1) {
+                sb.append(buffer, 0, chunk);
+            }
+            return sb.toString();
+        } catch (IOException ioe) {
+            throw new FBSQLException(ioe);
+        }
+    }
+
+    /**
+     * Gets a reader which decodes the content of this Blob segment by segment.
+     *
+     * @param encoding The encoding of the blob content
+     * @return Reader over the content of this blob
+     * @throws SQLException if a database access error occurs
+     * @since 4.0
+     */
+    public Reader getCharacterStream(Encoding encoding) throws SQLException {
+        return new FBBlobReader(getBinaryStream(), getCharset(encoding), bufferLength);
+    }
+
+    /**
+     * Gets a writer which encodes characters directly into the segments of this Blob.
+     *
+     * @param pos The position at which to start writing (only {@code 1} is supported)
+     * @param encoding The encoding to use for the characters
+     * @return Writer to this blob
+     * @throws SQLException if a database access error occurs
+     * @since 4.0
+     */
+    public Writer setCharacterStream(long pos, Encoding encoding) throws SQLException {
+        final Charset charset = getCharset(encoding);
+        return new FBBlobWriter(setBinaryStream(pos), charset, bufferLength);
+    }
+
+    private static Charset getCharset(Encoding encoding) throws SQLException {
+        try {
+            return Charset.forName(encoding.getCharsetName());
+        } catch (IllegalArgumentException e) {
+            throw new SQLException("Cannot use encoding '" + encoding.getCharsetName()
+                    + "' because it is unsupported in the JVM. Please report this to the driver developers.", e);
+        }
+    }
 }
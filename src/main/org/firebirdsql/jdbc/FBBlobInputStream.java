@@ -21,6 +21,7 @@
 package org.firebirdsql.jdbc;
 
 import org.firebirdsql.gds.ng.FbBlob;
+import org.firebirdsql.gds.ng.LockCloseable;
 
 import java.io.EOFException;
 import java.io.IOException;
@@ -30,17 +31,18 @@ import java.sql.SQLException;
 /**
  * An input stream for reading directly from a FBBlob instance.
  */
+@SuppressWarnings("try")
 public final class FBBlobInputStream extends InputStream implements FirebirdBlob.BlobInputStream {
 
-    /**
-     * Maximum blob segment size, see IB 6 Data Definition Guide, page 78 ("BLOB segment length")
-     */
-    private static final int READ_FULLY_BUFFER_SIZE = 32 * 1024;
     private static final byte[] EMPTY_BUFFER = new byte[0];
 
-    private byte[] buffer = EMPTY_BUFFER;
+    /**
+     * Buffer for segments read from the blob, allocated once and reused for every segment.
+     */
+    private byte[] buffer;
     private FbBlob blobHandle;
     private int pos = 0;
+    private int lim = 0;
 
     private boolean closed;
 
@@ -52,8 +54,9 @@ public final class FBBlobInputStream extends InputStream implements FirebirdBlob
 
         this.owner = owner;
         closed = false;
+        buffer = new byte[owner.getBufferLength()];
 
-        synchronized (owner.getSynchronizationObject()) {
+        try (LockCloseable ignored = owner.withLock()) {
             blobHandle = owner.getGdsHelper().openBlob(owner.getBlobId(), FBBlob.SEGMENTED);
         }
     }
@@ -71,7 +74,7 @@ public final class FBBlobInputStream extends InputStream implements FirebirdBlob
     }
 
     public void seek(int position, FbBlob.SeekMode seekMode) throws IOException {
-        synchronized (owner.getSynchronizationObject()) {
+        try (LockCloseable ignored = owner.withLock()) {
             checkClosed();
             try {
                 blobHandle.seek(position, seekMode);
@@ -82,7 +85,7 @@ public final class FBBlobInputStream extends InputStream implements FirebirdBlob
     }
 
     public long length() throws IOException {
-        synchronized (owner.getSynchronizationObject()) {
+        try (LockCloseable ignored = owner.withLock()) {
             checkClosed();
             try {
                 return blobHandle.length();
@@ -93,8 +96,7 @@ public final class FBBlobInputStream extends InputStream implements FirebirdBlob
     }
 
     public int available() throws IOException {
-        assert buffer != null : "Buffer should never be null";
-        return buffer.length - pos;
+        return lim - pos;
     }
 
     /**
@@ -104,23 +106,33 @@ public final class FBBlobInputStream extends InputStream implements FirebirdBlob
      * @throws IOException if an I/O error occurs, or if the stream has been closed.
      */
     private int checkBuffer() throws IOException {
-        assert buffer != null : "Buffer should never be null";
-        synchronized (owner.getSynchronizationObject()) {
+        try (LockCloseable ignored = owner.withLock()) {
             checkClosed();
-            if (pos < buffer.length) {
-                return buffer.length - pos;
-            }
-            if (blobHandle.isEof()) {
-                return -1;
+            if (pos < lim) {
+                return lim - pos;
             }
+            final int count = readSegment(buffer, 0, buffer.length);
+            pos = 0;
+            lim = Math.max(count, 0);
+            return count;
+        }
+    }
 
-            try {
-                buffer = blobHandle.getSegment(owner.getBufferLength());
-                pos = 0;
-                return buffer.length != 0 ? buffer.length : -1;
-            } catch (SQLException ge) {
-                throw new IOException("Blob read problem: " + ge.toString(), ge);
-            }
+    /**
+     * Reads a segment from the blob into the specified buffer.
+     *
+     * @return The number of bytes read, or <code>-1</code> if the end of the stream is reached.
+     * @throws IOException if an I/O error occurs.
+     */
+    private int readSegment(byte[] b, int off, int len) throws IOException {
+        if (blobHandle.isEof()) {
+            return -1;
+        }
+        try {
+            final int count = blobHandle.getSegment(b, off, len);
+            return count != 0 ? count : -1;
+        } catch (SQLException ge) {
+            throw new IOException("Blob read problem: " + ge.toString(), ge);
         }
     }
 
@@ -140,6 +152,14 @@ public final class FBBlobInputStream extends InputStream implements FirebirdBlob
             return 0;
         }
 
+        try (LockCloseable ignored = owner.withLock()) {
+            checkClosed();
+            if (pos == lim && len >= buffer.length) {
+                // Nothing buffered, and at least a full buffer requested: read directly into b (saves copying)
+                return readSegment(b, off, len);
+            }
+        }
+
         final int toCopy = Math.min(checkBuffer(), len);
         if (toCopy == -1) {
             return -1;
@@ -160,12 +180,9 @@ public final class FBBlobInputStream extends InputStream implements FirebirdBlob
 
         int counter = 0;
         int pos = off;
-        byte[] buffer = new byte[Math.min(READ_FULLY_BUFFER_SIZE, len)];
-
         int toRead = len;
 
-        while (toRead > 0 && (counter = read(buffer, 0, Math.min(toRead, buffer.length))) != -1) {
-            System.arraycopy(buffer, 0, b, pos, counter);
+        while (toRead > 0 && (counter = read(b, pos, toRead)) != -1) {
             pos += counter;
             toRead -= counter;
         }
@@ -179,7 +196,7 @@ public final class FBBlobInputStream extends InputStream implements FirebirdBlob
     }
 
     public void close() throws IOException {
-        synchronized (owner.getSynchronizationObject()) {
+        try (LockCloseable ignored = owner.withLock()) {
             if (blobHandle != null) {
                 try {
                     blobHandle.close();
@@ -191,6 +208,7 @@ public final class FBBlobInputStream extends InputStream implements FirebirdBlob
                 closed = true;
                 buffer = EMPTY_BUFFER;
                 pos = 0;
+                lim = 0;
             }
         }
     }
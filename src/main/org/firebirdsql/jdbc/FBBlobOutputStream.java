@@ -23,6 +23,7 @@ package org.firebirdsql.jdbc;
 import org.firebirdsql.gds.DatabaseParameterBuffer;
 import org.firebirdsql.gds.impl.DatabaseParameterBufferExtension;
 import org.firebirdsql.gds.ng.FbBlob;
+import org.firebirdsql.gds.ng.LockCloseable;
 
 import java.io.IOException;
 import java.io.OutputStream;
@@ -31,6 +32,7 @@ import java.sql.SQLException;
 /**
  * {@link java.io.OutputStream} for writing Firebird blobs.
  */
+@SuppressWarnings("try")
 public final class FBBlobOutputStream extends OutputStream implements FirebirdBlob.BlobOutputStream {
 
     private static final byte[] EMPTY_BUFFER = new byte[0];
@@ -44,7 +46,7 @@ public final class FBBlobOutputStream extends OutputStream implements FirebirdBl
         this.owner = owner;
         buf = new byte[owner.getBufferLength()];
 
-        synchronized (owner.getSynchronizationObject()) {
+        try (LockCloseable ignored = owner.withLock()) {
             DatabaseParameterBuffer dpb = owner.getGdsHelper().getDatabaseParameterBuffer();
             boolean useStreamBlobs = dpb.hasArgument(DatabaseParameterBufferExtension.USE_STREAM_BLOBS);
             blobHandle = owner.getGdsHelper().createBlob(!useStreamBlobs);
@@ -62,7 +64,7 @@ public final class FBBlobOutputStream extends OutputStream implements FirebirdBl
 
     @Override
     public long length() throws IOException {
-        synchronized (owner.getSynchronizationObject()) {
+        try (LockCloseable ignored = owner.withLock()) {
             checkClosed();
             try {
                 return blobHandle.length();
@@ -90,16 +92,20 @@ public final class FBBlobOutputStream extends OutputStream implements FirebirdBl
     }
 
     /**
-     * Writes a byte array directly to the blob.
+     * Writes a section of a byte array directly to the blob.
      *
      * @param buf
      *         Byte array to write
+     * @param off
+     *         Offset in buf
+     * @param len
+     *         Length to write
      * @throws SQLException
      *         For errors writing to the blob
      */
-    private void writeSegment(byte[] buf) throws SQLException {
-        synchronized (owner.getSynchronizationObject()) {
-            blobHandle.putSegment(buf);
+    private void writeSegment(byte[] buf, int off, int len) throws SQLException {
+        try (LockCloseable ignored = owner.withLock()) {
+            blobHandle.putSegment(buf, off, len);
         }
     }
 
@@ -148,32 +154,14 @@ public final class FBBlobOutputStream extends OutputStream implements FirebirdBl
      */
     private void writeInternal(byte[] b, int off, int len) throws IOException {
         try {
-            if (off == 0 && len == b.length && len <= owner.getBufferLength()) {
-                /*
-                 * If we are just writing the entire byte array, we need to
-                 * do nothing but just write it over
-                 */
-                writeSegment(b);
-            } else {
-                /*
-                 * In this case, we need to chunk it over since <code>putBlobSegment</code>
-                 * cannot currently support length and offset.
-                 */
-                int chunk = Math.min(owner.getBufferLength(), len);
-                byte[] buffer = new byte[chunk];
-                while (len > 0) {
-                    chunk = Math.min(len, chunk);
-
-                    // this allows us to reuse the buffer if its size has not changed
-                    if (chunk != buffer.length) {
-                        buffer = new byte[chunk];
-                    }
-                    System.arraycopy(b, off, buffer, 0, chunk);
-                    writeSegment(buffer);
-
-                    len -= chunk;
-                    off += chunk;
-                }
+            // Segments are written directly from b in chunks of at most the buffer length (no copying)
+            final int maxChunk = owner.getBufferLength();
+            while (len > 0) {
+                final int chunk = Math.min(len, maxChunk);
+                writeSegment(b, off, chunk);
+
+                len -= chunk;
+                off += chunk;
             }
         } catch (SQLException ge) {
             throw new IOException("Problem writing to FBBlobOutputStream: " + ge.getMessage(), ge);
@@ -194,7 +182,7 @@ public final class FBBlobOutputStream extends OutputStream implements FirebirdBl
         flush();
 
         try {
-            synchronized (owner.getSynchronizationObject()) {
+            try (LockCloseable ignored = owner.withLock()) {
                 blobHandle.close();
             }
             owner.setBlobId(blobHandle.getBlobId());
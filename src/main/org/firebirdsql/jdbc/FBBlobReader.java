@@ -0,0 +1,162 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.jdbc;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * {@link Reader} that incrementally decodes the bytes of a blob input stream.
+ * <p>
+ * Bytes are read from the input stream into a fixed byte buffer sized to the blob buffer length (for a
+ * {@link FBBlobInputStream} this reads a segment directly into the buffer), and decoded with a {@link CharsetDecoder}
+ * into a fixed character buffer. Memory consumption is independent of the total length of the blob.
+ * </p>
+ * <p>
+ * Like {@link String#String(byte[], Charset)}, malformed input and unmappable characters are replaced.
+ * </p>
+ *
+ * @since 4.0
+ */
+final class FBBlobReader extends Reader {
+
+    private static final int MINIMUM_BUFFER_LENGTH = 16;
+
+    private final InputStream in;
+    private final CharsetDecoder decoder;
+    private final ByteBuffer byteBuffer;
+    private final CharBuffer charBuffer;
+    private boolean endOfInput;
+    private boolean decodingComplete;
+    private boolean closed;
+
+    /**
+     * Creates a blob reader.
+     *
+     * @param in
+     *         Input stream to read the encoded bytes from (usually a {@link FBBlobInputStream})
+     * @param charset
+     *         Character set to decode with
+     * @param bufferLength
+     *         Length of the byte and character buffers
+     */
+    FBBlobReader(InputStream in, Charset charset, int bufferLength) {
+        this.in = in;
+        decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        final int length = Math.max(bufferLength, MINIMUM_BUFFER_LENGTH);
+        byteBuffer = ByteBuffer.allocate(length);
+        charBuffer = CharBuffer.allocate(length);
+        // Character buffer is kept ready for reading
+        charBuffer.flip();
+    }
+
+    @Override
+    public int read() throws IOException {
+        checkClosed();
+        if (!charBuffer.hasRemaining() && !fill()) {
+            return -1;
+        }
+        return charBuffer.get();
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        checkClosed();
+        if (off < 0 || len < 0 || len > cbuf.length - off) {
+            throw new IndexOutOfBoundsException();
+        } else if (len == 0) {
+            return 0;
+        }
+        if (!charBuffer.hasRemaining() && !fill()) {
+            return -1;
+        }
+        final int chunk = Math.min(len, charBuffer.remaining());
+        charBuffer.get(cbuf, off, chunk);
+        return chunk;
+    }
+
+    @Override
+    public boolean ready() throws IOException {
+        checkClosed();
+        return charBuffer.hasRemaining();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        in.close();
+    }
+
+    /**
+     * Reads and decodes bytes until at least one character is available, or the end of the stream is reached.
+     *
+     * @return {@code true} if characters are available, {@code false} at the end of the stream
+     */
+    private boolean fill() throws IOException {
+        charBuffer.clear();
+        try {
+            while (charBuffer.position() == 0 && !decodingComplete) {
+                if (!endOfInput && byteBuffer.hasRemaining()) {
+                    readBytes();
+                }
+                byteBuffer.flip();
+                final CoderResult result;
+                try {
+                    result = decoder.decode(byteBuffer, charBuffer, endOfInput);
+                } finally {
+                    byteBuffer.compact();
+                }
+                if (result.isError()) {
+                    result.throwException();
+                } else if (endOfInput && result.isUnderflow()) {
+                    decoder.flush(charBuffer);
+                    decodingComplete = true;
+                }
+            }
+        } finally {
+            charBuffer.flip();
+        }
+        return charBuffer.hasRemaining();
+    }
+
+    private void readBytes() throws IOException {
+        final int count = in.read(byteBuffer.array(), byteBuffer.position(), byteBuffer.remaining());
+        if (count == -1) {
+            endOfInput = true;
+        } else {
+            byteBuffer.position(byteBuffer.position() + count);
+        }
+    }
+
+    private void checkClosed() throws IOException {
+        if (closed) {
+            throw new IOException("Reader is already closed.");
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.jdbc;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * {@link Writer} that incrementally encodes characters into a blob output stream.
+ * <p>
+ * Characters are encoded with a {@link CharsetEncoder} using a fixed character buffer and a fixed byte buffer sized
+ * to the blob buffer length, so that each full byte buffer is written as one blob segment. Memory consumption is
+ * independent of the total length of the written text.
+ * </p>
+ * <p>
+ * Like {@link String#getBytes(Charset)}, malformed input and unmappable characters are replaced.
+ * </p>
+ *
+ * @since 4.0
+ */
+public final class FBBlobWriter extends Writer {
+
+    private static final int MINIMUM_BUFFER_LENGTH = 16;
+
+    private final OutputStream out;
+    private final CharsetEncoder encoder;
+    private final CharBuffer charBuffer;
+    private final ByteBuffer byteBuffer;
+    private boolean closed;
+
+    /**
+     * Creates a blob writer.
+     *
+     * @param out
+     *         Output stream to write the encoded bytes to (usually a {@link FBBlobOutputStream})
+     * @param charset
+     *         Character set to encode with
+     * @param bufferLength
+     *         Length of the character and byte buffers
+     */
+    public FBBlobWriter(OutputStream out, Charset charset, int bufferLength) {
+        this.out = out;
+        encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        final int length = Math.max(bufferLength, MINIMUM_BUFFER_LENGTH);
+        charBuffer = CharBuffer.allocate(length);
+        byteBuffer = ByteBuffer.allocate(length);
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        checkClosed();
+        charBuffer.put((char) c);
+        if (!charBuffer.hasRemaining()) {
+            encodeBuffered(false);
+        }
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        checkClosed();
+        if (off < 0 || len < 0 || len > cbuf.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        while (len > 0) {
+            final int chunk = Math.min(len, charBuffer.remaining());
+            charBuffer.put(cbuf, off, chunk);
+            off += chunk;
+            len -= chunk;
+            if (!charBuffer.hasRemaining()) {
+                encodeBuffered(false);
+            }
+        }
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        // Overridden to prevent Writer from copying the (potentially large) string section to a char array
+        checkClosed();
+        if (off < 0 || len < 0 || len > str.length() - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        while (len > 0) {
+            final int chunk = Math.min(len, charBuffer.remaining());
+            charBuffer.put(str, off, off + chunk);
+            off += chunk;
+            len -= chunk;
+            if (!charBuffer.hasRemaining()) {
+                encodeBuffered(false);
+            }
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        checkClosed();
+        encodeBuffered(false);
+        writeBytes();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        try {
+            encodeBuffered(true);
+            while (encoder.flush(byteBuffer).isOverflow()) {
+                writeBytes();
+            }
+            writeBytes();
+        } finally {
+            closed = true;
+            out.close();
+        }
+    }
+
+    /**
+     * Encodes the buffered characters, writing the byte buffer to the output stream each time it is full.
+     * <p>
+     * Characters that can't be encoded yet (eg a high surrogate without its low surrogate) remain buffered.
+     * </p>
+     *
+     * @param endOfInput
+     *         {@code true} if no further characters will be written
+     */
+    private void encodeBuffered(boolean endOfInput) throws IOException {
+        charBuffer.flip();
+        try {
+            CoderResult result;
+            while ((result = encoder.encode(charBuffer, byteBuffer, endOfInput)).isOverflow()) {
+                writeBytes();
+            }
+            if (result.isError()) {
+                result.throwException();
+            }
+        } finally {
+            charBuffer.compact();
+        }
+    }
+
+    private void writeBytes() throws IOException {
+        if (byteBuffer.position() > 0) {
+            out.write(byteBuffer.array(), 0, byteBuffer.position());
+            byteBuffer.clear();
+        }
+    }
+
+    private void checkClosed() throws IOException {
+        if (closed) {
+            throw new IOException("Writer is already closed.");
+        }
+    }
+}
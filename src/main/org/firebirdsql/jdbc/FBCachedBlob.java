@@ -18,6 +18,7 @@
  */
 package org.firebirdsql.jdbc;
 
+import org.firebirdsql.gds.ng.LockCloseable;
 import org.firebirdsql.gds.ng.SyncObject;
 
 import java.sql.SQLException;
@@ -33,7 +34,7 @@ public final class FBCachedBlob implements FirebirdBlob, Synchronizable {
     private static final InputStream STREAM_NULL_VALUE = null;
     static final String BLOB_READ_ONLY = "Cached blob is read-only";
 
-    private final Object syncObject = new SyncObject();
+    private final SyncObject syncObject = new SyncObject();
 
     private byte[] blobData;
 
@@ -176,6 +177,11 @@ public final class FBCachedBlob implements FirebirdBlob, Synchronizable {
         return syncObject;
     }
 
+    @Override
+    public final LockCloseable withLock() {
+        return syncObject.withLock();
+    }
+
     public void free() throws SQLException {
         this.blobData = null;
     }
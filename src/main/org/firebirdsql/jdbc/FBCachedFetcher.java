@@ -61,6 +61,7 @@ class FBCachedFetcher implements FBFetcher {
 
         RowListener rowListener = new RowListener();
         stmt_handle.addStatementListener(rowListener);
+        stmt_handle.setMaxRows(maxRows);
         try {
             int actualFetchSize = getFetchSize();
             while (!rowListener.isAllRowsFetched() && (maxRows == 0 || rowListener.size() < maxRows)) {
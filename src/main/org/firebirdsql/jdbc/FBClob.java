@@ -20,12 +20,11 @@ package org.firebirdsql.jdbc;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.io.UnsupportedEncodingException;
 import java.io.Writer;
+import java.nio.charset.Charset;
 import java.sql.Clob;
 import java.sql.NClob;
 import java.sql.SQLException;
@@ -137,17 +136,7 @@ public class FBClob implements Clob, NClob {
 	 * @see <a href="package-summary.html#2.0 API">What Is in the JDBC 2.0 API</a>
 	 */
 	public Reader getCharacterStream() throws SQLException {
-		String encoding = getWrappedBlob().getGdsHelper().getJavaEncoding();
-		InputStream inputStream = wrappedBlob.getBinaryStream();
-		if (encoding == null) {
-			return new InputStreamReader(inputStream);
-		} else {
-			try {
-				return new InputStreamReader(wrappedBlob.getBinaryStream(), encoding);
-			} catch (IOException ioe) {
-				throw new FBSQLException(ioe);
-			}
-		}
+		return new FBBlobReader(wrappedBlob.getBinaryStream(), getCharset(), wrappedBlob.getBufferLength());
 	}
 
 	/**
@@ -263,18 +252,9 @@ public class FBClob implements Clob, NClob {
 	 *                <description>
 	 */
 	public Writer setCharacterStream(long position) throws SQLException {
-		String encoding = wrappedBlob.getGdsHelper().getJavaEncoding();
 		// FIXME: This is wrong for multibyte charactersets; doesn't matter right now as setBinaryStream isn't implemented for position > 1
 		OutputStream outputStream = wrappedBlob.setBinaryStream(position);
-		if (encoding == null) {
-			return new OutputStreamWriter(outputStream);
-		} else {
-			try {
-				return new OutputStreamWriter(outputStream, encoding);
-			} catch (UnsupportedEncodingException ioe) {
-				throw new FBSQLException(ioe);
-			}
-		}
+		return new FBBlobWriter(outputStream, getCharset(), wrappedBlob.getBufferLength());
 	}
 
 	public void free() throws SQLException {
@@ -284,15 +264,23 @@ public class FBClob implements Clob, NClob {
 	public Reader getCharacterStream(long pos, long length) throws SQLException {
 	    // FIXME: This is wrong for multibyte charactersets; doesn't matter right now as getBinaryStream isn't implemented
 		InputStream inputStream = wrappedBlob.getBinaryStream(pos, length);
-		String encoding = getWrappedBlob().getGdsHelper().getJavaEncoding();
+		return new FBBlobReader(inputStream, getCharset(), wrappedBlob.getBufferLength());
+	}
+
+	/**
+	 * @return The Java character set of the connection used for encoding and decoding the clob
+	 * @throws SQLException
+	 *         If the encoding of the connection is not supported by the JVM
+	 */
+	private Charset getCharset() throws SQLException {
+		String encoding = wrappedBlob.getGdsHelper().getJavaEncoding();
 		if (encoding == null) {
-			return new InputStreamReader(inputStream);
-		} else {
-			try {
-				return new InputStreamReader(inputStream, encoding);
-			} catch (IOException ioe) {
-				throw new FBSQLException(ioe);
-			}
+			return Charset.defaultCharset();
+		}
+		try {
+			return Charset.forName(encoding);
+		} catch (IllegalArgumentException e) {
+			throw new FBSQLException(new UnsupportedEncodingException(encoding));
 		}
 	}
 
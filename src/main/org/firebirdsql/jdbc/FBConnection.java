@@ -24,11 +24,18 @@ import org.firebirdsql.gds.JaybirdErrorCodes;
 import org.firebirdsql.gds.TransactionParameterBuffer;
 import org.firebirdsql.gds.impl.DatabaseParameterBufferExtension;
 import org.firebirdsql.gds.impl.GDSHelper;
+import org.firebirdsql.gds.ng.BlobReadCallback;
 import org.firebirdsql.gds.ng.FbDatabase;
 import org.firebirdsql.gds.ng.FbExceptionBuilder;
+import org.firebirdsql.gds.ng.FbTransaction;
+import org.firebirdsql.gds.ng.LockCloseable;
+import org.firebirdsql.gds.ng.SyncObject;
+import org.firebirdsql.gds.ng.TransactionState;
+import org.firebirdsql.gds.ng.listeners.TransactionListener;
 import org.firebirdsql.jca.FBConnectionRequestInfo;
 import org.firebirdsql.jca.FBLocalTransaction;
 import org.firebirdsql.jca.FBManagedConnection;
+import org.firebirdsql.jca.FBManagedConnectionFactory;
 import org.firebirdsql.jca.FirebirdLocalTransaction;
 import org.firebirdsql.jdbc.escape.FBEscapedParser;
 import org.firebirdsql.jdbc.escape.FBEscapedParser.EscapeParserMode;
@@ -41,7 +48,10 @@ import java.sql.*;
 import java.util.*;
 import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
+import static org.firebirdsql.gds.impl.DatabaseParameterBufferExtension.METADATA_CACHE_TTL;
+import static org.firebirdsql.gds.impl.DatabaseParameterBufferExtension.SHARED_READ_ONLY_TRANSACTION;
 import static org.firebirdsql.gds.impl.DatabaseParameterBufferExtension.USE_FIREBIRD_AUTOCOMMIT;
 
 /**
@@ -51,6 +61,7 @@ import static org.firebirdsql.gds.impl.DatabaseParameterBufferExtension.USE_FIRE
  * @author <a href="mailto:d_jencks@users.sourceforge.net">David Jencks</a>
  * @author <a href="mailto:mrotteveel@users.sourceforge.net">Mark Rotteveel</a>
  */
+@SuppressWarnings("try")
 public class FBConnection implements FirebirdConnection, Synchronizable {
 
     private static final Logger log = LoggerFactory.getLogger(FBConnection.class);
@@ -64,23 +75,29 @@ public class FBConnection implements FirebirdConnection, Synchronizable {
                 + "  rdb$set_context('USER_SESSION', ?, ?) session_context " 
                 + "FROM rdb$database";
 
-    protected FBManagedConnection mc;
+    protected volatile FBManagedConnection mc;
+    // Lock of this connection after the managed connection has been released
+    private final SyncObject closedSyncObject = new SyncObject();
 
     private FBLocalTransaction localTransaction;
-    private FBDatabaseMetaData metaData;
+    private volatile FBDatabaseMetaData metaData;
     
     protected final InternalTransactionCoordinator txCoordinator;
 
-    private SQLWarning firstWarning;
+    private final AtomicReference<SQLWarning> firstWarning = new AtomicReference<>();
      
     // This set contains all allocated but not closed statements
     // It is used to close them before the connection is closed
     protected final Set<Statement> activeStatements = Collections.synchronizedSet(new HashSet<Statement>());
     
-    private int resultSetHoldability = ResultSet.CLOSE_CURSORS_AT_COMMIT;
+    private volatile int resultSetHoldability = ResultSet.CLOSE_CURSORS_AT_COMMIT;
 
     private StoredProcedureMetaData storedProcedureMetaData;
     private FBEscapedParser escapedParser;
+    private final TransactionListener metaDataChangeListener = new MetaDataChangeListener();
+    private volatile FbTransaction metaDataChangeTransaction;
+    private volatile GeneratedKeysColumnCache generatedKeysColumnCache;
+    private final FBProcedureCallCache procedureCallCache = new FBProcedureCallCache();
 	 
     /**
      * Create a new AbstractConnection instance based on a
@@ -105,17 +122,13 @@ public class FBConnection implements FirebirdConnection, Synchronizable {
     }
     
     public int getHoldability() throws SQLException {
-        synchronized (getSynchronizationObject()) {
-            checkValidity();
-            return resultSetHoldability;
-        }
+        checkValidity();
+        return resultSetHoldability;
     }
 
     public void setHoldability(int holdability) throws SQLException {
-        synchronized (getSynchronizationObject()) {
-            checkValidity();
-            this.resultSetHoldability = holdability;
-        }
+        checkValidity();
+        this.resultSetHoldability = holdability;
     }
 
     /**
@@ -178,7 +191,7 @@ public class FBConnection implements FirebirdConnection, Synchronizable {
      * @param mc The FBManagedConnection around which this connection is based
      */
     public void setManagedConnection(FBManagedConnection mc) {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             //close any prepared statements we may have executed.
             if (this.mc != mc && metaData != null) {
                 try {
@@ -192,9 +205,7 @@ public class FBConnection implements FirebirdConnection, Synchronizable {
     }
     
     public FBManagedConnection getManagedConnection() {
-        synchronized (getSynchronizationObject()) {
-            return mc;
-        }
+        return mc;
     }
 
     /**
@@ -220,7 +231,7 @@ public class FBConnection implements FirebirdConnection, Synchronizable {
 
     @Deprecated
 	public void setTransactionParameters(int isolationLevel, int[] parameters) throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             checkValidity();
             TransactionParameterBuffer tpbParams = createTransactionParameterBuffer();
 
@@ -233,21 +244,21 @@ public class FBConnection implements FirebirdConnection, Synchronizable {
 	}
     
     public TransactionParameterBuffer getTransactionParameters(int isolationLevel) throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             checkValidity();
             return mc.getTransactionParameters(isolationLevel);
         }
     }
 
     public TransactionParameterBuffer createTransactionParameterBuffer() throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             checkValidity();
             return getFbDatabase().createTransactionParameterBuffer();
         }
     }
     
     public void setTransactionParameters(int isolationLevel, TransactionParameterBuffer tpb) throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             checkValidity();
             if (mc.isManagedEnvironment()) {
                 throw new FBSQLException("Cannot set transaction parameters in managed environment.");
@@ -258,7 +269,7 @@ public class FBConnection implements FirebirdConnection, Synchronizable {
     }
     
     public void setTransactionParameters(TransactionParameterBuffer tpb) throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             checkValidity();
             try {
                 if (getLocalTransaction().inTransaction()) {
@@ -355,12 +366,21 @@ public class FBConnection implements FirebirdConnection, Synchronizable {
     }
     
     public Blob createBlob() throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             checkValidity();
             return new FBBlob(getGDSHelper(), txCoordinator);
         }
     }
     
+    @Override
+    public void readBlobs(Collection<Long> blobIds, BlobReadCallback callback) throws SQLException {
+        try (LockCloseable ignored = withLock()) {
+            checkValidity();
+            txCoordinator.ensureTransaction();
+            getGDSHelper().readBlobs(blobIds, callback);
+        }
+    }
+
     public Clob createClob() throws SQLException {
         FBBlob blob = (FBBlob)createBlob();
         return new FBClob(blob);
@@ -388,7 +408,7 @@ public class FBConnection implements FirebirdConnection, Synchronizable {
      * @exception SQLException if a database access error occurs
      */
     public String nativeSQL(String sql) throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             checkValidity();
             return getEscapedParser().parse(sql);
         }
@@ -434,7 +454,7 @@ public class FBConnection implements FirebirdConnection, Synchronizable {
      * @exception SQLException if a database access error occurs
      */
     public void setAutoCommit(boolean autoCommit) throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             checkValidity();
             if (getAutoCommit() == autoCommit) {
                 return;
@@ -446,14 +466,14 @@ public class FBConnection implements FirebirdConnection, Synchronizable {
     }
 
     protected void setTransactionCoordinator(boolean managedConnection, boolean autoCommit) throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             checkValidity();
             txCoordinator.setTransactionCoordinator(managedConnection, autoCommit);
         }
     }
 
     public void setManagedEnvironment(boolean managedConnection) throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             setTransactionCoordinator(managedConnection, true);
         }
     }
@@ -466,7 +486,7 @@ public class FBConnection implements FirebirdConnection, Synchronizable {
      * @see #setAutoCommit
      */
     public boolean getAutoCommit() throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             if (isClosed()) {
                 throw new FBSQLException("You cannot getAutoCommit on an unassociated closed connection.");
             }
@@ -484,7 +504,7 @@ public class FBConnection implements FirebirdConnection, Synchronizable {
      * @see #setAutoCommit
      */
     public void commit() throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             if (isClosed()) {
                 throw new FBSQLException(
                         "You cannot commit a closed connection.",
@@ -510,7 +530,7 @@ public class FBConnection implements FirebirdConnection, Synchronizable {
      * @see #setAutoCommit
      */
     public void rollback() throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             if (isClosed()) {
                 throw new FBSQLException(
                         "You cannot rollback closed connection.",
@@ -547,7 +567,7 @@ public class FBConnection implements FirebirdConnection, Synchronizable {
      */
     public void close() throws SQLException {
         SQLExceptionChainBuilder<SQLException> chainBuilder = new SQLExceptionChainBuilder<>();
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             if (log.isTraceEnabled()) {
                 log.trace("Connection closed requested at", new RuntimeException("Connection close logging"));
             }
@@ -600,19 +620,12 @@ public class FBConnection implements FirebirdConnection, Synchronizable {
         if (timeout < 0) {
             throw new SQLException("Timeout should be >= 0", SQLStateConstants.SQL_STATE_INVALID_ARG_VALUE);
         }
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             if (isClosed()) {
                 return false;
             }
-            // TODO Check if we can set the connection timeout temporarily for this call
-            if (timeout != 0) {
-                addWarning(new SQLWarning(
-                        String.format("Connection.isValid does not support non-zero timeouts, timeout value %d has been ignored",
-                                timeout)));
-            }
             try {
-                getFbDatabase().getDatabaseInfo(
-                        new byte[] { ISCConstants.isc_info_ods_version, ISCConstants.isc_info_end }, 10);
+                getFbDatabase().ping((int) Math.min(timeout * 1000L, Integer.MAX_VALUE));
                 return true;
             } catch (SQLException ex) {
                 return false;
@@ -635,8 +648,10 @@ public class FBConnection implements FirebirdConnection, Synchronizable {
      * @exception SQLException if a database access error occurs
      */
     public DatabaseMetaData getMetaData() throws SQLException {
-        synchronized (getSynchronizationObject()) {
-            checkValidity();
+        checkValidity();
+        FBDatabaseMetaData currentMetaData = metaData;
+        if (currentMetaData != null) return currentMetaData;
+        try (LockCloseable ignored = withLock()) {
             if (metaData == null)
                 metaData = new FBDatabaseMetaData(this);
             return metaData;
@@ -656,7 +671,7 @@ public class FBConnection implements FirebirdConnection, Synchronizable {
      * @exception SQLException if a database access error occurs
      */
     public void setReadOnly(boolean readOnly) throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             checkValidity();
             try {
                 if (getLocalTransaction().inTransaction() && !mc.isManagedEnvironment())
@@ -678,7 +693,7 @@ public class FBConnection implements FirebirdConnection, Synchronizable {
      * @exception SQLException if a database access error occurs
      */
     public boolean isReadOnly() throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             checkValidity();
             return mc.isReadOnly();
         }
@@ -726,7 +741,7 @@ public class FBConnection implements FirebirdConnection, Synchronizable {
      * @see DatabaseMetaData#supportsTransactionIsolationLevel
      */
     public void setTransactionIsolation(int level) throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             checkValidity();
 
             try {
@@ -748,7 +763,7 @@ public class FBConnection implements FirebirdConnection, Synchronizable {
      * @exception SQLException if a database access error occurs
      */
     public int getTransactionIsolation() throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             checkValidity();
             try {
                 return mc.getTransactionIsolation();
@@ -769,10 +784,8 @@ public class FBConnection implements FirebirdConnection, Synchronizable {
      * @exception SQLException if a database access error occurs
      */
     public SQLWarning getWarnings() throws SQLException {
-        synchronized (getSynchronizationObject()) {
-            checkValidity();
-            return firstWarning;
-        }
+        checkValidity();
+        return firstWarning.get();
     }
 
 
@@ -785,10 +798,8 @@ public class FBConnection implements FirebirdConnection, Synchronizable {
      * @exception SQLException if a database access error occurs
      */
     public void clearWarnings() throws SQLException {
-        synchronized (getSynchronizationObject()) {
-            checkValidity();
-            firstWarning = null;
-        }
+        checkValidity();
+        firstWarning.set(null);
     }
 
     /**
@@ -844,7 +855,7 @@ public class FBConnection implements FirebirdConnection, Synchronizable {
      */
     public Statement createStatement(int resultSetType, int resultSetConcurrency, int resultSetHoldability)
             throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             checkValidity();
             if (resultSetHoldability == ResultSet.HOLD_CURSORS_OVER_COMMIT &&
                     resultSetType == ResultSet.TYPE_FORWARD_ONLY) {
@@ -864,8 +875,9 @@ public class FBConnection implements FirebirdConnection, Synchronizable {
 
             checkHoldability(resultSetType, resultSetHoldability);
 
-            Statement stmt = new FBStatement(getGDSHelper(), resultSetType, resultSetConcurrency, resultSetHoldability,
-                    txCoordinator);
+            Statement stmt = JdbcVersionSupportHolder.INSTANCE.getJdbcVersionSupport()
+                    .createStatement(getGDSHelper(), resultSetType, resultSetConcurrency, resultSetHoldability,
+                            txCoordinator);
 
             activeStatements.add(stmt);
             return stmt;
@@ -1141,11 +1153,17 @@ public class FBConnection implements FirebirdConnection, Synchronizable {
      */
     private PreparedStatement prepareStatement(AbstractGeneratedKeysQuery query) throws SQLException {
         if (query.generatesKeys()) {
-            return prepareStatement(query.getQueryString(), 
-                    ResultSet.TYPE_FORWARD_ONLY, 
-                    ResultSet.CONCUR_READ_ONLY, 
-                    ResultSet.CLOSE_CURSORS_AT_COMMIT, 
-                    false, true);
+            try {
+                return prepareStatement(query.getQueryString(),
+                        ResultSet.TYPE_FORWARD_ONLY,
+                        ResultSet.CONCUR_READ_ONLY,
+                        ResultSet.CLOSE_CURSORS_AT_COMMIT,
+                        false, true);
+            } catch (SQLException e) {
+                // Cached columns may be outdated (eg table altered by another client)
+                clearGeneratedKeysColumnCache();
+                throw e;
+            }
         } else {
             return prepareStatement(query.getQueryString());
         }
@@ -1165,7 +1183,7 @@ public class FBConnection implements FirebirdConnection, Synchronizable {
 
     protected PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency,
             int resultSetHoldability, boolean metaData, boolean generatedKeys) throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             checkValidity();
             if (resultSetHoldability == ResultSet.HOLD_CURSORS_OVER_COMMIT
                     && resultSetType == ResultSet.TYPE_FORWARD_ONLY) {
@@ -1219,7 +1237,7 @@ public class FBConnection implements FirebirdConnection, Synchronizable {
 
     public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency,
             int resultSetHoldability) throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             checkValidity();
             if (resultSetHoldability == ResultSet.HOLD_CURSORS_OVER_COMMIT
                     && resultSetType == ResultSet.TYPE_FORWARD_ONLY) {
@@ -1288,7 +1306,7 @@ public class FBConnection implements FirebirdConnection, Synchronizable {
     }
     
     public Savepoint setSavepoint() throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             checkValidity();
             FBSavepoint savepoint = new FBSavepoint(getNextSavepointCounter());
             setSavepoint(savepoint);
@@ -1322,7 +1340,7 @@ public class FBConnection implements FirebirdConnection, Synchronizable {
     }
 
     public Savepoint setSavepoint(String name) throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             checkValidity();
             FBSavepoint savepoint = new FBSavepoint(name);
             setSavepoint(savepoint);
@@ -1332,7 +1350,7 @@ public class FBConnection implements FirebirdConnection, Synchronizable {
     }
     
     public void rollback(Savepoint savepoint) throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             checkValidity();
             if (getAutoCommit()) {
                 throw new SQLException("Connection.rollback(Savepoint) method cannot be used in auto-commit mode.",
@@ -1359,7 +1377,7 @@ public class FBConnection implements FirebirdConnection, Synchronizable {
     }
 
     public void releaseSavepoint(Savepoint savepoint) throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             checkValidity();
             if (getAutoCommit()) {
                 throw new SQLException("Connection.releaseSavepoint() method cannot be used in auto-commit mode.",
@@ -1389,7 +1407,7 @@ public class FBConnection implements FirebirdConnection, Synchronizable {
      * Invalidate all savepoints.
      */
     protected void invalidateSavepoints() {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             for (FBSavepoint savepoint : savepoints) {
                 savepoint.invalidate();
             }
@@ -1406,7 +1424,7 @@ public class FBConnection implements FirebirdConnection, Synchronizable {
      * demarcate resource manager local transactions on this connection.
      */
     public FirebirdLocalTransaction getLocalTransaction() {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             if (localTransaction == null)
                 localTransaction = new FBLocalTransaction(mc, this);
 
@@ -1456,12 +1474,15 @@ public class FBConnection implements FirebirdConnection, Synchronizable {
     }
 
 	 public void addWarning(SQLWarning warning){
-         synchronized (getSynchronizationObject()) {
-             // TODO: Find way so this method can be protected (or less visible) again.
-             if (firstWarning == null)
-                 firstWarning = warning;
-             else {
-                 firstWarning.setNextWarning(warning);
+         // TODO: Find way so this method can be protected (or less visible) again.
+         while (true) {
+             final SQLWarning currentFirstWarning = firstWarning.get();
+             if (currentFirstWarning != null) {
+                 // SQLException.setNextException is thread-safe
+                 currentFirstWarning.setNextWarning(warning);
+                 return;
+             } else if (firstWarning.compareAndSet(null, warning)) {
+                 return;
              }
          }
 	 }
@@ -1494,6 +1515,132 @@ public class FBConnection implements FirebirdConnection, Synchronizable {
         DatabaseParameterBuffer dpb = getDatabaseParameterBuffer();
         return dpb != null && dpb.hasArgument(USE_FIREBIRD_AUTOCOMMIT);
     }
+
+    /**
+     * @return <code>true</code> if queries in auto-commit mode are executed on the shared read-only transaction of
+     * the managed connection
+     * @see FBManagedConnection#getSharedReadOnlyTransaction()
+     */
+    boolean isUseSharedReadOnlyTransaction() {
+        DatabaseParameterBuffer dpb = getDatabaseParameterBuffer();
+        return dpb != null && dpb.hasArgument(SHARED_READ_ONLY_TRANSACTION);
+    }
+
+    /**
+     * @return Time-to-live in milliseconds of cached database metadata results, {@code 0} if database metadata
+     * results should not be cached
+     * @see FBManagedConnectionFactory#getMetaDataCache()
+     */
+    int getMetaDataCacheTtl() {
+        DatabaseParameterBuffer dpb = getDatabaseParameterBuffer();
+        return dpb != null && dpb.hasArgument(METADATA_CACHE_TTL)
+                ? Math.max(dpb.getArgumentAsInt(METADATA_CACHE_TTL), 0)
+                : 0;
+    }
+
+    /**
+     * @return Database metadata cache shared by the connections of the managed connection factory, or {@code null}
+     * if this connection is closed
+     */
+    MetaDataCache getMetaDataCache() {
+        final FBManagedConnection managedConnection = mc;
+        return managedConnection != null
+                ? ((FBManagedConnectionFactory) managedConnection.getManagedConnectionFactory()).getMetaDataCache()
+                : null;
+    }
+
+    /**
+     * @return Selectable procedure cache shared by the connections of the managed connection factory, or {@code null}
+     * if this connection is closed
+     */
+    SelectableProcedureCache getSelectableProcedureCache() {
+        final FBManagedConnection managedConnection = mc;
+        return managedConnection != null
+                ? ((FBManagedConnectionFactory) managedConnection.getManagedConnectionFactory())
+                        .getSelectableProcedureCache()
+                : null;
+    }
+
+    /**
+     * Gets the generated keys column cache of this connection.
+     *
+     * @return Generated keys column cache, or {@code null} if the metadata cache is not enabled (see
+     * {@link #getMetaDataCacheTtl()}) or this connection is closed
+     */
+    GeneratedKeysColumnCache getGeneratedKeysColumnCache() {
+        GeneratedKeysColumnCache columnCache = generatedKeysColumnCache;
+        if (columnCache != null) {
+            return columnCache;
+        }
+        final int metaDataCacheTtl = getMetaDataCacheTtl();
+        final MetaDataCache metaDataCache = getMetaDataCache();
+        if (metaDataCacheTtl <= 0 || metaDataCache == null) {
+            return null;
+        }
+        try (LockCloseable ignored = withLock()) {
+            if (generatedKeysColumnCache == null) {
+                generatedKeysColumnCache = new GeneratedKeysColumnCache(metaDataCache, metaDataCacheTtl);
+            }
+            return generatedKeysColumnCache;
+        }
+    }
+
+    private void clearGeneratedKeysColumnCache() {
+        final GeneratedKeysColumnCache columnCache = generatedKeysColumnCache;
+        if (columnCache != null) {
+            columnCache.clear();
+        }
+    }
+
+    /**
+     * @return Cache of parsed procedure calls of this connection
+     */
+    FBProcedureCallCache getProcedureCallCache() {
+        return procedureCallCache;
+    }
+
+    /**
+     * Invalidates the database metadata cache, the selectable procedure cache, and the generated keys column and
+     * procedure call caches of this connection after execution of a DDL statement.
+     * <p>
+     * As other transactions will only see the change after commit, the metadata cache is invalidated again when the
+     * transaction ends.
+     * </p>
+     *
+     * @param transaction
+     *         Transaction that executed the DDL statement (can be {@code null})
+     */
+    void metaDataChanged(FbTransaction transaction) {
+        clearGeneratedKeysColumnCache();
+        procedureCallCache.clear();
+        final SelectableProcedureCache selectableProcedureCache = getSelectableProcedureCache();
+        if (selectableProcedureCache != null) {
+            selectableProcedureCache.invalidate();
+        }
+        final MetaDataCache metaDataCache = getMetaDataCache();
+        if (metaDataCache == null) return;
+        metaDataCache.invalidate();
+        if (transaction != null && transaction.getState() == TransactionState.ACTIVE) {
+            metaDataChangeTransaction = transaction;
+            transaction.addTransactionListener(metaDataChangeListener);
+        }
+    }
+
+    /**
+     * Determine whether the current transaction of this connection executed DDL that has not been committed or
+     * rolled back.
+     * <p>
+     * Database metadata results queried in such a transaction can include uncommitted changes, and are not read from
+     * or added to the shared metadata cache. DDL executed through <code>EXECUTE BLOCK</code>, stored procedures or
+     * <code>EXECUTE STATEMENT</code> is not detected.
+     * </p>
+     *
+     * @return <code>true</code> if the metadata was changed in the active transaction of this connection
+     */
+    boolean hasUncommittedMetaDataChange() {
+        final FbTransaction transaction = metaDataChangeTransaction;
+        return transaction != null && transaction.getState() == TransactionState.ACTIVE;
+    }
     
     protected void finalize() throws Throwable {
         try {
@@ -1644,7 +1791,17 @@ public class FBConnection implements FirebirdConnection, Synchronizable {
         if (managedConnection != null) {
             return managedConnection.getSynchronizationObject();
         } else {
-            return this;
+            return closedSyncObject;
+        }
+    }
+
+    @Override
+    public final LockCloseable withLock() {
+        final FBManagedConnection managedConnection = mc;
+        if (managedConnection != null) {
+            return managedConnection.withLock();
+        } else {
+            return closedSyncObject.withLock();
         }
     }
 
@@ -1665,6 +1822,38 @@ public class FBConnection implements FirebirdConnection, Synchronizable {
         DatabaseMetaData getDatabaseMetaData() throws SQLException {
             return getMetaData();
         }
+
+        @Override
+        GeneratedKeysColumnCache getColumnCache() {
+            return getGeneratedKeysColumnCache();
+        }
     }
-	 
+
+    /**
+     * Invalidates the database metadata cache when a transaction that executed DDL ends.
+     */
+    private final class MetaDataChangeListener implements TransactionListener {
+        @Override
+        public void transactionStateChanged(FbTransaction transaction, TransactionState newState,
+                TransactionState previousState) {
+            switch (newState) {
+            case COMMITTED:
+            case ROLLED_BACK:
+                transaction.removeTransactionListener(this);
+                if (metaDataChangeTransaction == transaction) {
+                    metaDataChangeTransaction = null;
+                }
+                final MetaDataCache metaDataCache = getMetaDataCache();
+                if (metaDataCache != null) {
+                    metaDataCache.invalidate();
+                }
+                final SelectableProcedureCache selectableProcedureCache = getSelectableProcedureCache();
+                if (selectableProcedureCache != null) {
+                    selectableProcedureCache.invalidate();
+                }
+                break;
+            }
+        }
+    }
+
 }
@@ -59,6 +59,10 @@ public class FBConnectionProperties implements FirebirdConnectionProperties, Ser
     public static final String CONNECT_TIMEOUT = "connectTimeout";
     public static final String USE_FIREBIRD_AUTOCOMMIT = "useFirebirdAutocommit";
     public static final String WIRE_CRYPT_LEVEL = "wireCrypt";
+    public static final String METADATA_CACHE_TTL = "metaDataCacheTtl";
+    public static final String FETCH_AHEAD = "fetchAhead";
+    public static final String USE_SHARED_READ_ONLY_TRANSACTION = "useSharedReadOnlyTransaction";
+    public static final String DEFER_TRANSACTION_START = "deferTransactionStart";
 
     private Map<String, Object> properties = new HashMap<>();
     private String type;
@@ -350,6 +354,46 @@ public class FBConnectionProperties implements FirebirdConnectionProperties, Ser
         setBooleanProperty(USE_FIREBIRD_AUTOCOMMIT, useFirebirdAutocommit);
     }
 
+    @Override
+    public boolean isDeferTransactionStart() {
+        return getBooleanProperty(DEFER_TRANSACTION_START);
+    }
+
+    @Override
+    public void setDeferTransactionStart(boolean deferTransactionStart) {
+        setBooleanProperty(DEFER_TRANSACTION_START, deferTransactionStart);
+    }
+
+    @Override
+    public boolean isUseSharedReadOnlyTransaction() {
+        return getBooleanProperty(USE_SHARED_READ_ONLY_TRANSACTION);
+    }
+
+    @Override
+    public void setUseSharedReadOnlyTransaction(boolean useSharedReadOnlyTransaction) {
+        setBooleanProperty(USE_SHARED_READ_ONLY_TRANSACTION, useSharedReadOnlyTransaction);
+    }
+
+    @Override
+    public boolean isFetchAhead() {
+        return getBooleanProperty(FETCH_AHEAD);
+    }
+
+    @Override
+    public void setFetchAhead(boolean fetchAhead) {
+        setBooleanProperty(FETCH_AHEAD, fetchAhead);
+    }
+
+    @Override
+    public int getMetaDataCacheTtl() {
+        return getIntProperty(METADATA_CACHE_TTL);
+    }
+
+    @Override
+    public void setMetaDataCacheTtl(int metaDataCacheTtl) {
+        setIntProperty(METADATA_CACHE_TTL, metaDataCacheTtl);
+    }
+
     @Override
     public String getWireCrypt() {
         return getStringProperty(WIRE_CRYPT_LEVEL);
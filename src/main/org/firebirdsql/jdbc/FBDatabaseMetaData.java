@@ -24,10 +24,13 @@ import org.firebirdsql.gds.impl.GDSHelper;
 import org.firebirdsql.gds.impl.GDSType;
 import org.firebirdsql.gds.ng.DatatypeCoder;
 import org.firebirdsql.gds.ng.DefaultDatatypeCoder;
+import org.firebirdsql.gds.ng.FbStatement;
+import org.firebirdsql.gds.ng.IConnectionProperties;
 import org.firebirdsql.gds.ng.fields.RowDescriptor;
 import org.firebirdsql.gds.ng.fields.RowDescriptorBuilder;
 import org.firebirdsql.gds.ng.fields.RowValue;
 import org.firebirdsql.gds.ng.fields.RowValueBuilder;
+import org.firebirdsql.jca.FBManagedConnection;
 import org.firebirdsql.jca.FBManagedConnectionFactory;
 import org.firebirdsql.jdbc.escape.FBEscapedFunctionHelper;
 import org.firebirdsql.jdbc.field.JdbcTypeConverter;
@@ -146,20 +149,36 @@ public class FBDatabaseMetaData implements FirebirdDatabaseMetaData {
 
     protected final Map<String, FBPreparedStatement> statements = new HashMap<>();
     private final FirebirdVersionMetaData versionMetaData;
+    private final MetaDataCache metaDataCache;
+    private final int metaDataCacheTtl;
+    private final FBManagedConnection managedConnection;
 
     protected FBDatabaseMetaData(FBConnection c) throws SQLException {
         this.gdsHelper = c.getGDSHelper();
         this.connection = c;
+        managedConnection = c.getManagedConnection();
         firebirdSupportInfo = supportInfoFor(c);
         versionMetaData = FirebirdVersionMetaData.getVersionMetaDataFor(c);
+        metaDataCacheTtl = c.getMetaDataCacheTtl();
+        metaDataCache = metaDataCacheTtl > 0 ? c.getMetaDataCache() : null;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The prepared statement handles are kept by the managed connection, so metadata queries by a later connection
+     * handle on the same physical connection don't need to prepare them again.
+     * </p>
+     */
     @Override
     public void close() {
         try {
-            for (FBStatement stmt : new ArrayList<>(statements.values())) {
+            for (Map.Entry<String, FBPreparedStatement> entry : new ArrayList<>(statements.entrySet())) {
                 try {
-                    stmt.close();
+                    final FbStatement statementHandle = entry.getValue().detachStatementHandle();
+                    if (statementHandle != null) {
+                        releaseStatementHandle(entry.getKey(), statementHandle);
+                    }
                 } catch (SQLException e) {
                    log.warn("error in DatabaseMetaData.close", e);
                 }
@@ -1562,6 +1581,13 @@ public class FBDatabaseMetaData implements FirebirdDatabaseMetaData {
      */
     public ResultSet getProcedures(String catalog, String schemaPattern, String procedureNamePattern)
             throws SQLException {
+        final MetaDataCache.Key cacheKey = createCacheKey(
+                "getProcedures", catalog, schemaPattern, procedureNamePattern);
+        final FBResultSet cachedResultSet = getCachedResultSet(cacheKey);
+        if (cachedResultSet != null) {
+            return cachedResultSet;
+        }
+
         final RowDescriptor rowDescriptor = new RowDescriptorBuilder(9, datatypeCoder)
                 .at(0).simple(SQL_VARYING, OBJECT_NAME_LENGTH, "PROCEDURE_CAT", "PROCEDURES").addField()
                 .at(1).simple(SQL_VARYING, OBJECT_NAME_LENGTH, "PROCEDURE_SCHEM", "ROCEDURES").addField()
@@ -1587,7 +1613,7 @@ public class FBDatabaseMetaData implements FirebirdDatabaseMetaData {
 
         try (ResultSet rs = doQuery(sql, params)) {
             if (!rs.next()) {
-                return new FBResultSet(rowDescriptor, Collections.<RowValue>emptyList());
+                return cacheResultSet(cacheKey, rowDescriptor, Collections.<RowValue>emptyList());
             }
 
             final List<RowValue> rows = new ArrayList<>();
@@ -1601,7 +1627,7 @@ public class FBDatabaseMetaData implements FirebirdDatabaseMetaData {
                         .toRowValue(true)
                 );
             } while (rs.next());
-            return new FBResultSet(rowDescriptor, rows);
+            return cacheResultSet(cacheKey, rowDescriptor, rows);
         }
     }
 
@@ -1723,6 +1749,13 @@ public class FBDatabaseMetaData implements FirebirdDatabaseMetaData {
      */
     public ResultSet getProcedureColumns(String catalog, String schemaPattern, String procedureNamePattern,
             String columnNamePattern) throws SQLException {
+        final MetaDataCache.Key cacheKey = createCacheKey(
+                "getProcedureColumns", catalog, schemaPattern, procedureNamePattern, columnNamePattern);
+        final FBResultSet cachedResultSet = getCachedResultSet(cacheKey);
+        if (cachedResultSet != null) {
+            return cachedResultSet;
+        }
+
         final RowDescriptor rowDescriptor = new RowDescriptorBuilder(20, datatypeCoder)
                 .at(0).simple(SQL_VARYING, OBJECT_NAME_LENGTH, "PROCEDURE_CAT", "COLUMNINFO").addField()
                 .at(1).simple(SQL_VARYING, OBJECT_NAME_LENGTH, "PROCEDURE_SCHEM", "COLUMNINFO").addField()
@@ -1766,7 +1799,7 @@ public class FBDatabaseMetaData implements FirebirdDatabaseMetaData {
         try (ResultSet rs = doQuery(sql, params)) {
             // if nothing found, return an empty result set
             if (!rs.next()) {
-                return new FBResultSet(rowDescriptor, Collections.<RowValue>emptyList());
+                return cacheResultSet(cacheKey, rowDescriptor, Collections.<RowValue>emptyList());
             }
 
             final List<RowValue> rows = new ArrayList<>();
@@ -1867,7 +1900,7 @@ public class FBDatabaseMetaData implements FirebirdDatabaseMetaData {
 
                 rows.add(valueBuilder.toRowValue(true));
             } while (rs.next());
-            return new FBResultSet(rowDescriptor, rows);
+            return cacheResultSet(cacheKey, rowDescriptor, rows);
         }
     }
 
@@ -2351,6 +2384,13 @@ public class FBDatabaseMetaData implements FirebirdDatabaseMetaData {
      */
     public ResultSet getColumns(String catalog, String schemaPattern, String tableNamePattern, String columnNamePattern)
             throws SQLException {
+        final MetaDataCache.Key cacheKey = createCacheKey(
+                "getColumns", catalog, schemaPattern, tableNamePattern, columnNamePattern);
+        final FBResultSet cachedResultSet = getCachedResultSet(cacheKey);
+        if (cachedResultSet != null) {
+            return cachedResultSet;
+        }
+
         final RowDescriptor rowDescriptor = new RowDescriptorBuilder(26, datatypeCoder)
                 .at(0).simple(SQL_VARYING, OBJECT_NAME_LENGTH, "TABLE_CAT", "COLUMNINFO").addField()
                 .at(1).simple(SQL_VARYING, OBJECT_NAME_LENGTH, "TABLE_SCHEM", "COLUMNINFO").addField()
@@ -2399,7 +2439,7 @@ public class FBDatabaseMetaData implements FirebirdDatabaseMetaData {
 
         try (ResultSet rs = doQuery(sql, params)) {
             if (!rs.next()) {
-                return new FBResultSet(rowDescriptor, Collections.<RowValue>emptyList());
+                return cacheResultSet(cacheKey, rowDescriptor, Collections.<RowValue>emptyList());
             }
 
             final List<RowValue> rows = new ArrayList<>();
@@ -2545,7 +2585,7 @@ public class FBDatabaseMetaData implements FirebirdDatabaseMetaData {
 
                 rows.add(valueBuilder.toRowValue(true));
             } while (rs.next());
-            return new FBResultSet(rowDescriptor, rows);
+            return cacheResultSet(cacheKey, rowDescriptor, rows);
         }
     }
 
@@ -3054,7 +3094,7 @@ public class FBDatabaseMetaData implements FirebirdDatabaseMetaData {
         return new FBResultSet(rowDescriptor, Collections.<RowValue>emptyList());
     }
 
-    private static final String GET_PRIMARY_KEYS = "select "
+    private static final String GET_PRIMARY_KEYS_START = "select "
         /*+ " null as TABLE_CAT, "
         + " null as TABLE_SCHEM, "*/
         + "cast(RC.RDB$RELATION_NAME as varchar(" + OBJECT_NAME_LENGTH + ")) as TABLE_NAME,"
@@ -3063,11 +3103,17 @@ public class FBDatabaseMetaData implements FirebirdDatabaseMetaData {
         + "cast(RC.RDB$CONSTRAINT_NAME as varchar(" + OBJECT_NAME_LENGTH + ")) as PK_NAME "
         + "from "
         + "RDB$RELATION_CONSTRAINTS RC "
-        + "INNER JOIN RDB$INDEX_SEGMENTS ISGMT ON RC.RDB$INDEX_NAME = ISGMT.RDB$INDEX_NAME "
+        + "INNER JOIN RDB$INDEX_SEGMENTS ISGMT ON RC.RDB$INDEX_NAME = ISGMT.RDB$INDEX_NAME ";
+
+    private static final String GET_PRIMARY_KEYS = GET_PRIMARY_KEYS_START
         + "where CAST(RC.RDB$RELATION_NAME AS VARCHAR(" + (OBJECT_NAME_LENGTH + 10) + ")) = ? and "
         + "RC.RDB$CONSTRAINT_TYPE = 'PRIMARY KEY' "
         + "order by ISGMT.RDB$FIELD_NAME ";
 
+    private static final String GET_ALL_PRIMARY_KEYS = GET_PRIMARY_KEYS_START
+        + "where RC.RDB$CONSTRAINT_TYPE = 'PRIMARY KEY' "
+        + "order by 1, 3 ";
+
     /**
      * Gets a description of a table's primary key columns.  They
      * are ordered by COLUMN_NAME.
@@ -3091,6 +3137,12 @@ public class FBDatabaseMetaData implements FirebirdDatabaseMetaData {
      * @exception SQLException if a database access error occurs
      */
     public ResultSet getPrimaryKeys(String catalog, String schema, String table) throws SQLException {
+        final MetaDataCache.Key cacheKey = createCacheKey("getPrimaryKeys", catalog, schema, table);
+        final FBResultSet cachedResultSet = getCachedResultSet(cacheKey);
+        if (cachedResultSet != null) {
+            return cachedResultSet;
+        }
+
         RowDescriptor rowDescriptor = new RowDescriptorBuilder(6, datatypeCoder)
                 .at(0).simple(SQL_VARYING, OBJECT_NAME_LENGTH, "TABLE_CAT", "COLUMNINFO").addField()
                 .at(1).simple(SQL_VARYING, OBJECT_NAME_LENGTH, "TABLE_SCHEM", "COLUMNINFO").addField()
@@ -3105,7 +3157,7 @@ public class FBDatabaseMetaData implements FirebirdDatabaseMetaData {
         try (ResultSet rs = doQuery(GET_PRIMARY_KEYS, params)) {
             // if nothing found, return empty result set
             if (!rs.next()) {
-                return new FBResultSet(rowDescriptor, Collections.<RowValue>emptyList());
+                return cacheResultSet(cacheKey, rowDescriptor, Collections.<RowValue>emptyList());
             }
 
             final List<RowValue> rows = new ArrayList<>();
@@ -3119,11 +3171,11 @@ public class FBDatabaseMetaData implements FirebirdDatabaseMetaData {
                         .toRowValue(true)
                 );
             } while (rs.next());
-            return new FBResultSet(rowDescriptor, rows);
+            return cacheResultSet(cacheKey, rowDescriptor, rows);
         }
     }
 
-    private static final String GET_IMPORTED_KEYS = "select "
+    private static final String GET_IMPORTED_KEYS_START = "select "
     /*+" null as PKTABLE_CAT "
     +" ,null as PKTABLE_SCHEM "*/
     +"cast(PK.RDB$RELATION_NAME as varchar(" + OBJECT_NAME_LENGTH + ")) as PKTABLE_NAME"
@@ -3143,15 +3195,25 @@ public class FBDatabaseMetaData implements FirebirdDatabaseMetaData {
     +",RDB$RELATION_CONSTRAINTS FK"
     +",RDB$REF_CONSTRAINTS RC"
     +",RDB$INDEX_SEGMENTS ISP"
-    +",RDB$INDEX_SEGMENTS ISF "
-    +"WHERE CAST(FK.RDB$RELATION_NAME AS VARCHAR(" + (OBJECT_NAME_LENGTH + 10) + ")) = ? and "
-    +" FK.RDB$CONSTRAINT_NAME = RC.RDB$CONSTRAINT_NAME "
+    +",RDB$INDEX_SEGMENTS ISF ";
+
+    private static final String GET_IMPORTED_KEYS_JOIN_CONDITION =
+    " FK.RDB$CONSTRAINT_NAME = RC.RDB$CONSTRAINT_NAME "
     +"and PK.RDB$CONSTRAINT_NAME = RC.RDB$CONST_NAME_UQ "
     +"and ISP.RDB$INDEX_NAME = PK.RDB$INDEX_NAME "
     +"and ISF.RDB$INDEX_NAME = FK.RDB$INDEX_NAME "
-    +"and ISP.RDB$FIELD_POSITION = ISF.RDB$FIELD_POSITION "
+    +"and ISP.RDB$FIELD_POSITION = ISF.RDB$FIELD_POSITION ";
+
+    private static final String GET_IMPORTED_KEYS = GET_IMPORTED_KEYS_START
+    +"WHERE CAST(FK.RDB$RELATION_NAME AS VARCHAR(" + (OBJECT_NAME_LENGTH + 10) + ")) = ? and "
+    + GET_IMPORTED_KEYS_JOIN_CONDITION
     +"order by 1, 5 ";
 
+    private static final String GET_ALL_IMPORTED_KEYS = GET_IMPORTED_KEYS_START
+    +"WHERE "
+    + GET_IMPORTED_KEYS_JOIN_CONDITION
+    +"order by 3, 9, 5 ";
+
     private static final Map<String, byte[]> ACTION_MAPPING;
     static {
         Map<String, byte[]> tempMap = new HashMap<>();
@@ -3242,6 +3304,12 @@ public class FBDatabaseMetaData implements FirebirdDatabaseMetaData {
      * @see #getExportedKeys
      */
     public ResultSet getImportedKeys(String catalog, String schema, String table) throws SQLException {
+        final MetaDataCache.Key cacheKey = createCacheKey("getImportedKeys", catalog, schema, table);
+        final FBResultSet cachedResultSet = getCachedResultSet(cacheKey);
+        if (cachedResultSet != null) {
+            return cachedResultSet;
+        }
+
         final RowDescriptor rowDescriptor = new RowDescriptorBuilder(14, datatypeCoder)
                 .at(0).simple(SQL_VARYING, OBJECT_NAME_LENGTH, "PKTABLE_CAT", "COLUMNINFO").addField()
                 .at(1).simple(SQL_VARYING, OBJECT_NAME_LENGTH, "PKTABLE_SCHEM", "COLUMNINFO").addField()
@@ -3264,7 +3332,7 @@ public class FBDatabaseMetaData implements FirebirdDatabaseMetaData {
         try (ResultSet rs = doQuery(GET_IMPORTED_KEYS, params)) {
             // if nothing found, return an empty result set
             if (!rs.next()) {
-                return new FBResultSet(rowDescriptor, Collections.<RowValue>emptyList());
+                return cacheResultSet(cacheKey, rowDescriptor, Collections.<RowValue>emptyList());
             }
 
             final List<RowValue> rows = new ArrayList<>();
@@ -3284,7 +3352,7 @@ public class FBDatabaseMetaData implements FirebirdDatabaseMetaData {
                         .toRowValue(true)
                 );
             } while (rs.next());
-            return new FBResultSet(rowDescriptor, rows);
+            return cacheResultSet(cacheKey, rowDescriptor, rows);
         }
     }
 
@@ -3386,6 +3454,12 @@ public class FBDatabaseMetaData implements FirebirdDatabaseMetaData {
      * @see #getImportedKeys
      */
     public ResultSet getExportedKeys(String catalog, String schema, String table) throws SQLException {
+        final MetaDataCache.Key cacheKey = createCacheKey("getExportedKeys", catalog, schema, table);
+        final FBResultSet cachedResultSet = getCachedResultSet(cacheKey);
+        if (cachedResultSet != null) {
+            return cachedResultSet;
+        }
+
         final RowDescriptor rowDescriptor = new RowDescriptorBuilder(14, datatypeCoder)
                 .at(0).simple(SQL_VARYING, OBJECT_NAME_LENGTH, "PKTABLE_CAT", "COLUMNINFO").addField()
                 .at(1).simple(SQL_VARYING, OBJECT_NAME_LENGTH, "PKTABLE_SCHEM", "COLUMNINFO").addField()
@@ -3408,7 +3482,7 @@ public class FBDatabaseMetaData implements FirebirdDatabaseMetaData {
         try (ResultSet rs = doQuery(GET_EXPORTED_KEYS, params)) {
             // if nothing found, return an empty result set
             if (!rs.next()) {
-                return new FBResultSet(rowDescriptor, Collections.<RowValue>emptyList());
+                return cacheResultSet(cacheKey, rowDescriptor, Collections.<RowValue>emptyList());
             }
 
             List<RowValue> rows = new ArrayList<>();
@@ -3428,7 +3502,7 @@ public class FBDatabaseMetaData implements FirebirdDatabaseMetaData {
                         .toRowValue(true)
                 );
             } while (rs.next());
-            return new FBResultSet(rowDescriptor, rows);
+            return cacheResultSet(cacheKey, rowDescriptor, rows);
         }
     }
 
@@ -3541,6 +3615,13 @@ public class FBDatabaseMetaData implements FirebirdDatabaseMetaData {
     public ResultSet getCrossReference(
             String primaryCatalog, String primarySchema, String primaryTable,
             String foreignCatalog, String foreignSchema, String foreignTable) throws SQLException {
+        final MetaDataCache.Key cacheKey = createCacheKey(
+                "getCrossReference", primaryCatalog, primarySchema, primaryTable, foreignCatalog, foreignSchema, foreignTable);
+        final FBResultSet cachedResultSet = getCachedResultSet(cacheKey);
+        if (cachedResultSet != null) {
+            return cachedResultSet;
+        }
+
         final RowDescriptor rowDescriptor = new RowDescriptorBuilder(14, datatypeCoder)
                 .at(0).simple(SQL_VARYING, OBJECT_NAME_LENGTH, "PKTABLE_CAT", "COLUMNINFO").addField()
                 .at(1).simple(SQL_VARYING, OBJECT_NAME_LENGTH, "PKTABLE_SCHEM", "COLUMNINFO").addField()
@@ -3563,7 +3644,7 @@ public class FBDatabaseMetaData implements FirebirdDatabaseMetaData {
         try (ResultSet rs = doQuery(GET_CROSS_KEYS, params)) {
             // return empty result set if nothing found
             if (!rs.next()) {
-                return new FBResultSet(rowDescriptor, Collections.<RowValue>emptyList());
+                return cacheResultSet(cacheKey, rowDescriptor, Collections.<RowValue>emptyList());
             }
 
             final List<RowValue> rows = new ArrayList<>();
@@ -3583,7 +3664,7 @@ public class FBDatabaseMetaData implements FirebirdDatabaseMetaData {
                         .toRowValue(true)
                 );
             } while (rs.next());
-            return new FBResultSet(rowDescriptor, rows);
+            return cacheResultSet(cacheKey, rowDescriptor, rows);
         }
     }
 
@@ -3816,7 +3897,7 @@ public class FBDatabaseMetaData implements FirebirdDatabaseMetaData {
         return new FBResultSet(rowDescriptor, rows);
     }
 
-    private static final String GET_INDEX_INFO = "SELECT "
+    private static final String GET_INDEX_INFO_START = "SELECT "
         + "cast(ind.RDB$RELATION_NAME as varchar(" + OBJECT_NAME_LENGTH + ")) AS TABLE_NAME"
         + ",ind.RDB$UNIQUE_FLAG AS UNIQUE_FLAG"
         + ",cast(ind.RDB$INDEX_NAME as varchar(" + OBJECT_NAME_LENGTH + ")) as INDEX_NAME"
@@ -3826,11 +3907,16 @@ public class FBDatabaseMetaData implements FirebirdDatabaseMetaData {
         + ",ind.RDB$INDEX_TYPE as ASC_OR_DESC "
         + "FROM "
         + "rdb$indices ind "
-        + "LEFT JOIN rdb$index_segments ise ON ind.rdb$index_name = ise.rdb$index_name "
+        + "LEFT JOIN rdb$index_segments ise ON ind.rdb$index_name = ise.rdb$index_name ";
+
+    private static final String GET_INDEX_INFO = GET_INDEX_INFO_START
         + "WHERE "
         + "CAST(ind.rdb$relation_name AS VARCHAR(" + (OBJECT_NAME_LENGTH + 10) + ")) = ? "
         + "ORDER BY 2, 3, 4";
 
+    private static final String GET_ALL_INDEX_INFO = GET_INDEX_INFO_START
+        + "ORDER BY 1, 3, 4";
+
     /**
      * Gets a description of a table's indices and statistics. They are
      * ordered by NON_UNIQUE, TYPE, INDEX_NAME, and ORDINAL_POSITION.
@@ -3885,6 +3971,12 @@ public class FBDatabaseMetaData implements FirebirdDatabaseMetaData {
      */
     public ResultSet getIndexInfo(String catalog, String schema, String table, boolean unique, boolean approximate)
             throws SQLException {
+        final MetaDataCache.Key cacheKey = createCacheKey("getIndexInfo", catalog, schema, table, unique, approximate);
+        final FBResultSet cachedResultSet = getCachedResultSet(cacheKey);
+        if (cachedResultSet != null) {
+            return cachedResultSet;
+        }
+
         final RowDescriptor rowDescriptor = new RowDescriptorBuilder(13, datatypeCoder)
                 .at(0).simple(SQL_VARYING, OBJECT_NAME_LENGTH, "TABLE_CAT", "INDEXINFO").addField()
                 .at(1).simple(SQL_VARYING, OBJECT_NAME_LENGTH, "TABLE_SCHEM", "INDEXINFO").addField()
@@ -3906,7 +3998,7 @@ public class FBDatabaseMetaData implements FirebirdDatabaseMetaData {
 
         try (ResultSet rs = doQuery(GET_INDEX_INFO, params)) {
             if (!rs.next()) {
-                return new FBResultSet(rowDescriptor, Collections.<RowValue>emptyList());
+                return cacheResultSet(cacheKey, rowDescriptor, Collections.<RowValue>emptyList());
             }
 
             final List<RowValue> rows = new ArrayList<>();
@@ -3946,7 +4038,109 @@ public class FBDatabaseMetaData implements FirebirdDatabaseMetaData {
 
                 rows.add(valueBuilder.toRowValue(true));
             } while (rs.next());
-            return new FBResultSet(rowDescriptor, rows);
+            return cacheResultSet(cacheKey, rowDescriptor, rows);
+        }
+    }
+
+    @Override
+    public Map<String, TableMetaData> getTableMetaData(Collection<String> tableNames) throws SQLException {
+        final Set<String> requestedTables = tableNames != null ? new HashSet<>(tableNames) : null;
+        final Map<String, TableMetaData> tables = new TreeMap<>();
+        if (requestedTables != null && requestedTables.isEmpty()) {
+            return tables;
+        }
+
+        if (requestedTables == null) {
+            try (ResultSet rs = getColumns(null, null, null, null)) {
+                addTableColumns(tables, rs);
+            }
+        } else {
+            for (String tableName : requestedTables) {
+                if (tableName == null) continue;
+                try (ResultSet rs = getColumns(null, null, escapeWildcards(tableName), null)) {
+                    addTableColumns(tables, rs);
+                }
+            }
+        }
+        if (tables.isEmpty()) {
+            return tables;
+        }
+
+        try (ResultSet rs = doQuery(GET_ALL_PRIMARY_KEYS, Collections.<String>emptyList())) {
+            while (rs.next()) {
+                final TableMetaData table = tables.get(rs.getString("TABLE_NAME"));
+                if (table != null) {
+                    table.getOrCreatePrimaryKey(rs.getString("PK_NAME"))
+                            .addColumn(rs.getString("COLUMN_NAME"));
+                }
+            }
+        }
+
+        try (ResultSet rs = doQuery(GET_ALL_IMPORTED_KEYS, Collections.<String>emptyList())) {
+            while (rs.next()) {
+                final TableMetaData table = tables.get(rs.getString("FKTABLE_NAME"));
+                if (table != null) {
+                    table.getOrCreateForeignKey(rs.getString("FK_NAME"), rs.getString("PKTABLE_NAME"),
+                            rs.getString("PK_NAME"),
+                            datatypeCoder.decodeShort(mapAction(rs.getString("UPDATE_RULE"))),
+                            datatypeCoder.decodeShort(mapAction(rs.getString("DELETE_RULE"))))
+                            .addColumn(rs.getString("FKCOLUMN_NAME"), rs.getString("PKCOLUMN_NAME"));
+                }
+            }
+        }
+
+        try (ResultSet rs = doQuery(GET_ALL_INDEX_INFO, Collections.<String>emptyList())) {
+            while (rs.next()) {
+                final TableMetaData table = tables.get(rs.getString("TABLE_NAME"));
+                if (table == null) {
+                    continue;
+                }
+                final TableMetaData.Index index = table.getOrCreateIndex(rs.getString("INDEX_NAME"),
+                        rs.getInt("UNIQUE_FLAG") != 0, rs.getInt("ASC_OR_DESC") == 1,
+                        rs.getString("EXPRESSION_SOURCE"));
+                final String columnName = rs.getString("COLUMN_NAME");
+                if (columnName != null) {
+                    index.addColumn(columnName);
+                }
+            }
+        }
+        return tables;
+    }
+
+    /**
+     * Adds the columns of a {@link #getColumns(String, String, String, String)} result set to the table metadata.
+     *
+     * @param tables
+     *         Table metadata by table name, tables not yet in the map are added
+     * @param rs
+     *         Result set of {@code getColumns}
+     * @throws SQLException
+     *         For errors reading the result set
+     */
+    private static void addTableColumns(Map<String, TableMetaData> tables, ResultSet rs) throws SQLException {
+        TableMetaData table = null;
+        while (rs.next()) {
+            final String tableName = rs.getString("TABLE_NAME");
+            if (table == null || !table.getTableName().equals(tableName)) {
+                table = new TableMetaData(tableName);
+                tables.put(tableName, table);
+            }
+            final int columnSize = rs.getInt("COLUMN_SIZE");
+            final boolean hasColumnSize = !rs.wasNull();
+            final int decimalDigits = rs.getInt("DECIMAL_DIGITS");
+            final boolean hasDecimalDigits = !rs.wasNull();
+            table.addColumn(new TableMetaData.Column(
+                    rs.getString("COLUMN_NAME"),
+                    rs.getInt("ORDINAL_POSITION"),
+                    rs.getInt("DATA_TYPE"),
+                    rs.getString("TYPE_NAME"),
+                    hasColumnSize ? columnSize : null,
+                    hasDecimalDigits ? decimalDigits : null,
+                    rs.getInt("NULLABLE") == columnNullable,
+                    rs.getString("COLUMN_DEF"),
+                    "YES".equals(rs.getString("IS_AUTOINCREMENT")),
+                    "YES".equals(rs.getString("IS_GENERATEDCOLUMN")),
+                    rs.getString("REMARKS")));
         }
     }
 
@@ -4867,6 +5061,72 @@ public class FBDatabaseMetaData implements FirebirdDatabaseMetaData {
         return value != null ? value.getBytes(StandardCharsets.UTF_8): null;
     }
 
+    /**
+     * Creates the key for caching the result of a metadata method.
+     *
+     * @param methodName
+     *         Name of the metadata method
+     * @param arguments
+     *         Arguments of the metadata method
+     * @return Cache key, or {@code null} if metadata results are not cached for this connection, or not for the
+     * current transaction because it executed DDL
+     */
+    private MetaDataCache.Key createCacheKey(String methodName, Object... arguments) {
+        if (metaDataCache == null || connection.hasUncommittedMetaDataChange()) {
+            // Results of a transaction with uncommitted DDL must not be shared with other transactions
+            return null;
+        }
+        // Results can depend on the privileges of the user and role
+        final IConnectionProperties connectionProperties = gdsHelper.getCurrentDatabase().getConnectionProperties();
+        final Object[] keyParts = new Object[arguments.length + 3];
+        keyParts[0] = connectionProperties.getUser();
+        keyParts[1] = connectionProperties.getRoleName();
+        keyParts[2] = methodName;
+        System.arraycopy(arguments, 0, keyParts, 3, arguments.length);
+        return metaDataCache.createKey(keyParts);
+    }
+
+    /**
+     * Gets a result set for a cached metadata result.
+     *
+     * @param cacheKey
+     *         Cache key (can be {@code null})
+     * @return Result set with the cached rows, or {@code null} if {@code cacheKey} is {@code null} or there is no
+     * cached result
+     * @throws SQLException
+     *         if a database access error occurs
+     */
+    private FBResultSet getCachedResultSet(MetaDataCache.Key cacheKey) throws SQLException {
+        if (cacheKey == null) {
+            return null;
+        }
+        MetaDataCache.CachedResult cachedResult = metaDataCache.get(cacheKey);
+        return cachedResult != null
+                ? new FBResultSet(cachedResult.getRowDescriptor(), cachedResult.getRows())
+                : null;
+    }
+
+    /**
+     * Adds a metadata result to the cache, and returns it as a result set.
+     *
+     * @param cacheKey
+     *         Cache key (can be {@code null}, in that case the result is not cached)
+     * @param rowDescriptor
+     *         Row descriptor of the result
+     * @param rows
+     *         Rows of the result
+     * @return Result set with the rows
+     * @throws SQLException
+     *         if a database access error occurs
+     */
+    private FBResultSet cacheResultSet(MetaDataCache.Key cacheKey, RowDescriptor rowDescriptor, List<RowValue> rows)
+            throws SQLException {
+        if (cacheKey != null) {
+            metaDataCache.put(cacheKey, rowDescriptor, rows, metaDataCacheTtl);
+        }
+        return new FBResultSet(rowDescriptor, rows);
+    }
+
     private FBPreparedStatement getStatement(String sql, boolean standalone) throws SQLException {
         FBPreparedStatement s = statements.get(sql);
 
@@ -4881,9 +5141,19 @@ public class FBDatabaseMetaData implements FirebirdDatabaseMetaData {
         InternalTransactionCoordinator.MetaDataTransactionCoordinator metaDataTransactionCoordinator =
             new InternalTransactionCoordinator.MetaDataTransactionCoordinator(connection.txCoordinator);
 
-        s = new FBPreparedStatement(gdsHelper, sql, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY,
-                ResultSet.CLOSE_CURSORS_AT_COMMIT, metaDataTransactionCoordinator, metaDataTransactionCoordinator,
-                true, standalone, false);
+        final FbStatement statementHandle = !standalone && managedConnection != null
+                ? managedConnection.takeMetaDataStatement(sql)
+                : null;
+        try {
+            s = new FBPreparedStatement(gdsHelper, sql, statementHandle, ResultSet.TYPE_SCROLL_INSENSITIVE,
+                    ResultSet.CONCUR_READ_ONLY, ResultSet.CLOSE_CURSORS_AT_COMMIT, metaDataTransactionCoordinator,
+                    metaDataTransactionCoordinator, true, standalone, false);
+        } catch (SQLException e) {
+            if (statementHandle != null) {
+                closeStatementHandle(statementHandle);
+            }
+            throw e;
+        }
 
         if (!standalone) {
             statements.put(sql, s);
@@ -4892,6 +5162,22 @@ public class FBDatabaseMetaData implements FirebirdDatabaseMetaData {
         return s;
     }
 
+    private void releaseStatementHandle(String sql, FbStatement statementHandle) {
+        if (managedConnection != null) {
+            managedConnection.releaseMetaDataStatement(sql, statementHandle);
+        } else {
+            closeStatementHandle(statementHandle);
+        }
+    }
+
+    private static void closeStatementHandle(FbStatement statementHandle) {
+        try {
+            statementHandle.close();
+        } catch (SQLException e) {
+            log.warn("error closing metadata statement handle", e);
+        }
+    }
+
     /**
      * Execute an sql query with a given set of parameters.
      *
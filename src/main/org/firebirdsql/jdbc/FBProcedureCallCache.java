@@ -0,0 +1,81 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.jdbc;
+
+import org.firebirdsql.util.LruCache;
+
+/**
+ * Cache of parsed procedure calls, used to avoid parsing the same {@code {call ...}} statement each time a
+ * {@link java.sql.CallableStatement} is prepared.
+ * <p>
+ * The cache belongs to a connection. Entries hold an unused copy of the parsed {@link FBProcedureCall}. The
+ * selectability of the procedure is not cached here; it is resolved through the {@link StoredProcedureMetaData} of the
+ * connection each time a statement is prepared, so it follows the caching policy of that metadata. The cache is cleared
+ * when DDL is executed through the connection. The number of cached calls is bounded, the least recently used entries
+ * are evicted first.
+ * </p>
+ *
+ * @since 4.0
+ */
+final class FBProcedureCallCache {
+
+    static final int DEFAULT_MAX_SIZE = 128;
+
+    private final LruCache<String, FBProcedureCall> callsBySql;
+
+    FBProcedureCallCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    FBProcedureCallCache(int maxSize) {
+        callsBySql = new LruCache<>(maxSize);
+    }
+
+    /**
+     * Gets a cached procedure call.
+     *
+     * @param sql
+     *         SQL of the callable statement as passed to {@link java.sql.Connection#prepareCall(String)}
+     * @return New copy of the cached procedure call for use by a single statement, or {@code null} if not cached
+     */
+    FBProcedureCall get(String sql) {
+        final FBProcedureCall template = callsBySql.get(sql);
+        return template != null ? (FBProcedureCall) template.clone() : null;
+    }
+
+    /**
+     * Adds a procedure call to the cache.
+     *
+     * @param sql
+     *         SQL of the callable statement
+     * @param procedureCall
+     *         Parsed procedure call; must not have been used yet (no parameters set or registered), a copy is cached
+     */
+    void put(String sql, FBProcedureCall procedureCall) {
+        callsBySql.put(sql, (FBProcedureCall) procedureCall.clone());
+    }
+
+    void clear() {
+        callsBySql.clear();
+    }
+
+    int size() {
+        return callsBySql.size();
+    }
+}
@@ -20,6 +20,7 @@ package org.firebirdsql.jdbc;
 
 import org.firebirdsql.gds.impl.GDSHelper;
 import org.firebirdsql.gds.ng.FbStatement;
+import org.firebirdsql.gds.ng.LockCloseable;
 import org.firebirdsql.gds.ng.fields.FieldDescriptor;
 import org.firebirdsql.gds.ng.fields.FieldValue;
 import org.firebirdsql.gds.ng.fields.RowDescriptor;
@@ -60,6 +61,7 @@ import java.util.List;
  * @author <a href="mailto:rrokytskyy@users.sourceforge.net">Roman Rokytskyy</a>
  * @author <a href="mailto:mrotteveel@users.sourceforge.net">Mark Rotteveel</a>
  */
+@SuppressWarnings("try")
 public class FBRowUpdater implements FirebirdRowUpdater {
 
     private static final int PARAMETER_UNUSED = 0;
@@ -400,7 +402,7 @@ public class FBRowUpdater implements FirebirdRowUpdater {
     public void updateRow() throws SQLException {
         boolean success = false;
 
-        synchronized (syncProvider.getSynchronizationObject()) {
+        try (LockCloseable ignored = syncProvider.withLock()) {
             try {
                 notifyExecutionStarted();
 
@@ -423,7 +425,7 @@ public class FBRowUpdater implements FirebirdRowUpdater {
     public void deleteRow() throws SQLException {
         boolean success = false;
 
-        synchronized (syncProvider.getSynchronizationObject()) {
+        try (LockCloseable ignored = syncProvider.withLock()) {
             try {
                 notifyExecutionStarted();
 
@@ -446,7 +448,7 @@ public class FBRowUpdater implements FirebirdRowUpdater {
     public void insertRow() throws SQLException {
         boolean success = false;
 
-        synchronized (syncProvider.getSynchronizationObject()) {
+        try (LockCloseable ignored = syncProvider.withLock()) {
             try {
                 notifyExecutionStarted();
 
@@ -469,7 +471,7 @@ public class FBRowUpdater implements FirebirdRowUpdater {
     public void refreshRow() throws SQLException {
         boolean success = false;
 
-        synchronized (syncProvider.getSynchronizationObject()) {
+        try (LockCloseable ignored = syncProvider.withLock()) {
             try {
                 notifyExecutionStarted();
 
@@ -54,6 +54,7 @@ import static org.firebirdsql.util.FirebirdSupportInfo.supportInfoFor;
  * @author <a href="mailto:d_jencks@users.sourceforge.net">David Jencks</a>
  * @author <a href="mailto:mrotteveel@users.sourceforge.net">Mark Rotteveel</a>
  */
+@SuppressWarnings("try")
 public class FBStatement implements FirebirdStatement, Synchronizable {
 
     private static final org.firebirdsql.logging.Logger log = LoggerFactory.getLogger(FBStatement.class);
@@ -68,6 +69,10 @@ public class FBStatement implements FirebirdStatement, Synchronizable {
     protected final FBObjectListener.StatementListener statementListener;
 
     protected FbStatement fbStatement;
+    // Listener registered on fbStatement, kept so the statement handle can be detached for reuse
+    private StatementListener fbStatementListener;
+    // Transaction selected by the transaction coordinator for the current execution, null for the current transaction
+    private FbTransaction executionTransaction;
     
     //The normally retrieved result set. (no autocommit, not a cached rs).
     private FBResultSet currentRs;
@@ -188,6 +193,11 @@ public class FBStatement implements FirebirdStatement, Synchronizable {
         return syncObject;
     }
 
+    @Override
+    public final LockCloseable withLock() {
+        return gdsHelper.withLock();
+    }
+
     @Override
     protected void finalize() throws Throwable {
         try {
@@ -222,7 +232,7 @@ public class FBStatement implements FirebirdStatement, Synchronizable {
     public ResultSet executeQuery(String sql) throws  SQLException {
         checkValidity();
         currentStatementGeneratedKeys = false;
-        synchronized(getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             notifyStatementStarted();
             if (!internalExecute(sql)) {
                 throw new FBSQLException("Query did not return a result set.",
@@ -242,14 +252,43 @@ public class FBStatement implements FirebirdStatement, Synchronizable {
             closeResultSet(false);
 
         // notify listener that statement execution is about to start
+        executionTransaction = null;
         statementListener.executionStarted(this);
 
         if (fbStatement != null) {
-            fbStatement.setTransaction(gdsHelper.getCurrentTransaction());
+            fbStatement.setTransaction(executionTransaction != null
+                    ? executionTransaction
+                    : gdsHelper.getCurrentTransaction());
         }
         completed = false;
     }
 
+    /**
+     * Sets the transaction to use for the execution that is starting, instead of the current transaction of the
+     * connection.
+     * <p>
+     * Only intended to be called by the transaction coordinator from
+     * {@link FBObjectListener.StatementListener#executionStarted(FBStatement)}.
+     * </p>
+     *
+     * @param transaction
+     *         Transaction for the execution
+     */
+    void setExecutionTransaction(FbTransaction transaction) {
+        executionTransaction = transaction;
+    }
+
+    /**
+     * Determines if the statement is a query that can be executed in a read-only transaction.
+     *
+     * @return <code>true</code> if this statement is a read-only query, <code>false</code> otherwise
+     * @throws SQLException
+     *         For database access errors
+     */
+    boolean isReadOnlyQuery() throws SQLException {
+        return false;
+    }
+
     protected void notifyStatementCompleted() throws SQLException {
         notifyStatementCompleted(true);
     }
@@ -274,7 +313,7 @@ public class FBStatement implements FirebirdStatement, Synchronizable {
     public int executeUpdate(String sql) throws SQLException {
         checkValidity();
         currentStatementGeneratedKeys = false;
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             notifyStatementStarted();
             try {
                 if (internalExecute(sql)) { throw new FBSQLException(
@@ -585,7 +624,7 @@ public class FBStatement implements FirebirdStatement, Synchronizable {
             throw new FBSQLException("This statement is already closed.");
         }
 
-        synchronized(getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             if (fbStatement != null) {
                 try {
                     try {
@@ -833,7 +872,7 @@ public class FBStatement implements FirebirdStatement, Synchronizable {
      * @see #execute(String)
      */
     protected boolean executeImpl(String sql) throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             notifyStatementStarted();
             boolean hasResultSet = false;
             try {
@@ -1189,7 +1228,7 @@ public class FBStatement implements FirebirdStatement, Synchronizable {
         currentStatementGeneratedKeys = false;
 
         notifyStatementStarted();
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             boolean success = false;
             try {
                 List<Long> responses = new ArrayList<>(batchList.size());
@@ -1361,13 +1400,64 @@ public class FBStatement implements FirebirdStatement, Synchronizable {
         // TODO: Statement should be created and allocated at FBStatement creation only.
         if (fbStatement == null) {
             fbStatement = gdsHelper.allocateStatement();
-            fbStatement.addStatementListener(createStatementListener());
+            fbStatementListener = createStatementListener();
+            fbStatement.addStatementListener(fbStatementListener);
         } else {
             fbStatement.setTransaction(gdsHelper.getCurrentTransaction());
         }
         fbStatement.prepare(escapedProcessing ? nativeSQL(sql) : sql);
     }
 
+    /**
+     * Uses a statement handle that is already prepared, instead of allocating and preparing a new one.
+     *
+     * @param statementHandle
+     *         Prepared statement handle, obtained from {@link #detachStatementHandle()} of another statement on the
+     *         same physical connection
+     * @throws SQLException
+     *         if the statement handle cannot be associated with the current transaction
+     */
+    void attachStatementHandle(FbStatement statementHandle) throws SQLException {
+        if (fbStatement != null) {
+            throw new IllegalStateException("Statement already has a statement handle");
+        }
+        fbStatement = statementHandle;
+        fbStatementListener = createStatementListener();
+        fbStatement.addStatementListener(fbStatementListener);
+        fbStatement.setTransaction(gdsHelper.getCurrentTransaction());
+    }
+
+    /**
+     * Closes this statement, but keeps its statement handle prepared for reuse by another statement.
+     *
+     * @return The prepared statement handle, or {@code null} if this statement is closed, has no prepared handle, or
+     * still has an open result set or cursor (in that case the statement is closed normally)
+     * @throws SQLException
+     *         if closing the statement fails
+     * @see #attachStatementHandle(FbStatement)
+     */
+    FbStatement detachStatementHandle() throws SQLException {
+        if (isClosed()) {
+            return null;
+        }
+        final FbStatement statementHandle;
+        try (LockCloseable ignored = withLock()) {
+            if (fbStatement == null || fbStatement.getState() != StatementState.PREPARED
+                    || currentRs != null && !currentRs.isClosed()) {
+                // Handle is not idle (eg result set still in use), leave it to the normal close
+                statementHandle = null;
+            } else {
+                statementHandle = fbStatement;
+                closeResultSet(false);
+                statementHandle.removeStatementListener(fbStatementListener);
+                fbStatement = null;
+                fbStatementListener = null;
+            }
+        }
+        close();
+        return statementHandle;
+    }
+
     protected void addWarning(SQLWarning warning) {
         if (firstWarning == null) {
             firstWarning = warning;
@@ -1673,6 +1763,9 @@ public class FBStatement implements FirebirdStatement, Synchronizable {
                     ? StatementResult.RESULT_SET
                     : StatementResult.UPDATE_COUNT;
             isSingletonResult = hasSingletonResult;
+            if (connection != null && sender.getType() == StatementType.DDL) {
+                connection.metaDataChanged(sender.getTransaction());
+            }
         }
 
         @Override
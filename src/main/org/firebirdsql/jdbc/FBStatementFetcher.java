@@ -22,6 +22,7 @@ import org.firebirdsql.gds.JaybirdErrorCodes;
 import org.firebirdsql.gds.impl.GDSHelper;
 import org.firebirdsql.gds.ng.FbExceptionBuilder;
 import org.firebirdsql.gds.ng.FbStatement;
+import org.firebirdsql.gds.ng.LockCloseable;
 import org.firebirdsql.gds.ng.fields.RowValue;
 import org.firebirdsql.gds.ng.listeners.DefaultStatementListener;
 
@@ -35,6 +36,7 @@ import java.util.List;
  * by the cursor position after {@link #next()} call. This class changes cursor
  * position to point to the next row.
  */
+@SuppressWarnings("try")
 class FBStatementFetcher implements FBFetcher {
 
     private boolean closed;
@@ -71,12 +73,13 @@ class FBStatementFetcher implements FBFetcher {
         this.gdsHelper = gdsHelper;
         this.stmt = stmth;
         stmt.addStatementListener(rowListener);
+        stmt.setMaxRows(maxRows);
         this.syncProvider = syncProvider;
         this.fetcherListener = fetcherListener;
         this.maxRows = maxRows;
         this.fetchSize = fetchSize;
 
-        synchronized (syncProvider.getSynchronizationObject()) {
+        try (LockCloseable ignored = syncProvider.withLock()) {
             isEmpty = false;
             isBeforeFirst = false;
             isFirst = false;
@@ -180,7 +183,7 @@ class FBStatementFetcher implements FBFetcher {
     }
 
     public void fetch() throws SQLException {
-        synchronized (syncProvider.getSynchronizationObject()) {
+        try (LockCloseable ignored = syncProvider.withLock()) {
             checkClosed();
             int maxRows = 0;
 
@@ -21,6 +21,7 @@ package org.firebirdsql.jdbc;
 import org.firebirdsql.gds.ISCConstants;
 import org.firebirdsql.gds.ParameterBufferHelper;
 import org.firebirdsql.gds.TransactionParameterBuffer;
+import org.firebirdsql.gds.impl.ImmutableTransactionParameterBuffer;
 import org.firebirdsql.gds.impl.TransactionParameterBufferImpl;
 import org.firebirdsql.jca.FBResourceException;
 
@@ -145,6 +146,8 @@ public class FBTpbMapper implements Serializable, Cloneable {
 
     // ConcurrentHashMap because changes can - potentially - be made concurrently
     private Map<Integer, TransactionParameterBuffer> mapping = new ConcurrentHashMap<>();
+    // Cache of serialized mappings, validated against the current mapping on use
+    private Map<Integer, ImmutableTransactionParameterBuffer> immutableMapping = new ConcurrentHashMap<>();
     private int defaultIsolationLevel = Connection.TRANSACTION_READ_COMMITTED;
 
     /**
@@ -370,6 +373,35 @@ public class FBTpbMapper implements Serializable, Cloneable {
         }
     }
 
+    /**
+     * Get an immutable, pre-serialized mapping for the specified transaction isolation level.
+     * <p>
+     * The immutable mapping is cached per transaction isolation level, and shared by all callers until the mapping
+     * is changed.
+     * </p>
+     *
+     * @param transactionIsolation
+     *         transaction isolation level.
+     * @return immutable TPB parameters.
+     * @throws IllegalArgumentException
+     *         if specified transaction isolation level is unknown.
+     * @see #getMapping(int)
+     */
+    public ImmutableTransactionParameterBuffer getImmutableMapping(int transactionIsolation) {
+        final TransactionParameterBuffer currentMapping = getMapping(transactionIsolation);
+        // Share the cached copy with the isolation level that getMapping promotes to
+        final int mappedIsolation = transactionIsolation == Connection.TRANSACTION_READ_UNCOMMITTED
+                ? Connection.TRANSACTION_READ_COMMITTED
+                : transactionIsolation;
+        ImmutableTransactionParameterBuffer immutableTpb = immutableMapping.get(mappedIsolation);
+        // The default mapping is exposed and can be modified externally, so always check if the cache is current
+        if (immutableTpb == null || !immutableTpb.isCopyOf(currentMapping)) {
+            immutableTpb = new ImmutableTransactionParameterBuffer(currentMapping);
+            immutableMapping.put(mappedIsolation, immutableTpb);
+        }
+        return immutableTpb;
+    }
+
     /**
      * Set mapping for the specified transaction isolation.
      *
@@ -446,6 +478,7 @@ public class FBTpbMapper implements Serializable, Cloneable {
             }
 
             clone.mapping = newMapping;
+            clone.immutableMapping = new ConcurrentHashMap<>();
 
             return clone;
         } catch (CloneNotSupportedException ex) {
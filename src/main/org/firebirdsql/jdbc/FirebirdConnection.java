@@ -28,9 +28,11 @@ package org.firebirdsql.jdbc;
 import java.sql.Blob;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Collection;
 
 import org.firebirdsql.gds.ISCConstants;
 import org.firebirdsql.gds.TransactionParameterBuffer;
+import org.firebirdsql.gds.ng.BlobReadCallback;
 import org.firebirdsql.gds.ng.FbDatabase;
 
 /**
@@ -63,6 +65,26 @@ public interface FirebirdConnection extends Connection {
      */
     Blob createBlob() throws SQLException;
     
+    /**
+     * Reads the content of multiple blobs in the current transaction.
+     * <p>
+     * The blobs are read concurrently where the protocol allows it: the operations of multiple open blobs are
+     * interleaved on the connection, so that the number of round trips is considerably lower than when reading the
+     * blobs one by one. The content of each blob (or the reason it could not be read) is delivered to
+     * {@code callback}. The callback is called from the current thread before this method returns, and it should not
+     * use this connection.
+     * </p>
+     *
+     * @param blobIds
+     *         Ids of the blobs to read
+     * @param callback
+     *         Callback receiving the content of each blob
+     * @throws SQLException
+     *         if the connection is closed, or a database connection error occurred.
+     * @since 4.0
+     */
+    void readBlobs(Collection<Long> blobIds, BlobReadCallback callback) throws SQLException;
+
     /**
      * Get current ISC encoding.
      * 
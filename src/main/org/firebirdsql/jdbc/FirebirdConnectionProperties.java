@@ -401,6 +401,74 @@ public interface FirebirdConnectionProperties {
      */
     void setUseFirebirdAutocommit(boolean useFirebirdAutocommit);
 
+    /**
+     * Get whether the start of a transaction is deferred to its first operation.
+     *
+     * @return {@code true} if transaction start is deferred
+     * @since 4.0
+     */
+    boolean isDeferTransactionStart();
+
+    /**
+     * Set whether the start of a transaction is deferred to its first operation (protocol version 11 or higher).
+     *
+     * @param deferTransactionStart
+     *         {@code true} to defer transaction start
+     * @since 4.0
+     */
+    void setDeferTransactionStart(boolean deferTransactionStart);
+
+    /**
+     * Get whether auto-commit queries that opt in can use a shared read-only transaction.
+     *
+     * @return <code>true</code> if the shared read-only transaction is enabled
+     * @since 4.0
+     */
+    boolean isUseSharedReadOnlyTransaction();
+
+    /**
+     * Set whether auto-commit queries that opt in can use a shared read-only transaction.
+     *
+     * @param useSharedReadOnlyTransaction
+     *         <code>true</code> to enable the shared read-only transaction
+     * @since 4.0
+     */
+    void setUseSharedReadOnlyTransaction(boolean useSharedReadOnlyTransaction);
+
+    /**
+     * Get whether the next batch of rows is fetched ahead while the current batch is processed.
+     *
+     * @return <code>true</code> if fetch ahead is enabled
+     * @since 4.0
+     */
+    boolean isFetchAhead();
+
+    /**
+     * Set whether the next batch of rows is fetched ahead while the current batch is processed.
+     *
+     * @param fetchAhead
+     *         <code>true</code> to enable fetch ahead (pure Java implementation only)
+     * @since 4.0
+     */
+    void setFetchAhead(boolean fetchAhead);
+
+    /**
+     * Get the time in milliseconds that database metadata results are cached.
+     *
+     * @return Time-to-live of cached metadata results in milliseconds, <code>0</code> for no caching
+     * @since 4.0
+     */
+    int getMetaDataCacheTtl();
+
+    /**
+     * Set the time in milliseconds that database metadata results are cached.
+     *
+     * @param metaDataCacheTtl
+     *         Time-to-live of cached metadata results in milliseconds (default <code>0</code>, no caching)
+     * @since 4.0
+     */
+    void setMetaDataCacheTtl(int metaDataCacheTtl);
+
     /**
      * Get the wire encryption level value.
      *
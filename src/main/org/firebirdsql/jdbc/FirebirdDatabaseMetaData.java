@@ -27,6 +27,8 @@ package org.firebirdsql.jdbc;
 
 import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Map;
 
 /**
  * Extension of {@link DatabaseMetaData} interface providing access to Firebird
@@ -107,6 +109,27 @@ public interface FirebirdDatabaseMetaData extends DatabaseMetaData {
      */
     int getConnectionDialect() throws SQLException;
 
+    /**
+     * Get the columns, primary key, foreign keys and indexes of multiple tables.
+     * <p>
+     * Contrary to calling {@link #getColumns(String, String, String, String)},
+     * {@link #getPrimaryKeys(String, String, String)}, {@link #getImportedKeys(String, String, String)} and
+     * {@link #getIndexInfo(String, String, String, boolean, boolean)} for each table, the keys and indexes of all
+     * tables are retrieved with a fixed number of queries. The columns are retrieved with one query for each requested
+     * table, or with a single query when all tables are requested.
+     * </p>
+     *
+     * @param tableNames
+     *         Names of the tables (or views) as stored in the metadata (so usually in uppercase, no quotes), or
+     *         {@code null} for all tables and views, including system tables
+     * @return Map from table name to its structure, ordered by table name; names that do not match a table or view
+     * are absent
+     * @throws SQLException
+     *         if a database access error occurs
+     * @since 4.0
+     */
+    Map<String, TableMetaData> getTableMetaData(Collection<String> tableNames) throws SQLException;
+
     /**
      * Closes any cached metadata statements held by this database metadata implementation.
      * <p>
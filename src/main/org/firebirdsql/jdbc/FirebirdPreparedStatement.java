@@ -91,5 +91,33 @@ public interface FirebirdPreparedStatement extends FirebirdStatement, PreparedSt
      * @return The identifier for the given statement's type
      */
     int getStatementType() throws SQLException;
+
+    /**
+     * Set whether this statement may be executed on the shared read-only transaction of the connection.
+     * <p>
+     * This only has effect in auto-commit mode when the connection property
+     * <code>useSharedReadOnlyTransaction</code> is enabled and the transaction isolation is read committed. It only
+     * applies to <code>SELECT</code> statements without blob parameters and a result set concurrency of
+     * {@link java.sql.ResultSet#CONCUR_READ_ONLY}. Only enable this for queries that do not modify data: a query
+     * that selects from a stored procedure that modifies data will fail on the read-only transaction. Callable
+     * statements ignore this setting.
+     * </p>
+     *
+     * @param useSharedReadOnlyTransaction
+     *         <code>true</code> to allow execution on the shared read-only transaction (default <code>false</code>)
+     * @throws SQLException
+     *         If this statement is closed
+     * @since 4.0
+     */
+    void setUseSharedReadOnlyTransaction(boolean useSharedReadOnlyTransaction) throws SQLException;
+
+    /**
+     * @return <code>true</code> if this statement may be executed on the shared read-only transaction
+     * @throws SQLException
+     *         If this statement is closed
+     * @see #setUseSharedReadOnlyTransaction(boolean)
+     * @since 4.0
+     */
+    boolean isUseSharedReadOnlyTransaction() throws SQLException;
    
 }
@@ -0,0 +1,168 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.jdbc;
+
+import org.firebirdsql.util.LruCache;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache of the columns of tables, used to build the {@code RETURNING} clause of generated keys queries.
+ * <p>
+ * The cache belongs to a connection, and is only used when the metadata cache of the connection is enabled (see
+ * {@link FirebirdConnectionProperties#getMetaDataCacheTtl()}). Entries expire after the same time-to-live as the
+ * metadata cache, and are discarded when the {@link MetaDataCache} of the connection is invalidated (eg because DDL
+ * was executed through a connection of the same connection factory). The cache is also cleared when preparing a
+ * generated keys query fails (eg because a cached column was dropped by another client). The number of cached tables
+ * is bounded, the least recently used entries are evicted first.
+ * </p>
+ *
+ * @since 4.0
+ */
+final class GeneratedKeysColumnCache {
+
+    static final int DEFAULT_MAX_SIZE = 64;
+
+    private final MetaDataCache metaDataCache;
+    private final long timeToLiveMillis;
+    private final LruCache<String, CachedColumns> columnsByTable;
+
+    /**
+     * Creates a column cache with the default maximum size.
+     *
+     * @param metaDataCache
+     *         Metadata cache of the connection, invalidation of this cache also discards the cached columns
+     * @param timeToLiveMillis
+     *         Time-to-live of cached columns in milliseconds
+     */
+    GeneratedKeysColumnCache(MetaDataCache metaDataCache, long timeToLiveMillis) {
+        this(metaDataCache, timeToLiveMillis, DEFAULT_MAX_SIZE);
+    }
+
+    GeneratedKeysColumnCache(MetaDataCache metaDataCache, long timeToLiveMillis, int maxSize) {
+        this.metaDataCache = metaDataCache;
+        this.timeToLiveMillis = timeToLiveMillis;
+        columnsByTable = new LruCache<>(maxSize);
+    }
+
+    /**
+     * @return Current generation of the metadata cache, to be passed to {@link #put(String, List, long)} for columns
+     * retrieved after this call
+     */
+    long getGeneration() {
+        return metaDataCache.getGeneration();
+    }
+
+    /**
+     * Gets the cached columns of a table.
+     *
+     * @param tableName
+     *         Normalized table name (as used for {@link java.sql.DatabaseMetaData#getColumns(String, String, String,
+     *         String)})
+     * @return Columns of the table in order of their ordinal position, or {@code null} if not cached or expired
+     */
+    List<TableColumn> get(String tableName) {
+        CachedColumns cachedColumns = columnsByTable.get(tableName);
+        if (cachedColumns == null) {
+            return null;
+        }
+        if (cachedColumns.generation != metaDataCache.getGeneration()
+                || cachedColumns.isExpired(System.nanoTime())) {
+            columnsByTable.remove(tableName);
+            return null;
+        }
+        return cachedColumns.columns;
+    }
+
+    /**
+     * Adds the columns of a table to the cache, unless the metadata cache was invalidated after {@code generation}
+     * was obtained.
+     *
+     * @param tableName
+     *         Normalized table name
+     * @param columns
+     *         Columns of the table
+     * @param generation
+     *         Generation obtained with {@link #getGeneration()} before the columns were retrieved
+     */
+    void put(String tableName, List<TableColumn> columns, long generation) {
+        if (generation != metaDataCache.getGeneration()) {
+            return;
+        }
+        long expiresAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeToLiveMillis);
+        columnsByTable.put(tableName, new CachedColumns(columns, generation, expiresAt));
+    }
+
+    /**
+     * Removes all cached columns.
+     */
+    void clear() {
+        columnsByTable.clear();
+    }
+
+    int size() {
+        return columnsByTable.size();
+    }
+
+    private static final class CachedColumns {
+        private final List<TableColumn> columns;
+        // Generation of the metadata cache when the columns were retrieved
+        private final long generation;
+        private final long expiresAt;
+
+        private CachedColumns(List<TableColumn> columns, long generation, long expiresAt) {
+            this.columns = Collections.unmodifiableList(new ArrayList<>(columns));
+            this.generation = generation;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+
+    /**
+     * Column of a table.
+     */
+    static final class TableColumn {
+        private final String quotedName;
+        private final int ordinalPosition;
+
+        TableColumn(String quotedName, int ordinalPosition) {
+            this.quotedName = quotedName;
+            this.ordinalPosition = ordinalPosition;
+        }
+
+        /**
+         * @return Column name, quoted for use in a query
+         */
+        String getQuotedName() {
+            return quotedName;
+        }
+
+        /**
+         * @return Ordinal position of the column (as reported by {@code ORDINAL_POSITION} of
+         * {@link java.sql.DatabaseMetaData#getColumns(String, String, String, String)})
+         */
+        int getOrdinalPosition() {
+            return ordinalPosition;
+        }
+    }
+}
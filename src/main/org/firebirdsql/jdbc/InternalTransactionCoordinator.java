@@ -19,6 +19,7 @@
 package org.firebirdsql.jdbc;
 
 import org.firebirdsql.gds.TransactionParameterBuffer;
+import org.firebirdsql.gds.ng.LockCloseable;
 import org.firebirdsql.gds.ng.StatementType;
 import org.firebirdsql.jca.FBManagedConnection;
 import org.firebirdsql.jca.FirebirdLocalTransaction;
@@ -33,6 +34,7 @@ import static org.firebirdsql.gds.ISCConstants.isc_tpb_autocommit;
 /**
  * Transaction coordinator for the {@link org.firebirdsql.jdbc.FBConnection} class.
  */
+@SuppressWarnings("try")
 public final class InternalTransactionCoordinator implements FBObjectListener.StatementListener,
         FBObjectListener.BlobListener, Synchronizable {
 
@@ -48,6 +50,11 @@ public final class InternalTransactionCoordinator implements FBObjectListener.St
         return connection.getSynchronizationObject();
     }
 
+    @Override
+    public final LockCloseable withLock() {
+        return connection.withLock();
+    }
+
     /**
      * Switches the auto commit coordinator if currently in a different auto commit mode.
      *
@@ -101,14 +108,14 @@ public final class InternalTransactionCoordinator implements FBObjectListener.St
     }
 
     public boolean getAutoCommit() throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             return coordinator != null && coordinator.isAutoCommit();
         }
     }
 
     @Override
     public void executionStarted(FBStatement stmt) throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             coordinator.executionStarted(stmt);
         }
     }
@@ -130,39 +137,39 @@ public final class InternalTransactionCoordinator implements FBObjectListener.St
 
     @Override
     public void statementCompleted(FBStatement stmt, boolean success) throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             coordinator.statementCompleted(stmt, success);
         }
     }
 
     @Override
     public void executionCompleted(FirebirdBlob blob) throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             coordinator.executionCompleted(blob);
         }
     }
 
     @Override
     public void executionStarted(FirebirdBlob blob) throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             coordinator.executionStarted(blob);
         }
     }
 
     public void ensureTransaction() throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             coordinator.ensureTransaction();
         }
     }
 
     public void commit() throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             coordinator.commit();
         }
     }
 
     public void rollback() throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             coordinator.rollback();
         }
     }
@@ -172,7 +179,7 @@ public final class InternalTransactionCoordinator implements FBObjectListener.St
     }
 
     private void setCoordinator(AbstractTransactionCoordinator coordinator) throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             if (this.coordinator != null) {
                 SQLExceptionChainBuilder<SQLException> chain = new SQLExceptionChainBuilder<>();
                 try {
@@ -311,9 +318,12 @@ public final class InternalTransactionCoordinator implements FBObjectListener.St
 
     static class AutoCommitCoordinator extends AbstractTransactionCoordinator {
 
+        private final boolean useSharedReadOnlyTransaction;
+
         public AutoCommitCoordinator(FBConnection connection,
                 FirebirdLocalTransaction localTransaction) {
             super(connection, localTransaction);
+            useSharedReadOnlyTransaction = connection.isUseSharedReadOnlyTransaction();
         }
 
         @Override
@@ -347,6 +357,15 @@ public final class InternalTransactionCoordinator implements FBObjectListener.St
                 statements.add(stmt);
             }
 
+            if (useSharedReadOnlyTransaction && stmt.isReadOnlyQuery()) {
+                final FBManagedConnection managedConnection = connection.getManagedConnection();
+                if (managedConnection.isSharedReadOnlyTransactionAllowed()) {
+                    // Executed without starting a transaction, so statementCompleted will not commit
+                    stmt.setExecutionTransaction(managedConnection.getSharedReadOnlyTransaction());
+                    return;
+                }
+            }
+
             ensureTransaction();
         }
 
@@ -18,7 +18,10 @@
  */
 package org.firebirdsql.jdbc;
 
+import org.firebirdsql.gds.impl.GDSHelper;
+
 import java.sql.BatchUpdateException;
+import java.sql.SQLException;
 
 /**
  * Interface to mediate between differences in JDBC versions.
@@ -49,4 +52,25 @@ public interface JdbcVersionSupport {
      */
     BatchUpdateException createBatchUpdateException(String reason, String SQLState, int vendorCode, long[] updateCounts,
             Throwable cause);
+
+    /**
+     * Creates the {@link FBStatement} implementation of this JDBC version.
+     *
+     * @param gdsHelper
+     *         GDS helper of the connection
+     * @param rsType
+     *         Result set type
+     * @param rsConcurrency
+     *         Result set concurrency
+     * @param rsHoldability
+     *         Result set holdability
+     * @param statementListener
+     *         Statement listener
+     * @return New statement
+     * @throws SQLException
+     *         If the statement could not be created
+     * @since 4.0
+     */
+    FBStatement createStatement(GDSHelper gdsHelper, int rsType, int rsConcurrency, int rsHoldability,
+            FBObjectListener.StatementListener statementListener) throws SQLException;
 }
@@ -0,0 +1,193 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.jdbc;
+
+import org.firebirdsql.gds.ng.fields.RowDescriptor;
+import org.firebirdsql.gds.ng.fields.RowValue;
+import org.firebirdsql.util.LruCache;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of {@link java.sql.DatabaseMetaData} results, shared by the connections of a
+ * {@link org.firebirdsql.jca.FBManagedConnectionFactory}.
+ * <p>
+ * Entries are keyed by the metadata method and its arguments, and expire after the time-to-live specified when they
+ * were added. The number of cached results is bounded, the least recently used entries are evicted first. The cache
+ * is invalidated when DDL is executed through a connection of the same connection factory. Changes made by other
+ * clients are only observed after the entries expire, or after {@link #invalidate()} is called explicitly.
+ * </p>
+ *
+ * @since 4.0
+ */
+public final class MetaDataCache {
+
+    static final int DEFAULT_MAX_SIZE = 512;
+
+    private final LruCache<Key, CachedResult> cachedResults;
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Creates a metadata cache with the default maximum size.
+     */
+    public MetaDataCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Creates a metadata cache.
+     *
+     * @param maxSize
+     *         Maximum number of cached results
+     */
+    public MetaDataCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be greater than 0, was " + maxSize);
+        }
+        cachedResults = new LruCache<>(maxSize);
+    }
+
+    /**
+     * Creates a key for a metadata result.
+     * <p>
+     * The key also records the current generation of the cache: a result queried before an invalidation of the cache
+     * will not be added by {@link #put(Key, RowDescriptor, List, long)}.
+     * </p>
+     *
+     * @param keyParts
+     *         Parts of the key (eg method name and arguments); {@code null} values are allowed, arrays are not
+     * @return Key
+     */
+    Key createKey(Object... keyParts) {
+        return new Key(Arrays.asList(keyParts.clone()), generation.get());
+    }
+
+    /**
+     * Gets a cached result.
+     *
+     * @param key
+     *         Key of the result
+     * @return Cached result, or {@code null} if there is no (unexpired) result for the key
+     */
+    CachedResult get(Key key) {
+        CachedResult cachedResult = cachedResults.get(key);
+        if (cachedResult == null) {
+            return null;
+        }
+        if (cachedResult.isExpired(System.nanoTime())) {
+            cachedResults.remove(key);
+            return null;
+        }
+        return cachedResult;
+    }
+
+    /**
+     * Adds a result to the cache, unless the cache was invalidated after the key was created.
+     *
+     * @param key
+     *         Key of the result
+     * @param rowDescriptor
+     *         Row descriptor of the result
+     * @param rows
+     *         Rows of the result
+     * @param timeToLiveMillis
+     *         Time-to-live of the result in milliseconds
+     */
+    void put(Key key, RowDescriptor rowDescriptor, List<RowValue> rows, long timeToLiveMillis) {
+        if (key.generation != generation.get()) {
+            return;
+        }
+        long expiresAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeToLiveMillis);
+        cachedResults.put(key, new CachedResult(rowDescriptor, rows, expiresAt));
+        if (key.generation != generation.get()) {
+            // Invalidated concurrently, the clear may have happened before the put
+            cachedResults.remove(key);
+        }
+    }
+
+    /**
+     * Removes all cached results.
+     * <p>
+     * Results that are being queried while the cache is invalidated will not be added to the cache.
+     * </p>
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        cachedResults.clear();
+    }
+
+    /**
+     * @return Generation of the cache, incremented by each invalidation of the cache
+     */
+    long getGeneration() {
+        return generation.get();
+    }
+
+    int size() {
+        return cachedResults.size();
+    }
+
+    static final class Key {
+        private final List<Object> keyParts;
+        private final long generation;
+
+        private Key(List<Object> keyParts, long generation) {
+            this.keyParts = keyParts;
+            this.generation = generation;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            return keyParts.equals(((Key) o).keyParts);
+        }
+
+        @Override
+        public int hashCode() {
+            return keyParts.hashCode();
+        }
+    }
+
+    static final class CachedResult {
+        private final RowDescriptor rowDescriptor;
+        private final List<RowValue> rows;
+        private final long expiresAt;
+
+        private CachedResult(RowDescriptor rowDescriptor, List<RowValue> rows, long expiresAt) {
+            this.rowDescriptor = rowDescriptor;
+            this.rows = Collections.unmodifiableList(new ArrayList<>(rows));
+            this.expiresAt = expiresAt;
+        }
+
+        RowDescriptor getRowDescriptor() {
+            return rowDescriptor;
+        }
+
+        List<RowValue> getRows() {
+            return rows;
+        }
+
+        private boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+}
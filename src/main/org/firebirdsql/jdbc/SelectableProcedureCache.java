@@ -0,0 +1,149 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.jdbc;
+
+import org.firebirdsql.util.LruCache;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of the selectability of stored procedures, shared by the connections of a
+ * {@link org.firebirdsql.jca.FBManagedConnectionFactory}.
+ * <p>
+ * Procedures are looked up individually when they are first called, so databases with a large number of procedures
+ * don't need to load all of them. Entries expire after the time-to-live specified when they were added (the
+ * {@link FirebirdConnectionProperties#getMetaDataCacheTtl() metaDataCacheTtl} of the connection), so changes by other
+ * clients are observed eventually. The number of cached procedures is bounded, the least recently used entries are
+ * evicted first. The cache is invalidated when DDL is executed through a connection of the same connection factory.
+ * </p>
+ *
+ * @since 4.0
+ */
+public final class SelectableProcedureCache {
+
+    static final int DEFAULT_MAX_SIZE = 1024;
+
+    private final LruCache<String, CachedSelectable> selectableByProcedure;
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Creates a selectable procedure cache with the default maximum size.
+     */
+    public SelectableProcedureCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Creates a selectable procedure cache.
+     *
+     * @param maxSize
+     *         Maximum number of cached procedures
+     */
+    public SelectableProcedureCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be greater than 0, was " + maxSize);
+        }
+        selectableByProcedure = new LruCache<>(maxSize);
+    }
+
+    /**
+     * @return Current generation of the cache, to be passed to {@link #put(String, boolean, long, long)}
+     */
+    long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Gets the cached selectability of a procedure.
+     *
+     * @param procedureName
+     *         Procedure name (uppercase)
+     * @return {@code TRUE} if the procedure is selectable, {@code FALSE} if it is executable, or {@code null} if not
+     * cached or expired
+     */
+    Boolean get(String procedureName) {
+        CachedSelectable cachedSelectable = selectableByProcedure.get(procedureName);
+        if (cachedSelectable == null) {
+            return null;
+        }
+        if (cachedSelectable.isExpired(System.nanoTime())) {
+            selectableByProcedure.remove(procedureName);
+            return null;
+        }
+        return cachedSelectable.selectable;
+    }
+
+    /**
+     * Adds the selectability of a procedure, unless the cache was invalidated after {@code generation} was obtained.
+     *
+     * @param procedureName
+     *         Procedure name (uppercase)
+     * @param selectable
+     *         {@code true} if the procedure is selectable
+     * @param generation
+     *         Generation of the cache obtained with {@link #getGeneration()} before querying the procedure
+     * @param timeToLiveMillis
+     *         Time-to-live of the entry in milliseconds, {@code 0} or less for an entry that does not expire (only for
+     *         caches that are not shared between connections)
+     */
+    void put(String procedureName, boolean selectable, long generation, long timeToLiveMillis) {
+        if (generation != this.generation.get()) {
+            return;
+        }
+        final boolean expires = timeToLiveMillis > 0;
+        final long expiresAt = expires ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeToLiveMillis) : 0;
+        selectableByProcedure.put(procedureName, new CachedSelectable(selectable, expires, expiresAt));
+        if (generation != this.generation.get()) {
+            // Invalidated concurrently, the clear may have happened before the put
+            selectableByProcedure.remove(procedureName);
+        }
+    }
+
+    /**
+     * Removes all cached procedures.
+     * <p>
+     * Procedures that are being queried while the cache is invalidated will not be added to the cache.
+     * </p>
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        selectableByProcedure.clear();
+    }
+
+    int size() {
+        return selectableByProcedure.size();
+    }
+
+    private static final class CachedSelectable {
+        private final boolean selectable;
+        private final boolean expires;
+        private final long expiresAt;
+
+        private CachedSelectable(boolean selectable, boolean expires, long expiresAt) {
+            this.selectable = selectable;
+            this.expires = expires;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return expires && now - expiresAt >= 0;
+        }
+    }
+}
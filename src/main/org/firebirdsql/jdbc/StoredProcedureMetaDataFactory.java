@@ -25,12 +25,9 @@
  */
 package org.firebirdsql.jdbc;
 
-import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.Collections;
 
 /**
  * Factory to retrieve meta-data on stored procedures in a Firebird database.
@@ -48,7 +45,17 @@ public abstract class StoredProcedureMetaDataFactory {
      */
     public static StoredProcedureMetaData getInstance(FBConnection connection) throws SQLException {
         if (connectionHasProcedureMetadata(connection)) {
-            return new DefaultCallableStatementMetaData(connection);
+            // The cache of the connection factory is only shared when metadata caching is enabled, otherwise
+            // procedures are cached by this instance only (which is discarded at the end of the transaction)
+            final int metaDataCacheTtl = connection.getMetaDataCacheTtl();
+            SelectableProcedureCache selectableProcedureCache = metaDataCacheTtl > 0
+                    ? connection.getSelectableProcedureCache()
+                    : null;
+            if (selectableProcedureCache == null) {
+                selectableProcedureCache = new SelectableProcedureCache();
+            }
+            return new DefaultCallableStatementMetaData((FBDatabaseMetaData) connection.getMetaData(),
+                    selectableProcedureCache, metaDataCacheTtl);
         } else {
             return new DummyCallableStatementMetaData();
         }
@@ -71,26 +78,25 @@ public abstract class StoredProcedureMetaDataFactory {
 
 /**
  * A fully-functional implementation of {@link StoredProcedureMetaData}.
+ * <p>
+ * Procedures are looked up in {@code RDB$PROCEDURES} when first used, the result is kept in a
+ * {@link SelectableProcedureCache}, which is shared with other connections if metadata caching is enabled.
+ * </p>
  */
 class DefaultCallableStatementMetaData implements StoredProcedureMetaData {
 
-    Set<String> selectableProcedureNames = new HashSet<String>();
+    private static final String GET_PROCEDURE_TYPE =
+            "SELECT RDB$PROCEDURE_TYPE FROM RDB$PROCEDURES WHERE RDB$PROCEDURE_NAME = ?";
 
-    public DefaultCallableStatementMetaData(Connection connection)
-            throws SQLException {
-        loadSelectableProcedureNames(connection);
-    }
+    private final FBDatabaseMetaData metaData;
+    private final SelectableProcedureCache selectableProcedureCache;
+    private final int timeToLiveMillis;
 
-    private void loadSelectableProcedureNames(Connection connection) throws SQLException {
-        try (Statement stmt = connection.createStatement()) {
-            // TODO Replace with looking for specific procedure
-            String sql = "SELECT RDB$PROCEDURE_NAME FROM RDB$PROCEDURES WHERE RDB$PROCEDURE_TYPE = 1";
-            try (ResultSet resultSet = stmt.executeQuery(sql)) {
-                while (resultSet.next()) {
-                    selectableProcedureNames.add(resultSet.getString(1).trim().toUpperCase());
-                }
-            }
-        }
+    DefaultCallableStatementMetaData(FBDatabaseMetaData metaData, SelectableProcedureCache selectableProcedureCache,
+            int timeToLiveMillis) {
+        this.metaData = metaData;
+        this.selectableProcedureCache = selectableProcedureCache;
+        this.timeToLiveMillis = timeToLiveMillis;
     }
 
     public boolean canGetSelectableInformation() {
@@ -98,7 +104,25 @@ class DefaultCallableStatementMetaData implements StoredProcedureMetaData {
     }
 
     public boolean isSelectable(String procedureName) throws SQLException {
-        return selectableProcedureNames.contains(procedureName.toUpperCase());
+        final String normalizedName = procedureName.toUpperCase();
+        final Boolean cachedSelectable = selectableProcedureCache.get(normalizedName);
+        if (cachedSelectable != null) {
+            return cachedSelectable;
+        }
+
+        final long generation = selectableProcedureCache.getGeneration();
+        try (ResultSet resultSet = metaData.doQuery(GET_PROCEDURE_TYPE, Collections.singletonList(normalizedName))) {
+            if (!resultSet.next()) {
+                // Unknown procedures are not cached, they might be created later
+                return false;
+            }
+            boolean selectable = false;
+            do {
+                selectable |= resultSet.getInt(1) == 1;
+            } while (resultSet.next());
+            selectableProcedureCache.put(normalizedName, selectable, generation, timeToLiveMillis);
+            return selectable;
+        }
     }
 }
 
@@ -18,12 +18,13 @@
  */
 package org.firebirdsql.jdbc;
 
+import org.firebirdsql.gds.ng.LockCloseable;
+
 /**
- * Provides synchronization object. Instances implementing this interface
- * provide objects that are later used in <code>synchronized</code> block:
+ * Provides the lock of the connection. Instances implementing this interface
+ * provide a lock that is used in a try-with-resources block:
  * <pre>
- * Object syncObject = someSynchronizable.getSynchronizationObject();
- * synchronized(syncObject) {
+ * try (LockCloseable ignored = someSynchronizable.withLock()) {
  *     // do something...
  * }
  * </pre>
@@ -38,4 +39,12 @@ public interface Synchronizable {
      * @return object, cannot be <code>null</code>.
      */
     Object getSynchronizationObject();
+
+    /**
+     * Acquires the lock of the connection.
+     *
+     * @return Closeable that releases the lock
+     * @since 4.0
+     */
+    LockCloseable withLock();
 }
\ No newline at end of file
@@ -0,0 +1,445 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.jdbc;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Structure of a table or view: its columns, primary key, foreign keys and indexes.
+ * <p>
+ * Instances are produced by {@link FirebirdDatabaseMetaData#getTableMetaData(java.util.Collection)}, which retrieves
+ * the structure of multiple tables with a fixed number of queries, instead of calling
+ * {@link java.sql.DatabaseMetaData#getColumns(String, String, String, String)},
+ * {@link java.sql.DatabaseMetaData#getPrimaryKeys(String, String, String)},
+ * {@link java.sql.DatabaseMetaData#getImportedKeys(String, String, String)} and
+ * {@link java.sql.DatabaseMetaData#getIndexInfo(String, String, String, boolean, boolean)} for each table.
+ * </p>
+ * <p>
+ * The values follow the definitions of the equivalent columns of those result sets. Instances are not updated
+ * when the database structure changes.
+ * </p>
+ *
+ * @since 4.0
+ */
+public final class TableMetaData {
+
+    private final String tableName;
+    private final List<Column> columns = new ArrayList<>();
+    private final List<ForeignKey> foreignKeys = new ArrayList<>();
+    private final List<Index> indexes = new ArrayList<>();
+    private PrimaryKey primaryKey;
+
+    TableMetaData(String tableName) {
+        this.tableName = tableName;
+    }
+
+    /**
+     * @return Name of the table
+     */
+    public String getTableName() {
+        return tableName;
+    }
+
+    /**
+     * @return Columns of the table, ordered by ordinal position
+     */
+    public List<Column> getColumns() {
+        return Collections.unmodifiableList(columns);
+    }
+
+    /**
+     * @return Primary key of the table, or {@code null} if the table has no primary key
+     */
+    public PrimaryKey getPrimaryKey() {
+        return primaryKey;
+    }
+
+    /**
+     * @return Foreign keys of the table, ordered by name
+     */
+    public List<ForeignKey> getForeignKeys() {
+        return Collections.unmodifiableList(foreignKeys);
+    }
+
+    /**
+     * @return Indexes of the table (including the indexes backing constraints), ordered by name
+     */
+    public List<Index> getIndexes() {
+        return Collections.unmodifiableList(indexes);
+    }
+
+    void addColumn(Column column) {
+        columns.add(column);
+    }
+
+    PrimaryKey getOrCreatePrimaryKey(String name) {
+        if (primaryKey == null) {
+            primaryKey = new PrimaryKey(name);
+        }
+        return primaryKey;
+    }
+
+    /**
+     * Returns the foreign key with the specified name, creating it if it is not the last foreign key added.
+     * <p>
+     * Relies on the foreign key columns being supplied grouped by foreign key.
+     * </p>
+     */
+    ForeignKey getOrCreateForeignKey(String name, String primaryKeyTableName, String primaryKeyName, int updateRule,
+            int deleteRule) {
+        if (!foreignKeys.isEmpty()) {
+            ForeignKey last = foreignKeys.get(foreignKeys.size() - 1);
+            if (last.name.equals(name)) {
+                return last;
+            }
+        }
+        ForeignKey foreignKey = new ForeignKey(name, primaryKeyTableName, primaryKeyName, updateRule, deleteRule);
+        foreignKeys.add(foreignKey);
+        return foreignKey;
+    }
+
+    /**
+     * Returns the index with the specified name, creating it if it is not the last index added.
+     * <p>
+     * Relies on the index segments being supplied grouped by index.
+     * </p>
+     */
+    Index getOrCreateIndex(String name, boolean unique, boolean descending, String expression) {
+        if (!indexes.isEmpty()) {
+            Index last = indexes.get(indexes.size() - 1);
+            if (last.name.equals(name)) {
+                return last;
+            }
+        }
+        Index index = new Index(name, unique, descending, expression);
+        indexes.add(index);
+        return index;
+    }
+
+    @Override
+    public String toString() {
+        return "TableMetaData{" +
+                "tableName='" + tableName + '\'' +
+                ", columns=" + columns +
+                ", primaryKey=" + primaryKey +
+                ", foreignKeys=" + foreignKeys +
+                ", indexes=" + indexes +
+                '}';
+    }
+
+    /**
+     * Column of a table, see the equally named columns of
+     * {@link java.sql.DatabaseMetaData#getColumns(String, String, String, String)}.
+     */
+    public static final class Column {
+
+        private final String name;
+        private final int ordinalPosition;
+        private final int dataType;
+        private final String typeName;
+        private final Integer columnSize;
+        private final Integer decimalDigits;
+        private final boolean nullable;
+        private final String defaultValue;
+        private final boolean autoIncrement;
+        private final boolean generated;
+        private final String remarks;
+
+        Column(String name, int ordinalPosition, int dataType, String typeName, Integer columnSize,
+                Integer decimalDigits, boolean nullable, String defaultValue, boolean autoIncrement,
+                boolean generated, String remarks) {
+            this.name = name;
+            this.ordinalPosition = ordinalPosition;
+            this.dataType = dataType;
+            this.typeName = typeName;
+            this.columnSize = columnSize;
+            this.decimalDigits = decimalDigits;
+            this.nullable = nullable;
+            this.defaultValue = defaultValue;
+            this.autoIncrement = autoIncrement;
+            this.generated = generated;
+            this.remarks = remarks;
+        }
+
+        /**
+         * @return Column name ({@code COLUMN_NAME})
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return 1-based position of the column in the table ({@code ORDINAL_POSITION})
+         */
+        public int getOrdinalPosition() {
+            return ordinalPosition;
+        }
+
+        /**
+         * @return SQL type from {@link java.sql.Types} ({@code DATA_TYPE})
+         */
+        public int getDataType() {
+            return dataType;
+        }
+
+        /**
+         * @return Firebird type name ({@code TYPE_NAME})
+         */
+        public String getTypeName() {
+            return typeName;
+        }
+
+        /**
+         * @return Column size ({@code COLUMN_SIZE}), or {@code null} if not applicable
+         */
+        public Integer getColumnSize() {
+            return columnSize;
+        }
+
+        /**
+         * @return Number of fractional digits ({@code DECIMAL_DIGITS}), or {@code null} if not applicable
+         */
+        public Integer getDecimalDigits() {
+            return decimalDigits;
+        }
+
+        /**
+         * @return {@code true} if the column allows {@code NULL}
+         */
+        public boolean isNullable() {
+            return nullable;
+        }
+
+        /**
+         * @return Default value of the column ({@code COLUMN_DEF}), or {@code null} if it has no default
+         */
+        public String getDefaultValue() {
+            return defaultValue;
+        }
+
+        /**
+         * @return {@code true} if the column is an identity column ({@code IS_AUTOINCREMENT})
+         */
+        public boolean isAutoIncrement() {
+            return autoIncrement;
+        }
+
+        /**
+         * @return {@code true} if the column is a computed column ({@code IS_GENERATEDCOLUMN})
+         */
+        public boolean isGenerated() {
+            return generated;
+        }
+
+        /**
+         * @return Description of the column ({@code REMARKS}), or {@code null}
+         */
+        public String getRemarks() {
+            return remarks;
+        }
+
+        @Override
+        public String toString() {
+            return name + ' ' + typeName;
+        }
+    }
+
+    /**
+     * Primary key of a table.
+     */
+    public static final class PrimaryKey {
+
+        private final String name;
+        private final List<String> columnNames = new ArrayList<>(1);
+
+        private PrimaryKey(String name) {
+            this.name = name;
+        }
+
+        /**
+         * @return Name of the primary key constraint
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return Names of the columns of the primary key, in key order
+         */
+        public List<String> getColumnNames() {
+            return Collections.unmodifiableList(columnNames);
+        }
+
+        void addColumn(String columnName) {
+            columnNames.add(columnName);
+        }
+
+        @Override
+        public String toString() {
+            return name + columnNames;
+        }
+    }
+
+    /**
+     * Foreign key of a table.
+     */
+    public static final class ForeignKey {
+
+        private final String name;
+        private final String primaryKeyTableName;
+        private final String primaryKeyName;
+        private final int updateRule;
+        private final int deleteRule;
+        private final List<String> columnNames = new ArrayList<>(1);
+        private final List<String> primaryKeyColumnNames = new ArrayList<>(1);
+
+        private ForeignKey(String name, String primaryKeyTableName, String primaryKeyName, int updateRule,
+                int deleteRule) {
+            this.name = name;
+            this.primaryKeyTableName = primaryKeyTableName;
+            this.primaryKeyName = primaryKeyName;
+            this.updateRule = updateRule;
+            this.deleteRule = deleteRule;
+        }
+
+        /**
+         * @return Name of the foreign key constraint
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return Names of the columns of the foreign key, in key order
+         */
+        public List<String> getColumnNames() {
+            return Collections.unmodifiableList(columnNames);
+        }
+
+        /**
+         * @return Name of the referenced table
+         */
+        public String getPrimaryKeyTableName() {
+            return primaryKeyTableName;
+        }
+
+        /**
+         * @return Name of the referenced primary key or unique constraint
+         */
+        public String getPrimaryKeyName() {
+            return primaryKeyName;
+        }
+
+        /**
+         * @return Names of the referenced columns, in key order
+         */
+        public List<String> getPrimaryKeyColumnNames() {
+            return Collections.unmodifiableList(primaryKeyColumnNames);
+        }
+
+        /**
+         * @return Update rule, one of the {@code importedKey*} constants of {@link java.sql.DatabaseMetaData}
+         */
+        public int getUpdateRule() {
+            return updateRule;
+        }
+
+        /**
+         * @return Delete rule, one of the {@code importedKey*} constants of {@link java.sql.DatabaseMetaData}
+         */
+        public int getDeleteRule() {
+            return deleteRule;
+        }
+
+        void addColumn(String columnName, String primaryKeyColumnName) {
+            columnNames.add(columnName);
+            primaryKeyColumnNames.add(primaryKeyColumnName);
+        }
+
+        @Override
+        public String toString() {
+            return name + columnNames + " -> " + primaryKeyTableName + primaryKeyColumnNames;
+        }
+    }
+
+    /**
+     * Index of a table.
+     */
+    public static final class Index {
+
+        private final String name;
+        private final boolean unique;
+        private final boolean descending;
+        private final String expression;
+        private final List<String> columnNames = new ArrayList<>(1);
+
+        private Index(String name, boolean unique, boolean descending, String expression) {
+            this.name = name;
+            this.unique = unique;
+            this.descending = descending;
+            this.expression = expression;
+        }
+
+        /**
+         * @return Name of the index
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return {@code true} if the index is unique
+         */
+        public boolean isUnique() {
+            return unique;
+        }
+
+        /**
+         * @return {@code true} if the index is descending
+         */
+        public boolean isDescending() {
+            return descending;
+        }
+
+        /**
+         * @return Source of the index expression, or {@code null} if this is not an expression index
+         */
+        public String getExpression() {
+            return expression;
+        }
+
+        /**
+         * @return Names of the columns of the index, in index order (empty for an expression index)
+         */
+        public List<String> getColumnNames() {
+            return Collections.unmodifiableList(columnNames);
+        }
+
+        void addColumn(String columnName) {
+            columnNames.add(columnName);
+        }
+
+        @Override
+        public String toString() {
+            return name + (expression != null ? " computed by " + expression : columnNames.toString());
+        }
+    }
+}
@@ -19,11 +19,14 @@
 package org.firebirdsql.jdbc.escape;
 
 import org.firebirdsql.jdbc.FBProcedureCall;
+import org.firebirdsql.util.LruCache;
 
 import java.sql.SQLException;
 import java.text.BreakIterator;
 import java.util.ArrayDeque;
 import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.regex.Pattern;
 
 /**
@@ -63,6 +66,31 @@ public final class FBEscapedParser {
 
     private static final String LIMIT_OFFSET_CLAUSE = " offset ";
 
+    /**
+     * Maximum number of cached translations per parser mode.
+     */
+    private static final int TRANSLATION_CACHE_SIZE = 512;
+    /**
+     * Number of independently locked segments of the translation cache of a parser mode.
+     */
+    private static final int TRANSLATION_CACHE_CONCURRENCY = 16;
+    /**
+     * Maximum length of SQL strings to cache, to avoid retaining large (eg generated) SQL.
+     */
+    private static final int MAX_CACHED_SQL_LENGTH = 8192;
+    /**
+     * Cache of translations of SQL with escapes to native SQL, per parser mode. Translations only depend on the SQL
+     * and the mode, so the cache is shared by all parser instances.
+     */
+    private static final Map<EscapeParserMode, LruCache<String, String>> TRANSLATION_CACHE =
+            new EnumMap<>(EscapeParserMode.class);
+    static {
+        for (EscapeParserMode mode : EscapeParserMode.values()) {
+            TRANSLATION_CACHE.put(mode, new LruCache<String, String>(TRANSLATION_CACHE_SIZE,
+                    TRANSLATION_CACHE_CONCURRENCY));
+        }
+    }
+
     private final EscapeParserMode mode;
 
     /**
@@ -90,11 +118,15 @@ public final class FBEscapedParser {
      *         escaped syntax.
      */
     private boolean checkForEscapes(String sql) {
-        return CHECK_ESCAPE_PATTERN.matcher(sql).find();
+        // Fast path: no escapes possible without '{'
+        return sql.indexOf('{') != -1 && CHECK_ESCAPE_PATTERN.matcher(sql).find();
     }
 
     /**
      * Converts escaped parts in the passed SQL to native representation.
+     * <p>
+     * Translations are cached, so repeated parsing of the same SQL with the same mode returns the cached translation.
+     * </p>
      *
      * @param sql
      *            to parse
@@ -103,6 +135,29 @@ public final class FBEscapedParser {
     public String parse(final String sql) throws SQLException {
         if (!checkForEscapes(sql)) return sql;
 
+        final boolean cacheable = sql.length() <= MAX_CACHED_SQL_LENGTH;
+        final LruCache<String, String> translationCache = TRANSLATION_CACHE.get(mode);
+        if (cacheable) {
+            final String cachedTranslation = translationCache.get(sql);
+            if (cachedTranslation != null) return cachedTranslation;
+        }
+
+        // Exceptions are not cached
+        final String nativeSql = toNative(sql);
+        if (cacheable) {
+            translationCache.put(sql, nativeSql);
+        }
+        return nativeSql;
+    }
+
+    /**
+     * Converts escaped parts in the passed SQL to native representation, without using the translation cache.
+     *
+     * @param sql
+     *            to parse
+     * @return native form of the <code>sql</code>.
+     */
+    private String toNative(final String sql) throws SQLException {
         ParserState state = ParserState.INITIAL_STATE;
         // Note initialising to 8 as that is the minimum size in Oracle Java, and we (usually) need less than the default of 16
         final Deque<StringBuilder> bufferStack = new ArrayDeque<>(8);
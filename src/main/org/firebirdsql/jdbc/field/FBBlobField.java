@@ -20,12 +20,15 @@ package org.firebirdsql.jdbc.field;
 
 import org.firebirdsql.encodings.Encoding;
 import org.firebirdsql.gds.ng.FbBlob;
+import org.firebirdsql.gds.ng.LockCloseable;
 import org.firebirdsql.gds.ng.fields.FieldDescriptor;
 import org.firebirdsql.jdbc.FBBlob;
 import org.firebirdsql.jdbc.FBClob;
 import org.firebirdsql.jdbc.Synchronizable;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Reader;
 import java.sql.Blob;
 import java.sql.Clob;
@@ -37,6 +40,7 @@ import java.sql.SQLException;
  * @author <a href="mailto:rrokytskyy@users.sourceforge.net">Roman Rokytskyy</a>
  * @author <a href="mailto:mrotteveel@users.sourceforge.net">Mark Rotteveel</a>
  */
+@SuppressWarnings("try")
 class FBBlobField extends FBField implements FBFlushableField {
 
     private FBBlob blob;
@@ -101,7 +105,7 @@ class FBBlobField extends FBField implements FBFlushableField {
         if (blobIdBuffer == null) return null;
 
         final long blobId = getDatatypeCoder().decodeLong(blobIdBuffer);
-        synchronized (((Synchronizable) getBlob()).getSynchronizationObject()) {
+        try (LockCloseable ignored = ((Synchronizable) getBlob()).withLock()) {
             try (FbBlob blobHandle = gdsHelper.openBlob(blobId, FBBlob.SEGMENTED)) {
                 final int blobLength = (int) blobHandle.length();
                 final int bufferLength = gdsHelper.getBlobBufferLength();
@@ -110,15 +114,15 @@ class FBBlobField extends FBField implements FBFlushableField {
                 int offset = 0;
 
                 while (offset < blobLength) {
-                    final byte[] segmentBuffer = blobHandle.getSegment(bufferLength);
+                    final int segmentLength = blobHandle.getSegment(resultBuffer, offset,
+                            Math.min(bufferLength, blobLength - offset));
 
-                    if (segmentBuffer.length == 0) {
+                    if (segmentLength == 0) {
                         // unexpected EOF
                         throw new TypeConversionException(BYTES_CONVERSION_ERROR);
                     }
 
-                    System.arraycopy(segmentBuffer, 0, resultBuffer, offset, segmentBuffer.length);
-                    offset += segmentBuffer.length;
+                    offset += segmentLength;
                 }
 
                 return resultBuffer;
@@ -152,6 +156,11 @@ class FBBlobField extends FBField implements FBFlushableField {
         length = cachedObject.length;
     }
 
+    @Override
+    public void writeCachedObject(CachedObject cachedObject, OutputStream out) throws IOException {
+        cachedObject.writeTo(out, getDatatypeCoder().getEncoding(), gdsHelper.getBlobBufferLength());
+    }
+
     @Override
     public String getString() throws SQLException {
         // getString() is not defined for BLOB fields, only for BINARY
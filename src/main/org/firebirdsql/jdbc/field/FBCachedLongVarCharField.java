@@ -51,4 +51,11 @@ final class FBCachedLongVarCharField extends FBLongVarCharField {
     	if (isNull()) return null;
     	return new FBCachedClob((FBCachedBlob)getBlob(), gdsHelper.getJavaEncoding());
     }
+
+    @Override
+    public String getString() throws SQLException {
+        if (isNull()) return null;
+        // Field data holds the cached content of the blob
+        return getDatatypeCoder().decodeString(getFieldData());
+    }
 }
\ No newline at end of file
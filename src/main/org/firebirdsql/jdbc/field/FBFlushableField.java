@@ -18,8 +18,15 @@
  */
 package org.firebirdsql.jdbc.field;
 
+import org.firebirdsql.encodings.Encoding;
+import org.firebirdsql.jdbc.FBBlobWriter;
+
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.Charset;
 import java.sql.SQLException;
 
 /**
@@ -43,6 +50,62 @@ public interface FBFlushableField {
             this.characterStream = characterStream;
             this.length = length;
         }
+
+        /**
+         * @return {@code true} if this cached object has data to be written to a new blob
+         * @since 4.0
+         */
+        public boolean hasData() {
+            return bytes != null || binaryStream != null || characterStream != null;
+        }
+
+        /**
+         * Writes the data of this cached object to the output stream of a blob.
+         * <p>
+         * The data written is the same as what {@link #flushCachedData()} writes to a new blob for this cached object.
+         * </p>
+         *
+         * @param out
+         *         Output stream of the blob
+         * @param encoding
+         *         Encoding to use for character data
+         * @param bufferLength
+         *         Buffer length for copying and encoding
+         * @throws IOException
+         *         For errors reading the cached data or writing to {@code out}
+         * @since 4.0
+         */
+        public void writeTo(OutputStream out, Encoding encoding, int bufferLength) throws IOException {
+            if (binaryStream != null) {
+                final byte[] buffer = new byte[bufferLength];
+                long remaining = length == -1L ? Long.MAX_VALUE : length;
+                int chunk;
+                while (remaining > 0
+                        && (chunk = binaryStream.read(buffer, 0, (int) Math.min(buffer.length, remaining))) != -1) {
+                    out.write(buffer, 0, chunk);
+                    remaining -= chunk;
+                }
+            } else if (characterStream != null) {
+                final Charset charset;
+                try {
+                    charset = Charset.forName(encoding.getCharsetName());
+                } catch (IllegalArgumentException e) {
+                    throw new IOException("Encoding '" + encoding.getCharsetName() + "' is unsupported in the JVM", e);
+                }
+                try (Writer writer = new FBBlobWriter(out, charset, bufferLength)) {
+                    final char[] buffer = new char[bufferLength];
+                    long remaining = length == -1L ? Long.MAX_VALUE : length;
+                    int chunk;
+                    while (remaining > 0
+                            && (chunk = characterStream.read(buffer, 0, (int) Math.min(buffer.length, remaining))) != -1) {
+                        writer.write(buffer, 0, chunk);
+                        remaining -= chunk;
+                    }
+                }
+            } else if (bytes != null) {
+                out.write(bytes, 0, (int) length);
+            }
+        }
     }
 
     /**
@@ -65,4 +128,21 @@ public interface FBFlushableField {
     CachedObject getCachedObject() throws SQLException;
 
     void setCachedObject(CachedObject cachedObject) throws SQLException;
+
+    /**
+     * Writes the data of a cached object of this field to the output stream of a blob.
+     * <p>
+     * Used to write the blobs of batched rows ahead of their execution (see
+     * {@link CachedObject#writeTo(OutputStream, Encoding, int)}).
+     * </p>
+     *
+     * @param cachedObject
+     *         Cached object obtained from {@link #getCachedObject()}
+     * @param out
+     *         Output stream of the blob
+     * @throws IOException
+     *         For errors reading the cached data or writing to {@code out}
+     * @since 4.0
+     */
+    void writeCachedObject(CachedObject cachedObject, OutputStream out) throws IOException;
 }
\ No newline at end of file
@@ -26,7 +26,9 @@ import org.firebirdsql.jdbc.FBClob;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Reader;
+import java.io.StringReader;
 import java.sql.Blob;
 import java.sql.Clob;
 import java.sql.SQLException;
@@ -50,6 +52,7 @@ public class FBLongVarCharField extends FBStringField implements FBFlushableFiel
     // Rather then hold cached data in the XSQLDAVar we will hold it in here.
     private long length;
     private byte[] bytes;
+    private String string;
     private InputStream binaryStream;
     private Reader characterStream;
 
@@ -69,6 +72,7 @@ public class FBLongVarCharField extends FBStringField implements FBFlushableFiel
 
             blob = null;
             bytes = null;
+            string = null;
             binaryStream = null;
             characterStream = null;
             length = 0;
@@ -120,13 +124,19 @@ public class FBLongVarCharField extends FBStringField implements FBFlushableFiel
 
     @Override
     public byte[] getCachedData() throws SQLException {
-        if (isNull()) return bytes;
+        if (isNull()) {
+            return string != null ? getDatatypeCoder().encodeString(string) : bytes;
+        }
         return getBytes();
     }
 
     @Override
     public FBFlushableField.CachedObject getCachedObject() throws SQLException {
         if (isNull()) {
+            if (string != null) {
+                // Each cached object gets its own reader, so the string can be flushed multiple times (eg in batches)
+                return new CachedObject(null, null, new StringReader(string), length);
+            }
             return new CachedObject(bytes, binaryStream, characterStream, length);
         }
 
@@ -137,17 +147,24 @@ public class FBLongVarCharField extends FBStringField implements FBFlushableFiel
     @Override
     public void setCachedObject(FBFlushableField.CachedObject cachedObject) throws SQLException {
         bytes = cachedObject.bytes;
+        string = null;
         binaryStream = cachedObject.binaryStream;
         characterStream = cachedObject.characterStream;
         length = cachedObject.length;
     }
 
+    @Override
+    public void writeCachedObject(CachedObject cachedObject, OutputStream out) throws IOException {
+        cachedObject.writeTo(out, getDatatypeCoder().getEncoding(), gdsHelper.getBlobBufferLength());
+    }
+
     @Override
     public String getString() throws SQLException {
-        byte[] data = getBytes();
-        if (data == null) return null;
-        
-        return getDatatypeCoder().decodeString(data);
+        final FBBlob blob = (FBBlob) getBlob();
+        if (blob == null) return null;
+
+        // Decode segment by segment instead of materializing the encoded content
+        return blob.getString(getDatatypeCoder().getEncoding());
     }
 
     @Override
@@ -179,7 +196,9 @@ public class FBLongVarCharField extends FBStringField implements FBFlushableFiel
         // setNull() to reset field to empty state
         setNull();
         if (value != null) {
-            setBytes(getDatatypeCoder().encodeString(value));
+            // Encoding is deferred to flushCachedData to encode directly into the blob segments
+            this.string = value;
+            this.length = value.length();
         }
     }
 
@@ -209,6 +228,8 @@ public class FBLongVarCharField extends FBStringField implements FBFlushableFiel
             copyBinaryStream(this.binaryStream, this.length);
         } else if (characterStream != null) {
             copyCharacterStream(characterStream, length);
+        } else if (string != null) {
+            copyString(string);
         } else if (bytes != null) {
             copyBytes(bytes, (int) length);
         } else if (blob == null) {
@@ -218,6 +239,7 @@ public class FBLongVarCharField extends FBStringField implements FBFlushableFiel
         this.characterStream = null;
         this.binaryStream = null;
         this.bytes = null;
+        this.string = null;
         this.length = 0;
     }
 
@@ -233,6 +255,7 @@ public class FBLongVarCharField extends FBStringField implements FBFlushableFiel
             binaryStream = null;
             characterStream = null;
             bytes = null;
+            string = null;
             length = 0;
         }
     }
@@ -251,6 +274,12 @@ public class FBLongVarCharField extends FBStringField implements FBFlushableFiel
         setFieldData(getDatatypeCoder().encodeLong(blob.getBlobId()));
     }
     
+    private void copyString(String value) throws SQLException {
+        FBBlob blob = new FBBlob(gdsHelper);
+        blob.copyString(value, getDatatypeCoder().getEncoding());
+        setFieldData(getDatatypeCoder().encodeLong(blob.getBlobId()));
+    }
+
     private void copyBytes(byte[] bytes, int length) throws SQLException {
         FBBlob blob = new FBBlob(gdsHelper);
         blob.copyBytes(bytes, 0, length);
@@ -0,0 +1,406 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.jdbc.parser;
+
+/**
+ * Hand-written statement parser for detecting the statement type, table name and {@code RETURNING} clause of
+ * {@code INSERT}, {@code UPDATE}, {@code DELETE} and {@code UPDATE OR INSERT} statements.
+ * <p>
+ * This parser scans the statement text in place, without the per-call setup of the ANTLR lexer and parser in
+ * {@link StatementParserImpl}, and does not require the antlr-runtime. Statements that are not one of the supported
+ * statement types are rejected immediately. Statements of a supported type with a structure that this parser does not
+ * recognize (eg an {@code UPDATE} with a table alias) are delegated to the fallback parser, if one was provided.
+ * </p>
+ * <p>
+ * Contrary to {@link StatementParserImpl}, this parser does not populate the columns and values of
+ * {@link JaybirdStatementModel}.
+ * </p>
+ *
+ * @since 4.0
+ */
+public final class SimpleStatementParser implements StatementParser {
+
+    private final StatementParser fallbackParser;
+
+    /**
+     * Creates a simple statement parser without fallback parser.
+     */
+    public SimpleStatementParser() {
+        this(null);
+    }
+
+    /**
+     * Creates a simple statement parser.
+     *
+     * @param fallbackParser
+     *         Parser to use for statements that this parser cannot handle (can be {@code null})
+     */
+    public SimpleStatementParser(StatementParser fallbackParser) {
+        this.fallbackParser = fallbackParser;
+    }
+
+    @Override
+    public JaybirdStatementModel parseInsertStatement(String sql) throws ParseException {
+        JaybirdStatementModel statementModel = new Scanner(sql).scanStatement();
+        if (statementModel != null) {
+            return statementModel;
+        }
+        if (fallbackParser != null) {
+            return fallbackParser.parseInsertStatement(sql);
+        }
+        throw new ParseException("Unable to parse query");
+    }
+
+    private enum TokenType {
+        IDENTIFIER,
+        QUOTED_IDENTIFIER,
+        STRING,
+        OPEN_PAREN,
+        CLOSE_PAREN,
+        COMMA,
+        SEMICOLON,
+        OTHER,
+        END,
+        /**
+         * Unterminated string, quoted identifier or comment.
+         */
+        INVALID
+    }
+
+    /**
+     * Scanner over the statement text; the current token is identified by its type and its start and end position.
+     */
+    private static final class Scanner {
+
+        private final String sql;
+        private final int length;
+        private int position;
+        private TokenType tokenType;
+        private int tokenStart;
+        private int tokenEnd;
+
+        private Scanner(String sql) {
+            this.sql = sql;
+            length = sql.length();
+        }
+
+        /**
+         * Scans the statement.
+         *
+         * @return Statement model, or {@code null} if the statement should be parsed by the fallback parser
+         * @throws ParseException
+         *         If the statement is not one of the supported statement types
+         */
+        JaybirdStatementModel scanStatement() throws ParseException {
+            final int statementType;
+            nextToken();
+            if (isKeyword("INSERT")) {
+                if (!nextIsKeyword("INTO")) return null;
+                statementType = JaybirdStatementModel.INSERT_TYPE;
+                nextToken();
+            } else if (isKeyword("UPDATE")) {
+                nextToken();
+                if (isKeyword("OR")) {
+                    if (!(nextIsKeyword("INSERT") && nextIsKeyword("INTO"))) return null;
+                    statementType = JaybirdStatementModel.UPDATE_OR_INSERT_TYPE;
+                    nextToken();
+                } else {
+                    statementType = JaybirdStatementModel.UPDATE_TYPE;
+                }
+            } else if (isKeyword("DELETE")) {
+                if (!nextIsKeyword("FROM")) return null;
+                statementType = JaybirdStatementModel.DELETE_TYPE;
+                nextToken();
+            } else {
+                throw new ParseException("Unable to detect statement type or unsupported statement type");
+            }
+
+            if (tokenType != TokenType.IDENTIFIER && tokenType != TokenType.QUOTED_IDENTIFIER) {
+                return null;
+            }
+            final JaybirdStatementModel statementModel = new JaybirdStatementModel();
+            statementModel.setStatementType(statementType);
+            statementModel.setTableName(sql.substring(tokenStart, tokenEnd));
+
+            nextToken();
+            switch (statementType) {
+            case JaybirdStatementModel.INSERT_TYPE:
+            case JaybirdStatementModel.UPDATE_OR_INSERT_TYPE:
+                if (isKeyword("DEFAULT") && statementType == JaybirdStatementModel.INSERT_TYPE) {
+                    if (!nextIsKeyword("VALUES")) return null;
+                    statementModel.setDefaultValues(true);
+                    nextToken();
+                } else if (!(tokenType == TokenType.OPEN_PAREN || isKeyword("VALUES") || isKeyword("SELECT"))) {
+                    return null;
+                }
+                break;
+            case JaybirdStatementModel.UPDATE_TYPE:
+                if (!isKeyword("SET")) return null;
+                break;
+            default:
+                // DELETE: remainder of the statement is not checked
+                break;
+            }
+
+            return scanReturning(statementModel) ? statementModel : null;
+        }
+
+        /**
+         * Scans the remainder of the statement for a {@code RETURNING} clause at the top level, adding its columns
+         * to the statement model.
+         *
+         * @return {@code true} if the remainder was scanned successfully, {@code false} if the statement should be
+         * parsed by the fallback parser
+         */
+        private boolean scanReturning(JaybirdStatementModel statementModel) {
+            int depth = 0;
+            while (tokenType != TokenType.END) {
+                switch (tokenType) {
+                case INVALID:
+                    return false;
+                case OPEN_PAREN:
+                    depth++;
+                    break;
+                case CLOSE_PAREN:
+                    if (--depth < 0) return false;
+                    break;
+                case IDENTIFIER:
+                    if (depth == 0 && isKeyword("RETURNING")) {
+                        return scanReturningColumns(statementModel);
+                    }
+                    break;
+                }
+                nextToken();
+            }
+            return depth == 0;
+        }
+
+        private boolean scanReturningColumns(JaybirdStatementModel statementModel) {
+            int depth = 0;
+            int columnStart = -1;
+            int columnEnd = -1;
+            while (true) {
+                nextToken();
+                switch (tokenType) {
+                case INVALID:
+                    return false;
+                case OPEN_PAREN:
+                    depth++;
+                    break;
+                case CLOSE_PAREN:
+                    if (--depth < 0) return false;
+                    break;
+                case COMMA:
+                    if (depth == 0) {
+                        if (columnStart == -1) return false;
+                        statementModel.addReturningColumn(sql.substring(columnStart, columnEnd));
+                        columnStart = -1;
+                        continue;
+                    }
+                    break;
+                case SEMICOLON:
+                case END:
+                    return depth == 0 && addLastReturningColumn(statementModel, columnStart, columnEnd)
+                            && isAtEnd();
+                case IDENTIFIER:
+                    if (depth == 0 && isKeyword("INTO")) {
+                        // RETURNING ... INTO (PSQL)
+                        return addLastReturningColumn(statementModel, columnStart, columnEnd);
+                    }
+                    break;
+                }
+                if (columnStart == -1) {
+                    columnStart = tokenStart;
+                }
+                columnEnd = tokenEnd;
+            }
+        }
+
+        private boolean addLastReturningColumn(JaybirdStatementModel statementModel, int columnStart,
+                int columnEnd) {
+            if (columnStart == -1) return false;
+            statementModel.addReturningColumn(sql.substring(columnStart, columnEnd));
+            return true;
+        }
+
+        /**
+         * @return {@code true} if only a terminating semicolon, whitespace or comments remain
+         */
+        private boolean isAtEnd() {
+            while (tokenType == TokenType.SEMICOLON) {
+                nextToken();
+            }
+            return tokenType == TokenType.END;
+        }
+
+        private boolean nextIsKeyword(String keyword) {
+            nextToken();
+            return isKeyword(keyword);
+        }
+
+        /**
+         * @param keyword
+         *         Keyword in uppercase
+         * @return {@code true} if the current token is the keyword
+         */
+        private boolean isKeyword(String keyword) {
+            return tokenType == TokenType.IDENTIFIER && tokenEnd - tokenStart == keyword.length()
+                    && sql.regionMatches(true, tokenStart, keyword, 0, keyword.length());
+        }
+
+        private void nextToken() {
+            if (!skipWhitespaceAndComments()) {
+                setToken(TokenType.INVALID, position, length);
+                return;
+            }
+            if (position >= length) {
+                setToken(TokenType.END, length, length);
+                return;
+            }
+            final int start = position;
+            final char c = sql.charAt(position++);
+            switch (c) {
+            case '(':
+                setToken(TokenType.OPEN_PAREN, start, position);
+                return;
+            case ')':
+                setToken(TokenType.CLOSE_PAREN, start, position);
+                return;
+            case ',':
+                setToken(TokenType.COMMA, start, position);
+                return;
+            case ';':
+                setToken(TokenType.SEMICOLON, start, position);
+                return;
+            case '\'':
+                setToken(scanQuoted('\'') ? TokenType.STRING : TokenType.INVALID, start, position);
+                return;
+            case '"':
+                setToken(scanQuoted('"') ? TokenType.QUOTED_IDENTIFIER : TokenType.INVALID, start, position);
+                return;
+            }
+            if ((c == 'q' || c == 'Q') && position < length && sql.charAt(position) == '\'') {
+                // Alternative string literal q'<delimiter>...<delimiter>'
+                position++;
+                setToken(scanAlternativeString() ? TokenType.STRING : TokenType.INVALID, start, position);
+                return;
+            }
+            if (isIdentifierStart(c)) {
+                while (position < length && isIdentifierPart(sql.charAt(position))) {
+                    position++;
+                }
+                setToken(TokenType.IDENTIFIER, start, position);
+                return;
+            }
+            setToken(TokenType.OTHER, start, position);
+        }
+
+        private void setToken(TokenType tokenType, int tokenStart, int tokenEnd) {
+            this.tokenType = tokenType;
+            this.tokenStart = tokenStart;
+            this.tokenEnd = tokenEnd;
+        }
+
+        /**
+         * @return {@code false} if an unterminated block comment was found
+         */
+        private boolean skipWhitespaceAndComments() {
+            while (position < length) {
+                char c = sql.charAt(position);
+                if (Character.isWhitespace(c)) {
+                    position++;
+                } else if (c == '-' && position + 1 < length && sql.charAt(position + 1) == '-') {
+                    int lineEnd = sql.indexOf('\n', position + 2);
+                    position = lineEnd != -1 ? lineEnd + 1 : length;
+                } else if (c == '/' && position + 1 < length && sql.charAt(position + 1) == '*') {
+                    int commentEnd = sql.indexOf("*/", position + 2);
+                    if (commentEnd == -1) return false;
+                    position = commentEnd + 2;
+                } else {
+                    return true;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Scans a quoted string or identifier; the opening quote has already been consumed.
+         *
+         * @return {@code false} if unterminated
+         */
+        private boolean scanQuoted(char quote) {
+            while (position < length) {
+                if (sql.charAt(position++) == quote) {
+                    if (position < length && sql.charAt(position) == quote) {
+                        // Escaped (doubled) quote
+                        position++;
+                    } else {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Scans an alternative string literal; {@code q'} has already been consumed.
+         *
+         * @return {@code false} if unterminated
+         */
+        private boolean scanAlternativeString() {
+            if (position >= length) return false;
+            final char startDelimiter = sql.charAt(position++);
+            final char endDelimiter;
+            switch (startDelimiter) {
+            case '(':
+                endDelimiter = ')';
+                break;
+            case '{':
+                endDelimiter = '}';
+                break;
+            case '[':
+                endDelimiter = ']';
+                break;
+            case '<':
+                endDelimiter = '>';
+                break;
+            default:
+                endDelimiter = startDelimiter;
+                break;
+            }
+            while (position + 1 < length) {
+                if (sql.charAt(position) == endDelimiter && sql.charAt(position + 1) == '\'') {
+                    position += 2;
+                    return true;
+                }
+                position++;
+            }
+            position = length;
+            return false;
+        }
+
+        private static boolean isIdentifierStart(char c) {
+            return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z';
+        }
+
+        private static boolean isIdentifierPart(char c) {
+            return isIdentifierStart(c) || c >= '0' && c <= '9' || c == '_' || c == '$';
+        }
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Thread-safe cache with a maximum size, evicting the least recently used entries first.
+ * <p>
+ * The cache is split into segments by the hash code of the key, each with its own lock and its own share of the
+ * maximum size. A cache with a concurrency level of {@code 1} has a single segment and evicts in strict least recently
+ * used order; caches shared by many threads should use a higher concurrency level, at the cost of eviction order
+ * being per segment.
+ * </p>
+ * <p>
+ * Keys and values must not be {@code null}.
+ * </p>
+ *
+ * @param <K>
+ *         Type of key
+ * @param <V>
+ *         Type of value
+ * @since 4.0
+ */
+@InternalApi
+public class LruCache<K, V> {
+
+    private final Segment<K, V>[] segments;
+
+    /**
+     * Creates a cache with a single segment.
+     *
+     * @param maxSize
+     *         Maximum number of entries ({@code 0} disables caching)
+     */
+    public LruCache(int maxSize) {
+        this(maxSize, 1);
+    }
+
+    /**
+     * Creates a cache.
+     *
+     * @param maxSize
+     *         Maximum number of entries ({@code 0} disables caching)
+     * @param concurrencyLevel
+     *         Number of segments (reduced if it exceeds {@code maxSize})
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public LruCache(int maxSize, int concurrencyLevel) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("maxSize must be 0 or greater, was " + maxSize);
+        }
+        if (concurrencyLevel <= 0) {
+            throw new IllegalArgumentException("concurrencyLevel must be greater than 0, was " + concurrencyLevel);
+        }
+        final int segmentCount = Math.max(1, Math.min(concurrencyLevel, maxSize));
+        segments = new Segment[segmentCount];
+        for (int idx = 0; idx < segmentCount; idx++) {
+            // Distribute the remainder over the first segments, so the total is exactly maxSize
+            int segmentMaxSize = maxSize / segmentCount + (idx < maxSize % segmentCount ? 1 : 0);
+            segments[idx] = new Segment<>(this, segmentMaxSize);
+        }
+    }
+
+    /**
+     * Gets a cached value, marking it as most recently used.
+     *
+     * @param key
+     *         Key
+     * @return Cached value, or {@code null} if not cached
+     */
+    public final V get(K key) {
+        final Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.get(key);
+        }
+    }
+
+    /**
+     * Adds a value to the cache, evicting the least recently used entry of its segment if the segment is full.
+     *
+     * @param key
+     *         Key
+     * @param value
+     *         Value
+     * @return Previous value for the key, or {@code null} if there was none
+     */
+    public final V put(K key, V value) {
+        final Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.put(key, value);
+        }
+    }
+
+    /**
+     * Removes a value from the cache.
+     *
+     * @param key
+     *         Key
+     * @return Removed value, or {@code null} if not cached
+     */
+    public final V remove(K key) {
+        final Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.remove(key);
+        }
+    }
+
+    /**
+     * Removes all entries.
+     * <p>
+     * Entries removed by this method are not reported to {@link #entryEvicted(Object, Object)}.
+     * </p>
+     */
+    public final void clear() {
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * Removes all entries, returning the removed values.
+     * <p>
+     * Entries removed by this method are not reported to {@link #entryEvicted(Object, Object)}.
+     * </p>
+     *
+     * @return Removed values
+     */
+    public final List<V> removeAll() {
+        final List<V> removed = new ArrayList<>();
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                removed.addAll(segment.values());
+                segment.clear();
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * @return Number of cached entries
+     */
+    public final int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Called when an entry is evicted because its segment exceeded its maximum size.
+     * <p>
+     * This method is called while holding the lock of the segment, it must not access this cache. The default
+     * implementation does nothing.
+     * </p>
+     *
+     * @param key
+     *         Key of the evicted entry
+     * @param value
+     *         Value of the evicted entry
+     */
+    protected void entryEvicted(K key, V value) {
+        // do nothing
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+        if (segments.length == 1) {
+            return segments[0];
+        }
+        int hash = key.hashCode();
+        hash ^= hash >>> 16;
+        return segments[(hash & Integer.MAX_VALUE) % segments.length];
+    }
+
+    private static final class Segment<K, V> extends LinkedHashMap<K, V> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient LruCache<K, V> owner;
+        private final int maxSize;
+
+        private Segment(LruCache<K, V> owner, int maxSize) {
+            super(16, 0.75f, true);
+            this.owner = owner;
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            if (size() > maxSize) {
+                owner.entryEvicted(eldest.getKey(), eldest.getValue());
+                return true;
+            }
+            return false;
+        }
+    }
+}
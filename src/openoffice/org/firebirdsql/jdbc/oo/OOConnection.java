@@ -20,6 +20,7 @@
  */
 package org.firebirdsql.jdbc.oo;
 
+import org.firebirdsql.gds.ng.LockCloseable;
 import org.firebirdsql.jca.FBManagedConnection;
 import org.firebirdsql.jdbc.FBConnection;
 import org.firebirdsql.logging.Logger;
@@ -30,6 +31,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.SQLWarning;
 
+@SuppressWarnings("try")
 public class OOConnection extends FBConnection {
 
     private static final Logger log = LoggerFactory.getLogger(OOConnection.class);
@@ -57,7 +59,7 @@ public class OOConnection extends FBConnection {
 
     @Override
     public DatabaseMetaData getMetaData() throws SQLException {
-        synchronized (getSynchronizationObject()) {
+        try (LockCloseable ignored = withLock()) {
             if (metaData == null) metaData = new OODatabaseMetaData(this);
             return metaData;
         }
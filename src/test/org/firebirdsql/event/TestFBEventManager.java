@@ -168,6 +168,35 @@ public class TestFBEventManager extends FBJUnit4TestBase {
         assertEquals(0, ael3.getTotalEvents());
     }
 
+    @Test
+    public void testEventNamesSpanningMultipleBlocks() throws Exception {
+        AccumulatingEventListener aelA = new AccumulatingEventListener();
+        AccumulatingEventListener aelB = new AccumulatingEventListener();
+        AccumulatingEventListener aelOther = new AccumulatingEventListener();
+        eventManager.addEventListener("TEST_EVENT_A", aelA);
+        for (int i = 0; i < 15; i++) {
+            eventManager.addEventListener("NOT_REAL_EVENT_" + i, aelOther);
+        }
+        // Does not fit in the first block of 15 event names
+        eventManager.addEventListener("TEST_EVENT_B", aelB);
+        Thread.sleep(SHORT_DELAY);
+        executeSql("INSERT INTO TEST VALUES (6)");
+        Thread.sleep(SHORT_DELAY);
+        assertEquals(2, aelA.getTotalEvents());
+        assertEquals(1, aelB.getTotalEvents());
+        assertEquals(0, aelOther.getTotalEvents());
+
+        eventManager.removeEventListener("TEST_EVENT_A", aelA);
+        for (int i = 0; i < 15; i++) {
+            eventManager.removeEventListener("NOT_REAL_EVENT_" + i, aelOther);
+        }
+        Thread.sleep(SHORT_DELAY);
+        executeSql("INSERT INTO TEST VALUES (7)");
+        Thread.sleep(SHORT_DELAY);
+        assertEquals("No notification for events after removal of listener", 2, aelA.getTotalEvents());
+        assertEquals(2, aelB.getTotalEvents());
+    }
+
     @Test
     @Unstable("Performance/timing dependent, may need tweaking LONG_DELAY")
     public void testLargeMultiLoad() throws Exception {
@@ -0,0 +1,120 @@
+/*
+ * $Id$
+ * 
+ * Firebird Open Source J2ee connector - jdbc driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a CVS history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.gds.impl;
+
+import org.firebirdsql.gds.ISCConstants;
+import org.firebirdsql.gds.TransactionParameterBuffer;
+import org.firebirdsql.gds.impl.wire.XdrOutputStream;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.io.ByteArrayOutputStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ImmutableTransactionParameterBuffer}.
+ */
+public class TestImmutableTransactionParameterBuffer {
+
+    @Rule
+    public final ExpectedException expectedException = ExpectedException.none();
+
+    private TransactionParameterBuffer tpb;
+
+    @Before
+    public void setUp() {
+        tpb = new TransactionParameterBufferImpl();
+        tpb.addArgument(ISCConstants.isc_tpb_write);
+        tpb.addArgument(ISCConstants.isc_tpb_wait);
+        tpb.addArgument(ISCConstants.isc_tpb_read_committed);
+        tpb.addArgument(ISCConstants.isc_tpb_lock_timeout, 5);
+    }
+
+    @Test
+    public void testSerializedFormMatchesSource() throws Exception {
+        ImmutableTransactionParameterBuffer immutableTpb = new ImmutableTransactionParameterBuffer(tpb);
+
+        assertEquals(tpb.getType(), immutableTpb.getType());
+        assertEquals(tpb.size(), immutableTpb.size());
+        assertArrayEquals(tpb.toBytes(), immutableTpb.toBytes());
+        assertArrayEquals(tpb.toBytesWithType(), immutableTpb.toBytesWithType());
+        assertEquals(5, immutableTpb.getArgumentAsInt(ISCConstants.isc_tpb_lock_timeout));
+    }
+
+    @Test
+    public void testXdrSerializationMatchesSource() throws Exception {
+        ImmutableTransactionParameterBuffer immutableTpb = new ImmutableTransactionParameterBuffer(tpb);
+
+        assertArrayEquals(writeTyped(tpb), writeTyped(immutableTpb));
+    }
+
+    @Test
+    public void testIsCopyOf() {
+        ImmutableTransactionParameterBuffer immutableTpb = new ImmutableTransactionParameterBuffer(tpb);
+
+        assertTrue("Expected copy of source", immutableTpb.isCopyOf(tpb));
+        assertTrue("Expected copy of itself", immutableTpb.isCopyOf(immutableTpb));
+
+        tpb.removeArgument(ISCConstants.isc_tpb_wait);
+
+        assertFalse("Expected no copy of modified source", immutableTpb.isCopyOf(tpb));
+        assertTrue("Immutable buffer must not be affected by modification of source",
+                immutableTpb.hasArgument(ISCConstants.isc_tpb_wait));
+    }
+
+    @Test
+    public void testDeepCopyIsModifiable() {
+        ImmutableTransactionParameterBuffer immutableTpb = new ImmutableTransactionParameterBuffer(tpb);
+
+        TransactionParameterBuffer copy = immutableTpb.deepCopy();
+        copy.addArgument(ISCConstants.isc_tpb_autocommit);
+
+        assertTrue(copy.hasArgument(ISCConstants.isc_tpb_autocommit));
+        assertFalse(immutableTpb.hasArgument(ISCConstants.isc_tpb_autocommit));
+    }
+
+    @Test
+    public void testAddArgumentNotAllowed() {
+        ImmutableTransactionParameterBuffer immutableTpb = new ImmutableTransactionParameterBuffer(tpb);
+        expectedException.expect(UnsupportedOperationException.class);
+
+        immutableTpb.addArgument(ISCConstants.isc_tpb_autocommit);
+    }
+
+    @Test
+    public void testRemoveArgumentNotAllowed() {
+        ImmutableTransactionParameterBuffer immutableTpb = new ImmutableTransactionParameterBuffer(tpb);
+        expectedException.expect(UnsupportedOperationException.class);
+
+        immutableTpb.removeArgument(ISCConstants.isc_tpb_wait);
+    }
+
+    private static byte[] writeTyped(TransactionParameterBuffer transactionParameterBuffer) throws Exception {
+        ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        XdrOutputStream xdrOut = new XdrOutputStream(bout);
+        xdrOut.writeTyped(transactionParameterBuffer);
+        xdrOut.flush();
+        return bout.toByteArray();
+    }
+}
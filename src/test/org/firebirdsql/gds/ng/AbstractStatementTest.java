@@ -29,6 +29,7 @@ import org.firebirdsql.gds.ng.fields.FieldDescriptor;
 import org.firebirdsql.gds.ng.fields.FieldValue;
 import org.firebirdsql.gds.ng.fields.RowDescriptor;
 import org.firebirdsql.gds.ng.fields.RowValue;
+import org.firebirdsql.gds.ng.listeners.DefaultStatementListener;
 import org.firebirdsql.gds.ng.wire.SimpleStatementListener;
 import org.firebirdsql.util.FirebirdSupportInfo;
 import org.junit.After;
@@ -40,9 +41,11 @@ import org.junit.rules.ExpectedException;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.SQLNonTransientException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.*;
 
 import static org.firebirdsql.common.FBTestProperties.DB_PASSWORD;
 import static org.firebirdsql.common.FBTestProperties.DB_USER;
@@ -497,6 +500,77 @@ public abstract class AbstractStatementTest {
         assertEquals(StatementState.CLOSED, statement.getState());
     }
 
+    /**
+     * Test that {@link org.firebirdsql.gds.ng.FbStatement#getState()} does not wait for the lock held by another
+     * thread.
+     */
+    @Test
+    public void test_GetState_doesNotRequireLock() throws Exception {
+        allocateStatement();
+        statement.prepare("SELECT * FROM RDB$DATABASE");
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (LockCloseable ignored = db.withLock()) {
+            Future<StatementState> state = executor.submit(new Callable<StatementState>() {
+                @Override
+                public StatementState call() {
+                    return statement.getState();
+                }
+            });
+            assertEquals(StatementState.PREPARED, state.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Test that listeners receive the state changes of a statement used by multiple threads in order.
+     */
+    @Test
+    public void test_StateChanges_notifiedInOrder() throws Exception {
+        allocateStatement();
+        statement.prepare("SELECT * FROM RDB$DATABASE");
+        final List<StatementState[]> transitions = Collections.synchronizedList(new ArrayList<StatementState[]>());
+        statement.addStatementListener(new DefaultStatementListener() {
+            @Override
+            public void statementStateChanged(FbStatement sender, StatementState newState,
+                    StatementState previousState) {
+                transitions.add(new StatementState[] { previousState, newState });
+            }
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Void> executing = executor.submit(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    for (int i = 0; i < 100; i++) {
+                        statement.execute(RowValue.EMPTY_ROW_VALUE);
+                        statement.closeCursor();
+                    }
+                    return null;
+                }
+            });
+            Future<Void> closing = executor.submit(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    for (int i = 0; i < 100; i++) {
+                        statement.closeCursor();
+                    }
+                    return null;
+                }
+            });
+            executing.get(30, TimeUnit.SECONDS);
+            closing.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertFalse("Expected state changes", transitions.isEmpty());
+        for (int i = 1; i < transitions.size(); i++) {
+            assertEquals("Previous state of transition " + i + " should be new state of transition " + (i - 1),
+                    transitions.get(i - 1)[1], transitions.get(i)[0]);
+        }
+    }
+
     @Test
     public void testMultipleExecute() throws Exception {
         allocateStatement();
@@ -0,0 +1,117 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.gds.ng;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for {@link AbstractSegmentOutputStream}.
+ *
+ * @since 4.0
+ */
+public class TestAbstractSegmentOutputStream {
+
+    private static final int MAXIMUM_SEGMENT_SIZE = 10;
+
+    private final SegmentCollector collector = new SegmentCollector();
+
+    @Test
+    public void testSmallWrites_bufferedUntilClose() throws Exception {
+        collector.write(new byte[] { 1, 2, 3 });
+        collector.write(4);
+
+        assertEquals("Expected no segments before close", 0, collector.segmentLengths.size());
+
+        collector.close();
+
+        assertEquals(Arrays.asList(4), collector.segmentLengths);
+        assertArrayEquals(new byte[] { 1, 2, 3, 4 }, collector.content.toByteArray());
+    }
+
+    @Test
+    public void testLargeWrite_splitInMaximumSegments() throws Exception {
+        final byte[] data = generateData(25);
+        collector.write(data);
+        collector.close();
+
+        assertEquals(Arrays.asList(10, 10, 5), collector.segmentLengths);
+        assertArrayEquals(data, collector.content.toByteArray());
+    }
+
+    @Test
+    public void testMixedWrites_segmentsFilledCompletely() throws Exception {
+        final byte[] data = generateData(27);
+        collector.write(data, 0, 4);
+        collector.write(data, 4, 21);
+        collector.write(data[25]);
+        collector.write(data, 26, 1);
+        collector.close();
+
+        assertEquals(Arrays.asList(10, 10, 7), collector.segmentLengths);
+        assertArrayEquals(data, collector.content.toByteArray());
+    }
+
+    @Test
+    public void testFlush_doesNotWriteShortSegment() throws Exception {
+        collector.write(new byte[] { 1, 2, 3 });
+        collector.flush();
+
+        assertEquals("Expected no segments after flush", 0, collector.segmentLengths.size());
+    }
+
+    @Test
+    public void testClose_withoutData_writesNoSegment() throws Exception {
+        collector.close();
+
+        assertEquals(0, collector.segmentLengths.size());
+    }
+
+    private static byte[] generateData(int length) {
+        final byte[] data = new byte[length];
+        for (int idx = 0; idx < length; idx++) {
+            data[idx] = (byte) idx;
+        }
+        return data;
+    }
+
+    private static final class SegmentCollector extends AbstractSegmentOutputStream {
+
+        private final List<Integer> segmentLengths = new ArrayList<>();
+        private final ByteArrayOutputStream content = new ByteArrayOutputStream();
+
+        private SegmentCollector() {
+            super(MAXIMUM_SEGMENT_SIZE);
+        }
+
+        @Override
+        protected void writeSegment(byte[] segment, int off, int len) throws IOException {
+            segmentLengths.add(len);
+            content.write(segment, off, len);
+        }
+    }
+}
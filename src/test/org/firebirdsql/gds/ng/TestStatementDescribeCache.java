@@ -0,0 +1,152 @@
+/*
+ * $Id$
+ * 
+ * Firebird Open Source J2ee connector - jdbc driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a CVS history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.gds.ng;
+
+import org.firebirdsql.encodings.Encoding;
+import org.firebirdsql.encodings.EncodingFactory;
+import org.firebirdsql.encodings.IEncodingFactory;
+import org.firebirdsql.gds.ng.fields.RowDescriptor;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.firebirdsql.gds.ISCConstants.*;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link StatementDescribeCache}.
+ */
+public class TestStatementDescribeCache {
+
+    private static final IEncodingFactory ENCODING_FACTORY = EncodingFactory.createInstance(StandardCharsets.UTF_8);
+    private static final DatatypeCoder DATATYPE_CODER = DefaultDatatypeCoder.forEncodingFactory(ENCODING_FACTORY);
+    private static final Encoding ENCODING = ENCODING_FACTORY.getDefaultEncoding();
+
+    /**
+     * Response for a select with a single integer column and no parameters.
+     */
+    private static final byte[] RESPONSE = {
+            isc_info_sql_stmt_type, 4, 0, 1, 0, 0, 0,
+            isc_info_sql_select, isc_info_sql_describe_vars, 4, 0, 1, 0, 0, 0,
+            isc_info_sql_sqlda_seq, 4, 0, 1, 0, 0, 0,
+            isc_info_sql_type, 4, 0, (byte) (SQL_LONG & 0xFF), (byte) (SQL_LONG >> 8), 0, 0,
+            isc_info_sql_describe_end,
+            isc_info_sql_bind, isc_info_sql_describe_vars, 4, 0, 0, 0, 0, 0,
+            isc_info_end
+    };
+
+    @Test
+    public void testResponseLength_exactBuffer() {
+        assertEquals(RESPONSE.length, StatementDescribeCache.responseLength(RESPONSE));
+    }
+
+    @Test
+    public void testResponseLength_largerBuffer() {
+        byte[] buffer = Arrays.copyOf(RESPONSE, 1024);
+
+        assertEquals(RESPONSE.length, StatementDescribeCache.responseLength(buffer));
+    }
+
+    @Test
+    public void testResponseLength_truncated() {
+        byte[] buffer = Arrays.copyOf(RESPONSE, RESPONSE.length);
+        buffer[buffer.length - 1] = isc_info_truncated;
+
+        assertEquals(-1, StatementDescribeCache.responseLength(buffer));
+    }
+
+    @Test
+    public void testResponseLength_missingEnd() {
+        assertEquals(-1, StatementDescribeCache.responseLength(Arrays.copyOf(RESPONSE, RESPONSE.length - 1)));
+    }
+
+    @Test
+    public void testGet_sameResponseInLargerBuffer_returnsCachedDescribe() {
+        StatementDescribeCache cache = new StatementDescribeCache(10);
+        StatementDescribeCache.Describe describe = createDescribe();
+        cache.put(cache.createKey(DATATYPE_CODER, ENCODING, Arrays.copyOf(RESPONSE, 1024)), describe);
+
+        assertSame(describe, cache.get(cache.createKey(DATATYPE_CODER, ENCODING, RESPONSE)));
+    }
+
+    @Test
+    public void testGet_differentResponse_returnsNull() {
+        StatementDescribeCache cache = new StatementDescribeCache(10);
+        cache.put(cache.createKey(DATATYPE_CODER, ENCODING, RESPONSE), createDescribe());
+        byte[] otherResponse = RESPONSE.clone();
+        // Column type changed from INTEGER to BIGINT
+        otherResponse[25] = (byte) (SQL_INT64 & 0xFF);
+        otherResponse[26] = (byte) (SQL_INT64 >> 8);
+
+        assertNull(cache.get(cache.createKey(DATATYPE_CODER, ENCODING, otherResponse)));
+    }
+
+    @Test
+    public void testGet_differentDatatypeCoder_returnsNull() {
+        StatementDescribeCache cache = new StatementDescribeCache(10);
+        cache.put(cache.createKey(DATATYPE_CODER, ENCODING, RESPONSE), createDescribe());
+        IEncodingFactory otherFactory = EncodingFactory.createInstance(StandardCharsets.ISO_8859_1);
+
+        assertNull(cache.get(cache.createKey(DefaultDatatypeCoder.forEncodingFactory(otherFactory), ENCODING,
+                RESPONSE)));
+    }
+
+    @Test
+    public void testGet_equalDatatypeCoderOfOtherEncodingFactory_returnsCachedDescribe() {
+        StatementDescribeCache cache = new StatementDescribeCache(10);
+        StatementDescribeCache.Describe describe = createDescribe();
+        IEncodingFactory factory1 = EncodingFactory.createInstance(StandardCharsets.ISO_8859_1);
+        IEncodingFactory factory2 = EncodingFactory.createInstance(StandardCharsets.ISO_8859_1);
+        DatatypeCoder datatypeCoder1 = DefaultDatatypeCoder.forEncodingFactory(factory1);
+        DatatypeCoder datatypeCoder2 = DefaultDatatypeCoder.forEncodingFactory(factory2);
+        assertNotSame("Expected separate datatype coder instances", datatypeCoder1, datatypeCoder2);
+        cache.put(cache.createKey(datatypeCoder1, factory1.getDefaultEncoding(), RESPONSE), describe);
+
+        assertSame(describe, cache.get(cache.createKey(datatypeCoder2, factory2.getDefaultEncoding(), RESPONSE)));
+    }
+
+    @Test
+    public void testCreateKey_disabledCache_returnsNull() {
+        StatementDescribeCache cache = new StatementDescribeCache(0);
+
+        assertNull(cache.createKey(DATATYPE_CODER, ENCODING, RESPONSE));
+    }
+
+    @Test
+    public void testPut_exceedingMaxSize_evictsLeastRecentlyUsed() {
+        StatementDescribeCache cache = new StatementDescribeCache(1);
+        cache.put(cache.createKey(DATATYPE_CODER, ENCODING, RESPONSE), createDescribe());
+        byte[] otherResponse = RESPONSE.clone();
+        otherResponse[25] = (byte) (SQL_INT64 & 0xFF);
+        otherResponse[26] = (byte) (SQL_INT64 >> 8);
+
+        cache.put(cache.createKey(DATATYPE_CODER, ENCODING, otherResponse), createDescribe());
+
+        assertEquals(1, cache.size());
+        assertNull(cache.get(cache.createKey(DATATYPE_CODER, ENCODING, RESPONSE)));
+    }
+
+    private static StatementDescribeCache.Describe createDescribe() {
+        RowDescriptor empty = RowDescriptor.empty(DATATYPE_CODER);
+        return new StatementDescribeCache.Describe(StatementType.SELECT, empty, empty);
+    }
+}
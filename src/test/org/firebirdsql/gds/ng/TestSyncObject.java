@@ -0,0 +1,81 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.gds.ng;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link SyncObject}.
+ *
+ * @since 4.0
+ */
+public class TestSyncObject {
+
+    private final SyncObject syncObject = new SyncObject();
+
+    @Test
+    public void testWithLock_releasedOnClose() {
+        try (LockCloseable ignored = syncObject.withLock()) {
+            assertTrue("Expected lock held", syncObject.isLockedByCurrentThread());
+        }
+        assertFalse("Expected lock released", syncObject.isLockedByCurrentThread());
+    }
+
+    @Test
+    public void testWithLock_reentrant() {
+        try (LockCloseable ignored1 = syncObject.withLock()) {
+            try (LockCloseable ignored2 = syncObject.withLock()) {
+                assertTrue("Expected lock held", syncObject.isLockedByCurrentThread());
+            }
+            assertTrue("Expected lock still held by outer block", syncObject.isLockedByCurrentThread());
+        }
+        assertFalse("Expected lock released", syncObject.isLockedByCurrentThread());
+    }
+
+    @Test
+    public void testWithLock_excludesOtherThread() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch acquired = new CountDownLatch(1);
+        final AtomicBoolean acquiredWhileHeld = new AtomicBoolean();
+        Thread other;
+        try (LockCloseable ignored = syncObject.withLock()) {
+            other = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    started.countDown();
+                    try (LockCloseable ignored = syncObject.withLock()) {
+                        acquired.countDown();
+                    }
+                }
+            });
+            other.start();
+            assertTrue(started.await(1, TimeUnit.SECONDS));
+            acquiredWhileHeld.set(acquired.await(100, TimeUnit.MILLISECONDS));
+        }
+        assertFalse("Expected other thread to wait for lock", acquiredWhileHeld.get());
+        assertTrue("Expected other thread to acquire lock after release", acquired.await(1, TimeUnit.SECONDS));
+        other.join(1000);
+    }
+}
@@ -234,4 +234,51 @@ public class RowDescriptorBuilderTest {
 
         assertTrue("isDbKey()", fieldDescriptor.isDbKey());
     }
+
+    @Test
+    public void testEqualFieldDescriptorsAreShared() {
+        FieldDescriptor descriptor1 = new RowDescriptorBuilder(1, datatypeCoder)
+                .setType(ISCConstants.SQL_VARYING)
+                .setLength(20)
+                .setFieldName(new String("NAME"))
+                .setOriginalName(new String("NAME"))
+                .setOriginalTableName(new String("CUSTOMER"))
+                .toFieldDescriptor();
+        FieldDescriptor descriptor2 = new RowDescriptorBuilder(1, datatypeCoder)
+                .setType(ISCConstants.SQL_VARYING)
+                .setLength(20)
+                .setFieldName(new String("NAME"))
+                .setOriginalName(new String("NAME"))
+                .setOriginalTableName(new String("CUSTOMER"))
+                .toFieldDescriptor();
+
+        assertSame("Expected equal field descriptors to be shared", descriptor1, descriptor2);
+    }
+
+    @Test
+    public void testNamesAreSharedBetweenDifferentFieldDescriptors() {
+        FieldDescriptor descriptor1 = new RowDescriptorBuilder(2, datatypeCoder)
+                .at(0)
+                .setType(ISCConstants.SQL_LONG)
+                .setFieldName(new String("ID"))
+                .setOriginalName(new String("ID"))
+                .setOriginalTableName(new String("ORDERS"))
+                .setOwnerName(new String("SYSDBA"))
+                .toFieldDescriptor();
+        FieldDescriptor descriptor2 = new RowDescriptorBuilder(2, datatypeCoder)
+                .at(1)
+                .setType(ISCConstants.SQL_LONG)
+                .setFieldName(new String("CUSTOMER_ID"))
+                .setOriginalName(new String("CUSTOMER_ID"))
+                .setOriginalTableName(new String("ORDERS"))
+                .setOwnerName(new String("SYSDBA"))
+                .toFieldDescriptor();
+
+        assertNotSame("Expected different field descriptors", descriptor1, descriptor2);
+        assertSame("Expected shared table name", descriptor1.getOriginalTableName(),
+                descriptor2.getOriginalTableName());
+        assertSame("Expected shared owner name", descriptor1.getOwnerName(), descriptor2.getOwnerName());
+        assertSame("Expected shared name within descriptor", descriptor2.getFieldName(),
+                descriptor2.getOriginalName());
+    }
 }
@@ -151,6 +151,44 @@ public class TestV10Database {
         }
     }
 
+    @Test
+    public void testPing() throws Exception {
+        FBManager fbManager = createFBManager();
+        defaultDatabaseSetUp(fbManager);
+        try (WireDatabaseConnection gdsConnection = createConnection()) {
+            gdsConnection.socketConnect();
+            try (FbWireDatabase db = gdsConnection.identify()) {
+                db.attach();
+
+                db.ping(0);
+                db.ping(1000);
+
+                assertTrue("Expected connection to remain attached after ping", db.isAttached());
+                assertEquals("Expected original socket timeout to be restored",
+                        getConnectionInfo().getSoTimeout(), gdsConnection.getAttachProperties().getSoTimeout());
+            }
+        } finally {
+            defaultDatabaseTearDown(fbManager);
+        }
+    }
+
+    @Test
+    public void testPing_NotAttached() throws Exception {
+        expectedException.expect(SQLException.class);
+        expectedException.expectMessage(startsWith("The connection is not attached to a database"));
+
+        FBManager fbManager = createFBManager();
+        defaultDatabaseSetUp(fbManager);
+        try (WireDatabaseConnection gdsConnection = createConnection()) {
+            gdsConnection.socketConnect();
+            FbWireDatabase db = gdsConnection.identify();
+
+            db.ping(0);
+        } finally {
+            defaultDatabaseTearDown(fbManager);
+        }
+    }
+
     @Test
     public void testAttach_DoubleAttach() throws Exception {
         expectedException.expect(SQLException.class);
@@ -38,6 +38,7 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
 import java.sql.SQLException;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.firebirdsql.common.rules.RequireProtocol.requireProtocolVersion;
@@ -210,6 +211,46 @@ public class TestV10EventHandling extends FBJUnit4TestBase {
         }
     }
 
+    @Test
+    public void testAsynchronousDelivery_multipleEventNames() throws Exception {
+        final SimpleChannelListener listener = new SimpleChannelListener();
+        try (SimpleServer simpleServer = new SimpleServer()) {
+            final FbWireAsynchronousChannel channel = new V10AsynchronousChannel(createDummyDatabase());
+            channel.addChannelListener(listener);
+            Thread establishChannel = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        channel.connect("localhost", simpleServer.getPort(), 1);
+                    } catch (SQLException e) {
+                        // suppress
+                    }
+                }
+            });
+            establishChannel.start();
+            simpleServer.acceptConnection();
+            AsynchronousProcessor.getInstance().registerAsynchronousChannel(channel);
+            establishChannel.join(500);
+            assertTrue("Expected connected channel", channel.isConnected());
+
+            final XdrOutputStream out = new XdrOutputStream(simpleServer.getOutputStream());
+            out.writeInt(op_event);
+            out.writeInt(513);
+            out.writeBuffer(new byte[] { 1, 3, 69, 86, 65, 3, 0, 0, 0, 3, 69, 86, 66, 5, 1, 0, 0 });
+            out.writeLong(0);
+            out.writeInt(7);
+            out.flush();
+
+            Thread.sleep(500);
+
+            List<AsynchronousChannelListener.Event> receivedEvents = listener.getReceivedEvents();
+            assertEquals("Unexpected number of events", 1, receivedEvents.size());
+            AsynchronousChannelListener.Event event = receivedEvents.get(0);
+            assertEquals("Unexpected eventId", 7, event.getEventId());
+            assertArrayEquals("Unexpected event counts", new int[] { 3, 261 }, event.getEventCounts());
+        }
+    }
+
     @Test
     public void testAsynchronousDelivery_partialEvent() throws Exception {
         final SimpleChannelListener listener = new SimpleChannelListener();
@@ -359,6 +400,52 @@ public class TestV10EventHandling extends FBJUnit4TestBase {
         assertEquals(1, eventHandleB.getEventCount());
     }
 
+    @Test
+    public void testQueueEvent_multipleEventNames_andNotification() throws Exception {
+        db = createAndAttachDatabase();
+        FbTransaction transaction = getTransaction(db);
+        final FbStatement statement = db.createStatement(transaction);
+        statement.prepare(TABLE_DEF);
+        statement.execute(RowValue.EMPTY_ROW_VALUE);
+        statement.prepare(TRIGGER_DEF);
+        statement.execute(RowValue.EMPTY_ROW_VALUE);
+        transaction.commit();
+
+        SimpleEventHandler eventHandler = new SimpleEventHandler();
+
+        EventHandle eventHandle = db.createEventHandle(
+                Arrays.asList("TEST_EVENT_A", "NOT_REAL_EVENT", "TEST_EVENT_B"), eventHandler);
+
+        // Initial queue will return events immediately
+        db.queueEvent(eventHandle);
+        Thread.sleep(50);
+        db.countEvents(eventHandle);
+
+        eventHandler.clearEvents();
+
+        db.queueEvent(eventHandle);
+
+        Thread.sleep(50);
+        assertTrue("Expected events to not have been triggered", eventHandler.getReceivedEventHandles().isEmpty());
+
+        transaction = getTransaction(db);
+        statement.setTransaction(transaction);
+        statement.prepare("INSERT INTO TEST VALUES (1)");
+        statement.execute(RowValue.EMPTY_ROW_VALUE);
+        transaction.commit();
+
+        int retry = 0;
+        while (!eventHandler.getReceivedEventHandles().contains(eventHandle) && retry++ < 10) {
+            Thread.sleep(50);
+        }
+        assertEquals("Unexpected number of events received", 1, eventHandler.getReceivedEventHandles().size());
+
+        db.countEvents(eventHandle);
+        assertEquals(1, eventHandle.getEventCount(0));
+        assertEquals(0, eventHandle.getEventCount(1));
+        assertEquals(1, eventHandle.getEventCount(2));
+    }
+
     private void checkAsynchronousDisconnection(int disconnectOperation) throws Exception {
         try (SimpleServer simpleServer = new SimpleServer()) {
             final FbWireAsynchronousChannel channel = new V10AsynchronousChannel(createDummyDatabase());
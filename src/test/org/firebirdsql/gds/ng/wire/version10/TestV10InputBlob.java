@@ -20,8 +20,11 @@ package org.firebirdsql.gds.ng.wire.version10;
 
 import org.firebirdsql.common.rules.GdsTypeRule;
 import org.firebirdsql.common.rules.RequireProtocol;
+import org.firebirdsql.gds.BlobParameterBuffer;
 import org.firebirdsql.gds.ISCConstants;
+import org.firebirdsql.gds.ng.BlobReadCallback;
 import org.firebirdsql.gds.ng.FbBlob;
+import org.firebirdsql.gds.ng.FbTransaction;
 import org.firebirdsql.gds.ng.wire.FbWireDatabase;
 import org.junit.ClassRule;
 import org.junit.Test;
@@ -30,6 +33,9 @@ import java.io.ByteArrayOutputStream;
 import java.sql.SQLException;
 import java.sql.SQLNonTransientException;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 
 import static org.firebirdsql.common.matchers.SQLExceptionMatchers.*;
 import static org.firebirdsql.common.rules.RequireProtocol.requireProtocolVersion;
@@ -95,6 +101,153 @@ public class TestV10InputBlob extends BaseTestV10Blob {
         }
     }
 
+    /**
+     * Tests retrieval of a blob using {@link FbBlob#getSegment(byte[], int, int)} with a reused buffer.
+     */
+    @Test
+    public void testBlobRetrieval_reusedBuffer() throws Exception {
+        final int testId = 1;
+        final byte[] baseContent = generateBaseContent();
+        // Use sufficiently large value so that multiple segments are used
+        final int requiredSize = 4 * Short.MAX_VALUE;
+        populateBlob(testId, baseContent, requiredSize);
+
+        try (FbWireDatabase db = createDatabaseConnection()) {
+            try {
+                long blobId = getBlobId(testId, db);
+
+                final FbBlob blob = db.createBlobForInput(transaction, null, blobId);
+                blob.open();
+                ByteArrayOutputStream bos = new ByteArrayOutputStream(requiredSize);
+                final byte[] buffer = new byte[blob.getMaximumSegmentSize()];
+                while (!blob.isEof()) {
+                    final int length = blob.getSegment(buffer, 0, buffer.length);
+                    bos.write(buffer, 0, length);
+                }
+                blob.close();
+                statement.close();
+                byte[] result = bos.toByteArray();
+                assertEquals("Unexpected length read from blob", requiredSize, result.length);
+                assertTrue("Unexpected blob content", validateBlobContent(result, baseContent, requiredSize));
+            } finally {
+                if (transaction != null) transaction.commit();
+            }
+        }
+    }
+
+    /**
+     * Tests retrieval of multiple blobs with {@link FbWireDatabase#readBlobs(FbTransaction, BlobParameterBuffer, Collection, BlobReadCallback)}.
+     */
+    @Test
+    public void testReadBlobs() throws Exception {
+        final byte[] baseContent = generateBaseContent();
+        // Use sufficiently large value so that multiple segments are used
+        final int requiredSize1 = 4 * Short.MAX_VALUE;
+        final int requiredSize2 = 256;
+        populateBlob(1, baseContent, requiredSize1);
+        populateBlob(2, baseContent, requiredSize2);
+
+        try (FbWireDatabase db = createDatabaseConnection()) {
+            FbTransaction firstTransaction = null;
+            try {
+                final long blobId1 = getBlobId(1, db);
+                statement.close();
+                firstTransaction = transaction;
+                final long blobId2 = getBlobId(2, db);
+                statement.close();
+
+                final Map<Long, byte[]> results = new HashMap<>();
+                final Map<Long, SQLException> failures = new HashMap<>();
+                db.readBlobs(transaction, null, Arrays.asList(blobId1, blobId2), new BlobReadCallback() {
+                    @Override
+                    public void blobRead(long blobId, byte[] content) {
+                        results.put(blobId, content);
+                    }
+
+                    @Override
+                    public void blobReadFailed(long blobId, SQLException exception) {
+                        failures.put(blobId, exception);
+                    }
+                });
+
+                assertTrue("Expected no failures, got " + failures, failures.isEmpty());
+                assertEquals("Unexpected number of blobs read", 2, results.size());
+                assertTrue("Unexpected blob content for blob 1",
+                        validateBlobContent(results.get(blobId1), baseContent, requiredSize1));
+                assertTrue("Unexpected blob content for blob 2",
+                        validateBlobContent(results.get(blobId2), baseContent, requiredSize2));
+            } finally {
+                if (firstTransaction != null) firstTransaction.commit();
+                if (transaction != null) transaction.commit();
+            }
+        }
+    }
+
+    /**
+     * Tests that an exception thrown by the callback of
+     * {@link FbWireDatabase#readBlobs(FbTransaction, BlobParameterBuffer, Collection, BlobReadCallback)} is
+     * propagated, and leaves the connection usable for further blob reads.
+     */
+    @Test
+    public void testReadBlobs_callbackException() throws Exception {
+        final byte[] baseContent = generateBaseContent();
+        // Blob 1 needs multiple rounds, so it is still open when the callback for blob 2 throws
+        final int requiredSize1 = 4 * Short.MAX_VALUE;
+        final int requiredSize2 = 256;
+        populateBlob(1, baseContent, requiredSize1);
+        populateBlob(2, baseContent, requiredSize2);
+
+        try (FbWireDatabase db = createDatabaseConnection()) {
+            FbTransaction firstTransaction = null;
+            try {
+                final long blobId1 = getBlobId(1, db);
+                statement.close();
+                firstTransaction = transaction;
+                final long blobId2 = getBlobId(2, db);
+                statement.close();
+
+                final RuntimeException callbackException = new RuntimeException("callback failure");
+                try {
+                    db.readBlobs(transaction, null, Arrays.asList(blobId1, blobId2), new BlobReadCallback() {
+                        @Override
+                        public void blobRead(long blobId, byte[] content) {
+                            throw callbackException;
+                        }
+
+                        @Override
+                        public void blobReadFailed(long blobId, SQLException exception) {
+                            throw callbackException;
+                        }
+                    });
+                    fail("Expected exception from callback");
+                } catch (RuntimeException e) {
+                    assertSame(callbackException, e);
+                }
+
+                final Map<Long, byte[]> results = new HashMap<>();
+                final Map<Long, SQLException> failures = new HashMap<>();
+                db.readBlobs(transaction, null, Arrays.asList(blobId1), new BlobReadCallback() {
+                    @Override
+                    public void blobRead(long blobId, byte[] content) {
+                        results.put(blobId, content);
+                    }
+
+                    @Override
+                    public void blobReadFailed(long blobId, SQLException exception) {
+                        failures.put(blobId, exception);
+                    }
+                });
+
+                assertTrue("Expected no failures, got " + failures, failures.isEmpty());
+                assertTrue("Unexpected blob content for blob 1",
+                        validateBlobContent(results.get(blobId1), baseContent, requiredSize1));
+            } finally {
+                if (firstTransaction != null) firstTransaction.commit();
+                if (transaction != null) transaction.commit();
+            }
+        }
+    }
+
     /**
      * Tests absolute seek on a segmented blob. Expectation: fails with an exception
      */
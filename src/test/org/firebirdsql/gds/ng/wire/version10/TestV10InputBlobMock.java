@@ -19,6 +19,7 @@
 package org.firebirdsql.gds.ng.wire.version10;
 
 import org.firebirdsql.gds.ISCConstants;
+import org.firebirdsql.gds.ng.LockCloseable;
 import org.firebirdsql.gds.ng.TransactionState;
 import org.firebirdsql.gds.ng.listeners.DatabaseListener;
 import org.firebirdsql.gds.ng.listeners.TransactionListener;
@@ -65,6 +66,8 @@ public class TestV10InputBlobMock {
         context.checking(new Expectations() {{
             allowing(db).getSynchronizationObject();
             will(returnValue(new Object()));
+            allowing(db).withLock();
+            will(returnValue(LockCloseable.NO_OP));
             allowing(transaction).addTransactionListener(with(any(TransactionListener.class)));
             allowing(transaction).addWeakTransactionListener(with(any(TransactionListener.class)));
             allowing(db).addDatabaseListener(with(any(DatabaseListener.class)));
@@ -146,6 +149,59 @@ public class TestV10InputBlobMock {
         blob.getSegment(1);
     }
 
+    /**
+     * Test if {@link org.firebirdsql.gds.ng.wire.version10.V10InputBlob#getSegment(byte[], int, int)} with zero
+     * length throws an exception
+     */
+    @Test
+    public void testGetSegmentBuffer_lengthZero() throws Exception {
+        expectedException.expect(SQLException.class);
+        //noinspection RedundantTypeArguments
+        expectedException.expect(
+                message(startsWith("getSegment called with sizeRequested 0, should be > 0")));
+
+        V10InputBlob blob = new V10InputBlob(db, transaction, null, 1);
+
+        blob.getSegment(new byte[10], 0, 0);
+    }
+
+    /**
+     * Test if {@link org.firebirdsql.gds.ng.wire.version10.V10InputBlob#getSegment(byte[], int, int)} with a
+     * section outside the buffer throws an exception
+     */
+    @Test
+    public void testGetSegmentBuffer_outsideBuffer() throws Exception {
+        expectedException.expect(IndexOutOfBoundsException.class);
+
+        V10InputBlob blob = new V10InputBlob(db, transaction, null, 1);
+
+        blob.getSegment(new byte[10], 5, 6);
+    }
+
+    /**
+     * Test if {@link org.firebirdsql.gds.ng.wire.version10.V10InputBlob#getSegment(byte[], int, int)} on closed
+     * blob throws exception
+     */
+    @Test
+    public void testGetSegmentBuffer_blobClosed() throws Exception {
+        expectedException.expect(SQLNonTransientException.class);
+        expectedException.expect(allOf(
+                errorCodeEquals(ISCConstants.isc_bad_segstr_handle),
+                fbMessageStartsWith(ISCConstants.isc_bad_segstr_handle)
+        ));
+
+        V10InputBlob blob = new V10InputBlob(db, transaction, null, 1);
+
+        final Expectations exp = new Expectations();
+        exp.oneOf(db).isAttached();
+        exp.will(returnValue(true));
+        exp.oneOf(transaction).getState();
+        exp.will(returnValue(TransactionState.ACTIVE));
+        context.checking(exp);
+
+        blob.getSegment(new byte[10], 0, 10);
+    }
+
     @Test
     public void testIsEof_newBlob() {
         V10InputBlob blob = new V10InputBlob(db, transaction, null, 1);
@@ -22,8 +22,10 @@ import org.firebirdsql.common.rules.GdsTypeRule;
 import org.firebirdsql.common.rules.RequireProtocol;
 import org.firebirdsql.gds.BlobParameterBuffer;
 import org.firebirdsql.gds.ISCConstants;
+import org.firebirdsql.gds.ng.BlobWriteCallback;
 import org.firebirdsql.gds.ng.DatatypeCoder;
 import org.firebirdsql.gds.ng.FbBlob;
+import org.firebirdsql.gds.ng.FbDatabase;
 import org.firebirdsql.gds.ng.FbStatement;
 import org.firebirdsql.gds.ng.FbTransaction;
 import org.firebirdsql.gds.ng.fields.FieldValue;
@@ -33,13 +35,21 @@ import org.firebirdsql.gds.ng.wire.SimpleStatementListener;
 import org.junit.ClassRule;
 import org.junit.Test;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.sql.SQLException;
 import java.sql.SQLNonTransientException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
 
 import static org.firebirdsql.common.matchers.SQLExceptionMatchers.*;
 import static org.firebirdsql.common.rules.RequireProtocol.requireProtocolVersion;
 import static org.hamcrest.CoreMatchers.allOf;
 import static org.hamcrest.CoreMatchers.startsWith;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assume.assumeTrue;
@@ -108,6 +118,68 @@ public class TestV10OutputBlob extends BaseTestV10Blob {
         assertTrue("Unexpected blob content", validateBlob(testId, baseContent, requiredSize));
     }
 
+    /**
+     * Tests storage of multiple blobs with {@link FbDatabase#writeBlobs(FbTransaction, BlobParameterBuffer, int,
+     * BlobWriteCallback)}, including a blob that fails because its content cannot be obtained.
+     */
+    @Test
+    public void testWriteBlobs() throws Exception {
+        final byte[] baseContent = generateBaseContent();
+        // Use sufficiently large value so that multiple segments are used
+        final int requiredSize1 = 4 * Short.MAX_VALUE;
+        final int requiredSize2 = 256;
+        final byte[][] testBytes = {
+                generateBlobContent(baseContent, requiredSize1),
+                null,
+                generateBlobContent(baseContent, requiredSize2)
+        };
+
+        try (FbWireDatabase db = createDatabaseConnection()) {
+            final FbTransaction transaction = getTransaction(db);
+            try {
+                final Map<Integer, Long> blobIds = new HashMap<>();
+                final Map<Integer, SQLException> failures = new HashMap<>();
+                db.writeBlobs(transaction, null, testBytes.length, new BlobWriteCallback() {
+                    @Override
+                    public void writeContent(int index, OutputStream out) throws IOException {
+                        if (testBytes[index] == null) {
+                            throw new IOException("No content for blob " + index);
+                        }
+                        out.write(testBytes[index]);
+                    }
+
+                    @Override
+                    public void blobWritten(int index, long blobId) {
+                        blobIds.put(index, blobId);
+                    }
+
+                    @Override
+                    public void blobWriteFailed(int index, SQLException exception) {
+                        failures.put(index, exception);
+                    }
+                });
+
+                assertEquals("Unexpected failed blobs", Collections.singleton(1), failures.keySet());
+                assertEquals("Unexpected written blobs", new HashSet<>(Arrays.asList(0, 2)), blobIds.keySet());
+
+                final FbStatement statement = db.createStatement(transaction);
+                statement.prepare(INSERT_BLOB_TABLE);
+                final DatatypeCoder datatypeCoder = db.getDatatypeCoder();
+                for (int index : blobIds.keySet()) {
+                    statement.execute(RowValue.of(
+                            new FieldValue(datatypeCoder.encodeInt(index + 1)),
+                            new FieldValue(datatypeCoder.encodeLong(blobIds.get(index)))));
+                }
+                statement.close();
+            } finally {
+                transaction.commit();
+            }
+        }
+
+        assertTrue("Unexpected blob content for blob 1", validateBlob(1, baseContent, requiredSize1));
+        assertTrue("Unexpected blob content for blob 3", validateBlob(3, baseContent, requiredSize2));
+    }
+
     /**
      * Test if blob is not eof after open.
      */
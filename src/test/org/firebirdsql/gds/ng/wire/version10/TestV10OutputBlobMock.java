@@ -20,6 +20,7 @@ package org.firebirdsql.gds.ng.wire.version10;
 
 import org.firebirdsql.gds.ISCConstants;
 import org.firebirdsql.gds.ng.FbBlob;
+import org.firebirdsql.gds.ng.LockCloseable;
 import org.firebirdsql.gds.ng.listeners.DatabaseListener;
 import org.firebirdsql.gds.ng.listeners.TransactionListener;
 import org.firebirdsql.gds.ng.wire.FbWireDatabase;
@@ -63,6 +64,8 @@ public class TestV10OutputBlobMock {
         context.checking(new Expectations() {{
             allowing(db).getSynchronizationObject();
             will(returnValue(new Object()));
+            allowing(db).withLock();
+            will(returnValue(LockCloseable.NO_OP));
             allowing(transaction).addTransactionListener(with(any(TransactionListener.class)));
             allowing(transaction).addWeakTransactionListener(with(any(TransactionListener.class)));
             allowing(db).addDatabaseListener(with(any(DatabaseListener.class)));
@@ -87,6 +90,36 @@ public class TestV10OutputBlobMock {
         blob.getSegment(1);
     }
 
+    /**
+     * Test if calling {@link org.firebirdsql.gds.ng.wire.version10.V10OutputBlob#getSegment(byte[], int, int)} throws
+     * a {@link java.sql.SQLNonTransientException} with error {@link org.firebirdsql.gds.ISCConstants#isc_segstr_no_read}.
+     */
+    @Test
+    public final void testGetSegmentBuffer() throws Exception {
+        expectedException.expect(SQLNonTransientException.class);
+        expectedException.expect(allOf(
+                errorCodeEquals(ISCConstants.isc_segstr_no_read),
+                fbMessageStartsWith(ISCConstants.isc_segstr_no_read)
+        ));
+
+        V10OutputBlob blob = new V10OutputBlob(db, transaction, null);
+
+        blob.getSegment(new byte[10], 0, 10);
+    }
+
+    /**
+     * Test if calling {@link org.firebirdsql.gds.ng.wire.version10.V10OutputBlob#putSegment(byte[], int, int)} with
+     * a section outside the buffer throws an exception.
+     */
+    @Test
+    public final void testPutSegmentBuffer_outsideBuffer() throws Exception {
+        expectedException.expect(IndexOutOfBoundsException.class);
+
+        V10OutputBlob blob = new V10OutputBlob(db, transaction, null);
+
+        blob.putSegment(new byte[10], 8, 3);
+    }
+
     /**
      * Test if calling {@link org.firebirdsql.gds.ng.wire.version10.V10OutputBlob#seek(int, org.firebirdsql.gds.ng.FbBlob.SeekMode)}
      * throws a {@link java.sql.SQLNonTransientException} with error {@link org.firebirdsql.gds.ISCConstants#isc_segstr_no_read}.
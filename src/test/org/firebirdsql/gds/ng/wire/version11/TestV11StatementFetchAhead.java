@@ -0,0 +1,162 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.gds.ng.wire.version11;
+
+import org.firebirdsql.gds.ng.FbStatement;
+import org.firebirdsql.gds.ng.fields.RowValue;
+import org.firebirdsql.gds.ng.wire.SimpleStatementListener;
+import org.junit.Test;
+
+import java.sql.SQLException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link org.firebirdsql.gds.ng.wire.version11.V11Statement} with fetch ahead, reuses the tests for V10
+ * and V11.
+ *
+ * @since 4.0
+ */
+public class TestV11StatementFetchAhead extends TestV11Statement {
+
+    public TestV11StatementFetchAhead() {
+        this(new V11CommonConnectionInfo());
+    }
+
+    protected TestV11StatementFetchAhead(V11CommonConnectionInfo commonConnectionInfo) {
+        super(commonConnectionInfo);
+        connectionInfo.setFetchAhead(true);
+    }
+
+    @Test
+    public void testFetchAhead_allRowsInBatches() throws Exception {
+        allocateStatement();
+        final SimpleStatementListener statementListener = executeRange(statement, 1, 25);
+
+        statement.fetchRows(10);
+        assertEquals("Expected first batch", 10, statementListener.getRows().size());
+        statement.fetchRows(10);
+        assertEquals("Expected second batch", 20, statementListener.getRows().size());
+        assertNull("Expected allRowsFetched not set yet", statementListener.isAllRowsFetched());
+        statement.fetchRows(10);
+        assertEquals("Expected all rows", 25, statementListener.getRows().size());
+        assertEquals("Expected allRowsFetched to be set to true", Boolean.TRUE, statementListener.isAllRowsFetched());
+        assertRange(statementListener, 1);
+    }
+
+    @Test
+    public void testFetchAhead_interleavedStatements() throws Exception {
+        allocateStatement();
+        final FbStatement statement1 = statement;
+        allocateStatement();
+        final FbStatement statement2 = statement;
+        try {
+            final SimpleStatementListener listener1 = executeRange(statement1, 1, 15);
+            final SimpleStatementListener listener2 = executeRange(statement2, 101, 15);
+
+            statement1.fetchRows(5);
+            // Reads the response of the fetch ahead of statement1 before the response of this fetch
+            statement2.fetchRows(5);
+            assertEquals("Expected no rows delivered for statement1 by fetch of statement2",
+                    5, listener1.getRows().size());
+            assertEquals(5, listener2.getRows().size());
+
+            while (listener1.isAllRowsFetched() == null) {
+                statement1.fetchRows(5);
+                statement2.fetchRows(5);
+            }
+            statement2.fetchRows(5);
+
+            assertEquals(15, listener1.getRows().size());
+            assertEquals(15, listener2.getRows().size());
+            assertRange(listener1, 1);
+            assertRange(listener2, 101);
+        } finally {
+            statement1.close();
+        }
+    }
+
+    @Test
+    public void testFetchAhead_closeCursorDiscardsPendingRows() throws Exception {
+        allocateStatement();
+        final SimpleStatementListener statementListener = executeRange(statement, 1, 25);
+
+        statement.fetchRows(10);
+        statement.closeCursor();
+        assertEquals("Expected only rows of first batch", 10, statementListener.getRows().size());
+
+        final SimpleStatementListener statementListener2 = new SimpleStatementListener();
+        statement.addStatementListener(statementListener2);
+        statement.execute(createRangeParameters(statement, 1, 25));
+        statement.fetchRows(30);
+
+        assertEquals("Expected all rows of second execute", 25, statementListener2.getRows().size());
+        assertRange(statementListener2, 1);
+    }
+
+    @Test
+    public void testFetchAhead_limitedByMaxRows() throws Exception {
+        allocateStatement();
+        statement.setMaxRows(15);
+        final SimpleStatementListener statementListener = executeRange(statement, 1, 25);
+
+        statement.fetchRows(10);
+        assertEquals("Expected first batch", 10, statementListener.getRows().size());
+        assertTrue("Expected fetch ahead for remaining rows", ((V11Statement) statement).hasPendingFetch());
+        statement.fetchRows(10);
+        assertEquals("Expected fetch ahead limited to max rows", 15, statementListener.getRows().size());
+        assertFalse("Expected no fetch ahead beyond max rows", ((V11Statement) statement).hasPendingFetch());
+        assertNull("Expected allRowsFetched not set", statementListener.isAllRowsFetched());
+        assertRange(statementListener, 1);
+    }
+
+    @Test
+    public void testFetchAhead_notSentAfterLastBatch() throws Exception {
+        allocateStatement();
+        final SimpleStatementListener statementListener = executeRange(statement, 1, 5);
+
+        statement.fetchRows(10);
+        assertEquals("Expected all rows", 5, statementListener.getRows().size());
+        assertFalse("Expected no fetch ahead after short batch", ((V11Statement) statement).hasPendingFetch());
+    }
+
+    private SimpleStatementListener executeRange(FbStatement statement, int start, int rowCount)
+            throws SQLException {
+        statement.prepare(EXECUTE_SELECTABLE_STORED_PROCEDURE);
+        final SimpleStatementListener statementListener = new SimpleStatementListener();
+        statement.addStatementListener(statementListener);
+        statement.execute(createRangeParameters(statement, start, rowCount));
+        return statementListener;
+    }
+
+    private RowValue createRangeParameters(FbStatement statement, int start, int rowCount) {
+        final RowValue parameters = statement.getParameterDescriptor().createDefaultFieldValues();
+        parameters.getFieldValue(0).setFieldData(db.getDatatypeCoder().encodeInt(start));
+        parameters.getFieldValue(1).setFieldData(db.getDatatypeCoder().encodeInt(rowCount));
+        return parameters;
+    }
+
+    private void assertRange(SimpleStatementListener statementListener, int start) {
+        int expected = start;
+        for (RowValue row : statementListener.getRows()) {
+            assertEquals("Unexpected row value", expected++,
+                    db.getDatatypeCoder().decodeInt(row.getFieldValue(0).getFieldData()));
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.gds.ng.wire.version11;
+
+import org.firebirdsql.gds.ISCConstants;
+import org.firebirdsql.gds.TransactionParameterBuffer;
+import org.firebirdsql.gds.impl.TransactionParameterBufferImpl;
+import org.firebirdsql.gds.ng.FbTransaction;
+import org.firebirdsql.gds.ng.TransactionState;
+import org.junit.Test;
+
+import java.sql.SQLException;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link org.firebirdsql.gds.ng.wire.version11.V11Transaction} with deferred transaction start, reuses the
+ * tests for V10 and V11.
+ *
+ * @since 4.0
+ */
+public class TestV11TransactionDeferredStart extends TestV11Transaction {
+
+    public TestV11TransactionDeferredStart() {
+        this(new V11CommonConnectionInfo());
+    }
+
+    protected TestV11TransactionDeferredStart(V11CommonConnectionInfo commonConnectionInfo) {
+        super(commonConnectionInfo);
+        connectionInfo.setDeferTransactionStart(true);
+    }
+
+    @Test
+    public void testStartPendingUntilFirstUse() throws Exception {
+        FbTransaction transaction = getTransaction();
+        assertThat(transaction, instanceOf(V11Transaction.class));
+        V11Transaction v11Transaction = (V11Transaction) transaction;
+        assertTrue("Expected start to be pending", v11Transaction.isStartPending());
+
+        assertTrue("Expected a transaction id", transaction.getTransactionId() > 0);
+
+        assertFalse("Expected start to be completed", v11Transaction.isStartPending());
+        transaction.commit();
+        assertEquals(TransactionState.COMMITTED, transaction.getState());
+    }
+
+    @Test
+    public void testSecondActiveTransactionNotDeferred() throws Exception {
+        FbTransaction transaction1 = getTransaction();
+        FbTransaction transaction2 = getTransaction();
+        try {
+            assertThat(transaction1, instanceOf(V11Transaction.class));
+            assertFalse("Expected second transaction to be started immediately",
+                    transaction2 instanceof V11Transaction);
+        } finally {
+            transaction2.rollback();
+            transaction1.rollback();
+        }
+    }
+
+    @Test
+    public void testFailedStartReportedOnCommit() throws Exception {
+        TransactionParameterBuffer tpb = new TransactionParameterBufferImpl();
+        tpb.addArgument(ISCConstants.isc_tpb_read_committed);
+        tpb.addArgument(ISCConstants.isc_tpb_rec_version);
+        tpb.addArgument(ISCConstants.isc_tpb_write);
+        tpb.addArgument(ISCConstants.isc_tpb_lock_read, "DOES_NOT_EXIST");
+        FbTransaction transaction = db.startTransaction(tpb);
+
+        try {
+            transaction.commit();
+            fail("Expected commit to fail for transaction that could not be started");
+        } catch (SQLException e) {
+            assertEquals("Expected transaction to be rolled back", TransactionState.ROLLED_BACK,
+                    transaction.getState());
+        }
+        assertEquals("Expected no active transactions", 0, ((V11Database) db).getActiveTransactionCount());
+    }
+}
@@ -20,15 +20,17 @@
  */
 package org.firebirdsql.jca;
 
+import org.firebirdsql.jdbc.FBDatabaseMetaData;
 import org.junit.Test;
 
 import javax.resource.spi.ManagedConnection;
 import javax.transaction.xa.XAResource;
 import javax.transaction.xa.Xid;
 import java.sql.Connection;
+import java.sql.ResultSet;
 import java.sql.Statement;
 
-import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.*;
 
 /**
  * Describe class <code>TestFBConnection</code> here.
@@ -105,4 +107,65 @@ public class TestFBConnection extends TestXABase {
             mc.destroy();
         }
     }
+
+    @Test
+    public void testMetaDataStatementsReusedByNextConnectionHandle() throws Exception {
+        FBManagedConnectionFactory mcf = initMcf();
+        FBManagedConnection mc = (FBManagedConnection) mcf.createManagedConnection(null, null);
+        try {
+            Connection c1 = (Connection) mc.getConnection(null, null);
+            try (Statement stmt = c1.createStatement()) {
+                stmt.execute("create table md_reuse (id1 integer not null, id2 integer not null, "
+                        + "constraint pk_md_reuse primary key (id1, id2))");
+            }
+            c1.getMetaData().getPrimaryKeys(null, null, "RDB$RELATIONS").close();
+            assertEquals("No statements kept before handle is closed", 0, mc.getMetaDataStatementCount());
+
+            c1.close();
+            assertEquals("Expected metadata statement kept by managed connection",
+                    1, mc.getMetaDataStatementCount());
+
+            Connection c2 = (Connection) mc.getConnection(null, null);
+
+            try (ResultSet rs = c2.getMetaData().getPrimaryKeys(null, null, "MD_REUSE")) {
+                assertEquals("Expected metadata statement taken by new handle", 0, mc.getMetaDataStatementCount());
+                assertTrue("Expected first primary key row", rs.next());
+                assertEquals("MD_REUSE", rs.getString("TABLE_NAME"));
+                assertEquals("ID1", rs.getString("COLUMN_NAME"));
+                assertEquals(1, rs.getInt("KEY_SEQ"));
+                assertEquals("PK_MD_REUSE", rs.getString("PK_NAME"));
+                assertTrue("Expected second primary key row", rs.next());
+                assertEquals("MD_REUSE", rs.getString("TABLE_NAME"));
+                assertEquals("ID2", rs.getString("COLUMN_NAME"));
+                assertEquals(2, rs.getInt("KEY_SEQ"));
+                assertFalse("Expected no more primary key rows", rs.next());
+            }
+            c2.close();
+        } finally {
+            mc.destroy();
+        }
+        assertEquals("Expected metadata statements closed on destroy", 0, mc.getMetaDataStatementCount());
+    }
+
+    @Test
+    public void testMetaDataStatementWithOpenResultSetNotKept() throws Exception {
+        FBManagedConnectionFactory mcf = initMcf();
+        FBManagedConnection mc = (FBManagedConnection) mcf.createManagedConnection(null, null);
+        try {
+            Connection c1 = (Connection) mc.getConnection(null, null);
+            FBDatabaseMetaData metaData = (FBDatabaseMetaData) c1.getMetaData();
+            ResultSet rs = metaData.getTables(null, null, "RDB$RELATIONS", null);
+            assertTrue("Expected table row", rs.next());
+
+            metaData.close();
+
+            assertEquals("Expected statement with open result set to be closed, not kept",
+                    0, mc.getMetaDataStatementCount());
+            assertTrue("Expected result set closed", rs.isClosed());
+            c1.close();
+        } finally {
+            mc.destroy();
+        }
+        assertEquals("Expected metadata statements closed on destroy", 0, mc.getMetaDataStatementCount());
+    }
 }
@@ -18,9 +18,11 @@
  */
 package org.firebirdsql.jca;
 
+import org.firebirdsql.gds.ng.FbTransaction;
 import org.junit.Test;
 
 import javax.resource.spi.ManagedConnection;
+import javax.transaction.xa.XAException;
 import javax.transaction.xa.XAResource;
 import javax.transaction.xa.Xid;
 import java.sql.Connection;
@@ -87,6 +89,70 @@ public class TestFBXAResource extends TestXABase {
         mc.destroy();
     }
 
+    @Test
+    public void testJoinXATrans_reusesTransaction() throws Exception {
+        FBManagedConnectionFactory mcf = initMcf();
+        ManagedConnection mc = mcf.createManagedConnection(null, null);
+        FBManagedConnection fbmc = (FBManagedConnection) mc;
+        XAResource xa = mc.getXAResource();
+        Xid xid = new XidImpl();
+        xa.start(xid, XAResource.TMNOFLAGS);
+        FbTransaction transaction = fbmc.getGDSHelper().getCurrentTransaction();
+        xa.end(xid, XAResource.TMSUCCESS);
+
+        xa.start(xid, XAResource.TMJOIN);
+        assertSame("Expected transaction of branch to be reused on join",
+                transaction, fbmc.getGDSHelper().getCurrentTransaction());
+        xa.end(xid, XAResource.TMSUCCESS);
+        xa.commit(xid, true);
+        mc.destroy();
+    }
+
+    @Test
+    public void testJoinXATrans_unknownXid() throws Exception {
+        FBManagedConnectionFactory mcf = initMcf();
+        ManagedConnection mc = mcf.createManagedConnection(null, null);
+        XAResource xa = mc.getXAResource();
+        try {
+            xa.start(new XidImpl(), XAResource.TMJOIN);
+            fail("Expected XAException joining unknown xid");
+        } catch (XAException e) {
+            assertEquals(XAException.XAER_NOTA, e.errorCode);
+        } finally {
+            mc.destroy();
+        }
+    }
+
+    @Test
+    public void testCommitXATrans_withCopyOfXid() throws Exception {
+        FBManagedConnectionFactory mcf = initMcf();
+        ManagedConnection mc = mcf.createManagedConnection(null, null);
+        XAResource xa = mc.getXAResource();
+        Xid xid = new XidImpl();
+        xa.start(xid, XAResource.TMNOFLAGS);
+        xa.end(xid, XAResource.TMSUCCESS);
+
+        ((FBManagedConnection) mc).internalCommit(new FBXid(xid), true);
+        mc.destroy();
+    }
+
+    @Test
+    public void test2PCXATrans_otherResourceWithCopyOfXid() throws Exception {
+        FBManagedConnectionFactory mcf = initMcf();
+        ManagedConnection mc1 = mcf.createManagedConnection(null, null);
+        ManagedConnection mc2 = mcf.createManagedConnection(null, null);
+        Xid xid = new XidImpl();
+        XAResource xa1 = mc1.getXAResource();
+        xa1.start(xid, XAResource.TMNOFLAGS);
+        xa1.end(xid, XAResource.TMSUCCESS);
+
+        XAResource xa2 = mc2.getXAResource();
+        xa2.prepare(new FBXid(xid));
+        xa2.commit(new FBXid(xid), false);
+        mc1.destroy();
+        mc2.destroy();
+    }
+
     @Test
     public void testRollbackXATrans() throws Exception {
         FBManagedConnectionFactory mcf = initMcf();
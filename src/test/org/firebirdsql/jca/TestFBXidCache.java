@@ -0,0 +1,151 @@
+/*
+ * $Id$
+ * 
+ * Firebird Open Source J2ee connector - jdbc driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a CVS history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.jca;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import javax.transaction.xa.Xid;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link FBXidCache}.
+ */
+public class TestFBXidCache {
+
+    @Rule
+    public final ExpectedException expectedException = ExpectedException.none();
+
+    @Test
+    public void testGetXid_parsesDescription() throws Exception {
+        FBXidCache cache = new FBXidCache();
+        Xid xid = new TestXid(1, "global1", "branch1");
+
+        FBXid result = cache.getXid(15, new FBXid(xid).toBytes());
+
+        assertEquals(xid.getFormatId(), result.getFormatId());
+        assertArrayEquals(xid.getGlobalTransactionId(), result.getGlobalTransactionId());
+        assertArrayEquals(xid.getBranchQualifier(), result.getBranchQualifier());
+        assertEquals(15, result.getFirebirdTransactionId());
+    }
+
+    @Test
+    public void testGetXid_sameDescription_returnsCachedInstance() throws Exception {
+        FBXidCache cache = new FBXidCache();
+        byte[] description = new FBXid(new TestXid(1, "global1", "branch1")).toBytes();
+
+        FBXid first = cache.getXid(15, description);
+
+        assertSame(first, cache.getXid(15, description.clone()));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testGetXid_differentDescription_parsesAgain() throws Exception {
+        FBXidCache cache = new FBXidCache();
+        FBXid first = cache.getXid(15, new FBXid(new TestXid(1, "global1", "branch1")).toBytes());
+
+        FBXid second = cache.getXid(15, new FBXid(new TestXid(1, "global2", "branch1")).toBytes());
+
+        assertNotSame(first, second);
+        assertNull("Replaced Xid should no longer be found", cache.findXid(first));
+        assertSame(second, cache.findXid(second));
+    }
+
+    @Test
+    public void testGetXid_invalidDescription() throws Exception {
+        FBXidCache cache = new FBXidCache();
+        expectedException.expect(FBIncorrectXidException.class);
+
+        cache.getXid(15, new byte[] { 2, 5 });
+    }
+
+    @Test
+    public void testFindXid_otherXidImplementation() throws Exception {
+        FBXidCache cache = new FBXidCache();
+        Xid xid = new TestXid(1, "global1", "branch1");
+        FBXid cachedXid = cache.getXid(15, new FBXid(xid).toBytes());
+
+        assertSame(cachedXid, cache.findXid(xid));
+        assertNull(cache.findXid(new TestXid(1, "global1", "branch2")));
+    }
+
+    @Test
+    public void testRemove() throws Exception {
+        FBXidCache cache = new FBXidCache();
+        Xid xid = new TestXid(1, "global1", "branch1");
+        cache.getXid(15, new FBXid(xid).toBytes());
+
+        cache.remove(xid);
+
+        assertNull(cache.findXid(xid));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testMaxSize_evictsLeastRecentlyUsed() throws Exception {
+        FBXidCache cache = new FBXidCache(2);
+        Xid xid1 = new TestXid(1, "global1", "branch1");
+        Xid xid2 = new TestXid(1, "global2", "branch1");
+        Xid xid3 = new TestXid(1, "global3", "branch1");
+        byte[] description1 = new FBXid(xid1).toBytes();
+        cache.getXid(1, description1);
+        cache.getXid(2, new FBXid(xid2).toBytes());
+        // access 1, so 2 is least recently used
+        cache.getXid(1, description1);
+
+        cache.getXid(3, new FBXid(xid3).toBytes());
+
+        assertEquals(2, cache.size());
+        assertNotNull(cache.findXid(xid1));
+        assertNull(cache.findXid(xid2));
+        assertNotNull(cache.findXid(xid3));
+    }
+
+    private static final class TestXid implements Xid {
+        private final int formatId;
+        private final byte[] globalId;
+        private final byte[] branchId;
+
+        private TestXid(int formatId, String globalId, String branchId) {
+            this.formatId = formatId;
+            this.globalId = globalId.getBytes();
+            this.branchId = branchId.getBytes();
+        }
+
+        @Override
+        public int getFormatId() {
+            return formatId;
+        }
+
+        @Override
+        public byte[] getGlobalTransactionId() {
+            return globalId.clone();
+        }
+
+        @Override
+        public byte[] getBranchQualifier() {
+            return branchId.clone();
+        }
+    }
+}
@@ -30,6 +30,7 @@ import org.firebirdsql.gds.impl.oo.OOGDSFactoryPlugin;
 import org.firebirdsql.gds.impl.wire.WireGDSFactoryPlugin;
 import org.firebirdsql.gds.ng.FbDatabase;
 import org.firebirdsql.gds.ng.IConnectionProperties;
+import org.firebirdsql.gds.ng.LockCloseable;
 import org.firebirdsql.gds.ng.WireCrypt;
 import org.firebirdsql.gds.ng.wire.crypt.FBSQLEncryptException;
 import org.firebirdsql.jca.FBManagedConnection;
@@ -40,8 +41,11 @@ import org.junit.rules.RuleChain;
 import org.junit.rules.TestRule;
 
 import java.sql.*;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.*;
 
 import static org.firebirdsql.common.DdlHelper.executeCreateTable;
 import static org.firebirdsql.common.FBTestProperties.*;
@@ -290,6 +294,74 @@ public class FBConnectionTest {
         }
     }
 
+    /**
+     * Test that methods that only access local state of the connection do not wait for the lock held by another
+     * thread.
+     */
+    @Test
+    public void testLocalStateDoesNotRequireLock() throws Exception {
+        try (final FBConnection connection = (FBConnection) getConnectionViaDriverManager()) {
+            final DatabaseMetaData metaData = connection.getMetaData();
+            final FBManagedConnection managedConnection = connection.getManagedConnection();
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            try (LockCloseable ignored = connection.withLock()) {
+                Future<Void> localState = executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        connection.addWarning(new SQLWarning("test"));
+                        assertEquals("test", connection.getWarnings().getMessage());
+                        connection.clearWarnings();
+                        assertNull(connection.getWarnings());
+                        connection.setHoldability(ResultSet.HOLD_CURSORS_OVER_COMMIT);
+                        assertSame(metaData, connection.getMetaData());
+                        assertSame(managedConnection, connection.getManagedConnection());
+                        return null;
+                    }
+                });
+                localState.get(5, TimeUnit.SECONDS);
+            } finally {
+                executor.shutdownNow();
+            }
+            assertEquals("Expected holdability set by other thread",
+                    ResultSet.HOLD_CURSORS_OVER_COMMIT, connection.getHoldability());
+        }
+    }
+
+    @Test
+    public void testAddWarningConcurrently() throws Exception {
+        final int threadCount = 4;
+        final int warningsPerThread = 100;
+        try (final FBConnection connection = (FBConnection) getConnectionViaDriverManager()) {
+            connection.clearWarnings();
+            ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+            try {
+                List<Future<Void>> futures = new ArrayList<>();
+                for (int i = 0; i < threadCount; i++) {
+                    futures.add(executor.submit(new Callable<Void>() {
+                        @Override
+                        public Void call() {
+                            for (int j = 0; j < warningsPerThread; j++) {
+                                connection.addWarning(new SQLWarning("test"));
+                            }
+                            return null;
+                        }
+                    }));
+                }
+                for (Future<Void> future : futures) {
+                    future.get(10, TimeUnit.SECONDS);
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+
+            int warningCount = 0;
+            for (SQLWarning warning = connection.getWarnings(); warning != null; warning = warning.getNextWarning()) {
+                warningCount++;
+            }
+            assertEquals("Expected all warnings in chain", threadCount * warningsPerThread, warningCount);
+        }
+    }
+
     @Test
     public void testGetAttachments() throws Exception {
         try (FBConnection connection = (FBConnection) getConnectionViaDriverManager()) {
@@ -0,0 +1,158 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.jdbc;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.Charset;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link FBBlobWriter} and {@link FBBlobReader}.
+ *
+ * @since 4.0
+ */
+public class TestFBBlobReaderWriter {
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+    private static final Charset ISO_8859_1 = Charset.forName("ISO-8859-1");
+    // Minimum buffer length, forces multi-byte characters and surrogate pairs to cross buffer boundaries
+    private static final int BUFFER_LENGTH = 16;
+
+    @Test
+    public void testWriter_utf8_multipleBuffers() throws Exception {
+        final String value = generateText(1000);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (Writer writer = new FBBlobWriter(out, UTF8, BUFFER_LENGTH)) {
+            writer.write(value);
+        }
+
+        assertArrayEquals(value.getBytes(UTF8), out.toByteArray());
+    }
+
+    @Test
+    public void testWriter_utf8_singleCharacters() throws Exception {
+        final String value = generateText(100);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (Writer writer = new FBBlobWriter(out, UTF8, BUFFER_LENGTH)) {
+            for (int idx = 0; idx < value.length(); idx++) {
+                writer.write(value.charAt(idx));
+            }
+        }
+
+        assertArrayEquals(value.getBytes(UTF8), out.toByteArray());
+    }
+
+    @Test
+    public void testWriter_unmappableCharactersReplaced() throws Exception {
+        final String value = "abc\u20ACdef\uD83D\uDE00";
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (Writer writer = new FBBlobWriter(out, ISO_8859_1, BUFFER_LENGTH)) {
+            writer.write(value.toCharArray());
+        }
+
+        assertArrayEquals(value.getBytes(ISO_8859_1), out.toByteArray());
+    }
+
+    @Test(expected = IOException.class)
+    public void testWriter_writeAfterClose() throws Exception {
+        final Writer writer = new FBBlobWriter(new ByteArrayOutputStream(), UTF8, BUFFER_LENGTH);
+        writer.close();
+
+        writer.write("abc");
+    }
+
+    @Test
+    public void testReader_utf8_multipleBuffers() throws Exception {
+        final String value = generateText(1000);
+
+        try (Reader reader = new FBBlobReader(new ByteArrayInputStream(value.getBytes(UTF8)), UTF8, BUFFER_LENGTH)) {
+            assertEquals(value, readFully(reader, 7));
+        }
+    }
+
+    @Test
+    public void testReader_utf8_singleCharacters() throws Exception {
+        final String value = generateText(100);
+
+        try (Reader reader = new FBBlobReader(new ByteArrayInputStream(value.getBytes(UTF8)), UTF8, BUFFER_LENGTH)) {
+            final StringBuilder sb = new StringBuilder();
+            int c;
+            while ((c = reader.read()) != -1) {
+                sb.append((char) c);
+            }
+            assertEquals(value, sb.toString());
+            assertEquals("Expected end of stream on repeated read", -1, reader.read());
+        }
+    }
+
+    @Test
+    public void testReader_malformedInputReplaced() throws Exception {
+        final byte[] bytes = { 'a', 'b', (byte) 0xC3, 'c', (byte) 0xE2, (byte) 0x82 };
+
+        try (Reader reader = new FBBlobReader(new ByteArrayInputStream(bytes), UTF8, BUFFER_LENGTH)) {
+            assertEquals(new String(bytes, UTF8), readFully(reader, BUFFER_LENGTH));
+        }
+    }
+
+    @Test
+    public void testReader_empty() throws Exception {
+        try (Reader reader = new FBBlobReader(new ByteArrayInputStream(new byte[0]), UTF8, BUFFER_LENGTH)) {
+            assertEquals(-1, reader.read(new char[10], 0, 10));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testReader_readAfterClose() throws Exception {
+        final Reader reader = new FBBlobReader(new ByteArrayInputStream(new byte[10]), UTF8, BUFFER_LENGTH);
+        reader.close();
+
+        reader.read();
+    }
+
+    /**
+     * Generates text mixing single byte, multi-byte and supplementary (surrogate pair) characters.
+     */
+    private static String generateText(int repeat) {
+        final StringBuilder sb = new StringBuilder();
+        for (int idx = 0; idx < repeat; idx++) {
+            sb.append("a\u00E9\u20AC\uD83D\uDE00z");
+        }
+        return sb.toString();
+    }
+
+    private static String readFully(Reader reader, int chunkSize) throws IOException {
+        final StringBuilder sb = new StringBuilder();
+        final char[] buffer = new char[chunkSize];
+        int count;
+        while ((count = reader.read(buffer, 0, buffer.length)) != -1) {
+            sb.append(buffer, 0, count);
+        }
+        return sb.toString();
+    }
+}
@@ -27,11 +27,14 @@ import org.junit.Test;
 import java.sql.*;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.Properties;
 import java.util.Set;
 
 import static org.firebirdsql.common.FBTestProperties.getConnectionViaDriverManager;
+import static org.firebirdsql.common.FBTestProperties.getDefaultPropertiesForConnection;
 import static org.firebirdsql.common.FBTestProperties.getDefaultSupportInfo;
 import static org.firebirdsql.common.FBTestProperties.getProperty;
+import static org.firebirdsql.common.FBTestProperties.getUrl;
 import static org.firebirdsql.util.FirebirdSupportInfo.supportInfoFor;
 import static org.junit.Assert.*;
 import static org.junit.Assume.assumeTrue;
@@ -114,6 +117,26 @@ public class TestFBDatabaseMetaData extends FBJUnit4TestBase {
         }
     }
 
+    @Test
+    public void testMetaDataCache_uncommittedDdlNotShared() throws Exception {
+        Properties props = getDefaultPropertiesForConnection();
+        props.setProperty("metaDataCacheTtl", "60000");
+        try (Connection ddlConnection = DriverManager.getConnection(getUrl(), props);
+             Connection otherConnection = DriverManager.getConnection(getUrl(), props)) {
+            ddlConnection.setAutoCommit(false);
+            try (Statement stmt = ddlConnection.createStatement()) {
+                stmt.execute("create table uncommitted_ddl (id integer)");
+            }
+            try (ResultSet rs = ddlConnection.getMetaData().getColumns(null, null, "UNCOMMITTED_DDL", null)) {
+                assertTrue("Expected column of uncommitted table in own transaction", rs.next());
+            }
+            try (ResultSet rs = otherConnection.getMetaData().getColumns(null, null, "UNCOMMITTED_DDL", null)) {
+                assertFalse("Expected no cached columns of uncommitted table in other connection", rs.next());
+            }
+            ddlConnection.rollback();
+        }
+    }
+
     @Test
     public void testGetTablesTypesView() throws Exception {
         createTable("T1");
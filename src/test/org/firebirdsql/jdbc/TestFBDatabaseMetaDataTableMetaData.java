@@ -0,0 +1,215 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.jdbc;
+
+import org.firebirdsql.common.rules.UsesDatabase;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.firebirdsql.common.FBTestProperties.getConnectionViaDriverManager;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link FBDatabaseMetaData#getTableMetaData(java.util.Collection)}.
+ */
+public class TestFBDatabaseMetaDataTableMetaData {
+
+    //@formatter:off
+    private static final String CREATE_PARENT =
+            "CREATE TABLE tmd_parent (" +
+            "  id1 INTEGER NOT NULL," +
+            "  id2 INTEGER NOT NULL," +
+            "  description VARCHAR(50) DEFAULT 'none'," +
+            "  CONSTRAINT pk_tmd_parent PRIMARY KEY (id1, id2)" +
+            ")";
+
+    private static final String CREATE_CHILD =
+            "CREATE TABLE tmd_child (" +
+            "  id INTEGER NOT NULL CONSTRAINT pk_tmd_child PRIMARY KEY," +
+            "  parent_id1 INTEGER," +
+            "  parent_id2 INTEGER," +
+            "  amount NUMERIC(10, 2)," +
+            "  CONSTRAINT fk_tmd_child_parent FOREIGN KEY (parent_id1, parent_id2) " +
+            "    REFERENCES tmd_parent (id1, id2) ON DELETE CASCADE" +
+            ")";
+
+    private static final String CREATE_DESC_INDEX =
+            "CREATE DESCENDING INDEX idx_tmd_child_amount ON tmd_child (amount)";
+
+    private static final String CREATE_COMPUTED_INDEX =
+            "CREATE INDEX idx_tmd_parent_upper ON tmd_parent COMPUTED BY (UPPER(description))";
+    //@formatter:on
+
+    @Rule
+    public final UsesDatabase usesDatabase = UsesDatabase.usesDatabase();
+
+    @Before
+    public void setUp() throws Exception {
+        try (Connection connection = getConnectionViaDriverManager();
+             Statement stmt = connection.createStatement()) {
+            for (String ddl : Arrays.asList(CREATE_PARENT, CREATE_CHILD, CREATE_DESC_INDEX, CREATE_COMPUTED_INDEX)) {
+                stmt.execute(ddl);
+            }
+        }
+    }
+
+    @Test
+    public void testRequestedTablesOnly() throws Exception {
+        try (Connection connection = getConnectionViaDriverManager()) {
+            Map<String, TableMetaData> tables = getTableMetaData(connection,
+                    Arrays.asList("TMD_PARENT", "TMD_CHILD", "DOES_NOT_EXIST"));
+
+            assertEquals(Arrays.asList("TMD_CHILD", "TMD_PARENT"), Arrays.asList(tables.keySet().toArray()));
+        }
+    }
+
+    @Test
+    public void testAllTablesIncludesSystemTables() throws Exception {
+        try (Connection connection = getConnectionViaDriverManager()) {
+            Map<String, TableMetaData> tables = getTableMetaData(connection, null);
+
+            assertTrue("Expected TMD_PARENT", tables.containsKey("TMD_PARENT"));
+            assertTrue("Expected RDB$RELATIONS", tables.containsKey("RDB$RELATIONS"));
+        }
+    }
+
+    @Test
+    public void testEmptyCollection() throws Exception {
+        try (Connection connection = getConnectionViaDriverManager()) {
+            assertTrue(getTableMetaData(connection, Collections.<String>emptyList()).isEmpty());
+        }
+    }
+
+    @Test
+    public void testColumns() throws Exception {
+        try (Connection connection = getConnectionViaDriverManager()) {
+            TableMetaData child = getTableMetaData(connection, Collections.singletonList("TMD_CHILD"))
+                    .get("TMD_CHILD");
+            TableMetaData parent = getTableMetaData(connection, Collections.singletonList("TMD_PARENT"))
+                    .get("TMD_PARENT");
+
+            List<TableMetaData.Column> columns = child.getColumns();
+            assertEquals(4, columns.size());
+            TableMetaData.Column id = columns.get(0);
+            assertEquals("ID", id.getName());
+            assertEquals(1, id.getOrdinalPosition());
+            assertEquals(Types.INTEGER, id.getDataType());
+            assertFalse(id.isNullable());
+            TableMetaData.Column amount = columns.get(3);
+            assertEquals("AMOUNT", amount.getName());
+            assertEquals(Types.NUMERIC, amount.getDataType());
+            assertEquals(Integer.valueOf(10), amount.getColumnSize());
+            assertEquals(Integer.valueOf(2), amount.getDecimalDigits());
+            assertTrue(amount.isNullable());
+
+            TableMetaData.Column description = parent.getColumns().get(2);
+            assertEquals("DESCRIPTION", description.getName());
+            assertEquals(Types.VARCHAR, description.getDataType());
+            assertEquals(Integer.valueOf(50), description.getColumnSize());
+            assertEquals("'none'", description.getDefaultValue());
+        }
+    }
+
+    @Test
+    public void testKeys() throws Exception {
+        try (Connection connection = getConnectionViaDriverManager()) {
+            Map<String, TableMetaData> tables = getTableMetaData(connection,
+                    Arrays.asList("TMD_PARENT", "TMD_CHILD"));
+
+            TableMetaData.PrimaryKey parentKey = tables.get("TMD_PARENT").getPrimaryKey();
+            assertEquals("PK_TMD_PARENT", parentKey.getName());
+            assertEquals(Arrays.asList("ID1", "ID2"), parentKey.getColumnNames());
+            assertTrue(tables.get("TMD_PARENT").getForeignKeys().isEmpty());
+
+            TableMetaData child = tables.get("TMD_CHILD");
+            assertEquals(Collections.singletonList("ID"), child.getPrimaryKey().getColumnNames());
+            assertEquals(1, child.getForeignKeys().size());
+            TableMetaData.ForeignKey foreignKey = child.getForeignKeys().get(0);
+            assertEquals("FK_TMD_CHILD_PARENT", foreignKey.getName());
+            assertEquals("TMD_PARENT", foreignKey.getPrimaryKeyTableName());
+            assertEquals("PK_TMD_PARENT", foreignKey.getPrimaryKeyName());
+            assertEquals(Arrays.asList("PARENT_ID1", "PARENT_ID2"), foreignKey.getColumnNames());
+            assertEquals(Arrays.asList("ID1", "ID2"), foreignKey.getPrimaryKeyColumnNames());
+            assertEquals(DatabaseMetaData.importedKeyCascade, foreignKey.getDeleteRule());
+            assertEquals(DatabaseMetaData.importedKeyNoAction, foreignKey.getUpdateRule());
+        }
+    }
+
+    @Test
+    public void testIndexes() throws Exception {
+        try (Connection connection = getConnectionViaDriverManager()) {
+            Map<String, TableMetaData> tables = getTableMetaData(connection,
+                    Arrays.asList("TMD_PARENT", "TMD_CHILD"));
+
+            TableMetaData.Index descIndex = findIndex(tables.get("TMD_CHILD"), "IDX_TMD_CHILD_AMOUNT");
+            assertTrue(descIndex.isDescending());
+            assertFalse(descIndex.isUnique());
+            assertEquals(Collections.singletonList("AMOUNT"), descIndex.getColumnNames());
+
+            TableMetaData.Index computedIndex = findIndex(tables.get("TMD_PARENT"), "IDX_TMD_PARENT_UPPER");
+            assertEquals("(UPPER(description))", computedIndex.getExpression());
+            assertTrue(computedIndex.getColumnNames().isEmpty());
+
+            TableMetaData.Index pkIndex = findIndex(tables.get("TMD_PARENT"), "PK_TMD_PARENT");
+            assertTrue(pkIndex.isUnique());
+            assertEquals(Arrays.asList("ID1", "ID2"), pkIndex.getColumnNames());
+        }
+    }
+
+    @Test
+    public void testAfterDdl_reflectsChange() throws Exception {
+        try (Connection connection = getConnectionViaDriverManager()) {
+            try (Statement stmt = connection.createStatement()) {
+                stmt.execute("CREATE TABLE tmd_later (col1 INTEGER)");
+            }
+
+            Map<String, TableMetaData> tables = getTableMetaData(connection,
+                    Collections.singletonList("TMD_LATER"));
+
+            assertEquals(1, tables.get("TMD_LATER").getColumns().size());
+            assertNull(tables.get("TMD_LATER").getPrimaryKey());
+        }
+    }
+
+    private static Map<String, TableMetaData> getTableMetaData(Connection connection, List<String> tableNames)
+            throws Exception {
+        FirebirdDatabaseMetaData dbmd = connection.getMetaData().unwrap(FirebirdDatabaseMetaData.class);
+        return dbmd.getTableMetaData(tableNames);
+    }
+
+    private static TableMetaData.Index findIndex(TableMetaData table, String indexName) {
+        for (TableMetaData.Index index : table.getIndexes()) {
+            if (index.getName().equals(indexName)) {
+                return index;
+            }
+        }
+        fail("No index " + indexName + " for table " + table.getTableName());
+        return null;
+    }
+}
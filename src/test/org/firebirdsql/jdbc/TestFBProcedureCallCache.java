@@ -0,0 +1,107 @@
+/*
+ * $Id$
+ * 
+ * Firebird Open Source J2ee connector - jdbc driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a CVS history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.jdbc;
+
+import org.firebirdsql.jdbc.escape.FBEscapedCallParser;
+import org.firebirdsql.jdbc.escape.FBEscapedParser.EscapeParserMode;
+import org.junit.Test;
+
+import java.sql.Types;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link FBProcedureCallCache}.
+ */
+public class TestFBProcedureCallCache {
+
+    private static final String CALL = "{call PROC1(?, ?)}";
+
+    @Test
+    public void testGet_emptyCache_returnsNull() {
+        FBProcedureCallCache cache = new FBProcedureCallCache();
+
+        assertNull(cache.get(CALL));
+    }
+
+    @Test
+    public void testPut_callAvailable() throws Exception {
+        FBProcedureCallCache cache = new FBProcedureCallCache();
+        FBProcedureCall procedureCall = parse(CALL);
+
+        cache.put(CALL, procedureCall);
+
+        FBProcedureCall cachedProcedureCall = cache.get(CALL);
+        assertNotNull(cachedProcedureCall);
+        assertEquals(procedureCall, cachedProcedureCall);
+        assertNull(cache.get("{call PROC2(?, ?)}"));
+    }
+
+    @Test
+    public void testGet_returnsIndependentCopies() throws Exception {
+        FBProcedureCallCache cache = new FBProcedureCallCache();
+        FBProcedureCall procedureCall = parse(CALL);
+        cache.put(CALL, procedureCall);
+        // Modifying the original after put should not affect the cache
+        procedureCall.registerOutParam(2, Types.INTEGER);
+
+        FBProcedureCall copy1 = cache.get(CALL);
+        copy1.getInputParam(1).setValue(1);
+        copy1.registerOutParam(2, Types.VARCHAR);
+        FBProcedureCall copy2 = cache.get(CALL);
+
+        assertNotSame(copy1, copy2);
+        assertFalse(copy2.getInputParam(1).isValueSet());
+        assertEquals("EXECUTE PROCEDURE PROC1(?,?)", copy2.getSQL(false));
+        assertEquals("EXECUTE PROCEDURE PROC1(?)", copy1.getSQL(false));
+    }
+
+    @Test
+    public void testClear_removesCalls() throws Exception {
+        FBProcedureCallCache cache = new FBProcedureCallCache();
+        cache.put(CALL, parse(CALL));
+
+        cache.clear();
+
+        assertNull(cache.get(CALL));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testPut_exceedingMaxSize_evictsLeastRecentlyUsed() throws Exception {
+        FBProcedureCallCache cache = new FBProcedureCallCache(2);
+        cache.put("{call PROC1}", parse("{call PROC1}"));
+        cache.put("{call PROC2}", parse("{call PROC2}"));
+        // Access PROC1, making PROC2 the least recently used
+        cache.get("{call PROC1}");
+
+        cache.put("{call PROC3}", parse("{call PROC3}"));
+
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get("{call PROC1}"));
+        assertNull(cache.get("{call PROC2}"));
+        assertNotNull(cache.get("{call PROC3}"));
+    }
+
+    private static FBProcedureCall parse(String sql) throws Exception {
+        return new FBEscapedCallParser(EscapeParserMode.USE_BUILT_IN).parseCall(sql);
+    }
+}
@@ -918,6 +918,28 @@ public class TestFBResultSet extends FBJUnit4TestBase {
         }
     }
 
+    /**
+     * Test if a text blob can be read as string from a scroll insensitive (cached) result set.
+     */
+    @Test
+    public void testGetStringOfTextBlob_scrollInsensitive() throws Exception {
+        executeCreateTable(connection, CREATE_TABLE_STATEMENT);
+        final String value = "text blob value";
+
+        try (PreparedStatement pstmt = connection.prepareStatement(
+                "INSERT INTO test_table (id, blob_str) VALUES (?, ?)")) {
+            pstmt.setInt(1, 1);
+            pstmt.setString(2, value);
+            pstmt.executeUpdate();
+        }
+
+        try (Statement stmt = connection.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+             ResultSet rs = stmt.executeQuery("SELECT blob_str FROM test_table")) {
+            assertTrue("Should have one row", rs.next());
+            assertEquals("Unexpected value of text blob", value, rs.getString(1));
+        }
+    }
+
     @Test
     public void testMetaDataQueryShouldKeepRsOpen() throws Exception {
         executeCreateTable(connection, CREATE_TABLE_STATEMENT);
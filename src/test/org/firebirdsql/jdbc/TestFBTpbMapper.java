@@ -20,6 +20,7 @@ package org.firebirdsql.jdbc;
 
 import org.firebirdsql.gds.ISCConstants;
 import org.firebirdsql.gds.TransactionParameterBuffer;
+import org.firebirdsql.gds.impl.ImmutableTransactionParameterBuffer;
 import org.firebirdsql.jca.FBResourceException;
 import org.junit.Rule;
 import org.junit.Test;
@@ -75,6 +76,29 @@ public class TestFBTpbMapper {
         );
     }
 
+    @Test
+    public void testGetImmutableMapping_cachedUntilMappingChanged() throws Exception {
+        FBTpbMapper mapper = new FBTpbMapper(TEST_TPB_MAPPING, getClass().getClassLoader());
+        ImmutableTransactionParameterBuffer tpbValue = mapper.getImmutableMapping(Connection.TRANSACTION_READ_COMMITTED);
+
+        assertEquals("Immutable mapping must have same content as mapping",
+                mapper.getMapping(Connection.TRANSACTION_READ_COMMITTED), tpbValue.deepCopy());
+        assertSame("Expected cached immutable mapping",
+                tpbValue, mapper.getImmutableMapping(Connection.TRANSACTION_READ_COMMITTED));
+        assertSame("Expected READ_UNCOMMITTED to be promoted to READ_COMMITTED",
+                tpbValue, mapper.getImmutableMapping(Connection.TRANSACTION_READ_UNCOMMITTED));
+
+        TransactionParameterBuffer newMapping = mapper.getMapping(Connection.TRANSACTION_READ_COMMITTED);
+        newMapping.removeArgument(ISCConstants.isc_tpb_nowait);
+        newMapping.addArgument(ISCConstants.isc_tpb_wait);
+        mapper.setMapping(Connection.TRANSACTION_READ_COMMITTED, newMapping);
+
+        ImmutableTransactionParameterBuffer newTpbValue =
+                mapper.getImmutableMapping(Connection.TRANSACTION_READ_COMMITTED);
+        assertNotSame("Expected new immutable mapping after change", tpbValue, newTpbValue);
+        assertTrue("Expected isc_tpb_wait", newTpbValue.hasArgument(ISCConstants.isc_tpb_wait));
+    }
+
     @Test
     public void testNewMappingFileDoesNotExist_throwsFBResourceException() throws Exception {
         expectedException.expect(FBResourceException.class);
@@ -765,5 +765,66 @@ public class TestGeneratedKeysQuery {
                 query.getQueryString());
     }
 
+    /**
+     * Test that queries sharing a {@link GeneratedKeysColumnCache} only retrieve the columns of a table once, and
+     * that the cached columns are used for both {@link Statement#RETURN_GENERATED_KEYS} and columnIndexes.
+     * Invalidating the metadata cache discards the cached columns.
+     */
+    @Test
+    public void testGeneratedKeys_columnCache_retrievesColumnsOnce() throws SQLException {
+        final DatabaseMetaData dbMetadata = context.mock(DatabaseMetaData.class);
+        final ResultSet columnRs = context.mock(ResultSet.class);
+        final MetaDataCache metaDataCache = new MetaDataCache();
+        final GeneratedKeysColumnCache columnCache = new GeneratedKeysColumnCache(metaDataCache, 60000);
+
+        context.checking(new Expectations() {
+            {
+                oneOf(dbMetadata).getColumns(null, null, "GENERATED\\_KEYS\\_TBL", null);
+                will(returnValue(columnRs));
+                exactly(4).of(columnRs).next();
+                will(onConsecutiveCalls(returnValue(true), returnValue(true), returnValue(true), returnValue(false)));
+                exactly(3).of(columnRs).getString(4);
+                will(onConsecutiveCalls(returnValue("ID"), returnValue("NAME"), returnValue("TEXT_VALUE")));
+                exactly(3).of(columnRs).getInt(17);
+                will(onConsecutiveCalls(returnValue(1), returnValue(2), returnValue(3)));
+                oneOf(columnRs).close();
+            }
+        });
+
+        AbstractGeneratedKeysQuery allColumnsQuery = new AbstractGeneratedKeysQuery(TEST_INSERT_QUERY,
+                Statement.RETURN_GENERATED_KEYS) {
+            @Override
+            DatabaseMetaData getDatabaseMetaData() throws SQLException {
+                return dbMetadata;
+            }
+
+            @Override
+            GeneratedKeysColumnCache getColumnCache() {
+                return columnCache;
+            }
+        };
+        AbstractGeneratedKeysQuery indexedQuery = new AbstractGeneratedKeysQuery(TEST_INSERT_QUERY,
+                new int[] { 3, 1 }) {
+            @Override
+            DatabaseMetaData getDatabaseMetaData() throws SQLException {
+                return dbMetadata;
+            }
+
+            @Override
+            GeneratedKeysColumnCache getColumnCache() {
+                return columnCache;
+            }
+        };
+
+        assertEquals(TEST_INSERT_QUERY + "\nRETURNING \"ID\",\"NAME\",\"TEXT_VALUE\"",
+                allColumnsQuery.getQueryString());
+        assertEquals(TEST_INSERT_QUERY + "\nRETURNING \"ID\",\"TEXT_VALUE\"", indexedQuery.getQueryString());
+        assertEquals(1, columnCache.size());
+
+        metaDataCache.invalidate();
+        assertNull(columnCache.get("GENERATED\\_KEYS\\_TBL"));
+        assertEquals(0, columnCache.size());
+    }
+
     // TODO Consider including tests for DELETE, UPDATE, UPDATE OR INSERT and SELECT
 }
@@ -0,0 +1,129 @@
+/*
+ * $Id$
+ * 
+ * Firebird Open Source J2ee connector - jdbc driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a CVS history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.jdbc;
+
+import org.firebirdsql.encodings.EncodingFactory;
+import org.firebirdsql.gds.ng.DefaultDatatypeCoder;
+import org.firebirdsql.gds.ng.fields.RowDescriptor;
+import org.firebirdsql.gds.ng.fields.RowValue;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link MetaDataCache}.
+ */
+public class TestMetaDataCache {
+
+    private static final RowDescriptor ROW_DESCRIPTOR = RowDescriptor.empty(
+            DefaultDatatypeCoder.forEncodingFactory(EncodingFactory.createInstance(StandardCharsets.UTF_8)));
+    private static final long TTL = 60000;
+
+    @Test
+    public void testGet_emptyCache_returnsNull() {
+        MetaDataCache cache = new MetaDataCache();
+
+        assertNull(cache.get(cache.createKey("getColumns", "TABLE1", null)));
+    }
+
+    @Test
+    public void testPut_resultAvailableForEqualKey() {
+        MetaDataCache cache = new MetaDataCache();
+        List<RowValue> rows = Collections.singletonList(RowValue.EMPTY_ROW_VALUE);
+
+        cache.put(cache.createKey("getColumns", "TABLE1", null), ROW_DESCRIPTOR, rows, TTL);
+
+        MetaDataCache.CachedResult cachedResult = cache.get(cache.createKey("getColumns", "TABLE1", null));
+        assertNotNull(cachedResult);
+        assertSame(ROW_DESCRIPTOR, cachedResult.getRowDescriptor());
+        assertEquals(rows, cachedResult.getRows());
+        assertNull(cache.get(cache.createKey("getColumns", "TABLE2", null)));
+        assertNull(cache.get(cache.createKey("getPrimaryKeys", "TABLE1", null)));
+    }
+
+    @Test
+    public void testPut_rowsAreCopied() {
+        MetaDataCache cache = new MetaDataCache();
+        List<RowValue> rows = new ArrayList<>();
+        rows.add(RowValue.EMPTY_ROW_VALUE);
+
+        cache.put(cache.createKey("getColumns", "TABLE1"), ROW_DESCRIPTOR, rows, TTL);
+        rows.clear();
+
+        assertEquals(1, cache.get(cache.createKey("getColumns", "TABLE1")).getRows().size());
+    }
+
+    @Test
+    public void testGet_expiredResult_returnsNull() throws Exception {
+        MetaDataCache cache = new MetaDataCache();
+        MetaDataCache.Key key = cache.createKey("getColumns", "TABLE1");
+
+        cache.put(key, ROW_DESCRIPTOR, Collections.<RowValue>emptyList(), 1);
+        Thread.sleep(10);
+
+        assertNull(cache.get(key));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testInvalidate_removesResults() {
+        MetaDataCache cache = new MetaDataCache();
+        cache.put(cache.createKey("getColumns", "TABLE1"), ROW_DESCRIPTOR, Collections.<RowValue>emptyList(), TTL);
+
+        cache.invalidate();
+
+        assertNull(cache.get(cache.createKey("getColumns", "TABLE1")));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testPut_keyCreatedBeforeInvalidate_notCached() {
+        MetaDataCache cache = new MetaDataCache();
+        MetaDataCache.Key staleKey = cache.createKey("getColumns", "TABLE1");
+
+        cache.invalidate();
+        cache.put(staleKey, ROW_DESCRIPTOR, Collections.<RowValue>emptyList(), TTL);
+
+        assertNull(cache.get(cache.createKey("getColumns", "TABLE1")));
+    }
+
+    @Test
+    public void testPut_exceedsMaxSize_evictsLeastRecentlyUsed() {
+        MetaDataCache cache = new MetaDataCache(2);
+        List<RowValue> rows = Collections.emptyList();
+        cache.put(cache.createKey("getColumns", "TABLE1"), ROW_DESCRIPTOR, rows, TTL);
+        cache.put(cache.createKey("getColumns", "TABLE2"), ROW_DESCRIPTOR, rows, TTL);
+        // Access TABLE1 so TABLE2 becomes the least recently used
+        assertNotNull(cache.get(cache.createKey("getColumns", "TABLE1")));
+
+        cache.put(cache.createKey("getColumns", "TABLE3"), ROW_DESCRIPTOR, rows, TTL);
+
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get(cache.createKey("getColumns", "TABLE1")));
+        assertNull(cache.get(cache.createKey("getColumns", "TABLE2")));
+        assertNotNull(cache.get(cache.createKey("getColumns", "TABLE3")));
+    }
+}
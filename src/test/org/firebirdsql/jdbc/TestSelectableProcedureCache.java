@@ -0,0 +1,106 @@
+/*
+ * $Id$
+ * 
+ * Firebird Open Source J2ee connector - jdbc driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a CVS history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.jdbc;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link SelectableProcedureCache}.
+ */
+public class TestSelectableProcedureCache {
+
+    @Test
+    public void testGet_emptyCache_returnsNull() {
+        SelectableProcedureCache cache = new SelectableProcedureCache();
+
+        assertNull(cache.get("PROC1"));
+    }
+
+    @Test
+    public void testPut_valueAvailable() {
+        SelectableProcedureCache cache = new SelectableProcedureCache();
+
+        cache.put("PROC1", true, cache.getGeneration(), 0);
+        cache.put("PROC2", false, cache.getGeneration(), 0);
+
+        assertEquals(Boolean.TRUE, cache.get("PROC1"));
+        assertEquals(Boolean.FALSE, cache.get("PROC2"));
+        assertNull(cache.get("PROC3"));
+    }
+
+    @Test
+    public void testInvalidate_removesValues() {
+        SelectableProcedureCache cache = new SelectableProcedureCache();
+        cache.put("PROC1", true, cache.getGeneration(), 0);
+
+        cache.invalidate();
+
+        assertNull(cache.get("PROC1"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testPut_afterInvalidate_withOldGeneration_notAdded() {
+        SelectableProcedureCache cache = new SelectableProcedureCache();
+        long generation = cache.getGeneration();
+
+        cache.invalidate();
+        cache.put("PROC1", true, generation, 0);
+
+        assertNull(cache.get("PROC1"));
+    }
+
+    @Test
+    public void testPut_exceedingMaxSize_evictsLeastRecentlyUsed() {
+        SelectableProcedureCache cache = new SelectableProcedureCache(2);
+        cache.put("PROC1", true, cache.getGeneration(), 0);
+        cache.put("PROC2", true, cache.getGeneration(), 0);
+        // Access PROC1, making PROC2 the least recently used
+        cache.get("PROC1");
+
+        cache.put("PROC3", false, cache.getGeneration(), 0);
+
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get("PROC1"));
+        assertNull(cache.get("PROC2"));
+        assertNotNull(cache.get("PROC3"));
+    }
+
+    @Test
+    public void testGet_expiredValue_returnsNull() throws Exception {
+        SelectableProcedureCache cache = new SelectableProcedureCache();
+        cache.put("PROC1", true, cache.getGeneration(), 1);
+        cache.put("PROC2", true, cache.getGeneration(), 60000);
+
+        Thread.sleep(10);
+
+        assertNull(cache.get("PROC1"));
+        assertEquals(Boolean.TRUE, cache.get("PROC2"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_maxSizeZero_throwsIllegalArgumentException() {
+        new SelectableProcedureCache(0);
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.jdbc;
+
+import org.firebirdsql.common.FBJUnit4TestBase;
+import org.firebirdsql.common.FBTestProperties;
+import org.firebirdsql.gds.TransactionParameterBuffer;
+import org.junit.Test;
+
+import java.sql.*;
+import java.util.Properties;
+
+import static org.firebirdsql.common.DdlHelper.executeCreateTable;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the connection property {@code useSharedReadOnlyTransaction}.
+ *
+ * @since 4.0
+ */
+public class TestUseSharedReadOnlyTransaction extends FBJUnit4TestBase {
+
+    private static final String TRANSACTION_INFO_QUERY =
+            "select mon$transaction_id, mon$read_only from mon$transactions "
+                    + "where mon$transaction_id = current_transaction";
+
+    @Test
+    public void testQueriesUseSharedReadOnlyTransaction() throws Exception {
+        try (Connection connection = getConnection(true);
+             PreparedStatement pstmt = prepareShared(connection, TRANSACTION_INFO_QUERY)) {
+            assertTrue("Expected auto-commit", connection.getAutoCommit());
+            long firstTransactionId;
+            try (ResultSet rs = pstmt.executeQuery()) {
+                assertTrue("Expected a row", rs.next());
+                firstTransactionId = rs.getLong(1);
+                assertEquals("Expected read-only transaction", 1, rs.getInt(2));
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                assertTrue("Expected a row", rs.next());
+                assertEquals("Expected same transaction", firstTransactionId, rs.getLong(1));
+            }
+        }
+    }
+
+    @Test
+    public void testQueriesWithoutPropertyUseOwnTransaction() throws Exception {
+        try (Connection connection = getConnection(false);
+             PreparedStatement pstmt = prepareShared(connection, TRANSACTION_INFO_QUERY)) {
+            assertOwnTransactions(pstmt);
+        }
+    }
+
+    @Test
+    public void testQueriesWithoutStatementOptInUseOwnTransaction() throws Exception {
+        try (Connection connection = getConnection(true);
+             PreparedStatement pstmt = connection.prepareStatement(TRANSACTION_INFO_QUERY)) {
+            assertFalse("Expected no opt-in by default",
+                    pstmt.unwrap(FirebirdPreparedStatement.class).isUseSharedReadOnlyTransaction());
+            assertOwnTransactions(pstmt);
+        }
+    }
+
+    @Test
+    public void testQueriesWithSnapshotIsolationUseOwnTransaction() throws Exception {
+        try (Connection connection = getConnection(true)) {
+            connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            try (PreparedStatement pstmt = prepareShared(connection, TRANSACTION_INFO_QUERY)) {
+                assertOwnTransactions(pstmt);
+            }
+        }
+    }
+
+    @Test
+    public void testChangedTransactionParametersRestartSharedTransaction() throws Exception {
+        try (Connection connection = getConnection(true);
+             PreparedStatement pstmt = prepareShared(connection, TRANSACTION_INFO_QUERY)) {
+            long firstTransactionId;
+            try (ResultSet rs = pstmt.executeQuery()) {
+                assertTrue("Expected a row", rs.next());
+                firstTransactionId = rs.getLong(1);
+            }
+            TransactionParameterBuffer tpb = connection.unwrap(FirebirdConnection.class)
+                    .getTransactionParameters(Connection.TRANSACTION_READ_COMMITTED);
+            tpb.removeArgument(TransactionParameterBuffer.NO_REC_VERSION);
+            tpb.addArgument(TransactionParameterBuffer.REC_VERSION);
+            connection.unwrap(FirebirdConnection.class).setTransactionParameters(tpb);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                assertTrue("Expected a row", rs.next());
+                assertNotEquals("Expected new transaction", firstTransactionId, rs.getLong(1));
+                assertEquals("Expected read-only transaction", 1, rs.getInt(2));
+            }
+        }
+    }
+
+    @Test
+    public void testSharedReadOnlyTransactionSeesCommittedChanges() throws Exception {
+        try (Connection connection = getConnection(true)) {
+            executeCreateTable(connection, "create table shared_ro (id integer)");
+            try (PreparedStatement insert = connection.prepareStatement("insert into shared_ro (id) values (?)");
+                 PreparedStatement count = prepareShared(connection, "select count(*) from shared_ro")) {
+                assertEquals(0, getCount(count));
+
+                insert.setInt(1, 1);
+                insert.executeUpdate();
+                assertEquals(1, getCount(count));
+
+                try (Connection otherConnection = FBTestProperties.getConnectionViaDriverManager();
+                     Statement otherStatement = otherConnection.createStatement()) {
+                    otherStatement.executeUpdate("insert into shared_ro (id) values (2)");
+                }
+                assertEquals(2, getCount(count));
+            }
+        }
+    }
+
+    @Test
+    public void testPlainStatementQueryDoesNotUseSharedReadOnlyTransaction() throws Exception {
+        try (Connection connection = getConnection(true);
+             Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(TRANSACTION_INFO_QUERY)) {
+            assertTrue("Expected a row", rs.next());
+            assertEquals("Expected read-write transaction", 0, rs.getInt(2));
+        }
+    }
+
+    private static void assertOwnTransactions(PreparedStatement pstmt) throws SQLException {
+        long firstTransactionId;
+        try (ResultSet rs = pstmt.executeQuery()) {
+            assertTrue("Expected a row", rs.next());
+            firstTransactionId = rs.getLong(1);
+            assertEquals("Expected read-write transaction", 0, rs.getInt(2));
+        }
+        try (ResultSet rs = pstmt.executeQuery()) {
+            assertTrue("Expected a row", rs.next());
+            assertNotEquals("Expected different transaction", firstTransactionId, rs.getLong(1));
+        }
+    }
+
+    private static PreparedStatement prepareShared(Connection connection, String sql) throws SQLException {
+        PreparedStatement pstmt = connection.prepareStatement(sql);
+        pstmt.unwrap(FirebirdPreparedStatement.class).setUseSharedReadOnlyTransaction(true);
+        return pstmt;
+    }
+
+    private static int getCount(PreparedStatement count) throws SQLException {
+        try (ResultSet rs = count.executeQuery()) {
+            assertTrue("Expected a row", rs.next());
+            return rs.getInt(1);
+        }
+    }
+
+    private static Connection getConnection(boolean useSharedReadOnlyTransaction) throws SQLException {
+        Properties properties = FBTestProperties.getDefaultPropertiesForConnection();
+        properties.put("useSharedReadOnlyTransaction", String.valueOf(useSharedReadOnlyTransaction));
+        return DriverManager.getConnection(FBTestProperties.getUrl(), properties);
+    }
+}
@@ -336,4 +336,55 @@ public class TestFBEscapedParser {
         String parseResult = parser.parse(input);
         assertEquals("Unexpected output for nested escapes", expectedOutput, parseResult);
     }
+
+    @Test
+    public void testStringWithoutEscapes_returnsSameInstance() throws Exception {
+        final FBEscapedParser parser = new FBEscapedParser(EscapeParserMode.USE_BUILT_IN);
+        final String input = "SELECT * FROM some_table WHERE x = 'xyz'";
+
+        assertSame("Expected input instance for string without escapes", input, parser.parse(input));
+    }
+
+    /**
+     * Tests if a repeated translation (also by a different parser instance) is taken from the translation cache.
+     */
+    @Test
+    public void testRepeatedParse_returnsCachedTranslation() throws Exception {
+        final String input = "SELECT * FROM some_table WHERE x = {d '2012-12-29'} AND y = {fn abs(z)}";
+        final String expectedOutput = "SELECT * FROM some_table WHERE x = DATE '2012-12-29' AND y = abs(z)";
+
+        String firstResult = new FBEscapedParser(EscapeParserMode.USE_BUILT_IN).parse(input);
+        String secondResult = new FBEscapedParser(EscapeParserMode.USE_BUILT_IN).parse(new String(input));
+
+        assertEquals("Unexpected output", expectedOutput, firstResult);
+        assertSame("Expected cached translation", firstResult, secondResult);
+    }
+
+    /**
+     * Tests if translations are cached separately for each parser mode.
+     */
+    @Test
+    public void testRepeatedParse_differentMode_notSharedTranslation() throws Exception {
+        final String input = "SELECT {fn CEILING(x)} FROM some_table";
+
+        String builtInResult = new FBEscapedParser(EscapeParserMode.USE_BUILT_IN).parse(input);
+        String udfResult = new FBEscapedParser(EscapeParserMode.USE_STANDARD_UDF).parse(input);
+
+        assertEquals("SELECT CEILING(x) FROM some_table", builtInResult);
+        assertEquals("SELECT ceiling(x) FROM some_table", udfResult);
+    }
+
+    @Test
+    public void testRepeatedParse_invalidEscape_throwsEachTime() throws Exception {
+        final String input = "SELECT * FROM some_table {limit 5 offset ?}";
+        try {
+            new FBEscapedParser(EscapeParserMode.USE_BUILT_IN).parse(input);
+            fail("Expected FBSQLParseException");
+        } catch (FBSQLParseException e) {
+            // expected
+        }
+        expectedException.expect(FBSQLParseException.class);
+
+        new FBEscapedParser(EscapeParserMode.USE_BUILT_IN).parse(input);
+    }
 }
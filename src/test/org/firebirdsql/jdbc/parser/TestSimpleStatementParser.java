@@ -0,0 +1,206 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.jdbc.parser;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link SimpleStatementParser}.
+ */
+public class TestSimpleStatementParser {
+
+    @Rule
+    public final ExpectedException expectedException = ExpectedException.none();
+
+    private final SimpleStatementParser parser = new SimpleStatementParser();
+
+    @Test
+    public void insert_values() throws Exception {
+        JaybirdStatementModel statementModel = parser.parseInsertStatement(
+                "insert into someTable(a, \"те\"\"ст\", aaa) values('a', -1.23, a(a,aa))");
+
+        assertEquals("Unexpected statement type", JaybirdStatementModel.INSERT_TYPE, statementModel.getStatementType());
+        assertEquals("Unexpected table name", "someTable", statementModel.getTableName());
+        assertFalse("Statement should have no returning", statementModel.hasReturning());
+    }
+
+    @Test
+    public void insert_values_quotedTable() throws Exception {
+        JaybirdStatementModel statementModel = parser.parseInsertStatement(
+                "insert into \"someTable\"(a, b, c) values('a', -1.23, a(a,aa))");
+
+        assertEquals("Unexpected statement type", JaybirdStatementModel.INSERT_TYPE, statementModel.getStatementType());
+        assertEquals("Unexpected table name", "\"someTable\"", statementModel.getTableName());
+        assertFalse("Statement should have no returning", statementModel.hasReturning());
+    }
+
+    @Test
+    public void insert_values_withReturning() throws Exception {
+        JaybirdStatementModel statementModel = parser.parseInsertStatement(
+                "insert into someTable(a, b, c) values('a', -1.23, a(a,aa)) returning id, \"Name\"");
+
+        assertEquals("Unexpected statement type", JaybirdStatementModel.INSERT_TYPE, statementModel.getStatementType());
+        assertEquals("Unexpected table name", "someTable", statementModel.getTableName());
+        assertEquals(Arrays.asList("id", "\"Name\""), statementModel.getReturningColumns());
+    }
+
+    @Test
+    public void insert_values_returningInStringAndComments_notReturning() throws Exception {
+        JaybirdStatementModel statementModel = parser.parseInsertStatement(
+                "insert into someTable(a, \"returning\") /* returning x */ values('returning', q'{returning'}')\n"
+                        + "-- returning y\n");
+
+        assertEquals("Unexpected table name", "someTable", statementModel.getTableName());
+        assertFalse("Statement should have no returning", statementModel.hasReturning());
+    }
+
+    @Test
+    public void insert_leadingComment() throws Exception {
+        JaybirdStatementModel statementModel = parser.parseInsertStatement(
+                "/* comment */ -- line comment\n INSERT INTO someTable VALUES (1) RETURNING id;");
+
+        assertEquals("Unexpected statement type", JaybirdStatementModel.INSERT_TYPE, statementModel.getStatementType());
+        assertEquals("Unexpected table name", "someTable", statementModel.getTableName());
+        assertEquals(Collections.singletonList("id"), statementModel.getReturningColumns());
+    }
+
+    @Test
+    public void insert_select() throws Exception {
+        JaybirdStatementModel statementModel = parser.parseInsertStatement(
+                "Insert Into someTable Select * From anotherTable returning id");
+
+        assertEquals("Unexpected statement type", JaybirdStatementModel.INSERT_TYPE, statementModel.getStatementType());
+        assertEquals("someTable", statementModel.getTableName());
+        assertEquals(Collections.singletonList("id"), statementModel.getReturningColumns());
+    }
+
+    @Test
+    public void insert_defaultValues_withReturning() throws Exception {
+        JaybirdStatementModel statementModel = parser.parseInsertStatement(
+                "INSERT INTO someTable DEFAULT VALUES RETURNING \"ID\"");
+
+        assertEquals("Unexpected statement type", JaybirdStatementModel.INSERT_TYPE, statementModel.getStatementType());
+        assertTrue("Expected default values", statementModel.isDefaultValues());
+        assertEquals("someTable", statementModel.getTableName());
+        assertEquals(Collections.singletonList("\"ID\""), statementModel.getReturningColumns());
+    }
+
+    @Test
+    public void insert_returningInto() throws Exception {
+        JaybirdStatementModel statementModel = parser.parseInsertStatement(
+                "INSERT INTO someTable (a) VALUES (1) RETURNING id, coalesce(b, 1) INTO :id, :b");
+
+        assertEquals(Arrays.asList("id", "coalesce(b, 1)"), statementModel.getReturningColumns());
+    }
+
+    @Test
+    public void update_quotedTableWithSpace() throws Exception {
+        JaybirdStatementModel statementModel = parser.parseInsertStatement(
+                "Update \"some Table\" Set col1 = 25, col2 = 'abc' Where 1=0");
+
+        assertEquals("Unexpected statement type", JaybirdStatementModel.UPDATE_TYPE, statementModel.getStatementType());
+        assertEquals("\"some Table\"", statementModel.getTableName());
+        assertFalse("Statement should have no returning", statementModel.hasReturning());
+    }
+
+    @Test
+    public void update_withReturning() throws Exception {
+        JaybirdStatementModel statementModel = parser.parseInsertStatement(
+                "Update someTable Set col1 = 25, col2 = 'abc' Where 1=0 Returning col3");
+
+        assertEquals("Unexpected statement type", JaybirdStatementModel.UPDATE_TYPE, statementModel.getStatementType());
+        assertEquals("someTable", statementModel.getTableName());
+        assertEquals(Collections.singletonList("col3"), statementModel.getReturningColumns());
+    }
+
+    @Test
+    public void updateOrInsert_withReturning() throws Exception {
+        JaybirdStatementModel statementModel = parser.parseInsertStatement(
+                "UPDATE OR INSERT INTO someTable (id, a) VALUES (1, 2) MATCHING (id) RETURNING a");
+
+        assertEquals("Unexpected statement type", JaybirdStatementModel.UPDATE_OR_INSERT_TYPE,
+                statementModel.getStatementType());
+        assertEquals("someTable", statementModel.getTableName());
+        assertEquals(Collections.singletonList("a"), statementModel.getReturningColumns());
+    }
+
+    @Test
+    public void delete_withReturning() throws Exception {
+        JaybirdStatementModel statementModel = parser.parseInsertStatement(
+                "Delete From someTable where 1 = 1 Returning col3");
+
+        assertEquals("Unexpected statement type", JaybirdStatementModel.DELETE_TYPE, statementModel.getStatementType());
+        assertEquals("someTable", statementModel.getTableName());
+        assertEquals(Collections.singletonList("col3"), statementModel.getReturningColumns());
+    }
+
+    @Test
+    public void select_notSupported() throws Exception {
+        expectedException.expect(StatementParser.ParseException.class);
+
+        parser.parseInsertStatement("select * from RDB$DATABASE");
+    }
+
+    @Test
+    public void updateWithAlias_noFallback_notSupported() throws Exception {
+        expectedException.expect(StatementParser.ParseException.class);
+
+        parser.parseInsertStatement("update someTable t set t.a = 1");
+    }
+
+    @Test
+    public void unterminatedString_noFallback_notSupported() throws Exception {
+        expectedException.expect(StatementParser.ParseException.class);
+
+        parser.parseInsertStatement("insert into someTable values ('abc) returning id");
+    }
+
+    @Test
+    public void updateWithAlias_usesFallback() throws Exception {
+        final JaybirdStatementModel fallbackModel = new JaybirdStatementModel();
+        SimpleStatementParser parserWithFallback = new SimpleStatementParser(new StatementParser() {
+            @Override
+            public JaybirdStatementModel parseInsertStatement(String sql) {
+                return fallbackModel;
+            }
+        });
+
+        assertSame(fallbackModel, parserWithFallback.parseInsertStatement("update someTable t set t.a = 1"));
+    }
+
+    @Test
+    public void select_doesNotUseFallback() throws Exception {
+        SimpleStatementParser parserWithFallback = new SimpleStatementParser(new StatementParser() {
+            @Override
+            public JaybirdStatementModel parseInsertStatement(String sql) {
+                throw new AssertionError("Fallback parser should not be called");
+            }
+        });
+        expectedException.expect(StatementParser.ParseException.class);
+
+        parserWithFallback.parseInsertStatement("select * from RDB$DATABASE");
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link LruCache}.
+ */
+public class LruCacheTest {
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        LruCache<String, Integer> cache = new LruCache<>(2);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        assertEquals(Integer.valueOf(1), cache.get("a"));
+
+        cache.put("c", 3);
+
+        assertEquals(2, cache.size());
+        assertNull("Expected least recently used entry to be evicted", cache.get("b"));
+        assertEquals(Integer.valueOf(1), cache.get("a"));
+        assertEquals(Integer.valueOf(3), cache.get("c"));
+    }
+
+    @Test
+    public void testEntryEvicted_calledForEvictedEntry() {
+        final List<String> evictedKeys = new ArrayList<>();
+        LruCache<String, Integer> cache = new LruCache<String, Integer>(1) {
+            @Override
+            protected void entryEvicted(String key, Integer value) {
+                evictedKeys.add(key);
+            }
+        };
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.remove("b");
+        cache.put("c", 3);
+        cache.clear();
+
+        assertEquals("Only eviction for exceeding the maximum size is reported",
+                singletonList("a"), evictedKeys);
+    }
+
+    @Test
+    public void testSegmented_sizeBoundedByMaxSize() {
+        LruCache<Integer, Integer> cache = new LruCache<>(10, 4);
+        for (int i = 0; i < 1000; i++) {
+            cache.put(i, i);
+        }
+
+        assertTrue("Expected size at most 10, was " + cache.size(), cache.size() <= 10);
+        assertEquals(Integer.valueOf(999), cache.get(999));
+    }
+
+    @Test
+    public void testRemoveAll_returnsRemovedValues() {
+        LruCache<Integer, Integer> cache = new LruCache<>(10, 4);
+        for (int i = 0; i < 5; i++) {
+            cache.put(i, i * 10);
+        }
+
+        List<Integer> removed = cache.removeAll();
+
+        Collections.sort(removed);
+        assertEquals(Arrays.asList(0, 10, 20, 30, 40), removed);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testMaxSizeZero_cachesNothing() {
+        LruCache<String, Integer> cache = new LruCache<>(0, 16);
+        cache.put("a", 1);
+
+        assertEquals(0, cache.size());
+        assertNull(cache.get("a"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeMaxSize_notAllowed() {
+        new LruCache<String, Integer>(-1);
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.jdbc;
+
+import org.firebirdsql.common.DdlHelper;
+import org.firebirdsql.common.FBJUnit4TestBase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.firebirdsql.common.FBTestProperties.getConnectionViaDriverManager;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link FirebirdAsyncPreparedStatement}.
+ *
+ * @since 4.0
+ */
+public class TestAsyncPreparedStatement extends FBJUnit4TestBase {
+
+    private static final String CREATE_SIMPLE_TABLE = "create table simpletable (id integer, value_column varchar(10))";
+    private static final String INSERT_SIMPLE_TABLE = "insert into simpletable (id, value_column) values (?, ?)";
+    private static final String SELECT_SIMPLE_TABLE = "select id, value_column from simpletable order by id";
+
+    private Connection connection;
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() throws Exception {
+        connection = getConnectionViaDriverManager();
+        DdlHelper.executeCreateTable(connection, CREATE_SIMPLE_TABLE);
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        try {
+            connection.close();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testExecuteBatchAsync_thenExecuteQueryAsync() throws Exception {
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_SIMPLE_TABLE)) {
+            for (int id = 1; id <= 3; id++) {
+                insert.setInt(1, id);
+                insert.setString(2, "value" + id);
+                insert.addBatch();
+            }
+            int[] updateCounts = insert.unwrap(FirebirdAsyncPreparedStatement.class).executeBatchAsync(executor)
+                    .toCompletableFuture().get();
+            assertArrayEquals(new int[] { 1, 1, 1 }, updateCounts);
+        }
+
+        try (PreparedStatement select = connection.prepareStatement(SELECT_SIMPLE_TABLE);
+             ResultSet rs = select.unwrap(FirebirdAsyncPreparedStatement.class).executeQueryAsync(executor)
+                     .toCompletableFuture().get()) {
+            for (int id = 1; id <= 3; id++) {
+                assertTrue("Expected row " + id, rs.next());
+                assertEquals(id, rs.getInt(1));
+                assertEquals("value" + id, rs.getString(2));
+            }
+            assertFalse("Expected no more rows", rs.next());
+        }
+    }
+
+    @Test
+    public void testExecuteAsync() throws Exception {
+        try (PreparedStatement select = connection.prepareStatement(SELECT_SIMPLE_TABLE)) {
+            Boolean hasResultSet = select.unwrap(FirebirdAsyncPreparedStatement.class).executeAsync(executor)
+                    .toCompletableFuture().get();
+            assertTrue("Expected result set", hasResultSet);
+        }
+    }
+
+    @Test
+    public void testExecuteUpdateAsync() throws Exception {
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_SIMPLE_TABLE)) {
+            insert.setInt(1, 1);
+            insert.setString(2, "value1");
+            Integer updateCount = insert.unwrap(FirebirdAsyncPreparedStatement.class).executeUpdateAsync(executor)
+                    .toCompletableFuture().get();
+            assertEquals(Integer.valueOf(1), updateCount);
+        }
+    }
+
+    @Test
+    public void testExecuteAsync_errorCompletesExceptionally() throws Exception {
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_SIMPLE_TABLE)) {
+            insert.setInt(1, 1);
+            insert.setString(2, "value too long");
+            try {
+                insert.unwrap(FirebirdAsyncPreparedStatement.class).executeAsync(executor).toCompletableFuture().get();
+                fail("Expected execute to fail");
+            } catch (ExecutionException e) {
+                assertThat(e.getCause(), instanceOf(SQLException.class));
+            }
+        }
+    }
+}
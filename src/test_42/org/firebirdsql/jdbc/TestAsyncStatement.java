@@ -0,0 +1,114 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.jdbc;
+
+import org.firebirdsql.common.DdlHelper;
+import org.firebirdsql.common.FBJUnit4TestBase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.firebirdsql.common.FBTestProperties.getConnectionViaDriverManager;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link FirebirdAsyncStatement}.
+ *
+ * @since 4.0
+ */
+public class TestAsyncStatement extends FBJUnit4TestBase {
+
+    private static final String CREATE_SIMPLE_TABLE = "create table simpletable (id integer, value_column varchar(10))";
+    private static final String SELECT_SIMPLE_TABLE = "select id, value_column from simpletable order by id";
+
+    private Connection connection;
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() throws Exception {
+        connection = getConnectionViaDriverManager();
+        DdlHelper.executeCreateTable(connection, CREATE_SIMPLE_TABLE);
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        try {
+            connection.close();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testStatementSupportsAsync() throws Exception {
+        try (Statement stmt = connection.createStatement()) {
+            assertTrue("Expected FirebirdAsyncStatement", stmt.isWrapperFor(FirebirdAsyncStatement.class));
+        }
+    }
+
+    @Test
+    public void testExecuteUpdateAsync_thenExecuteQueryAsync() throws Exception {
+        try (Statement stmt = connection.createStatement()) {
+            FirebirdAsyncStatement asyncStatement = stmt.unwrap(FirebirdAsyncStatement.class);
+            Integer updateCount = asyncStatement
+                    .executeUpdateAsync("insert into simpletable (id, value_column) values (1, 'value1')", executor)
+                    .toCompletableFuture().get();
+            assertEquals(Integer.valueOf(1), updateCount);
+
+            try (ResultSet rs = asyncStatement.executeQueryAsync(SELECT_SIMPLE_TABLE, executor)
+                    .toCompletableFuture().get()) {
+                assertTrue("Expected a row", rs.next());
+                assertEquals(1, rs.getInt(1));
+                assertEquals("value1", rs.getString(2));
+                assertFalse("Expected no more rows", rs.next());
+            }
+        }
+    }
+
+    @Test
+    public void testExecuteBatchAsync() throws Exception {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.addBatch("insert into simpletable (id, value_column) values (1, 'value1')");
+            stmt.addBatch("insert into simpletable (id, value_column) values (2, 'value2')");
+            int[] updateCounts = stmt.unwrap(FirebirdAsyncStatement.class).executeBatchAsync(executor)
+                    .toCompletableFuture().get();
+            assertArrayEquals(new int[] { 1, 1 }, updateCounts);
+        }
+    }
+
+    @Test
+    public void testExecuteAsync_errorCompletesExceptionally() throws Exception {
+        try (Statement stmt = connection.createStatement()) {
+            try {
+                stmt.unwrap(FirebirdAsyncStatement.class).executeAsync("select * from doesnotexist", executor)
+                        .toCompletableFuture().get();
+                fail("Expected execute to fail");
+            } catch (ExecutionException e) {
+                assertThat(e.getCause(), instanceOf(SQLException.class));
+            }
+        }
+    }
+}
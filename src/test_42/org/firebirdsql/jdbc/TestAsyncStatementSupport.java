@@ -0,0 +1,117 @@
+/*
+ * Firebird Open Source JavaEE Connector - JDBC Driver
+ *
+ * Distributable under LGPL license.
+ * You may obtain a copy of the License at http://www.gnu.org/copyleft/lgpl.html
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * LGPL License for more details.
+ *
+ * This file was created by members of the firebird development team.
+ * All individual contributions remain the Copyright (C) of those
+ * individuals.  Contributors to this file are either listed here or
+ * can be obtained from a source control history command.
+ *
+ * All rights reserved.
+ */
+package org.firebirdsql.jdbc;
+
+import org.junit.Test;
+
+import java.sql.SQLException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link AsyncStatementSupport}.
+ *
+ * @since 4.0
+ */
+public class TestAsyncStatementSupport {
+
+    @Test(expected = NullPointerException.class)
+    public void testCallAsync_executorRequired() {
+        AsyncStatementSupport.callAsync(new Callable<String>() {
+            @Override
+            public String call() {
+                return "not executed";
+            }
+        }, null);
+    }
+
+    @Test
+    public void testCallAsync_executor() throws Exception {
+        final Thread[] executorThread = new Thread[1];
+        Executor executor = new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                executorThread[0] = new Thread(command);
+                executorThread[0].start();
+            }
+        };
+        CompletableFuture<Thread> future = AsyncStatementSupport.callAsync(new Callable<Thread>() {
+            @Override
+            public Thread call() {
+                return Thread.currentThread();
+            }
+        }, executor).toCompletableFuture();
+
+        assertThat("Expected operation on thread of executor", future.get(), sameInstance(executorThread[0]));
+    }
+
+    @Test
+    public void testCallAsync_exceptionCompletesExceptionally() throws Exception {
+        final SQLException exception = new SQLException("test");
+        CompletableFuture<String> future = AsyncStatementSupport.callAsync(new Callable<String>() {
+            @Override
+            public String call() throws SQLException {
+                throw exception;
+            }
+        }, new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                command.run();
+            }
+        }).toCompletableFuture();
+
+        try {
+            future.get();
+            fail("Expected ExecutionException");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause(), sameInstance((Throwable) exception));
+        }
+    }
+
+    @Test
+    public void testCallAsync_rejectedCompletesExceptionally() throws Exception {
+        Executor executor = new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                throw new RejectedExecutionException();
+            }
+        };
+        CompletableFuture<String> future = AsyncStatementSupport.callAsync(new Callable<String>() {
+            @Override
+            public String call() {
+                return "not executed";
+            }
+        }, executor).toCompletableFuture();
+
+        assertTrue("Expected completed exceptionally", future.isCompletedExceptionally());
+        try {
+            future.get();
+            fail("Expected ExecutionException");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause(), instanceOf(RejectedExecutionException.class));
+        }
+    }
+}